@@ -0,0 +1,152 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ActivityLeaderboard;
+import databasePart1.ActivityLeaderboard.Window;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for {@link ActivityLeaderboard} and the most active users report it
+ * serves. Database tests compare the maintained ranking against a fresh load
+ * from the tables.
+ */
+public class ActivityLeaderboardTest {
+
+    private static final long HOUR = 60 * 60_000;
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:leaderboard;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        for (String name : new String[] { "alice", "bob", "carol" }) {
+            db.register(new User(name, "Pass123!", name + "@test.com", name, "student"));
+        }
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    private static Timestamp hoursAgo(long hours) {
+        return new Timestamp(System.currentTimeMillis() - hours * HOUR);
+    }
+
+    /** A loaded, empty leaderboard to record into. */
+    private ActivityLeaderboard emptyLeaderboard() throws SQLException {
+        ActivityLeaderboard board = new ActivityLeaderboard();
+        board.load(db.getConnection());
+        return board;
+    }
+
+    @Test
+    void testWindowsCountOnlyRecentActivity() throws SQLException {
+        ActivityLeaderboard board = emptyLeaderboard();
+        board.record("alice", hoursAgo(1), 1);
+        board.record("alice", hoursAgo(100), 1);
+        board.record("alice", hoursAgo(1000), 1);
+        board.record("bob", hoursAgo(2), 1);
+        board.record("bob", hoursAgo(3), 1);
+        board.record("carol", hoursAgo(300), 1);
+
+        assertEquals(Map.of("bob", 2, "alice", 1), board.top(10, Window.LAST_24_HOURS));
+        assertEquals(List.of("alice", "bob"), List.copyOf(board.top(10, Window.LAST_7_DAYS).keySet()),
+                "Equal counts are ordered by name");
+        assertEquals(Map.of("alice", 2, "bob", 2, "carol", 1), board.top(10, Window.LAST_30_DAYS));
+        assertEquals(List.of("alice", "bob"), List.copyOf(board.top(2, Window.ALL_TIME).keySet()));
+
+        board.record("bob", hoursAgo(2), -1);
+        board.record("carol", hoursAgo(300), -1);
+        Map<String, Integer> expected = new LinkedHashMap<>();
+        expected.put("alice", 3);
+        expected.put("bob", 1);
+        assertEquals(expected, board.top(10, Window.ALL_TIME), "Users with no activity left drop out");
+    }
+
+    @Test
+    void testMaintainedRankingMatchesReload() throws SQLException {
+        assertTrue(db.getMostActiveUsers(10).isEmpty());
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        db.insertQuestion(new Question("LQ1", "q", "c", "alice", now));
+        db.insertQuestion(new Question("LQ2", "q", "c", "bob", now));
+        db.insertAnswer(new Answer("LA1", "LQ1", "a", "bob", now, false));
+        db.insertAnswer(new Answer("LA2", "LQ1", "a", "carol", now, false));
+        db.insertAnswer(new Answer("LA3", "LQ2", "a", "bob", now, false));
+        db.deleteAnswer("LA3");
+        db.deleteQuestion("LQ1");
+
+        List<Map<String, Object>> maintained = db.getMostActiveUsers(10, Window.LAST_24_HOURS);
+        assertEquals(1, maintained.size(), "Only bob's question is left");
+        assertEquals("bob", maintained.get(0).get("userName"));
+        assertEquals(1, maintained.get(0).get("activityCount"));
+
+        db.executeUpdate("SET @reload = 1");
+        assertEquals(maintained, db.getMostActiveUsers(10, Window.LAST_24_HOURS));
+        assertEquals(maintained, db.getMostActiveUsers(10));
+    }
+
+    @Test
+    void testRecountDuringWriteNotInstalled() throws SQLException {
+        Connection conn = db.getConnection();
+        ActivityLeaderboard board = emptyLeaderboard();
+
+        // The question commits, a recount runs, and only then is it recorded
+        board.beginWrite();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO questions (questionId, title, content, author, createdAt) "
+                    + "VALUES ('RACE1', 't', 'c', 'alice', '" + now + "')");
+        }
+        board.reconcile(conn);
+        board.record("alice", now, 1);
+        board.endWrite();
+
+        assertEquals(Map.of("alice", 1), board.top(10, Window.ALL_TIME), "Counted once, not twice");
+        assertEquals(Map.of("alice", 1), board.top(10, Window.LAST_24_HOURS));
+    }
+
+    @Test
+    void testLoadDuringWriteRanksCountUninstalled() throws SQLException {
+        Connection conn = db.getConnection();
+        ActivityLeaderboard board = new ActivityLeaderboard();
+        board.beginWrite();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO questions (questionId, title, content, author) "
+                    + "VALUES ('RACE1', 't', 'c', 'alice')");
+        }
+        assertEquals(Map.of("alice", 1), board.top(conn, 10, Window.ALL_TIME));
+        assertFalse(board.isLoaded(), "A count that raced a write is not installed");
+        board.record("alice", null, 1);
+        board.endWrite();
+
+        assertEquals(Map.of("alice", 1), board.top(conn, 10, Window.ALL_TIME));
+        assertTrue(board.isLoaded());
+    }
+
+    @Test
+    void testLoadedRankingRunsNoQueries() throws SQLException {
+        db.insertQuestion(new Question("LQ1", "q", "c", "alice", new Timestamp(System.currentTimeMillis())));
+        db.getMostActiveUsers(10);
+        long before = db.getConnectionPool().getStatementCount();
+        for (Window window : Window.values()) {
+            assertEquals("alice", db.getMostActiveUsers(10, window).get(0).get("userName"));
+        }
+        assertEquals(before, db.getConnectionPool().getStatementCount());
+    }
+}
@@ -1,10 +1,12 @@
 
 package application;
 
+import java.io.File;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
 import databasePart1.DatabaseHelper;
+import databasePart1.UserImporter;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
@@ -16,6 +18,7 @@ import javafx.scene.layout.HBox;
 import javafx.scene.control.Button;
 import javafx.scene.control.Label;
 import javafx.scene.layout.VBox;
+import javafx.stage.FileChooser;
 import javafx.stage.Stage;
 
 /**
@@ -30,6 +33,8 @@ public class AdminHomePage {
      */	
 	private final DatabaseHelper databaseHelper;
 	private final User currentAdmin;
+	private final AsyncLoader loader = new AsyncLoader();
+	private PagedTableLoader<User> userPages;
 	
 	public AdminHomePage(DatabaseHelper databaseHelper, User currentAdmin) {
 		this.databaseHelper = databaseHelper;
@@ -47,7 +52,7 @@ public class AdminHomePage {
 	    adminLabel.setStyle("-fx-font-size: 16px; -fx-font-weight: bold;");
 	    
 	    TableView<User> userTable = createUserTable();
-	    populateUserTable(userTable);
+	    populateUserTable();
 	    
 	    HBox buttonBox = new HBox(10);
 	    Button refreshButton = new Button("Refresh");
@@ -56,19 +61,23 @@ public class AdminHomePage {
 
 	    Button backButton = new Button("Back");
 	    Button tempPasswordButton = new Button("Set Temp Password");
+	    Button importButton = new Button("Import Users");
 
 	    
-	    refreshButton.setOnAction(e -> populateUserTable(userTable));
+	    refreshButton.setOnAction(e -> populateUserTable());
 	    deleteButton.setOnAction(e -> deleteSelectedUser(userTable));
 	    editRoleButton.setOnAction(e -> editRoleOfSelectedUser(userTable));
+	    importButton.setOnAction(e -> importUsers(primaryStage, importButton));
 	    backButton.setOnAction(e -> {
+	    	loader.cancelAll();
 	    	new WelcomeLoginPage(databaseHelper).show(primaryStage,  currentAdmin);
 	    });
 	    tempPasswordButton.setOnAction(e -> {
+	    	loader.cancelAll();
 	    	new TempPasswordPage().show(databaseHelper, primaryStage, currentAdmin);
 	    });
 	    
-	    buttonBox.getChildren().addAll(refreshButton, deleteButton, editRoleButton, tempPasswordButton, backButton);
+	    buttonBox.getChildren().addAll(refreshButton, deleteButton, editRoleButton, importButton, tempPasswordButton, backButton);
 	    buttonBox.setAlignment(Pos.CENTER);
 
 	    layout.getChildren().addAll(adminLabel, userTable, buttonBox);
@@ -94,26 +103,16 @@ public class AdminHomePage {
     	
     	table.getColumns().addAll(userNameCol, roleCol);
     	table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
+    	userPages = new PagedTableLoader<>(loader, "users", table, databaseHelper::getUsersPage, e -> {
+            showErrorAlert("Database Error", "Failed to load users: " + e.getMessage());
+            e.printStackTrace();
+        });
     	return table;
     }
     
-    private void populateUserTable(TableView<User> table) {
-    	try {
-            List<User> usersList = databaseHelper.getAllUsers();
-            System.out.println("Number of users retrieved: " + usersList.size());
-            
-            ObservableList<User> users = FXCollections.observableArrayList(usersList);
-            table.setItems(users);
-            
-            // Debug: Print users to console
-            System.out.println("Users in database:");
-            for (User user : users) {
-                System.out.println("Username: " + user.getUserName() + ", Role: " + user.getRole());
-            }
-        } catch (SQLException e) {
-            showErrorAlert("Database Error", "Failed to load users: " + e.getMessage());
-            e.printStackTrace();
-        }
+    // Users are fetched a page at a time, ordered by userName, as the table is scrolled
+    private void populateUserTable() {
+    	userPages.reload();
     }
     
     private void deleteSelectedUser(TableView<User> table) {
@@ -133,7 +132,7 @@ public class AdminHomePage {
     		try {
     			if (databaseHelper.deleteUser(selectedUser.getUserName(), currentAdmin.getUserName())) {
     				showInfoAlert("Success", "User deleted successfully.");
-    				populateUserTable(table);
+    				populateUserTable();
     			} else {
     				showErrorAlert("Error", "Failed to delete user. You cannot delete yourself or the last admin.");
     			}
@@ -226,7 +225,7 @@ public class AdminHomePage {
                     selectedUser.getRoles().addAll(newRoles);
                     
                     showInfoAlert("Success", "User roles updated successfully.");
-                    populateUserTable(table);
+                    populateUserTable();
                 } else {
                     showErrorAlert("Error", "Failed to update roles.");
                 }
@@ -247,6 +246,38 @@ public class AdminHomePage {
         return count;
     }
     
+    // Imports a CSV or JSON file of users in the background and reports the rejected rows
+    private void importUsers(Stage primaryStage, Button importButton) {
+        FileChooser chooser = new FileChooser();
+        chooser.setTitle("Import Users");
+        chooser.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV or JSON", "*.csv", "*.json"),
+                new FileChooser.ExtensionFilter("All Files", "*.*"));
+        File file = chooser.showOpenDialog(primaryStage);
+        if (file == null) {
+            return;
+        }
+        importButton.setDisable(true);
+        loader.load("import", () -> new UserImporter(databaseHelper).importFile(file.toPath()), report -> {
+            importButton.setDisable(false);
+            StringBuilder message = new StringBuilder("Imported " + report.getImported() + " users; "
+                    + report.getRejected() + " rows rejected.");
+            List<UserImporter.RowError> errors = report.getErrors();
+            for (int i = 0; i < Math.min(20, errors.size()); i++) {
+                message.append('\n').append(errors.get(i));
+            }
+            if (errors.size() > 20) {
+                message.append("\n...and ").append(errors.size() - 20).append(" more");
+            }
+            showInfoAlert("Import Finished", message.toString());
+            populateUserTable();
+        }, e -> {
+            importButton.setDisable(false);
+            showErrorAlert("Import Error", "Failed to import users: " + e.getMessage());
+            populateUserTable();
+        });
+    }
+    
     private void showErrorAlert(String title, String message) {
         Alert alert = new Alert(Alert.AlertType.ERROR);
         alert.setTitle(title);
@@ -18,6 +18,7 @@ public class Answer {
     private final StringProperty createdAt;
     private final StringProperty isAccepted;
     private final StringProperty isRead;
+    private double trustScore;
     
     /**
      * Create an Answer for display (createdAt already formatted).
@@ -112,4 +113,12 @@ public class Answer {
     public void setIsRead(boolean isRead) {
     	this.isRead.set(isRead ? "Yes": "No");
     }
+    /** Total weight of the viewer's trusted reviewers who reviewed this answer.
+     * @return trust score, 0 unless loaded by a curation query
+     */
+    public double getTrustScore() { return trustScore; }
+    /** Sets the aggregated trust score.
+     * @param trustScore summed trusted reviewer weight
+     */
+    public void setTrustScore(double trustScore) { this.trustScore = trustScore; }
 }
\ No newline at end of file
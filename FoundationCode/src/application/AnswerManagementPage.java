@@ -1,7 +1,6 @@
 package application;
 
 import java.sql.SQLException;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -383,7 +382,7 @@ public class AnswerManagementPage {
                     List<Answer> searchResults;
                     switch (searchType) {
                         case "Content":
-                            searchResults = databaseHelper.searchAnswersByContent(searchTerm);
+                            searchResults = databaseHelper.searchAnswers(searchTerm);
                             break;
                         case "Question ID":
                             searchResults = databaseHelper.getAnswersForQuestion(searchTerm);
@@ -490,59 +489,16 @@ public class AnswerManagementPage {
     
     /**
      * Produces a curated list of answers for the given question, ranked based on:
-     * reviewer trust weight, accepted status, and creation time.
+     * accepted status, reviewer trust weight, and creation time. Answers without
+     * a review from a trusted reviewer are left out. Scoring and ordering run in
+     * a single query.
      * 
      * @param questionId the ID of the question to curate answers for
      * @return a sorted list of curated answers
      * @throws SQLException if retrieval of answers or reviews fails
      */
     private List<Answer> curateForQuestion(String questionId) throws SQLException {
-    	List<Answer> all = databaseHelper.getAnswersForQuestion(questionId);
-    	Map<String, Double> scoreByAnswer = new HashMap<>();
-    	for(Answer a : all) {
-    		double score = trustedScoreForAnswer(a.getAnswerId());
-    		if(score > 0.0) {
-    			scoreByAnswer.put(a.getAnswerId(), score);
-    		}
-    	}
-    	
-    	List<Answer> filtered = all.stream().filter(a -> scoreByAnswer.containsKey(a.getAnswerId())).toList();
-    	
-    	List<Answer> sorted = new ArrayList<>(filtered);
-    	sorted.sort((a, b) -> {
-    		int acc = Boolean.compare(b.getIsAccepted(), a.getIsAccepted());
-    		if(acc != 0) return acc;
-    		
-    		double sb = scoreByAnswer.getOrDefault(b.getAnswerId(), 0.0);
-    		double sa = scoreByAnswer.getOrDefault(a.getAnswerId(), 0.0);
-    		int sc = Double.compare(sb, sa);
-    		if(sc != 0) return sc;
-    		
-    		return b.getCreatedAt().compareTo(a.getCreatedAt());
-    	});
-    	return sorted;
-    }
-    
-    /**
-     * Calculates the total trust score for an answer, based on the weight of
-     * reviewers who have reviewed the answer.
-     * 
-     * @param answerId the ID of the answer being evaluated
-     * @return the computed trust score
-     * @throws SQLException if reviews cannot be retrieved
-     */
-    private double trustedScoreForAnswer(String answerId) throws SQLException {
-    	List<Review> reviews = databaseHelper.getReviewsForAnswer(answerId);
-    	
-    	double total = 0.0;
-    	for(Review r : reviews) {
-    		String reviewerId = r.getReviewer();
-    		Double w = trusted.get(reviewerId);
-    		if(w != null) {
-    			total += w;
-    		}
-    	}
-    	return total;
+    	return databaseHelper.getCuratedAnswers(questionId, currentUser.getUserName());
     }
     
     /**
@@ -1,26 +1,50 @@
 package application;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Helper providing CRUD and search operations for Answer objects.
+ * <p>
+ * Answers are indexed by id and by question id, so lookups and per-question
+ * retrieval cost the same regardless of how many answers are stored.
+ * Iteration order is insertion order.
+ * </p>
  */
 public class Answers {
-    private List<Answer> answers;
+    /** All answers by id, in insertion order. */
+    private final Map<String, Answer> answersById;
+    /** Question id to its answers by id, in insertion order. */
+    private final Map<String, Map<String, Answer>> answersByQuestion;
+    /** Answer id to the question id it is indexed under. */
+    private final Map<String, String> questionIds;
     
     public Answers() {
-        this.answers = new ArrayList<>();
+        this.answersById = new LinkedHashMap<>();
+        this.answersByQuestion = new HashMap<>();
+        this.questionIds = new HashMap<>();
     }
     
     // CRUD Operations
     /**
-     * Adds an Answer to the in-memory collection.
+     * Adds an Answer to the in-memory collection. An answer with the same id
+     * replaces the stored one.
      * @param answer the Answer to add
      */
     public void addAnswer(Answer answer) {
-        answers.add(answer);
+        String answerId = answer.getAnswerId();
+        String questionId = answer.getQuestionId();
+        answersById.put(answerId, answer);
+        String indexedQuestionId = questionIds.get(answerId);
+        if (indexedQuestionId != null && !indexedQuestionId.equals(questionId)) {
+            unlinkQuestion(answerId);
+        }
+        answersByQuestion.computeIfAbsent(questionId, k -> new LinkedHashMap<>()).put(answerId, answer);
+        questionIds.put(answerId, questionId);
     }
     
     /**
@@ -29,10 +53,7 @@ public class Answers {
      * @return the Answer if found, otherwise null
      */
     public Answer getAnswer(String answerId) {
-        return answers.stream()
-            .filter(a -> a.getAnswerId().equals(answerId))
-            .findFirst()
-            .orElse(null);
+        return answersById.get(answerId);
     }
     
     /**
@@ -40,11 +61,8 @@ public class Answers {
      * @param updatedAnswer the updated Answer instance
      */
     public void updateAnswer(Answer updatedAnswer) {
-        for (int i = 0; i < answers.size(); i++) {
-            if (answers.get(i).getAnswerId().equals(updatedAnswer.getAnswerId())) {
-                answers.set(i, updatedAnswer);
-                return;
-            }
+        if (answersById.containsKey(updatedAnswer.getAnswerId())) {
+            addAnswer(updatedAnswer);
         }
     }
     
@@ -53,7 +71,9 @@ public class Answers {
      * @param answerId id of the answer to remove
      */
     public void deleteAnswer(String answerId) {
-        answers.removeIf(a -> a.getAnswerId().equals(answerId));
+        if (answersById.remove(answerId) != null) {
+            unlinkQuestion(answerId);
+        }
     }
     
     // Search operations
@@ -64,9 +84,9 @@ public class Answers {
      */
     public Answers getAnswersForQuestion(String questionId) {
         Answers result = new Answers();
-        result.answers = answers.stream()
-            .filter(a -> a.getQuestionId().equals(questionId))
-            .collect(Collectors.toList());
+        for (Answer a : answersByQuestion.getOrDefault(questionId, Collections.emptyMap()).values()) {
+            result.addAnswer(a);
+        }
         return result;
     }
     
@@ -76,10 +96,13 @@ public class Answers {
      * @return Answers collection with matching answers
      */
     public Answers searchByContent(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
         Answers result = new Answers();
-        result.answers = answers.stream()
-            .filter(a -> a.getContent().toLowerCase().contains(keyword.toLowerCase()))
-            .collect(Collectors.toList());
+        for (Answer a : answersById.values()) {
+            if (a.getContent().toLowerCase().contains(lowerKeyword)) {
+                result.addAnswer(a);
+            }
+        }
         return result;
     }
     
@@ -88,7 +111,7 @@ public class Answers {
      * @return list copy of all answers
      */
     public List<Answer> getAllAnswers() {
-        return new ArrayList<>(answers);
+        return new ArrayList<>(answersById.values());
     }
     
     /**
@@ -96,7 +119,7 @@ public class Answers {
      * @return true when empty
      */
     public boolean isEmpty() {
-        return answers.isEmpty();
+        return answersById.isEmpty();
     }
     
     /**
@@ -104,6 +127,17 @@ public class Answers {
      * @return answer count
      */
     public int size() {
-        return answers.size();
+        return answersById.size();
+    }
+
+    private void unlinkQuestion(String answerId) {
+        String questionId = questionIds.remove(answerId);
+        Map<String, Answer> forQuestion = answersByQuestion.get(questionId);
+        if (forQuestion != null) {
+            forQuestion.remove(answerId);
+            if (forQuestion.isEmpty()) {
+                answersByQuestion.remove(questionId);
+            }
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,66 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests that the id and question indexes in the in-memory {@link Answers}
+ * store stay consistent across add, update and delete.
+ */
+public class AnswersTest {
+
+    private Answers answers;
+
+    @BeforeEach
+    void setUp() {
+        answers = new Answers();
+        answers.addAnswer(answer("A1", "Q1", "first"));
+        answers.addAnswer(answer("A2", "Q2", "second"));
+        answers.addAnswer(answer("A3", "Q1", "third"));
+    }
+
+    @Test
+    void testLookupAndPerQuestionRetrieval() {
+        assertEquals("second", answers.getAnswer("A2").getContent());
+        assertNull(answers.getAnswer("missing"));
+        assertEquals(List.of("A1", "A3"), ids(answers.getAnswersForQuestion("Q1")));
+        assertTrue(answers.getAnswersForQuestion("Q9").isEmpty());
+    }
+
+    @Test
+    void testUpdateKeepsPositionAndReindexesQuestion() {
+        answers.updateAnswer(answer("A1", "Q1", "edited"));
+        assertEquals("edited", answers.getAnswersForQuestion("Q1").getAnswer("A1").getContent());
+        assertEquals(List.of("A1", "A3"), ids(answers.getAnswersForQuestion("Q1")));
+
+        answers.updateAnswer(answer("A3", "Q2", "moved"));
+        assertEquals(List.of("A1"), ids(answers.getAnswersForQuestion("Q1")));
+        assertEquals(List.of("A2", "A3"), ids(answers.getAnswersForQuestion("Q2")));
+        assertEquals(List.of("A1", "A2", "A3"), answers.getAllAnswers().stream().map(Answer::getAnswerId).toList());
+
+        answers.updateAnswer(answer("missing", "Q1", "x"));
+        assertEquals(3, answers.size(), "Update must not add unknown answers");
+    }
+
+    @Test
+    void testDeleteRemovesFromBothIndexes() {
+        answers.deleteAnswer("A1");
+        answers.deleteAnswer("missing");
+        assertNull(answers.getAnswer("A1"));
+        assertEquals(List.of("A3"), ids(answers.getAnswersForQuestion("Q1")));
+        assertEquals(2, answers.size());
+    }
+
+    private static Answer answer(String id, String questionId, String content) {
+        return new Answer(id, questionId, content, "author", new Timestamp(0), false);
+    }
+
+    private static List<String> ids(Answers list) {
+        return list.getAllAnswers().stream().map(Answer::getAnswerId).toList();
+    }
+}
@@ -0,0 +1,214 @@
+package application;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.TableView;
+import javafx.scene.layout.VBox;
+
+/**
+ * Runs database loads off the JavaFX application thread and delivers their
+ * results back on it.
+ * <p>
+ * Each load is started under a key, usually one per table. Starting a new load
+ * for a key supersedes the previous one: its task is cancelled if it has not
+ * started yet, and if it is already running its result is dropped when it
+ * arrives, so a slow stale load can never overwrite a newer one. Running
+ * queries are not interrupted, because interrupting a thread inside H2 can
+ * close the underlying database file channel.
+ * </p>
+ * <p>
+ * Pages create one loader each and call {@link #cancelAll()} when they are
+ * left. Work runs on a small shared pool of daemon threads, kept below the
+ * connection pool size so background loads leave connections for writes made
+ * on the UI thread.
+ * </p>
+ */
+public class AsyncLoader {
+
+	private static final AtomicInteger THREAD_COUNT = new AtomicInteger();
+	private static final ExecutorService SHARED_EXECUTOR = Executors.newFixedThreadPool(
+			Integer.getInteger("cse360.loader.threads", 4), r -> {
+				Thread thread = new Thread(r, "db-loader-" + THREAD_COUNT.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			});
+	/** Key under which a table's own placeholder is kept while it loads. */
+	private static final String SAVED_PLACEHOLDER = AsyncLoader.class.getName() + ".placeholder";
+
+	private final Executor background;
+	private final Executor uiThread;
+	private final Map<String, Load> current = new HashMap<>();
+
+	/** A started load and the future running it. Compared by identity. */
+	private static final class Load {
+		Future<?> future;
+	}
+
+	/** Creates a loader that runs on the shared pool and delivers via {@link Platform#runLater}. */
+	public AsyncLoader() {
+		this(SHARED_EXECUTOR, Platform::runLater);
+	}
+
+	/**
+	 * Creates a loader with explicit executors, e.g. direct executors in tests.
+	 * @param background executor that runs the loads; an {@link ExecutorService}
+	 *                   lets superseded loads be cancelled before they start
+	 * @param uiThread   executor that delivers results and errors
+	 */
+	public AsyncLoader(Executor background, Executor uiThread) {
+		this.background = background;
+		this.uiThread = uiThread;
+	}
+
+	/**
+	 * Start a load, superseding any load already running under the same key.
+	 * @param key       identifies what is being loaded, e.g. "questions"
+	 * @param work      the query to run in the background
+	 * @param onSuccess receives the result on the UI thread, unless superseded
+	 * @param onError   receives the failure on the UI thread, unless superseded
+	 * @param <T>       result type
+	 */
+	public <T> void load(String key, Callable<T> work, Consumer<T> onSuccess, Consumer<Exception> onError) {
+		Load load = new Load();
+		synchronized (current) {
+			Load previous = current.put(key, load);
+			if (previous != null && previous.future != null) {
+				previous.future.cancel(false);
+			}
+		}
+
+		Runnable task = () -> {
+			if (!isCurrent(key, load)) {
+				return;
+			}
+			try {
+				T result = work.call();
+				uiThread.execute(() -> {
+					if (finish(key, load)) {
+						onSuccess.accept(result);
+					}
+				});
+			} catch (Exception e) {
+				uiThread.execute(() -> {
+					if (finish(key, load)) {
+						onError.accept(e);
+					}
+				});
+			}
+		};
+
+		if (background instanceof ExecutorService) {
+			Future<?> future = ((ExecutorService) background).submit(task);
+			synchronized (current) {
+				load.future = future;
+			}
+		} else {
+			background.execute(task);
+		}
+	}
+
+	/**
+	 * Load rows into a table. While the load runs the table is cleared and
+	 * shows a progress placeholder; afterwards its original placeholder is
+	 * restored.
+	 * @param key     identifies the load
+	 * @param table   table to fill
+	 * @param work    query returning the rows
+	 * @param onError receives the failure on the UI thread
+	 * @param <T>     row type
+	 */
+	public <T> void loadTable(String key, TableView<T> table, Callable<List<T>> work, Consumer<Exception> onError) {
+		loadTable(key, table, work, rows -> {
+		}, onError);
+	}
+
+	/**
+	 * Load rows into a table, then run a callback with them, e.g. to report an
+	 * empty result.
+	 * @param key      identifies the load
+	 * @param table    table to fill
+	 * @param work     query returning the rows
+	 * @param onLoaded receives the rows on the UI thread after the table is filled
+	 * @param onError  receives the failure on the UI thread
+	 * @param <T>      row type
+	 */
+	public <T> void loadTable(String key, TableView<T> table, Callable<List<T>> work, Consumer<List<T>> onLoaded,
+			Consumer<Exception> onError) {
+		if (!(table.getPlaceholder() instanceof LoadingPlaceholder)) {
+			table.getProperties().put(SAVED_PLACEHOLDER, table.getPlaceholder());
+		}
+		table.setPlaceholder(new LoadingPlaceholder());
+		table.setItems(FXCollections.observableArrayList());
+		load(key, work, rows -> {
+			table.setPlaceholder((Node) table.getProperties().get(SAVED_PLACEHOLDER));
+			table.setItems(FXCollections.observableArrayList(rows));
+			onLoaded.accept(rows);
+		}, e -> {
+			table.setPlaceholder((Node) table.getProperties().get(SAVED_PLACEHOLDER));
+			onError.accept(e);
+		});
+	}
+
+	/**
+	 * @param key load key
+	 * @return true while a load for the key has been started and not delivered
+	 */
+	public boolean isLoading(String key) {
+		synchronized (current) {
+			return current.containsKey(key);
+		}
+	}
+
+	/** Supersede every running load; none of their results will be delivered. */
+	public void cancelAll() {
+		synchronized (current) {
+			for (Load load : current.values()) {
+				if (load.future != null) {
+					load.future.cancel(false);
+				}
+			}
+			current.clear();
+		}
+	}
+
+	private boolean isCurrent(String key, Load load) {
+		synchronized (current) {
+			return current.get(key) == load;
+		}
+	}
+
+	/** Deliver only if the load is still the newest for its key. */
+	private boolean finish(String key, Load load) {
+		synchronized (current) {
+			if (current.get(key) != load) {
+				return false;
+			}
+			current.remove(key);
+			return true;
+		}
+	}
+
+	/** Spinner and label shown in a table while it loads. */
+	private static final class LoadingPlaceholder extends VBox {
+		LoadingPlaceholder() {
+			super(8, new ProgressIndicator(), new Label("Loading..."));
+			setAlignment(Pos.CENTER);
+			((ProgressIndicator) getChildren().get(0)).setMaxSize(40, 40);
+		}
+	}
+}
@@ -0,0 +1,96 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link AsyncLoader}. Background work is queued and run by hand so
+ * each test controls the order in which loads finish; results are delivered
+ * directly on the test thread.
+ */
+public class AsyncLoaderTest {
+
+    private Deque<Runnable> queued;
+    private AsyncLoader loader;
+    private List<String> delivered;
+
+    @BeforeEach
+    void setUp() {
+        queued = new ArrayDeque<>();
+        Executor background = queued::add;
+        loader = new AsyncLoader(background, Runnable::run);
+        delivered = new ArrayList<>();
+    }
+
+    @Test
+    void testResultDeliveredAndLoadFinishes() {
+        loader.load("questions", () -> "rows", delivered::add, e -> fail(e));
+        assertTrue(loader.isLoading("questions"));
+
+        queued.poll().run();
+        assertEquals(List.of("rows"), delivered);
+        assertFalse(loader.isLoading("questions"));
+    }
+
+    @Test
+    void testNewerLoadSupersedesOlderOne() {
+        loader.load("questions", () -> "stale", delivered::add, e -> fail(e));
+        Runnable stale = queued.poll();
+        loader.load("questions", () -> "fresh", delivered::add, e -> fail(e));
+
+        // The newer load finishes first; the older one must not overwrite it
+        queued.poll().run();
+        stale.run();
+        assertEquals(List.of("fresh"), delivered);
+    }
+
+    @Test
+    void testKeysLoadIndependently() {
+        loader.load("questions", () -> "questions", delivered::add, e -> fail(e));
+        loader.load("answers", () -> "answers", delivered::add, e -> fail(e));
+        while (!queued.isEmpty()) {
+            queued.poll().run();
+        }
+        assertEquals(List.of("questions", "answers"), delivered);
+    }
+
+    @Test
+    void testErrorDeliveredToHandler() {
+        List<Exception> errors = new ArrayList<>();
+        loader.<String>load("questions", () -> {
+            throw new SQLException("boom");
+        }, delivered::add, errors::add);
+
+        queued.poll().run();
+        assertTrue(delivered.isEmpty());
+        assertEquals(1, errors.size());
+        assertEquals("boom", errors.get(0).getMessage());
+    }
+
+    @Test
+    void testCancelAllDropsPendingResults() {
+        List<String> ran = new ArrayList<>();
+        loader.load("questions", () -> {
+            ran.add("questions");
+            return "questions";
+        }, delivered::add, e -> fail(e));
+        loader.load("answers", () -> "answers", delivered::add, e -> fail(e));
+
+        loader.cancelAll();
+        while (!queued.isEmpty()) {
+            queued.poll().run();
+        }
+        assertTrue(delivered.isEmpty());
+        assertTrue(ran.isEmpty(), "A load cancelled before it starts should not query");
+        assertFalse(loader.isLoading("questions"));
+    }
+}
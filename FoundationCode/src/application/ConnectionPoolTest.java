@@ -0,0 +1,180 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ConnectionPool;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for the bounded JDBC connection pool used by {@link DatabaseHelper}.
+ * Uses a private in-memory H2 database so it does not touch application data.
+ */
+public class ConnectionPoolTest {
+
+    private static final String URL = "jdbc:h2:mem:pooltest;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = new ConnectionPool(URL, "sa", "", 2, 200);
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE TABLE IF NOT EXISTS pool_items (id INT PRIMARY KEY)");
+            stmt.execute("DELETE FROM pool_items");
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        pool.close();
+    }
+
+    @Test
+    void testClosedConnectionIsReused() throws SQLException {
+        try (Connection conn = pool.borrow()) {
+            assertFalse(conn.isClosed());
+        }
+        try (Connection conn = pool.borrow()) {
+            assertFalse(conn.isClosed());
+        }
+        assertEquals(1, pool.getOpenCount(), "Returned connection should be reused");
+        assertEquals(0, pool.getActiveCount());
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testBorrowTimesOutWhenExhausted() throws SQLException {
+        Connection first = pool.borrow();
+        Connection second = pool.borrow();
+        assertEquals(1.0, pool.getUtilization(), 0.0001);
+
+        SQLException ex = assertThrows(SQLException.class, () -> pool.borrow());
+        assertTrue(ex.getMessage().contains("Timed out"));
+        assertEquals(1, pool.getTimeoutCount());
+
+        first.close();
+        second.close();
+        assertEquals(0.0, pool.getUtilization(), 0.0001);
+    }
+
+    @Test
+    void testReturnedHandleCannotBeUsed() throws SQLException {
+        Connection conn = pool.borrow();
+        conn.close();
+        assertTrue(conn.isClosed());
+        assertThrows(SQLException.class, () -> conn.createStatement());
+        // Closing twice must not return the connection twice
+        conn.close();
+        assertEquals(1, pool.getIdleCount());
+    }
+
+    @Test
+    void testStatementsDoNotExposePhysicalConnection() throws SQLException {
+        PreparedStatement leftOpen;
+        ResultSet leftOpenRows;
+        try (Connection conn = pool.borrow()) {
+            leftOpen = conn.prepareStatement("SELECT id FROM pool_items");
+            leftOpenRows = leftOpen.executeQuery();
+            assertSame(conn, leftOpen.getConnection());
+            assertSame(leftOpen, leftOpenRows.getStatement());
+            assertSame(conn, leftOpenRows.getStatement().getConnection());
+        }
+        assertTrue(leftOpen.isClosed(), "Statements left open are closed when the handle is returned");
+        assertTrue(leftOpenRows.isClosed());
+
+        // The returned connection is reused; its old statements stay closed
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            stmt.execute("INSERT INTO pool_items VALUES (1)");
+        }
+        assertEquals(1, pool.getOpenCount());
+        assertThrows(SQLException.class, () -> leftOpen.executeQuery("SELECT 1"));
+    }
+
+    @Test
+    void testTransactionSharesConnectionAndRollsBack() throws SQLException {
+        Connection tx = pool.beginTransaction();
+        try {
+            try (Connection nested = pool.borrow(); Statement stmt = nested.createStatement()) {
+                stmt.executeUpdate("INSERT INTO pool_items VALUES (1)");
+            }
+            // Nested borrow shares the bound connection, so no extra one is opened
+            assertEquals(1, pool.getActiveCount());
+            tx.rollback();
+        } finally {
+            pool.endTransaction();
+        }
+        assertFalse(pool.inTransaction());
+        assertEquals(0, countItems());
+    }
+
+    @Test
+    void testConcurrentBorrowersStayWithinBound() throws Exception {
+        ConnectionPool wide = new ConnectionPool(URL, "sa", "", 3, 5_000);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int i = 0; i < 40; i++) {
+                results.add(executor.submit(() -> {
+                    try (Connection conn = wide.borrow(); Statement stmt = conn.createStatement();
+                            ResultSet rs = stmt.executeQuery("SELECT 1")) {
+                        rs.next();
+                        return rs.getInt(1);
+                    }
+                }));
+            }
+            for (Future<Integer> f : results) {
+                assertEquals(1, f.get(10, TimeUnit.SECONDS));
+            }
+            assertTrue(wide.getPeakActiveCount() <= 3);
+            assertTrue(wide.getOpenCount() <= 3);
+            assertEquals(40, wide.getBorrowCount());
+            assertTrue(wide.getAverageWaitMillis() >= 0.0);
+            assertEquals(0, wide.getTimeoutCount());
+            assertEquals(0, wide.getActiveCount(), "Every borrower returned its connection");
+            assertTrue(wide.getMaxWaitMillis() >= wide.getAverageWaitMillis());
+        } finally {
+            executor.shutdownNow();
+            wide.close();
+        }
+    }
+
+    @Test
+    void testHelperOperationsUsePool() throws SQLException {
+        DatabaseHelper db = new DatabaseHelper();
+        db.connectToDatabase();
+        try {
+            db.getAllQuestions();
+            db.getMostActiveUsers(5);
+            ConnectionPool helperPool = db.getConnectionPool();
+            assertNotNull(helperPool);
+            assertEquals(0, helperPool.getActiveCount(), "Every operation should return its connection");
+            assertTrue(helperPool.getBorrowCount() >= 2);
+        } finally {
+            db.closeConnection();
+        }
+    }
+
+    private int countItems() throws SQLException {
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM pool_items")) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+}
@@ -48,6 +48,15 @@ public class ContentFlag {
     /** Timestamp when the flag was created */
     private final StringProperty createdAt;
     
+    /** Longest content excerpt shown in the flag table */
+    private static final int PREVIEW_LENGTH = 80;
+    
+    /** Full description of the flagged content; null until resolved or if the content no longer exists */
+    private String contentDetails;
+    
+    /** One-line excerpt of the flagged content for the flag table */
+    private final StringProperty contentPreview = new SimpleStringProperty("");
+    
     /**
      * Constructs a new ContentFlag instance with all required information.
      * The timestamp is formatted to a human-readable string format (yyyy-MM-dd HH:mm).
@@ -179,4 +188,42 @@ public class ContentFlag {
      * @param status the new status (Pending, Reviewed, Resolved)
      */
     public void setStatus(String status) { this.status.set(status); }
+    
+    /**
+     * Gets the full description of the flagged content, as filled in by
+     * {@code DatabaseHelper.resolveFlaggedContent}.
+     * 
+     * @return the content description, or null if not resolved or not found
+     */
+    public String getContentDetails() { return contentDetails; }
+    
+    /**
+     * Gets the one-line excerpt of the flagged content.
+     * 
+     * @return the preview, empty if not resolved or not found
+     */
+    public String getContentPreview() { return contentPreview.get(); }
+    
+    /**
+     * Gets the content preview property for JavaFX binding.
+     * 
+     * @return the contentPreview property
+     */
+    public StringProperty contentPreviewProperty() { return contentPreview; }
+    
+    /**
+     * Attaches the resolved content to this flag. The preview is the excerpt
+     * on one line, shortened to {@value #PREVIEW_LENGTH} characters.
+     * 
+     * @param details full description of the content for the details view
+     * @param excerpt the part of the content to preview, e.g. a title or body
+     */
+    public void setContent(String details, String excerpt) {
+        this.contentDetails = details;
+        String line = excerpt == null ? "" : excerpt.replaceAll("\\s+", " ").trim();
+        if (line.length() > PREVIEW_LENGTH) {
+            line = line.substring(0, PREVIEW_LENGTH - 3) + "...";
+        }
+        this.contentPreview.set(line);
+    }
 }
\ No newline at end of file
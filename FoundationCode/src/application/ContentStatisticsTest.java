@@ -0,0 +1,173 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ContentStatistics;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for the incrementally maintained report counters behind
+ * {@link DatabaseHelper#getContentStatistics()}. Each test compares the
+ * counters against a full recount taken on a fresh load.
+ */
+public class ContentStatisticsTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:contentstats;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("admin1", "Pass123!", "admin1@test.com", "Admin", "admin"));
+        db.register(new User("statsStudent", "Pass123!", "s@test.com", "Student", "student"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    /** Counters as a full recount sees them; marks the maintained ones stale to force it. */
+    private Map<String, Integer> recount() throws SQLException {
+        db.executeUpdate("SET @recount = 1");
+        return db.getContentStatistics();
+    }
+
+    @Test
+    void testWritesKeepCountersInStep() throws SQLException {
+        db.getContentStatistics();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        db.insertQuestion(new Question("SQ1", "Open", "content", "statsStudent", now));
+        db.insertQuestion(new Question("SQ2", "Closed", "content", "statsStudent", now));
+        db.updateQuestionResolved("SQ2", true);
+        db.updateQuestionResolved("SQ2", true);
+        db.insertAnswer(new Answer("SA1", "SQ1", "answer", "statsStudent", now, false));
+        db.insertAnswer(new Answer("SA2", "SQ1", "answer", "statsStudent", now, false));
+        db.insertAnswer(new Answer("SA3", "SQ2", "answer", "statsStudent", now, false));
+        db.deleteAnswer("SA3");
+        db.insertReview(new Review("SR1", "SA1", "statsStudent", "review", now, null));
+        db.insertPrivateMessage("SQ1", "admin1", "statsStudent", "hello");
+        db.flagContent("question", "SQ1", "admin1", "spam");
+        db.flagContent("answer", "SA1", "admin1", "spam");
+        db.updateFlagStatus(db.getAllFlags().get(0).getFlagId(), "Resolved");
+        db.register(new User("statsStaff", "Pass123!", "st@test.com", "Staff", "staff"));
+        db.updateUserRole("statsStaff", "instructor", "admin1");
+
+        Map<String, Integer> maintained = db.getContentStatistics();
+        assertEquals(2, maintained.get(ContentStatistics.TOTAL_QUESTIONS));
+        assertEquals(1, maintained.get(ContentStatistics.UNRESOLVED_QUESTIONS));
+        assertEquals(2, maintained.get(ContentStatistics.TOTAL_ANSWERS));
+        assertEquals(1, maintained.get(ContentStatistics.PENDING_FLAGS));
+        assertNull(maintained.get(ContentStatistics.USERS_PREFIX + "staff"));
+        assertEquals(recount(), maintained);
+
+        db.deleteReview("SR1");
+        db.executeUpdate("DELETE FROM content_flags");
+        db.executeUpdate("DELETE FROM UserRoles WHERE userName = 'statsStaff'");
+        db.getContentStatistics();
+        db.deleteQuestion("SQ1");
+        db.deleteUser("statsStaff", "admin1");
+        maintained = db.getContentStatistics();
+        assertEquals(0, maintained.get(ContentStatistics.TOTAL_ANSWERS));
+        assertEquals(0, maintained.get(ContentStatistics.UNRESOLVED_QUESTIONS));
+        assertEquals(recount(), maintained);
+    }
+
+    @Test
+    void testLoadedReadsRunNoQueries() throws SQLException {
+        db.getContentStatistics();
+        long before = db.getConnectionPool().getStatementCount();
+        db.getContentStatistics();
+        db.insertQuestion(new Question("SQ1", "Open", "content", "statsStudent",
+                new Timestamp(System.currentTimeMillis())));
+        long afterInsert = db.getConnectionPool().getStatementCount();
+        assertEquals(1, db.getContentStatistics().get(ContentStatistics.TOTAL_QUESTIONS));
+        assertEquals(afterInsert, db.getConnectionPool().getStatementCount());
+        assertTrue(afterInsert > before, "The insert itself still runs");
+    }
+
+    @Test
+    void testExecuteUpdateMarksStale() throws SQLException {
+        db.getContentStatistics();
+        db.executeUpdate("INSERT INTO questions (questionId, title, content, author) "
+                + "VALUES ('RAW1', 't', 'c', 'statsStudent')");
+        assertEquals(1, db.getContentStatistics().get(ContentStatistics.TOTAL_QUESTIONS));
+    }
+
+    @Test
+    void testReconcileRepairsDrift() throws SQLException {
+        db.getContentStatistics();
+        // A write the helper never sees, as another process would make it
+        Connection conn = db.getConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO questions (questionId, title, content, author) "
+                    + "VALUES ('RAW1', 't', 'c', 'statsStudent')");
+        }
+        assertEquals(0, db.getContentStatistics().get(ContentStatistics.TOTAL_QUESTIONS));
+
+        db.reconcileContentStatistics();
+        assertEquals(1, db.getContentStatistics().get(ContentStatistics.TOTAL_QUESTIONS));
+        assertEquals(1, db.getContentStatistics().get(ContentStatistics.UNRESOLVED_QUESTIONS));
+    }
+
+    @Test
+    void testRecountDuringWriteNotInstalled() throws SQLException {
+        Connection conn = db.getConnection();
+        ContentStatistics stats = new ContentStatistics();
+        stats.load(conn);
+
+        // The write commits, a recount runs, and only then is the write's adjustment applied
+        stats.beginWrite();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO questions (questionId, title, content, author) "
+                    + "VALUES ('RACE1', 't', 'c', 'statsStudent')");
+        }
+        stats.reconcile(conn);
+        stats.adjust(ContentStatistics.TOTAL_QUESTIONS, 1);
+        stats.endWrite();
+        assertEquals(1, stats.snapshot().get(ContentStatistics.TOTAL_QUESTIONS), "Counted once, not twice");
+
+        // A recount with no write in flight is installed again
+        long reconciled = stats.getReconcileCount();
+        stats.reconcile(conn);
+        assertEquals(reconciled + 1, stats.getReconcileCount());
+    }
+
+    @Test
+    void testLoadDuringWriteReturnsCountUninstalled() throws SQLException {
+        Connection conn = db.getConnection();
+        ContentStatistics stats = new ContentStatistics();
+        stats.beginWrite();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.executeUpdate("INSERT INTO questions (questionId, title, content, author) "
+                    + "VALUES ('RACE1', 't', 'c', 'statsStudent')");
+        }
+        assertEquals(1, stats.load(conn).get(ContentStatistics.TOTAL_QUESTIONS));
+        assertFalse(stats.isLoaded(), "A count that raced a write is not installed");
+        stats.adjust(ContentStatistics.TOTAL_QUESTIONS, 1);
+        stats.endWrite();
+
+        assertEquals(1, stats.load(conn).get(ContentStatistics.TOTAL_QUESTIONS));
+        assertTrue(stats.isLoaded());
+    }
+
+    @Test
+    void testAdjustBeforeLoadLeftToLoad() {
+        ContentStatistics stats = new ContentStatistics();
+        assertNull(stats.snapshot(), "Nothing to read before the first load");
+        stats.adjust(ContentStatistics.TOTAL_QUESTIONS, 1);
+        assertNull(stats.snapshot(), "Adjustments before the load are left to the load");
+    }
+}
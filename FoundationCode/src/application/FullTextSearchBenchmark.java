@@ -0,0 +1,131 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Compares search latency of the {@code LOWER(...) LIKE} queries with the
+ * inverted index behind {@link DatabaseHelper#searchQuestions(String, int)}.
+ * Prints the average time per search for both paths and checks they find the
+ * same questions for single-word queries.
+ * <p>
+ * Runs against a private in-memory database. Set
+ * {@code -Dbench.questions=100000} for a larger run.
+ * </p>
+ */
+public class FullTextSearchBenchmark {
+
+    private static final int QUESTIONS = Integer.getInteger("bench.questions", 20000);
+    private static final String[] VOCABULARY = {
+        "java", "stream", "lambda", "sql", "join", "index", "table", "query", "thread", "lock",
+        "pool", "cache", "heap", "garbage", "collector", "javafx", "button", "layout", "event", "binding",
+        "junit", "assert", "mock", "build", "maven", "gradle", "module", "class", "interface", "generic",
+        "array", "list", "map", "set", "queue", "tree", "graph", "sort", "search", "hash",
+    };
+    private static final String[] KEYWORDS = { "javafx", "garbage", "gradle", "queue", "binding" };
+    private static final int ROUNDS = 5;
+
+    private static DatabaseHelper db;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:searchbench;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("benchAuthor", "Pass123!", "bench@test.com", "Bench Author", "student"));
+
+        Random random = new Random(7);
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement q = conn.prepareStatement(
+                "INSERT INTO questions (questionId, title, content, author, createdAt) VALUES (?, ?, ?, ?, ?)")) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < QUESTIONS; i++) {
+                q.setString(1, "BENCH_Q" + i);
+                q.setString(2, words(random, 6));
+                q.setString(3, words(random, 40));
+                q.setString(4, "benchAuthor");
+                q.setTimestamp(5, new Timestamp(now - i * 1000L));
+                q.addBatch();
+            }
+            q.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void benchmarkIndexAgainstLike() throws SQLException {
+        long buildStart = System.nanoTime();
+        db.rebuildSearchIndex();
+        long buildNanos = System.nanoTime() - buildStart;
+
+        // Warm up both paths
+        for (String keyword : KEYWORDS) {
+            db.searchQuestionsByTitle(keyword);
+            db.searchQuestions(keyword, DatabaseHelper.SEARCH_TITLE);
+        }
+
+        long likeNanos = 0;
+        long indexNanos = 0;
+        for (int r = 0; r < ROUNDS; r++) {
+            for (String keyword : KEYWORDS) {
+                long start = System.nanoTime();
+                List<Question> like = db.searchQuestionsByTitle(keyword);
+                likeNanos += System.nanoTime() - start;
+
+                start = System.nanoTime();
+                List<Question> indexed = db.searchQuestions(keyword, DatabaseHelper.SEARCH_TITLE);
+                indexNanos += System.nanoTime() - start;
+
+                if (r == 0 && like.size() <= 500) {
+                    assertEquals(ids(like), ids(indexed), "Both paths should match the same questions for " + keyword);
+                }
+            }
+        }
+
+        int searches = ROUNDS * KEYWORDS.length;
+        System.out.printf("Question title search, %d questions (avg of %d searches)%n", QUESTIONS, searches);
+        System.out.printf("  index build   : %8.2f ms (once)%n", buildNanos / 1e6);
+        System.out.printf("  LOWER LIKE    : %8.2f ms%n", likeNanos / 1e6 / searches);
+        System.out.printf("  inverted index: %8.2f ms%n", indexNanos / 1e6 / searches);
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            if (i > 0) {
+                text.append(' ');
+            }
+            // Skewed choice so some words are rare and others common
+            int index = (int) (VOCABULARY.length * Math.pow(random.nextDouble(), 3));
+            text.append(VOCABULARY[index]);
+        }
+        return text.toString();
+    }
+
+    private static Set<String> ids(List<Question> questions) {
+        return questions.stream().map(Question::getQuestionId).collect(Collectors.toCollection(HashSet::new));
+    }
+}
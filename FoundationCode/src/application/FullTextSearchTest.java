@@ -0,0 +1,169 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.SearchIndex;
+
+/**
+ * Tests for {@link SearchIndex} and the full-text search methods on
+ * {@link DatabaseHelper}, including incremental updates on insert, update and
+ * delete.
+ */
+public class FullTextSearchTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:fulltext;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("searchUser", "Pass123!", "search@test.com", "Search User", "student"));
+        db.insertQuestion(question("FTS_Q1", "How do I join two tables in SQL?", "Inner join or left join"));
+        db.insertQuestion(question("FTS_Q2", "Java streams", "Collecting a stream into a map"));
+        db.insertQuestion(question("FTS_Q3", "Indexing in H2", "When does H2 use an index for a join?"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testTokenizeLowercasesAndSplitsOnPunctuation() {
+        assertEquals(List.of("h2", "s", "left", "join", "sql"), SearchIndex.tokenize("H2's LEFT-JOIN (SQL)"));
+        assertTrue(SearchIndex.tokenize(null).isEmpty());
+    }
+
+    @Test
+    void testAndOrPrefixAndRanking() {
+        SearchIndex index = new SearchIndex(2.0, 1.0);
+        index.put("a", "join tables", "nothing else");
+        index.put("b", "streams", "a join appears in the body");
+        index.put("c", "indexes", "index lookups");
+
+        // Title matches are boosted above body matches
+        assertEquals(List.of("a", "b"), index.search("join", SearchIndex.ALL_FIELDS, 10));
+        assertEquals(List.of("b"), index.search("join body", SearchIndex.ALL_FIELDS, 10));
+        assertEquals(List.of("b"), index.search("join", 1, 10));
+        assertEquals(List.of("a", "c"), index.search("tables OR lookups", SearchIndex.ALL_FIELDS, 10));
+        assertEquals(List.of("c"), index.search("index*", SearchIndex.ALL_FIELDS, 10));
+        assertTrue(index.search("missing", SearchIndex.ALL_FIELDS, 10).isEmpty());
+
+        index.put("a", "renamed", "");
+        index.remove("c");
+        assertEquals(List.of("b"), index.search("join", SearchIndex.ALL_FIELDS, 10));
+        assertTrue(index.search("index*", SearchIndex.ALL_FIELDS, 10).isEmpty());
+        assertEquals(2, index.size());
+    }
+
+    @Test
+    void testQuestionSearchFollowsWrites() throws SQLException {
+        assertEquals(List.of("FTS_Q1", "FTS_Q3"), ids(db.searchQuestions("join", DatabaseHelper.SEARCH_ALL_FIELDS)));
+        assertEquals(List.of("FTS_Q3"), ids(db.searchQuestions("h2 join", DatabaseHelper.SEARCH_ALL_FIELDS)));
+        assertEquals(List.of("FTS_Q3"), ids(db.searchQuestions("h2", DatabaseHelper.SEARCH_TITLE)));
+
+        db.insertQuestion(question("FTS_Q4", "Another join question", ""));
+        Question edited = question("FTS_Q2", "Java streams and joins", "Joining strings");
+        db.updateQuestion(edited);
+        db.deleteQuestion("FTS_Q1");
+
+        assertEquals(List.of("FTS_Q4", "FTS_Q3"), ids(db.searchQuestions("join", DatabaseHelper.SEARCH_ALL_FIELDS)));
+        assertEquals(List.of("FTS_Q2"), ids(db.searchQuestions("joini*", DatabaseHelper.SEARCH_CONTENT)));
+    }
+
+    @Test
+    void testAnswerAndReviewSearch() throws SQLException {
+        db.insertAnswer(new Answer("FTS_A1", "FTS_Q1", "Use a LEFT JOIN", "searchUser",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertAnswer(new Answer("FTS_A2", "FTS_Q2", "Collectors.toMap", "searchUser",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertReview(new Review("FTS_R1", "FTS_A1", "searchUser", "Clear answer about joins",
+                new Timestamp(System.currentTimeMillis()), null));
+
+        assertEquals(List.of("FTS_A1"), db.searchAnswers("left join").stream()
+                .map(Answer::getAnswerId).collect(Collectors.toList()));
+        assertEquals(List.of("FTS_R1"), db.searchReviews("joins").stream()
+                .map(Review::getReviewId).collect(Collectors.toList()));
+
+        db.deleteAnswer("FTS_A2");
+        assertTrue(db.searchAnswers("collectors").isEmpty());
+    }
+
+    @Test
+    void testWritesDuringRebuildAreKept() throws Exception {
+        db.executeUpdate("INSERT INTO answers (answerId, questionId, content, author) "
+                + "SELECT 'BULK' || X, 'FTS_Q1', 'filler text ' || X, 'searchUser' FROM SYSTEM_RANGE(1, 20000)");
+        db.insertAnswer(new Answer("FTS_EDIT", "FTS_Q1", "before the edit", "searchUser",
+                new Timestamp(System.currentTimeMillis()), false));
+
+        // Answers written while the rebuild reads the tables must all be searchable once it publishes
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> {
+            try {
+                db.rebuildSearchIndex();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        List<String> written = new ArrayList<>();
+        for (int i = 0; !rebuild.isDone() || i < 5; i++) {
+            String id = "RACE" + i;
+            db.insertAnswer(new Answer(id, "FTS_Q1", "concurrent marker", "searchUser",
+                    new Timestamp(System.currentTimeMillis()), false));
+            written.add(id);
+            db.updateAnswer(new Answer("FTS_EDIT", "FTS_Q1", "after edit " + i, "searchUser",
+                    new Timestamp(System.currentTimeMillis()), false));
+        }
+        rebuild.join();
+
+        List<String> found = db.searchAnswers("concurrent marker").stream()
+                .map(Answer::getAnswerId).sorted().collect(Collectors.toList());
+        assertEquals(written.stream().sorted().collect(Collectors.toList()), found);
+        assertTrue(db.searchAnswers("before").isEmpty(), "An update during the rebuild must not be undone");
+    }
+
+    @Test
+    void testSearchesDuringRebuildSeeFullIndex() throws Exception {
+        db.executeUpdate("INSERT INTO answers (answerId, questionId, content, author) "
+                + "SELECT 'BULK' || X, 'FTS_Q1', 'filler text ' || X, 'searchUser' FROM SYSTEM_RANGE(1, 20000)");
+        for (int i = 1; i <= 3; i++) {
+            db.insertAnswer(new Answer("STEADY" + i, "FTS_Q1", "steady marker", "searchUser",
+                    new Timestamp(System.currentTimeMillis()), false));
+        }
+        assertEquals(3, db.searchAnswers("steady marker").size());
+
+        CompletableFuture<Void> rebuild = CompletableFuture.runAsync(() -> {
+            try {
+                db.rebuildSearchIndex();
+            } catch (SQLException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        int searches = 0;
+        while (!rebuild.isDone() || searches < 5) {
+            assertEquals(3, db.searchAnswers("steady marker").size(), "Search " + searches + " during the rebuild");
+            searches++;
+        }
+        rebuild.join();
+    }
+
+    private static Question question(String id, String title, String content) {
+        return new Question(id, title, content, "searchUser", new Timestamp(System.currentTimeMillis()));
+    }
+
+    private static List<String> ids(List<Question> questions) {
+        return questions.stream().map(Question::getQuestionId).collect(Collectors.toList());
+    }
+}
@@ -48,13 +48,12 @@ public class InstructorHomePage {
 	    logoutButton.setOnAction(e -> {
 	    	
 	    	try {
-		    	// To clear session if needed
-		    	DatabaseHelper dbHelper = new DatabaseHelper();
-	    		// Reconnect for login screen
-	    		dbHelper.connectToDatabase();
+		    	// Reconnect for login screen; this clears the session's pool and caches
+		    	// on the one shared helper instead of leaving a second one open
+	    		databaseHelper.connectToDatabase();
 	    		
 	    		// Return to selection page
-	    		SetupLoginSelectionPage setupPage = new SetupLoginSelectionPage(dbHelper);
+	    		SetupLoginSelectionPage setupPage = new SetupLoginSelectionPage(databaseHelper);
 	    		setupPage.show(primaryStage);
 	    		
 	    	} catch(Exception ex) {
@@ -0,0 +1,187 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.Page;
+import databasePart1.PageCursor;
+import databasePart1.ReviewFilter;
+
+/**
+ * Tests for the keyset-paginated listings in {@link DatabaseHelper}. Rows are
+ * seeded with repeated creation times so pages have to break ties by id.
+ */
+public class KeysetPaginationTest {
+
+    private DatabaseHelper db;
+
+    /** Fetches one page; lets one walk helper cover every listing. */
+    private interface PageFetcher<T> {
+        Page<T> fetch(PageCursor after, int limit) throws SQLException;
+    }
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:keyset;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("pageUser", "Pass123!", "page@test.com", "Page User", "student"));
+
+        // Three rows share each creation time: 0..9 seconds past the hour
+        db.executeUpdate("INSERT INTO questions (questionId, title, content, author, createdAt) "
+            + "SELECT 'PAGE_Q' || x, 'Title ' || x, 'Body', 'pageUser', "
+            + "DATEADD('SECOND', MOD(x, 10), TIMESTAMP '2025-01-01 10:00:00') FROM SYSTEM_RANGE(1, 30)");
+        db.executeUpdate("INSERT INTO question_tags (questionId, tag) "
+            + "SELECT 'PAGE_Q' || x, 'tag' || MOD(x, 2) FROM SYSTEM_RANGE(1, 30)");
+        db.executeUpdate("INSERT INTO question_tags (questionId, tag) VALUES ('PAGE_Q1', 'extra')");
+        db.executeUpdate("INSERT INTO answers (answerId, questionId, content, author, createdAt) "
+            + "SELECT 'PAGE_A' || x, 'PAGE_Q' || MOD(x, 5) + 1, 'Answer', 'pageUser', "
+            + "DATEADD('SECOND', MOD(x, 10), TIMESTAMP '2025-01-01 10:00:00') FROM SYSTEM_RANGE(1, 30)");
+        db.executeUpdate("INSERT INTO PrivateMessages (questionId, fromUser, toUser, content, createdAt) "
+            + "SELECT 'PAGE_Q1', 'pageUser', 'pageUser', 'Message', "
+            + "DATEADD('SECOND', MOD(x, 10), TIMESTAMP '2025-01-01 10:00:00') FROM SYSTEM_RANGE(1, 30)");
+        db.executeUpdate("INSERT INTO content_flags (contentType, contentId, flaggedBy, reason, createdAt) "
+            + "SELECT 'question', 'PAGE_Q' || x, 'pageUser', 'Reason', "
+            + "DATEADD('SECOND', MOD(x, 10), TIMESTAMP '2025-01-01 10:00:00') FROM SYSTEM_RANGE(1, 30)");
+        for (int i = 1; i <= 6; i++) {
+            db.register(new User("pager" + i, "Pass123!", "pager" + i + "@test.com", "Pager", "student"));
+        }
+        db.executeUpdate("INSERT INTO answer_reviews (reviewId, answerId, reviewerUserName, reviewContent, createdAt) "
+            + "SELECT 'PAGE_R' || x, 'PAGE_A' || MOD(x, 3) + 1, 'pager' || MOD(x, 2) + 1, 'Review', "
+            + "DATEADD('SECOND', MOD(x, 10), TIMESTAMP '2025-01-01 10:00:00') FROM SYSTEM_RANGE(1, 30)");
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testQuestionPagesMatchFullList() throws SQLException {
+        List<Question> paged = walk(db::getQuestionsPage, 7);
+        List<Question> all = db.getAllQuestions();
+        assertEquals(ids(all, Question::getQuestionId), ids(paged, Question::getQuestionId));
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(new HashSet<>(all.get(i).getTags()), new HashSet<>(paged.get(i).getTags()),
+                "Tags of " + all.get(i).getQuestionId());
+        }
+    }
+
+    @Test
+    void testListViewPagesCarryAnswerCounts() throws SQLException {
+        List<Question> paged = walk((after, limit) -> db.getQuestionListViewPage("pageUser", after, limit), 4);
+        List<Question> all = db.getQuestionListView("pageUser");
+        assertEquals(ids(all, Question::getQuestionId), ids(paged, Question::getQuestionId));
+        for (int i = 0; i < all.size(); i++) {
+            assertEquals(all.get(i).getAnswerCount(), paged.get(i).getAnswerCount());
+            assertEquals(all.get(i).isAnswered(), paged.get(i).isAnswered());
+            assertEquals(all.get(i).getUnreadAnswers(), paged.get(i).getUnreadAnswers());
+        }
+    }
+
+    @Test
+    void testAnsweredFilterPagesMatchFilteredList() throws SQLException {
+        List<Question> all = db.getQuestionListView("pageUser");
+        for (boolean answered : new boolean[] { true, false }) {
+            List<Question> paged = walk(
+                (after, limit) -> db.getQuestionListViewPage("pageUser", answered, after, limit), 4);
+            List<Question> expected = all.stream().filter(q -> q.isAnswered() == answered)
+                .collect(Collectors.toList());
+            assertEquals(ids(expected, Question::getQuestionId), ids(paged, Question::getQuestionId));
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getAnswerCount(), paged.get(i).getAnswerCount());
+                assertEquals(new HashSet<>(expected.get(i).getTags()), new HashSet<>(paged.get(i).getTags()));
+            }
+        }
+        assertEquals(5, walk((after, limit) -> db.getQuestionListViewPage("pageUser", true, after, limit), 4).size());
+    }
+
+    @Test
+    void testOtherListingsVisitEveryRowOnceNewestFirst() throws SQLException {
+        List<Answer> answers = walk(db::getAnswersPage, 4);
+        assertEquals(30, new HashSet<>(ids(answers, Answer::getAnswerId)).size());
+        assertNewestFirst(ids(answers, Answer::getCreatedAt));
+
+        List<PrivateMessage> messages = walk(db::getPrivateMessagesPage, 4);
+        assertEquals(30, new HashSet<>(ids(messages, m -> String.valueOf(m.getId()))).size());
+        assertNewestFirst(ids(messages, m -> m.getCreatedAt().toString()));
+
+        List<ContentFlag> flags = walk(db::getFlagsPage, 4);
+        assertEquals(30, new HashSet<>(ids(flags, f -> String.valueOf(f.getFlagId()))).size());
+        assertNewestFirst(ids(flags, ContentFlag::getCreatedAt));
+    }
+
+    @Test
+    void testUsersPageByUserName() throws SQLException {
+        List<String> names = ids(walk(db::getUsersPage, 3), User::getUserName);
+        List<String> expected = ids(db.getAllUsers(), User::getUserName).stream().sorted().collect(Collectors.toList());
+        assertEquals(expected, names);
+    }
+
+    @Test
+    void testReviewPagesApplyFilters() throws SQLException {
+        List<Review> all = walk((after, limit) -> db.getAllReviews(ReviewFilter.NONE, after, limit), 4);
+        assertEquals(30, new HashSet<>(ids(all, Review::getReviewId)).size());
+        assertNewestFirst(ids(all, r -> r.getCreatedAt().toString()));
+
+        List<Review> byReviewer = walk((after, limit) -> db.getAllReviews(
+            new ReviewFilter("pager1", null, null, null), after, limit), 4);
+        assertEquals(15, byReviewer.size());
+        assertTrue(byReviewer.stream().allMatch(r -> r.getReviewer().equals("pager1")));
+
+        List<Review> byAnswer = walk((after, limit) -> db.getAllReviews(
+            new ReviewFilter("pager1", "PAGE_A1", null, null), after, limit), 2);
+        assertEquals(5, byAnswer.size());
+        assertTrue(byAnswer.stream().allMatch(r -> r.getAnswerId().equals("PAGE_A1")));
+
+        // Seconds 2..4 inclusive: the upper bound is exclusive
+        List<Review> byDate = walk((after, limit) -> db.getAllReviews(new ReviewFilter(null, null,
+            Timestamp.valueOf("2025-01-01 10:00:02"), Timestamp.valueOf("2025-01-01 10:00:05")), after, limit), 4);
+        assertEquals(9, byDate.size());
+        assertNewestFirst(ids(byDate, r -> r.getCreatedAt().toString()));
+    }
+
+    @Test
+    void testLastPageHasNoCursor() throws SQLException {
+        Page<Answer> page = db.getAnswersPage(null, 30);
+        assertEquals(30, page.getItems().size());
+        assertFalse(page.hasMore(), "An exactly full last page must not claim more rows");
+        assertTrue(db.getAnswersPage(null, 29).hasMore());
+        assertThrows(IllegalArgumentException.class, () -> db.getAnswersPage(null, 0));
+    }
+
+    /** Follow cursors until the last page, checking each page respects the limit. */
+    private static <T> List<T> walk(PageFetcher<T> fetcher, int limit) throws SQLException {
+        List<T> rows = new ArrayList<>();
+        PageCursor cursor = null;
+        do {
+            Page<T> page = fetcher.fetch(cursor, limit);
+            assertTrue(page.getItems().size() <= limit);
+            rows.addAll(page.getItems());
+            cursor = page.getNext();
+        } while (cursor != null);
+        return rows;
+    }
+
+    private static <T> List<String> ids(List<T> rows, Function<T, String> idOf) {
+        return rows.stream().map(idOf).collect(Collectors.toList());
+    }
+
+    private static void assertNewestFirst(List<String> createdAt) {
+        for (int i = 1; i < createdAt.size(); i++) {
+            assertTrue(createdAt.get(i - 1).compareTo(createdAt.get(i)) >= 0, "Out of order at " + i);
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package application;
+
+import java.sql.SQLException;
+import java.util.function.Consumer;
+
+import databasePart1.Page;
+import databasePart1.PageCursor;
+import javafx.collections.ObservableList;
+import javafx.scene.control.TableRow;
+import javafx.scene.control.TableView;
+import javafx.util.Callback;
+
+/**
+ * Fills a table one keyset page at a time, fetching the next page in the
+ * background when the user scrolls near the last loaded row.
+ * <p>
+ * TableView already renders only the visible rows; this bounds the first
+ * load as well, so first paint costs one page however large the table is.
+ * Pages are appended to the table's items as the user scrolls and are not
+ * evicted, so the rows held grow with how far the user has scrolled. Pages
+ * are loaded through the page's {@link AsyncLoader} under the
+ * given key. A different load under that key, such as a search, replaces the
+ * table's items and stops paging until {@link #reload()} is called again.
+ * </p>
+ * @param <T> row type
+ */
+public class PagedTableLoader<T> {
+
+    /** Rows fetched per page. */
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    /** Start fetching the next page when a row this close to the end is shown. */
+    private static final int PREFETCH_ROWS = 20;
+
+    /** Fetches one page; called on a background thread. */
+    @FunctionalInterface
+    public interface PageSource<T> {
+        /**
+         * @param after cursor from the previous page, or null for the first page
+         * @param limit maximum number of rows
+         * @return the page and the cursor for the next one
+         * @throws SQLException on DB error
+         */
+        Page<T> fetch(PageCursor after, int limit) throws SQLException;
+    }
+
+    private final AsyncLoader loader;
+    private final String key;
+    private final TableView<T> table;
+    private final PageSource<T> source;
+    private final Consumer<Exception> onError;
+    private final int pageSize;
+
+    /** The item list this loader appends to; paging stops once the table shows another list. */
+    private ObservableList<T> items;
+    private PageCursor next;
+
+    /**
+     * Creates a loader with the default page size and hooks it into the
+     * table's row factory. Set any custom row factory before this.
+     * @param loader  the page's async loader
+     * @param key     load key, shared with other loads of the same table
+     * @param table   table to fill
+     * @param source  page query
+     * @param onError receives failures on the UI thread
+     */
+    public PagedTableLoader(AsyncLoader loader, String key, TableView<T> table, PageSource<T> source,
+            Consumer<Exception> onError) {
+        this(loader, key, table, source, onError, DEFAULT_PAGE_SIZE);
+    }
+
+    /**
+     * Creates a loader and hooks it into the table's row factory.
+     * @param loader   the page's async loader
+     * @param key      load key, shared with other loads of the same table
+     * @param table    table to fill
+     * @param source   page query
+     * @param onError  receives failures on the UI thread
+     * @param pageSize rows fetched per page
+     */
+    public PagedTableLoader(AsyncLoader loader, String key, TableView<T> table, PageSource<T> source,
+            Consumer<Exception> onError, int pageSize) {
+        this.loader = loader;
+        this.key = key;
+        this.table = table;
+        this.source = source;
+        this.onError = onError;
+        this.pageSize = pageSize;
+
+        // Rows are reused while scrolling, so a row's index changes as new rows come into view
+        Callback<TableView<T>, TableRow<T>> base = table.getRowFactory();
+        table.setRowFactory(tv -> {
+            TableRow<T> row = base == null ? new TableRow<>() : base.call(tv);
+            row.indexProperty().addListener((obs, oldIndex, newIndex) -> {
+                if (newIndex.intValue() >= table.getItems().size() - PREFETCH_ROWS) {
+                    loadMore();
+                }
+            });
+            return row;
+        });
+    }
+
+    /** Clear the table and load the first page. */
+    public void reload() {
+        items = null;
+        next = null;
+        PageCursor[] firstNext = new PageCursor[1];
+        loader.loadTable(key, table, () -> {
+            Page<T> page = source.fetch(null, pageSize);
+            firstNext[0] = page.getNext();
+            return page.getItems();
+        }, rows -> {
+            items = table.getItems();
+            next = firstNext[0];
+        }, onError);
+    }
+
+    /** Fetch the next page unless one is loading, the list is complete, or the table shows other rows. */
+    public void loadMore() {
+        if (items == null || next == null || table.getItems() != items || loader.isLoading(key)) {
+            return;
+        }
+        PageCursor after = next;
+        loader.load(key, () -> source.fetch(after, pageSize), page -> {
+            if (table.getItems() == items) {
+                items.addAll(page.getItems());
+                next = page.getNext();
+            }
+        }, onError);
+    }
+
+    /**
+     * @return true when more pages remain to be fetched for the current list
+     */
+    public boolean hasMore() {
+        return next != null;
+    }
+}
@@ -1,5 +1,8 @@
 package application;
 
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Utility providing password-strength checks and error details for UI validation.
  */
@@ -16,6 +19,8 @@ public class PasswordEvaluator {
 	 * @author Lynn Robert Carter
 	 * 
 	 * @version 0.00		2018-02-22	Initial baseline 
+	 * @version 0.01		2026-10-17	Reentrant table-driven evaluation returning a Result; the
+	 * 									static fields are filled by the evaluatePassword wrapper
 	 * 
 	 */
 
@@ -35,127 +40,165 @@ public class PasswordEvaluator {
 	public static boolean foundSpecialChar = false;
 	public static boolean foundLongEnough = false;
 	public static boolean otherChar = false;            // The input is something other than required 
-	private static String inputLine = "";				// The input line
-	private static char currentChar;					// The current character in the line
 	public static char currentCharGUI;					// Used in UI to specify invalid input
-	private static int currentCharNdx;					// The index of the current character
-	private static boolean running;						// The flag that specifies if the FSM is 
-														// running
+
+	/** Error returned for an empty password. */
+	public static final String EMPTY_MESSAGE = "*** Error *** The password is empty!";
+	/** Error returned for a character outside the four classes. */
+	public static final String INVALID_CHARACTER_MESSAGE = "*** Error *** An invalid character has been found!";
+	/** Characters that count as special. */
+	public static final String SPECIAL_CHARACTERS = "~`!@#$%^&*()_-+{}[]|:,.?/";
+	/** Shortest password that is long enough. */
+	public static final int MIN_LENGTH = 8;
+
+	// Character classes; anything outside ASCII is INVALID
+	private static final byte INVALID = 0;
+	private static final byte UPPER = 1;
+	private static final byte LOWER = 2;
+	private static final byte DIGIT = 3;
+	private static final byte SPECIAL = 4;
+	private static final byte[] CHAR_CLASS = new byte[128];
+
+	static {
+		for (char c = 'A'; c <= 'Z'; c++) CHAR_CLASS[c] = UPPER;
+		for (char c = 'a'; c <= 'z'; c++) CHAR_CLASS[c] = LOWER;
+		for (char c = '0'; c <= '9'; c++) CHAR_CLASS[c] = DIGIT;
+		for (int i = 0; i < SPECIAL_CHARACTERS.length(); i++) CHAR_CLASS[SPECIAL_CHARACTERS.charAt(i)] = SPECIAL;
+	}
 
 	/**********
-	 * This private method display the input line and then on a line under it displays an up arrow
-	 * at the point where an error should one be detected.  This method is designed to be used to 
-	 * display the error message on the console terminal.
+	 * The outcome of evaluating one password.  Results are immutable, so they can be shared
+	 * between threads; every valid password gets the same instance.
+	 */
+	public static final class Result {
+		private static final Result VALID = new Result("", 0, true, true, true, true, true, false);
+
+		private final String errorMessage;
+		private final int errorIndex;
+		private final boolean upperCase;
+		private final boolean lowerCase;
+		private final boolean numericDigit;
+		private final boolean specialChar;
+		private final boolean longEnough;
+		private final boolean invalidChar;
+
+		private Result(String errorMessage, int errorIndex, boolean upperCase, boolean lowerCase,
+				boolean numericDigit, boolean specialChar, boolean longEnough, boolean invalidChar) {
+			this.errorMessage = errorMessage;
+			this.errorIndex = errorIndex;
+			this.upperCase = upperCase;
+			this.lowerCase = lowerCase;
+			this.numericDigit = numericDigit;
+			this.specialChar = specialChar;
+			this.longEnough = longEnough;
+			this.invalidChar = invalidChar;
+		}
+
+		/** @return the error text, empty when the password is valid */
+		public String getErrorMessage() { return errorMessage; }
+		/** @return index of the character at fault, the length for a missing condition, 0 if valid */
+		public int getErrorIndex() { return errorIndex; }
+		/** @return true if an upper case letter was seen before evaluation stopped */
+		public boolean hasUpperCase() { return upperCase; }
+		/** @return true if a lower case letter was seen before evaluation stopped */
+		public boolean hasLowerCase() { return lowerCase; }
+		/** @return true if a digit was seen before evaluation stopped */
+		public boolean hasNumericDigit() { return numericDigit; }
+		/** @return true if a special character was seen before evaluation stopped */
+		public boolean hasSpecialChar() { return specialChar; }
+		/** @return true if at least {@link PasswordEvaluator#MIN_LENGTH} characters were seen */
+		public boolean isLongEnough() { return longEnough; }
+		/** @return true if evaluation stopped at an invalid character */
+		public boolean hasInvalidChar() { return invalidChar; }
+		/** @return true if the password satisfies every condition */
+		public boolean isValid() { return errorMessage.isEmpty(); }
+	}
+
+	/**********
+	 * Evaluates a password without touching any shared state, so any number of threads may call
+	 * it at once.  Each character is classified by a table lookup; a valid password allocates
+	 * nothing.
 	 * 
-	 * @param input				The input string
-	 * @param currentCharNdx	The location where an error was found
-	 * @return					Two lines, the entire input line followed by a line with an up arrow
+	 * @param input		The password to evaluate
+	 * @return			The result; its error message is empty if the password is valid
 	 */
-	private static void displayInputState() {
-		// Display the entire input line
-		System.out.println(inputLine);
-		System.out.println(inputLine.substring(0,currentCharNdx) + "?");
-		System.out.println("The password size: " + inputLine.length() + "  |  The currentCharNdx: " + 
-				currentCharNdx + "  |  The currentChar: \"" + currentChar + "\"");
+	public static Result evaluate(String input) {
+		int length = input.length();
+		if (length <= 0)
+			return new Result(EMPTY_MESSAGE, 0, false, false, false, false, false, false);
+
+		// One bit per class seen, indexed by the class number
+		int seen = 0;
+		for (int ndx = 0; ndx < length; ndx++) {
+			char c = input.charAt(ndx);
+			byte charClass = c < CHAR_CLASS.length ? CHAR_CLASS[c] : INVALID;
+			if (charClass == INVALID)
+				return new Result(INVALID_CHARACTER_MESSAGE, ndx, (seen & (1 << UPPER)) != 0,
+						(seen & (1 << LOWER)) != 0, (seen & (1 << DIGIT)) != 0, (seen & (1 << SPECIAL)) != 0,
+						ndx >= MIN_LENGTH, true);
+			seen |= 1 << charClass;
+		}
+
+		boolean upperCase = (seen & (1 << UPPER)) != 0;
+		boolean lowerCase = (seen & (1 << LOWER)) != 0;
+		boolean numericDigit = (seen & (1 << DIGIT)) != 0;
+		boolean specialChar = (seen & (1 << SPECIAL)) != 0;
+		boolean longEnough = length >= MIN_LENGTH;
+		if (upperCase && lowerCase && numericDigit && specialChar && longEnough)
+			return Result.VALID;
+
+		StringBuilder errMessage = new StringBuilder(96);
+		if (!upperCase)
+			errMessage.append("Upper case; ");
+		if (!lowerCase)
+			errMessage.append("Lower case; ");
+		if (!numericDigit)
+			errMessage.append("Numeric digits; ");
+		if (!specialChar)
+			errMessage.append("Special character; ");
+		if (!longEnough)
+			errMessage.append("Long Enough; ");
+		errMessage.append("conditions were not satisfied");
+		return new Result(errMessage.toString(), length, upperCase, lowerCase, numericDigit, specialChar,
+				longEnough, false);
 	}
 
 	/**********
-	 * This method is a mechanical transformation of a Directed Graph diagram into a Java
-	 * method.
+	 * Evaluates a batch of passwords.
+	 * 
+	 * @param inputs	The passwords to evaluate
+	 * @return			One result per password, in the same order
+	 */
+	public static List<Result> evaluateAll(List<String> inputs) {
+		List<Result> results = new ArrayList<>(inputs.size());
+		for (String input : inputs)
+			results.add(evaluate(input));
+		return results;
+	}
+
+	/**********
+	 * The original static entry point, kept for the existing pages.  It evaluates with
+	 * {@link #evaluate(String)} and then copies the result into the public static fields, so
+	 * those fields are only meaningful to a single-threaded caller.
 	 * 
 	 * @param input		The input string for directed graph processing
 	 * @return			An output string that is empty if every things is okay or it will be
-	 * 						a string with a help description of the error follow by two lines
-	 * 						that shows the input line follow by a line with an up arrow at the
-	 *						point where the error was found.
+	 * 						a string with a help description of the error
 	 */
 	public static String evaluatePassword(String input) {
-		// The following are the local variable used to perform the Directed Graph simulation
+		Result result = evaluate(input);
 		passwordErrorMessage = "";
-		passwordIndexofError = 0;			// Initialize the IndexofError
-		inputLine = input;					// Save the reference to the input line as a global
-		currentCharNdx = 0;					// The index of the current character
-		
-		if(input.length() <= 0) return "*** Error *** The password is empty!";
-		
-		// The input is not empty, so we can access the first character
-		currentChar = input.charAt(0);		// The current character from the above indexed position
-
-		// The Directed Graph simulation continues until the end of the input is reached or at some 
-		// state the current character does not match any valid transition to a next state
-
-		passwordInput = input;				// Save a copy of the input
-		foundUpperCase = false;				// Reset the Boolean flag
-		foundLowerCase = false;				// Reset the Boolean flag
-		foundNumericDigit = false;			// Reset the Boolean flag
-		foundSpecialChar = false;			// Reset the Boolean flag
-		foundNumericDigit = false;			// Reset the Boolean flag
-		foundLongEnough = false;			// Reset the Boolean flag
-		otherChar = true;					// Reset the Boolean flag
-		running = true;						// Start the loop
-
-		// The Directed Graph simulation continues until the end of the input is reached or at some 
-		// state the current character does not match any valid transition
-		while (running) {
-			displayInputState();
-			// The cascading if statement sequentially tries the current character against all of the
-			// valid transitions
-			if (currentChar >= 'A' && currentChar <= 'Z') {
-				System.out.println("Upper case letter found");
-				foundUpperCase = true;
-			} else if (currentChar >= 'a' && currentChar <= 'z') {
-				System.out.println("Lower case letter found");
-				foundLowerCase = true;
-			} else if (currentChar >= '0' && currentChar <= '9') {
-				System.out.println("Digit found");
-				foundNumericDigit = true;
-			} else if ("~`!@#$%^&*()_-+{}[]|:,.?/".indexOf(currentChar) >= 0) {
-				System.out.println("Special character found");
-				foundSpecialChar = true;
-			} else  {
-				passwordIndexofError = currentCharNdx;
-				otherChar = false;
-				return "*** Error *** An invalid character has been found!";
-			}
-			if (currentCharNdx >= 7) {
-				System.out.println("At least 8 characters found");
-				foundLongEnough = true;
-			}
-			
-			// Go to the next character if there is one
-			currentCharNdx++;
-			if (currentCharNdx >= inputLine.length())
-				running = false;
-			else
-				currentChar = input.charAt(currentCharNdx);
-			
-			System.out.println();
-		}
-		
-		String errMessage = "";
-		if (!foundUpperCase)
-			errMessage += "Upper case; ";
-		
-		if (!foundLowerCase)
-			errMessage += "Lower case; ";
-		
-		if (!foundNumericDigit)
-			errMessage += "Numeric digits; ";
-			
-		if (!foundSpecialChar)
-			errMessage += "Special character; ";
-			
-		if (!foundLongEnough)
-			errMessage += "Long Enough; ";
-		
-		if (!otherChar)
-			errMessage += "Invalid Character; ";
-		
-		if (errMessage == "")
-			return "";
-		
-		passwordIndexofError = currentCharNdx;
-		return errMessage + "conditions were not satisfied";
+		passwordIndexofError = result.getErrorIndex();
+		if (input.length() <= 0)
+			return result.getErrorMessage();
 
+		passwordInput = input;
+		foundUpperCase = result.hasUpperCase();
+		foundLowerCase = result.hasLowerCase();
+		foundNumericDigit = result.hasNumericDigit();
+		foundSpecialChar = result.hasSpecialChar();
+		foundLongEnough = result.isLongEnough();
+		otherChar = !result.hasInvalidChar();
+		return result.getErrorMessage();
 	}
 }
@@ -0,0 +1,196 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares {@link PasswordEvaluator#evaluate} with the static, console-tracing
+ * evaluator it replaced, on a mix of valid, weak and invalid passwords.
+ * Prints passwords per second for the old evaluator (its trace sent to a
+ * discarding stream, so console speed is left out), the new one on one
+ * thread, and the batch API spread over several threads; checks they agree.
+ * <p>
+ * Set {@code -Dbench.passwords=...} and {@code -Dbench.threads=...} to change
+ * the corpus size and the thread count.
+ * </p>
+ */
+public class PasswordEvaluatorBenchmark {
+
+    private static final int PASSWORDS = Integer.getInteger("bench.passwords", 100_000);
+    private static final int THREADS = Integer.getInteger("bench.threads", 4);
+
+    @Test
+    void benchmarkReentrantEvaluatorAgainstStatic() throws Exception {
+        List<String> corpus = buildCorpus();
+
+        PrintStream console = System.out;
+        String[] legacy = new String[PASSWORDS];
+        long legacyNanos;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            legacyNanos = time(() -> {
+                for (int i = 0; i < PASSWORDS; i++) legacy[i] = LegacyEvaluator.evaluatePassword(corpus.get(i));
+            });
+        } finally {
+            System.setOut(console);
+        }
+
+        // Once untimed so the new evaluator is compiled before it is measured, as the old one was
+        PasswordEvaluator.evaluateAll(corpus);
+        List<List<PasswordEvaluator.Result>> single = new ArrayList<>();
+        long singleNanos = time(() -> single.add(PasswordEvaluator.evaluateAll(corpus)));
+
+        List<List<String>> slices = new ArrayList<>();
+        int sliceSize = (PASSWORDS + THREADS - 1) / THREADS;
+        for (int from = 0; from < PASSWORDS; from += sliceSize) {
+            slices.add(corpus.subList(from, Math.min(PASSWORDS, from + sliceSize)));
+        }
+        List<PasswordEvaluator.Result> parallel = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long parallelNanos;
+        try {
+            // Start the threads and compile on them before timing
+            for (Future<?> warmup : pool.invokeAll(slices.stream()
+                    .map(slice -> (Callable<?>) () -> PasswordEvaluator.evaluateAll(slice))
+                    .toList())) {
+                warmup.get();
+            }
+            long start = System.nanoTime();
+            List<Future<List<PasswordEvaluator.Result>>> futures = new ArrayList<>();
+            for (List<String> slice : slices) {
+                futures.add(pool.submit(() -> PasswordEvaluator.evaluateAll(slice)));
+            }
+            for (Future<List<PasswordEvaluator.Result>> future : futures) {
+                parallel.addAll(future.get());
+            }
+            parallelNanos = System.nanoTime() - start;
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.printf("Password evaluation, %d passwords%n", PASSWORDS);
+        report("static, traced", legacyNanos);
+        report("evaluate", singleNanos);
+        report("evaluateAll x" + THREADS, parallelNanos);
+
+        for (int i = 0; i < PASSWORDS; i++) {
+            assertEquals(legacy[i], single.get(0).get(i).getErrorMessage());
+            assertEquals(legacy[i], parallel.get(i).getErrorMessage());
+        }
+    }
+
+    /** A third valid, a third missing a condition, a third with an invalid character. */
+    private static List<String> buildCorpus() {
+        Random random = new Random(42);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789~`!@#$%^&*()_-+{}[]|:,.?/";
+        List<String> corpus = new ArrayList<>(PASSWORDS);
+        for (int i = 0; i < PASSWORDS; i++) {
+            StringBuilder password = new StringBuilder();
+            int length = 6 + random.nextInt(14);
+            for (int j = 0; j < length; j++) {
+                password.append(alphabet.charAt(random.nextInt(alphabet.length())));
+            }
+            if (i % 3 == 0) {
+                password.append("Aa1!");
+            } else if (i % 3 == 2) {
+                password.insert(random.nextInt(length), ' ');
+            }
+            corpus.add(password.toString());
+        }
+        return corpus;
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String evaluator, long nanos) {
+        System.out.printf("  %-18s %,14.0f passwords/s%n", evaluator, PASSWORDS / (nanos / 1e9));
+    }
+
+    /** The static evaluator {@link PasswordEvaluator} used before it was made reentrant. */
+    private static class LegacyEvaluator {
+        private static int passwordIndexofError;
+        private static boolean foundUpperCase, foundLowerCase, foundNumericDigit, foundSpecialChar,
+                foundLongEnough, otherChar;
+        private static String inputLine = "";
+        private static char currentChar;
+        private static int currentCharNdx;
+        private static boolean running;
+
+        private static void displayInputState() {
+            System.out.println(inputLine);
+            System.out.println(inputLine.substring(0, currentCharNdx) + "?");
+            System.out.println("The password size: " + inputLine.length() + "  |  The currentCharNdx: "
+                    + currentCharNdx + "  |  The currentChar: \"" + currentChar + "\"");
+        }
+
+        static String evaluatePassword(String input) {
+            passwordIndexofError = 0;
+            inputLine = input;
+            currentCharNdx = 0;
+            if (input.length() <= 0) return "*** Error *** The password is empty!";
+            currentChar = input.charAt(0);
+            foundUpperCase = false;
+            foundLowerCase = false;
+            foundNumericDigit = false;
+            foundSpecialChar = false;
+            foundLongEnough = false;
+            otherChar = true;
+            running = true;
+            while (running) {
+                displayInputState();
+                if (currentChar >= 'A' && currentChar <= 'Z') {
+                    System.out.println("Upper case letter found");
+                    foundUpperCase = true;
+                } else if (currentChar >= 'a' && currentChar <= 'z') {
+                    System.out.println("Lower case letter found");
+                    foundLowerCase = true;
+                } else if (currentChar >= '0' && currentChar <= '9') {
+                    System.out.println("Digit found");
+                    foundNumericDigit = true;
+                } else if ("~`!@#$%^&*()_-+{}[]|:,.?/".indexOf(currentChar) >= 0) {
+                    System.out.println("Special character found");
+                    foundSpecialChar = true;
+                } else {
+                    passwordIndexofError = currentCharNdx;
+                    otherChar = false;
+                    return "*** Error *** An invalid character has been found!";
+                }
+                if (currentCharNdx >= 7) {
+                    System.out.println("At least 8 characters found");
+                    foundLongEnough = true;
+                }
+                currentCharNdx++;
+                if (currentCharNdx >= inputLine.length())
+                    running = false;
+                else
+                    currentChar = input.charAt(currentCharNdx);
+                System.out.println();
+            }
+            String errMessage = "";
+            if (!foundUpperCase) errMessage += "Upper case; ";
+            if (!foundLowerCase) errMessage += "Lower case; ";
+            if (!foundNumericDigit) errMessage += "Numeric digits; ";
+            if (!foundSpecialChar) errMessage += "Special character; ";
+            if (!foundLongEnough) errMessage += "Long Enough; ";
+            if (!otherChar) errMessage += "Invalid Character; ";
+            if (errMessage.isEmpty()) return "";
+            passwordIndexofError = currentCharNdx;
+            return errMessage + "conditions were not satisfied";
+        }
+    }
+}
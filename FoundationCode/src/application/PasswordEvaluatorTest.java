@@ -0,0 +1,100 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for {@link PasswordEvaluator}: the messages and error positions the
+ * pages show, the static fields the legacy wrapper fills, and concurrent use
+ * of the reentrant evaluator.
+ */
+public class PasswordEvaluatorTest {
+
+    @Test
+    void testValidPassword() {
+        PasswordEvaluator.Result result = PasswordEvaluator.evaluate("Pass123!");
+        assertTrue(result.isValid());
+        assertEquals("", result.getErrorMessage());
+        assertEquals(0, result.getErrorIndex());
+        assertSame(result, PasswordEvaluator.evaluate("Another1~"), "Valid results are shared");
+    }
+
+    @Test
+    void testEmptyPassword() {
+        PasswordEvaluator.Result result = PasswordEvaluator.evaluate("");
+        assertEquals(PasswordEvaluator.EMPTY_MESSAGE, result.getErrorMessage());
+        assertEquals(0, result.getErrorIndex());
+    }
+
+    @Test
+    void testInvalidCharacterStopsEvaluation() {
+        PasswordEvaluator.Result result = PasswordEvaluator.evaluate("Abcdefgh 1!");
+        assertEquals(PasswordEvaluator.INVALID_CHARACTER_MESSAGE, result.getErrorMessage());
+        assertEquals(8, result.getErrorIndex());
+        assertTrue(result.hasInvalidChar());
+        assertTrue(result.hasUpperCase());
+        assertTrue(result.isLongEnough());
+        assertFalse(result.hasNumericDigit(), "Characters after the error are not seen");
+
+        assertEquals(2, PasswordEvaluator.evaluate("Abécd").getErrorIndex(), "Non-ASCII is invalid");
+    }
+
+    @Test
+    void testMissingConditionsListed() {
+        PasswordEvaluator.Result result = PasswordEvaluator.evaluate("abc");
+        assertEquals("Upper case; Numeric digits; Special character; Long Enough; conditions were not satisfied",
+                result.getErrorMessage());
+        assertEquals(3, result.getErrorIndex());
+        assertFalse(result.hasInvalidChar());
+
+        assertEquals("Lower case; conditions were not satisfied",
+                PasswordEvaluator.evaluate("ABCD1234~`!@#$%^&*()_-+{}[]|:,.?/").getErrorMessage());
+    }
+
+    @Test
+    void testStaticWrapperFillsFields() {
+        assertEquals("", PasswordEvaluator.evaluatePassword("Pass123!"));
+        assertEquals("Pass123!", PasswordEvaluator.passwordInput);
+        assertTrue(PasswordEvaluator.foundLongEnough);
+        assertTrue(PasswordEvaluator.otherChar);
+
+        assertEquals(PasswordEvaluator.INVALID_CHARACTER_MESSAGE, PasswordEvaluator.evaluatePassword("Pa ss"));
+        assertEquals(2, PasswordEvaluator.passwordIndexofError);
+        assertFalse(PasswordEvaluator.otherChar);
+        assertTrue(PasswordEvaluator.foundLowerCase);
+        assertFalse(PasswordEvaluator.foundNumericDigit);
+    }
+
+    @Test
+    void testConcurrentEvaluationMatchesSequential() throws Exception {
+        List<String> passwords = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            passwords.add(i % 3 == 0 ? "Pass" + i + "!" : i % 3 == 1 ? "pass" + i : "Pa ss" + i);
+        }
+        List<PasswordEvaluator.Result> expected = PasswordEvaluator.evaluateAll(passwords);
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<PasswordEvaluator.Result>>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> PasswordEvaluator.evaluateAll(passwords)));
+            }
+            for (Future<List<PasswordEvaluator.Result>> future : futures) {
+                List<PasswordEvaluator.Result> actual = future.get();
+                for (int i = 0; i < passwords.size(); i++) {
+                    assertEquals(expected.get(i).getErrorMessage(), actual.get(i).getErrorMessage());
+                    assertEquals(expected.get(i).getErrorIndex(), actual.get(i).getErrorIndex());
+                }
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,320 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.ReviewFilter;
+
+/**
+ * Throughput and latency of the main {@link DatabaseHelper} operations: list,
+ * search, insert, curation, statistics and reviewer profile loading, against a
+ * private in-memory database seeded with batched inserts.
+ * <p>
+ * Each operation is warmed up, then timed call by call; the table printed at
+ * the end gives operations per second and mean, p50 and p99 latency. Set
+ * {@code -Dbench.results=path/to/results.json} to also write the results as
+ * JSON, one object per operation with the seed volumes, for tracking
+ * regressions between runs.
+ * </p>
+ * <p>
+ * Volumes are set with {@code -Dbench.users}, {@code bench.questions},
+ * {@code bench.answers}, {@code bench.reviews}, {@code bench.messages} and
+ * {@code bench.flags}; {@code bench.iterations} and {@code bench.warmup} set the
+ * timed and untimed calls per operation.
+ * </p>
+ */
+public class PersistenceBenchmark {
+
+    private static final Map<String, Integer> VOLUMES = new LinkedHashMap<>();
+    static {
+        VOLUMES.put("users", Integer.getInteger("bench.users", 200));
+        VOLUMES.put("questions", Integer.getInteger("bench.questions", 2000));
+        VOLUMES.put("answers", Integer.getInteger("bench.answers", 4000));
+        VOLUMES.put("reviews", Integer.getInteger("bench.reviews", 2000));
+        VOLUMES.put("messages", Integer.getInteger("bench.messages", 2000));
+        VOLUMES.put("flags", Integer.getInteger("bench.flags", 200));
+    }
+    private static final int USERS = VOLUMES.get("users");
+    private static final int QUESTIONS = VOLUMES.get("questions");
+    private static final int ANSWERS = VOLUMES.get("answers");
+    private static final int REVIEWS = VOLUMES.get("reviews");
+    private static final int MESSAGES = VOLUMES.get("messages");
+    private static final int FLAGS = VOLUMES.get("flags");
+    private static final int ITERATIONS = Integer.getInteger("bench.iterations", 200);
+    private static final int WARMUP = Integer.getInteger("bench.warmup", 50);
+    private static final String RESULTS = System.getProperty("bench.results");
+
+    /** Every fifth user reviews; each student trusts this many of them. */
+    private static final int TRUSTED_PER_STUDENT = 3;
+    private static final String[] VOCABULARY = {
+        "java", "stream", "lambda", "sql", "join", "index", "table", "query", "thread", "lock",
+        "pool", "cache", "heap", "javafx", "button", "layout", "junit", "assert", "module", "generic",
+    };
+
+    private static DatabaseHelper db;
+
+    /** One operation call; {@code i} counts calls so each can use different data. */
+    @FunctionalInterface
+    private interface Operation {
+        void run(int i) throws SQLException;
+    }
+
+    /** Timings of one operation. */
+    private static final class Result {
+        final String name;
+        final long[] nanos;
+        final double opsPerSecond;
+
+        Result(String name, long[] nanos) {
+            this.name = name;
+            this.nanos = nanos.clone();
+            Arrays.sort(this.nanos);
+            this.opsPerSecond = nanos.length / (Arrays.stream(nanos).sum() / 1e9);
+        }
+
+        double meanMicros() { return Arrays.stream(nanos).average().orElse(0) / 1e3; }
+
+        double percentileMicros(double p) {
+            return nanos[Math.min(nanos.length - 1, (int) Math.ceil(p * nanos.length) - 1)] / 1e3;
+        }
+    }
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:persistencebench;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        Random random = new Random(11);
+        long now = System.currentTimeMillis();
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try {
+            batch(conn, "INSERT INTO cse360users (userName, password, name, email, role) VALUES (?, ?, ?, ?, ?)",
+                    USERS, (ps, i) -> {
+                ps.setString(1, user(i));
+                ps.setString(2, "Pass123!");
+                ps.setString(3, "Bench User " + i);
+                ps.setString(4, user(i) + "@test.com");
+                ps.setString(5, isReviewer(i) ? "reviewer" : "student");
+            });
+            batch(conn, "INSERT INTO UserRoles (userName, role) VALUES (?, ?)", USERS, (ps, i) -> {
+                ps.setString(1, user(i));
+                ps.setString(2, isReviewer(i) ? "reviewer" : "student");
+            });
+            batch(conn, "INSERT INTO reviewer_profiles (reviewer_id, name, experience) "
+                    + "SELECT id, userName, '' FROM cse360users WHERE userName = ?", USERS / 5, (ps, i) -> {
+                ps.setString(1, user(i * 5));
+            });
+            batch(conn, "INSERT INTO trusted_reviewers (studentUserName, reviewerUserName, weight) VALUES (?, ?, ?)",
+                    USERS * TRUSTED_PER_STUDENT, (ps, i) -> {
+                ps.setString(1, user(i / TRUSTED_PER_STUDENT));
+                ps.setString(2, user(((i / TRUSTED_PER_STUDENT + i % TRUSTED_PER_STUDENT + 1) * 5) % USERS));
+                ps.setDouble(3, 1 + i % TRUSTED_PER_STUDENT);
+            });
+            batch(conn, "INSERT INTO questions (questionId, title, content, author, createdAt, isResolved) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", QUESTIONS, (ps, i) -> {
+                ps.setString(1, "BQ" + i);
+                ps.setString(2, words(random, 6));
+                ps.setString(3, words(random, 30));
+                ps.setString(4, user(random.nextInt(USERS)));
+                ps.setTimestamp(5, new Timestamp(now - i * 60_000L));
+                ps.setBoolean(6, i % 3 == 0);
+            });
+            batch(conn, "INSERT INTO question_tags (questionId, tag) VALUES (?, ?)", QUESTIONS, (ps, i) -> {
+                ps.setString(1, "BQ" + i);
+                ps.setString(2, VOCABULARY[i % VOCABULARY.length]);
+            });
+            batch(conn, "INSERT INTO answers (answerId, questionId, content, author, createdAt) VALUES (?, ?, ?, ?, ?)",
+                    ANSWERS, (ps, i) -> {
+                ps.setString(1, "BA" + i);
+                ps.setString(2, "BQ" + i % QUESTIONS);
+                ps.setString(3, words(random, 5));
+                ps.setString(4, user(random.nextInt(USERS)));
+                ps.setTimestamp(5, new Timestamp(now - i * 30_000L));
+            });
+            batch(conn, "INSERT INTO answer_reviews (reviewId, answerId, reviewerUserName, reviewContent, createdAt) "
+                    + "VALUES (?, ?, ?, ?, ?)", REVIEWS, (ps, i) -> {
+                ps.setString(1, "BR" + i);
+                ps.setString(2, "BA" + i % ANSWERS);
+                ps.setString(3, user(random.nextInt(USERS / 5) * 5));
+                ps.setString(4, words(random, 12));
+                ps.setTimestamp(5, new Timestamp(now - i * 30_000L));
+            });
+            batch(conn, "INSERT INTO PrivateMessages (questionId, fromUser, toUser, content, createdAt) "
+                    + "VALUES (?, ?, ?, ?, ?)", MESSAGES, (ps, i) -> {
+                ps.setString(1, i % 4 == 0 ? "REV:BR" + i % REVIEWS : "BQ" + i % QUESTIONS);
+                ps.setString(2, user(random.nextInt(USERS)));
+                ps.setString(3, user(random.nextInt(USERS)));
+                ps.setString(4, words(random, 10));
+                ps.setTimestamp(5, new Timestamp(now - i * 10_000L));
+            });
+            batch(conn, "INSERT INTO content_flags (contentType, contentId, flaggedBy, reason, status, createdAt) "
+                    + "VALUES (?, ?, ?, ?, ?, ?)", FLAGS, (ps, i) -> {
+                ps.setString(1, i % 2 == 0 ? "question" : "answer");
+                ps.setString(2, (i % 2 == 0 ? "BQ" + i % QUESTIONS : "BA" + i % ANSWERS));
+                ps.setString(3, user(random.nextInt(USERS)));
+                ps.setString(4, "benchmark flag");
+                ps.setString(5, i % 4 == 0 ? "Resolved" : "Pending");
+                ps.setTimestamp(6, new Timestamp(now - i * 60_000L));
+            });
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+        // Rows written behind the helper's back
+        db.executeUpdate("ANALYZE");
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void benchmarkPersistenceOperations() throws SQLException, IOException {
+        List<Result> results = new ArrayList<>();
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+
+        // List
+        results.add(measure("list.questionsPage", i -> assertFalse(db.getQuestionsPage(null, 50).getItems().isEmpty())));
+        results.add(measure("list.questionListViewPage", i -> db.getQuestionListViewPage(null, null, 50)));
+        results.add(measure("list.answersForQuestion", i -> db.getAnswersForQuestion("BQ" + i % QUESTIONS)));
+        results.add(measure("list.reviewsPage", i -> db.getAllReviews(ReviewFilter.NONE, null, 50)));
+        results.add(measure("list.flagsPage", i -> db.getFlagsPage(null, 50)));
+
+        // Search
+        results.add(measure("search.questions", i -> db.searchQuestions(VOCABULARY[i % VOCABULARY.length], 20)));
+        results.add(measure("search.reviews", i -> db.searchReviews(VOCABULARY[i % VOCABULARY.length])));
+        results.add(measure("search.reviewerNames", i -> db.searchReviewerProfileSummaries(user(i % USERS), 20)));
+
+        // Insert; ids carry the phase so warmup and timed calls never collide
+        int[] phase = { 0 };
+        results.add(measure("insert.question", i -> assertTrue(db.insertQuestion(
+                new Question("NQ" + phase[0]++, "Bench title", "Bench content", user(i % USERS), now)))));
+        results.add(measure("insert.answer", i -> assertTrue(db.insertAnswer(
+                new Answer("NA" + phase[0]++, "BQ" + i % QUESTIONS, "Bench answer", user(i % USERS), now, false)))));
+        results.add(measure("insert.review", i -> assertTrue(db.insertReview(
+                new Review("NR" + phase[0]++, "BA" + i % ANSWERS, user(5 * (i % (USERS / 5))), "Bench review", now, null)))));
+
+        // Curation
+        results.add(measure("curation.curatedAnswers", i -> db.getCuratedAnswers("BQ" + i % QUESTIONS, user(i % USERS))));
+
+        // Statistics: maintained reads, and the recount that loads them
+        results.add(measure("statistics.contentStatistics", i -> db.getContentStatistics()));
+        results.add(measure("statistics.mostActiveUsers", i -> db.getMostActiveUsers(10)));
+        results.add(measure("statistics.reconcile", i -> db.reconcileContentStatistics()));
+
+        // Reviewer profiles
+        results.add(measure("profiles.summaries", i -> db.getReviewerProfileSummaries()));
+        results.add(measure("profiles.byId", i -> assertNotNull(
+                db.getReviewerProfileById(db.getUserIdByUsername(user(5 * (i % (USERS / 5))))))));
+
+        report(results);
+    }
+
+    /** Warm an operation up, then time each of {@link #ITERATIONS} calls. */
+    private static Result measure(String name, Operation operation) throws SQLException {
+        for (int i = 0; i < WARMUP; i++) {
+            operation.run(i);
+        }
+        long[] nanos = new long[ITERATIONS];
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.run(WARMUP + i);
+            nanos[i] = System.nanoTime() - start;
+        }
+        return new Result(name, nanos);
+    }
+
+    private static void report(List<Result> results) throws IOException {
+        System.out.printf("Persistence benchmark, %s, %d calls per operation%n", VOLUMES, ITERATIONS);
+        System.out.printf("  %-32s %12s %12s %12s %12s%n", "operation", "ops/s", "mean us", "p50 us", "p99 us");
+        for (Result r : results) {
+            System.out.printf("  %-32s %12.1f %12.1f %12.1f %12.1f%n", r.name, r.opsPerSecond, r.meanMicros(),
+                    r.percentileMicros(0.50), r.percentileMicros(0.99));
+        }
+        if (RESULTS == null) {
+            return;
+        }
+        Path path = Paths.get(RESULTS);
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(path, StandardCharsets.UTF_8))) {
+            out.println("[");
+            for (int i = 0; i < results.size(); i++) {
+                Result r = results.get(i);
+                StringBuilder params = new StringBuilder();
+                for (Map.Entry<String, Integer> volume : VOLUMES.entrySet()) {
+                    params.append(params.length() == 0 ? "" : ", ")
+                          .append('"').append(volume.getKey()).append("\": ").append(volume.getValue());
+                }
+                out.printf(Locale.ROOT, "  {\"benchmark\": \"%s\", \"params\": {%s}, \"iterations\": %d, "
+                        + "\"opsPerSecond\": %.3f, \"meanMicros\": %.3f, \"p50Micros\": %.3f, "
+                        + "\"p90Micros\": %.3f, \"p99Micros\": %.3f, \"maxMicros\": %.3f}%s%n",
+                        r.name, params, r.nanos.length, r.opsPerSecond, r.meanMicros(), r.percentileMicros(0.50),
+                        r.percentileMicros(0.90), r.percentileMicros(0.99), r.percentileMicros(1.0),
+                        i < results.size() - 1 ? "," : "");
+            }
+            out.println("]");
+        }
+        System.out.println("  results written to " + path.toAbsolutePath());
+    }
+
+    /** Fills one batched insert of {@code rows} rows in 1000-row batches. */
+    private static void batch(Connection conn, String sql, int rows, RowBinder binder) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement(sql)) {
+            for (int i = 0; i < rows; i++) {
+                binder.bind(ps, i);
+                ps.addBatch();
+                if (i % 1000 == 999) {
+                    ps.executeBatch();
+                }
+            }
+            ps.executeBatch();
+        }
+    }
+
+    @FunctionalInterface
+    private interface RowBinder {
+        void bind(PreparedStatement ps, int i) throws SQLException;
+    }
+
+    private static String user(int i) {
+        return "benchUser" + i;
+    }
+
+    private static boolean isReviewer(int i) {
+        return i % 5 == 0;
+    }
+
+    private static String words(Random random, int count) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < count; i++) {
+            text.append(i == 0 ? "" : " ").append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,177 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Regression test for the secondary index migrations (V2, V4, V5). Runs {@code EXPLAIN} on the hot
+ * query shapes used by {@link DatabaseHelper} and fails if H2 plans any of them
+ * as a table scan, or has to sort a newest-first list that an index could
+ * return in order.
+ * <p>
+ * The queries mirror the SQL in {@link DatabaseHelper} with literal values in
+ * place of parameters. Keep them in step when a query changes shape.
+ * </p>
+ */
+public class QueryPlanTest {
+
+    /** Queries filtered on a column; each must be served by an index. */
+    private static final String[] INDEXED_QUERIES = {
+        // getAnswersForQuestion
+        "SELECT * FROM answers WHERE questionId = 'PLAN_Q1' ORDER BY createdAt DESC",
+        // countUnreadAnswers
+        "SELECT COUNT(*) AS count FROM answers WHERE questionId = 'PLAN_Q1' AND isRead = FALSE "
+            + "AND questionId IN (SELECT questionId FROM questions WHERE author = 'planUser')",
+        // getReviewsForAnswer
+        "SELECT reviewId, answerId, reviewerUserName, reviewContent, createdAt, parentReviewID "
+            + "FROM answer_reviews WHERE answerId = 'PLAN_A1' ORDER BY createdAt ASC",
+        // getReviewsByReviewer, with each review's feedback count
+        "SELECT r.*, (SELECT COUNT(*) FROM PrivateMessages fm WHERE fm.questionId = 'REV:' || r.reviewId) "
+            + "AS feedbackCount FROM answer_reviews r WHERE r.reviewerUserName = 'planUser' ORDER BY r.createdAt DESC",
+        // getReviewerProfileSummaries
+        "SELECT p.reviewer_id, p.name, p.experience, "
+            + "(SELECT COUNT(*) FROM answer_reviews r WHERE r.reviewerUserName = p.name) AS reviewCount, "
+            + "(SELECT COUNT(*) FROM PrivateMessages m WHERE m.toUser = p.name AND m.questionId LIKE 'REVFB:%') "
+            + "AS feedbackCount FROM reviewer_profiles p WHERE p.reviewer_id IN (1, 2) ORDER BY p.name",
+        // getUnreadCountForQuestion
+        "SELECT COUNT(*) FROM PrivateMessages WHERE questionId = 'PLAN_Q1' AND toUser = 'planUser' AND isRead = FALSE",
+        // getUnreadCountsByQuestion
+        "SELECT questionId, COUNT(*) FROM PrivateMessages WHERE toUser = 'planUser' AND isRead = FALSE "
+            + "GROUP BY questionId",
+        // getFeedbackCountForReview
+        "SELECT COUNT(*) FROM PrivateMessages WHERE questionId = 'REV:PLAN_R1'",
+        // getFeedbackByReviewer
+        "SELECT * FROM PrivateMessages WHERE toUser = 'planUser' AND questionId LIKE 'REVFB:%'",
+        // getUnresolvedQuestions
+        "SELECT q.questionId, t.tag FROM questions q LEFT JOIN question_tags t ON t.questionId = q.questionId "
+            + "WHERE q.isResolved = FALSE ORDER BY q.createdAt DESC, q.questionId",
+        // searchQuestionsByAuthor
+        "SELECT q.questionId, t.tag FROM questions q LEFT JOIN question_tags t ON t.questionId = q.questionId "
+            + "WHERE q.author = 'planUser' ORDER BY q.createdAt DESC, q.questionId",
+        // unresolved and pending-flag statistics
+        "SELECT COUNT(*) as count FROM questions WHERE isResolved = FALSE",
+        "SELECT COUNT(*) as count FROM content_flags WHERE status = 'Pending'",
+        // getTrustedReviewers
+        "SELECT reviewerUserName, weight FROM trusted_reviewers WHERE studentUserName = 'planUser'",
+        // getCuratedAnswers
+        "SELECT a.answerId, SUM(t.weight) AS trustScore FROM answers a "
+            + "JOIN answer_reviews r ON r.answerId = a.answerId "
+            + "JOIN trusted_reviewers t ON t.studentUserName = 'planUser' AND t.reviewerUserName = r.reviewerUserName "
+            + "WHERE a.questionId = 'PLAN_Q1' GROUP BY a.answerId",
+        // getAllReviews filtered by reviewer, answer or date range
+        "SELECT * FROM answer_reviews WHERE reviewerUserName = 'planUser' "
+            + "AND createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR reviewId > 'PLAN_R500') "
+            + "ORDER BY createdAt DESC, reviewId LIMIT 101",
+        "SELECT * FROM answer_reviews WHERE answerId = 'PLAN_A1' ORDER BY createdAt DESC, reviewId LIMIT 101",
+        "SELECT * FROM answer_reviews WHERE createdAt >= TIMESTAMP '2025-01-01 00:00:00' "
+            + "AND createdAt < TIMESTAMP '2025-02-01 00:00:00' ORDER BY createdAt DESC, reviewId LIMIT 101",
+        // searchReviewerProfileSummaries, prefix group
+        "SELECT p.reviewer_id, p.name FROM reviewer_profiles p WHERE p.nameLower LIKE 'plan%' ESCAPE '\\' "
+            + "ORDER BY p.nameLower LIMIT 200",
+        // user cache miss: id, primary role and role set in one query
+        "SELECT u.id, u.role, r.role AS extraRole FROM cse360users u "
+            + "LEFT JOIN UserRoles r ON r.userName = u.userName WHERE u.userName = 'planUser' ORDER BY r.id",
+        // countAdmins
+        "SELECT COUNT(*) FROM cse360users WHERE role = 'admin'",
+    };
+
+    /** Full newest-first lists; each must be read in index order without a sort. */
+    private static final String[] SORTED_QUERIES = {
+        "SELECT * FROM PrivateMessages ORDER BY createdAt DESC",
+        "SELECT * FROM content_flags ORDER BY createdAt DESC",
+        "SELECT * FROM questions ORDER BY createdAt DESC, questionId",
+        "SELECT * FROM answers ORDER BY createdAt DESC",
+        // keyset pages (getQuestionsPage, getAnswersPage, getPrivateMessagesPage, getFlagsPage, getUsersPage)
+        "SELECT * FROM questions WHERE createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR questionId > 'PLAN_Q250') "
+            + "ORDER BY createdAt DESC, questionId LIMIT 101",
+        "SELECT * FROM answers WHERE createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR answerId > 'PLAN_A500') "
+            + "ORDER BY createdAt DESC, answerId LIMIT 101",
+        "SELECT * FROM PrivateMessages WHERE createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR id > 500) ORDER BY createdAt DESC, id LIMIT 101",
+        "SELECT * FROM content_flags WHERE createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR flagId > 250) ORDER BY createdAt DESC, flagId LIMIT 101",
+        "SELECT * FROM cse360users WHERE userName > 'm' ORDER BY userName LIMIT 101",
+        // getAllReviews
+        "SELECT * FROM answer_reviews WHERE createdAt <= TIMESTAMP '2030-01-01 00:00:00' "
+            + "AND (createdAt < TIMESTAMP '2030-01-01 00:00:00' OR reviewId > 'PLAN_R500') "
+            + "ORDER BY createdAt DESC, reviewId LIMIT 101",
+    };
+
+    private static DatabaseHelper db;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:queryplan;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("planUser", "Pass123!", "plan@test.com", "Plan User", "student"));
+
+        // Enough rows that the optimizer's cost estimates favour indexes
+        try (Statement stmt = db.getConnection().createStatement()) {
+            stmt.execute("INSERT INTO questions (questionId, title, content, author, isResolved) "
+                + "SELECT 'PLAN_Q' || x, 'Title ' || x, 'Body', 'planUser', MOD(x, 2) = 0 FROM SYSTEM_RANGE(1, 500)");
+            stmt.execute("INSERT INTO answers (answerId, questionId, content, author) "
+                + "SELECT 'PLAN_A' || x, 'PLAN_Q' || MOD(x, 500) + 1, 'Answer', 'planUser' FROM SYSTEM_RANGE(1, 1000)");
+            stmt.execute("INSERT INTO answer_reviews (reviewId, answerId, reviewerUserName, reviewContent) "
+                + "SELECT 'PLAN_R' || x, 'PLAN_A' || MOD(x, 1000) + 1, 'planUser', 'Review' FROM SYSTEM_RANGE(1, 1000)");
+            stmt.execute("INSERT INTO PrivateMessages (questionId, fromUser, toUser, content) "
+                + "SELECT 'PLAN_Q' || MOD(x, 500), 'planUser', 'planUser', 'Message' FROM SYSTEM_RANGE(1, 1000)");
+            stmt.execute("INSERT INTO content_flags (contentType, contentId, flaggedBy, reason, status) "
+                + "SELECT 'question', 'PLAN_Q' || x, 'planUser', 'Reason', "
+                + "CASE WHEN MOD(x, 10) = 0 THEN 'Pending' ELSE 'Resolved' END FROM SYSTEM_RANGE(1, 500)");
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testHotQueriesUseIndexes() throws SQLException {
+        List<String> failures = new ArrayList<>();
+        for (String query : INDEXED_QUERIES) {
+            String plan = explain(query);
+            if (plan.contains("tableScan")) {
+                failures.add(query + "\n    plan: " + plan);
+            }
+        }
+        assertTrue(failures.isEmpty(), "Queries planned as table scans:\n" + String.join("\n", failures));
+    }
+
+    @Test
+    void testNewestFirstListsAreIndexSorted() throws SQLException {
+        List<String> failures = new ArrayList<>();
+        for (String query : SORTED_QUERIES) {
+            String plan = explain(query);
+            if (!plan.contains("index sorted")) {
+                failures.add(query + "\n    plan: " + plan);
+            }
+        }
+        assertTrue(failures.isEmpty(), "Lists sorted in memory:\n" + String.join("\n", failures));
+    }
+
+    private static String explain(String query) throws SQLException {
+        Connection conn = db.getConnection();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery("EXPLAIN " + query)) {
+            rs.next();
+            return rs.getString(1).replace('\n', ' ');
+        }
+    }
+}
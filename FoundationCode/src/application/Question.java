@@ -22,6 +22,7 @@ public class Question {
     private final StringProperty unreadAnswers = new SimpleStringProperty("0");
     private List<String> tags = new ArrayList<>();
     private boolean isAnswered;
+    private int answerCount;
     
     /**
      * Create a Question (display-oriented constructor).
@@ -93,6 +94,18 @@ public class Question {
    public void setAnswered(boolean answered) {
        this.isAnswered = answered;
    }
+   /** Returns the number of answers posted to this question. */
+   /** @return answer count */
+   public int getAnswerCount() {
+       return answerCount;
+   }
+   /**
+    * Set the number of answers posted to this question.
+    * @param answerCount answer count
+    */
+   public void setAnswerCount(int answerCount) {
+       this.answerCount = answerCount;
+   }
     
     // Getters
     /** Returns the unique question identifier. */
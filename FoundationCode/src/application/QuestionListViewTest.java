@@ -0,0 +1,97 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for {@link DatabaseHelper#getQuestionListView(String)}, the single
+ * grouped query behind the question management table and its filter.
+ */
+public class QuestionListViewTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:listview;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("viewAuthor", "Pass123!", "author@test.com", "Author", "student"));
+        db.register(new User("viewHelper", "Pass123!", "helper@test.com", "Helper", "student"));
+
+        Question answered = new Question("VIEW_Q1", "Answered question", "Content",
+                "viewAuthor", new Timestamp(System.currentTimeMillis()));
+        answered.addTag("java");
+        answered.addTag("h2");
+        db.insertQuestion(answered);
+        db.insertQuestion(new Question("VIEW_Q2", "Open question", "Content",
+                "viewAuthor", new Timestamp(System.currentTimeMillis())));
+        db.insertQuestion(new Question("VIEW_Q3", "Someone else's question", "Content",
+                "viewHelper", new Timestamp(System.currentTimeMillis())));
+
+        db.insertAnswer(new Answer("VIEW_A1", "VIEW_Q1", "First", "viewHelper",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertAnswer(new Answer("VIEW_A2", "VIEW_Q1", "Second", "viewHelper",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertAnswer(new Answer("VIEW_A3", "VIEW_Q3", "Third", "viewAuthor",
+                new Timestamp(System.currentTimeMillis()), false));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testCountsAndAnsweredFlag() throws SQLException {
+        Map<String, Question> byId = load("viewAuthor");
+
+        Question q1 = byId.get("VIEW_Q1");
+        assertEquals(2, q1.getAnswerCount());
+        assertTrue(q1.isAnswered());
+        assertEquals("2", q1.getUnreadAnswers());
+        assertEquals(2, q1.getTags().size(), "Tags must not multiply the answer counts");
+
+        Question q2 = byId.get("VIEW_Q2");
+        assertEquals(0, q2.getAnswerCount());
+        assertFalse(q2.isAnswered());
+        assertEquals("0", q2.getUnreadAnswers());
+
+        // Unread counts are only reported on the viewer's own questions
+        Question q3 = byId.get("VIEW_Q3");
+        assertEquals(1, q3.getAnswerCount());
+        assertEquals("0", q3.getUnreadAnswers());
+    }
+
+    @Test
+    void testUnreadDropsAfterMarkingRead() throws SQLException {
+        db.markAnswersAsRead("VIEW_Q1", "viewAuthor");
+        Question q1 = load("viewAuthor").get("VIEW_Q1");
+        assertEquals("0", q1.getUnreadAnswers());
+        assertEquals(2, q1.getAnswerCount());
+    }
+
+    @Test
+    void testSingleQueryRegardlessOfRowCount() throws SQLException {
+        long before = db.getConnectionPool().getStatementCount();
+        db.getQuestionListView("viewAuthor");
+        assertEquals(1, db.getConnectionPool().getStatementCount() - before);
+    }
+
+    private Map<String, Question> load(String viewer) throws SQLException {
+        List<Question> list = db.getQuestionListView(viewer);
+        assertEquals(3, list.size());
+        return list.stream().collect(Collectors.toMap(Question::getQuestionId, q -> q));
+    }
+}
@@ -1,14 +1,13 @@
 package application;
 
 import java.sql.SQLException;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
-import java.util.stream.Collectors;
 
+import databasePart1.CascadeDeleteReport;
 import databasePart1.DatabaseHelper;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -28,6 +27,12 @@ public class QuestionManagementPage {
     private final DatabaseHelper databaseHelper;
     private final User currentUser;
     private TableView<Question> questionTable;
+    // Runs table loads off the FX thread; a newer load supersedes an older one
+    private final AsyncLoader loader = new AsyncLoader();
+    // Fetches the question list a page at a time as the table is scrolled
+    private PagedTableLoader<Question> questionPages;
+    // Answered filter applied by the page query: null for all questions; read on the loader thread
+    private volatile Boolean answeredFilter = null;
     
     public QuestionManagementPage(DatabaseHelper databaseHelper, User currentUser) {
         this.databaseHelper = databaseHelper;
@@ -47,6 +52,14 @@ public class QuestionManagementPage {
         
         // Create question table
         questionTable = createQuestionTable();
+        questionPages = new PagedTableLoader<>(loader, "questions", questionTable,
+                (after, limit) -> answeredFilter == null
+                        ? databaseHelper.getQuestionListViewPage(currentUser.getUserName(), after, limit)
+                        : databaseHelper.getQuestionListViewPage(currentUser.getUserName(), answeredFilter, after, limit),
+                e -> {
+                    showErrorAlert("Error", "Failed to load questions: " + e.getMessage());
+                    e.printStackTrace();
+                });
         populateQuestionTable();
         
         //Drop down for filtering answered/unanswered (top-left corner)
@@ -89,12 +102,16 @@ public class QuestionManagementPage {
         followUpQuestion.setOnAction(e -> createFollowUP());
         deleteButton.setOnAction(e -> deleteSelectedQuestion());
         searchButton.setOnAction(e -> showSearchDialog());
-        messagesButton.setOnAction(e -> new UserMessagePage(databaseHelper, currentUser).show(primaryStage));
+        messagesButton.setOnAction(e -> {
+            loader.cancelAll();
+            new UserMessagePage(databaseHelper, currentUser).show(primaryStage);
+        });
         markResolvedButton.setOnAction(e -> markQuestionAsResolved());
         refreshButton.setOnAction(e -> populateQuestionTable());
         viewUnresolvedButton.setOnAction(e -> showUnresolvedQuestions());
         viewAnswersButton.setOnAction(e -> showAnswersDialog());
         backButton.setOnAction(e -> {
+            loader.cancelAll();
             NavigationHelper.goToHomePage(currentUser.getActiveRole(), primaryStage, databaseHelper, currentUser);
         });
         
@@ -171,47 +188,8 @@ public class QuestionManagementPage {
      * and populate the managed table view.
      */
     private void populateQuestionTable() {
-        try {
-            List<Question> questionsList = databaseHelper.getAllQuestions();
-         // Update unread count for each question 
-            for(Question q : questionsList) {
-            	int unread = databaseHelper.countUnreadAnswers(q.getQuestionId(), currentUser.getUserName());
-            	q.setUnreadAnswers(String.valueOf(unread));
-            }
-            
-            
-          
-            //For each question check if there are answers
-            for(Question q : questionsList) {
-            	try {
-            		List<Answer> answers = databaseHelper.getAnswersForQuestion(q.getQuestionId());
-            		q.setAnswered(!answers.isEmpty());
-            	
-            	}catch (SQLException e) {
-            		System.err.println("DEBUG: Failed to check answers for question " + q.getQuestionId());
-            		q.setAnswered(false);
-            	}
-            }
-            
-            
-            
-            
-            
-            ObservableList<Question> questions = FXCollections.observableArrayList(questionsList);
-            
-            // Clear and reset the table items
-            questionTable.getItems().clear();
-            questionTable.setItems(questions);
-            
-            // Force table refresh
-            questionTable.refresh();
-            
-            System.out.println("DEBUG: Table populated with " + questions.size() + " items");
-            
-        } catch (Exception e) {
-            showErrorAlert("Error", "Failed to load questions: " + e.getMessage());
-            e.printStackTrace();
-        }
+        // Each page brings its tags, unread counts and answered state with it
+        questionPages.reload();
     }
     
     /**
@@ -480,13 +458,15 @@ public class QuestionManagementPage {
         Alert confirmation = new Alert(Alert.AlertType.CONFIRMATION);
         confirmation.setTitle("Confirm Deletion");
         confirmation.setHeaderText("Delete Question");
-        confirmation.setContentText("Are you sure you want to delete the question: " + selected.getTitle() + "?");
+        confirmation.setContentText("Are you sure you want to delete the question: " + selected.getTitle() + "?\n"
+                + "Its follow-up questions and all of their answers will be deleted too.");
         
         Optional<ButtonType> result = confirmation.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
             try {
-                if (databaseHelper.deleteQuestion(selected.getQuestionId())) {
-                    showInfoAlert("Success", "Question deleted successfully!");
+                CascadeDeleteReport report = databaseHelper.deleteQuestionTree(selected.getQuestionId());
+                if (report.getQuestions() > 0) {
+                    showInfoAlert("Success", "Question deleted successfully!" + deletionSummary(report));
                     populateQuestionTable();
                 } else {
                     showErrorAlert("Error", "Failed to delete question from database");
@@ -497,6 +477,29 @@ public class QuestionManagementPage {
         }
     }
     
+    /** What else went with the question, e.g. "2 follow-up questions, 5 answers and 1 review were deleted too." */
+    private static String deletionSummary(CascadeDeleteReport report) {
+        List<String> parts = new ArrayList<>();
+        addCount(parts, report.getQuestions() - 1, "follow-up question");
+        addCount(parts, report.getAnswers(), "answer");
+        addCount(parts, report.getReviews(), "review");
+        addCount(parts, report.getMessages(), "message");
+        addCount(parts, report.getFlags(), "flag");
+        if (parts.isEmpty()) {
+            return "";
+        }
+        String last = parts.remove(parts.size() - 1);
+        String counts = parts.isEmpty() ? last : String.join(", ", parts) + " and " + last;
+        boolean single = parts.isEmpty() && last.startsWith("1 ");
+        return "\n" + counts + (single ? " was" : " were") + " deleted too.";
+    }
+
+    private static void addCount(List<String> parts, int count, String noun) {
+        if (count > 0) {
+            parts.add(count + " " + noun + (count == 1 ? "" : "s"));
+        }
+    }
+    
     /**
      * Show a search dialog to filter questions by title/content/author.
      */
@@ -514,7 +517,7 @@ public class QuestionManagementPage {
         grid.setPadding(new Insets(20, 20, 20, 20));
         
         TextField searchField = new TextField();
-        searchField.setPromptText("Search by title or content");
+        searchField.setPromptText("Words to match, OR for alternatives, * for prefix");
         ComboBox<String> searchTypeCombo = new ComboBox<>();  // Fixed variable name
         searchTypeCombo.getItems().addAll("Title", "Content", "Author", "All");
         searchTypeCombo.setValue("All");
@@ -531,29 +534,18 @@ public class QuestionManagementPage {
                 String searchTerm = searchField.getText();
                 String searchType = searchTypeCombo.getValue();
                 
-                try {
-                    List<Question> searchResults;
+                loader.loadTable("questions", questionTable, () -> {
                     switch (searchType) {
                         case "Title":
-                            searchResults = databaseHelper.searchQuestionsByTitle(searchTerm);
-                            break;
+                            return databaseHelper.searchQuestions(searchTerm, DatabaseHelper.SEARCH_TITLE);
                         case "Author":
-                            searchResults = databaseHelper.searchQuestionsByAuthor(searchTerm);
-                            break;
+                            return databaseHelper.searchQuestionsByAuthor(searchTerm);
                         case "Content":
-                            searchResults = databaseHelper.searchQuestionsByContent(searchTerm);
-                            break;
+                            return databaseHelper.searchQuestions(searchTerm, DatabaseHelper.SEARCH_CONTENT);
                         default: // "All"
-                            searchResults = databaseHelper.searchQuestionsByTitle(searchTerm);
-                            break;
+                            return databaseHelper.searchQuestions(searchTerm, DatabaseHelper.SEARCH_ALL_FIELDS);
                     }
-                    
-                    ObservableList<Question> results = FXCollections.observableArrayList(searchResults);
-                    questionTable.setItems(results);
-                    
-                } catch (SQLException e) {
-                    showErrorAlert("Search Error", "Failed to search questions: " + e.getMessage());
-                }
+                }, e -> showErrorAlert("Search Error", "Failed to search questions: " + e.getMessage()));
                 return searchTerm + "|" + searchType;
             }
             return null;
@@ -591,17 +583,14 @@ public class QuestionManagementPage {
      * Display only unresolved questions in the table view.
      */
     private void showUnresolvedQuestions() {
-    	try {
-    		List<Question> unresolved = databaseHelper.getUnresolvedQuestions();
-    		questionTable.setItems(FXCollections.observableArrayList(unresolved));
-    		
+    	loader.loadTable("questions", questionTable, databaseHelper::getUnresolvedQuestions, unresolved -> {
     		if(unresolved.isEmpty()) {
     			showInfoAlert("No Unresolved Questions", "All questions are resolved.");
     		}
-    	} catch(Exception e) {
+    	}, e -> {
     		showErrorAlert("Error", "Failed to load unresolved question: " +e.getMessage());
     		e.printStackTrace();
-    	}
+    	});
     }
     
     // Show answers for question
@@ -615,41 +604,48 @@ public class QuestionManagementPage {
     		return;
     	}
     	
-    	try {
+    	loader.load("answers", () -> {
     		List<Answer> answers = databaseHelper.getAnswersForQuestion(selected.getQuestionId());
-    		
     		databaseHelper.markAnswersAsRead(selected.getQuestionId(), currentUser.getUserName());
-    		
-    		Dialog<Void> dialog = new Dialog<>();
-    		dialog.setTitle("Answers for Questions");
-    		dialog.setHeaderText("Question: " + selected.getTitle());
-    		
-    		VBox contentBox = new VBox(10);
-    		contentBox.setPadding(new Insets(10));
-    		
-    		if(answers.isEmpty()) {
-    			contentBox.getChildren().add(new Label("No answers have been submitted for this question."));
-    		} else {
-    			for(Answer a : answers) {
-    				Label answerLabel = new Label(
-    						"Author: "+ a.getAuthor() +
-    						"\nAnswered: "+ a.getCreatedAt() +
-    						"\nAccepted: " + (a.getIsAccepted() ? "Yes" : "No") +
-    						"\nContent: \n" + a.getContent()
-    					);
-    					answerLabel.setStyle("-fx-padding: 8; -fx-border-color: grey; -fx-border-width: 0 0 1 0;");
-    					contentBox.getChildren().add(answerLabel);
-    			}
-    		}
-    		
-    		dialog.getDialogPane().setContent(contentBox);
-    		dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
-    		
-    		dialog.showAndWait();
-    	} catch(Exception ex) {
+    		return answers;
+    	}, answers -> showAnswers(selected, answers), ex -> {
     		showErrorAlert("Error", "Failed to load answers: "+ ex.getMessage());
     		ex.printStackTrace();
+    	});
+    }
+    
+    /**
+     * Show the loaded answers of a question in a dialog.
+     * @param selected the question the answers belong to
+     * @param answers answers to list
+     */
+    private void showAnswers(Question selected, List<Answer> answers) {
+    	Dialog<Void> dialog = new Dialog<>();
+    	dialog.setTitle("Answers for Questions");
+    	dialog.setHeaderText("Question: " + selected.getTitle());
+    	
+    	VBox contentBox = new VBox(10);
+    	contentBox.setPadding(new Insets(10));
+    	
+    	if(answers.isEmpty()) {
+    		contentBox.getChildren().add(new Label("No answers have been submitted for this question."));
+    	} else {
+    		for(Answer a : answers) {
+    			Label answerLabel = new Label(
+    					"Author: "+ a.getAuthor() +
+    					"\nAnswered: "+ a.getCreatedAt() +
+    					"\nAccepted: " + (a.getIsAccepted() ? "Yes" : "No") +
+    					"\nContent: \n" + a.getContent()
+    				);
+    				answerLabel.setStyle("-fx-padding: 8; -fx-border-color: grey; -fx-border-width: 0 0 1 0;");
+    				contentBox.getChildren().add(answerLabel);
+    		}
     	}
+    	
+    	dialog.getDialogPane().setContent(contentBox);
+    	dialog.getDialogPane().getButtonTypes().add(ButtonType.CLOSE);
+    	
+    	dialog.showAndWait();
     }
     
     
@@ -659,34 +655,18 @@ public class QuestionManagementPage {
      * @param filterType the name of the filter to apply
      */
     private void applyFilter(String filterType) {
-    	try {
-    
-    	List<Question> allQuestions = databaseHelper.getAllQuestions();
-    	for(Question q: allQuestions) {
-    		List<Answer> answers = databaseHelper.getAnswersForQuestion(q.getQuestionId());
-    		q.setAnswered(!answers.isEmpty());
-    	}
-    	
-    	List<Question> filteredQuestions;
+    	// The filter goes into the page query, so it pages like the full list
     	switch (filterType) {
     	case "Answered":
-    		filteredQuestions = allQuestions.stream()
-    			.filter(Question::isAnswered)
-    			.collect(Collectors.toList());
+    		answeredFilter = true;
     		break;
-    	case "Unanswered" :
-    		filteredQuestions = allQuestions.stream()
-    				.filter(q -> !q.isAnswered())
-    				.collect(Collectors.toList());
+    	case "Unanswered":
+    		answeredFilter = false;
     		break;
-    		default:
-    			filteredQuestions = allQuestions;
+    	default:
+    		answeredFilter = null;
     	}
-    	questionTable.setItems(FXCollections.observableArrayList(filteredQuestions));
-    	}catch (SQLException e) {
-    		showErrorAlert("Database Error", "Failed to apply filter: " + e.getMessage());
-    	}
-    	
+    	populateQuestionTable();
     }
     
     /**
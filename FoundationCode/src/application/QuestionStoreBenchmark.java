@@ -0,0 +1,137 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the indexed {@link Questions} store with the list scans it
+ * replaced, at 100k questions. Prints the time per operation for id lookup,
+ * update, follow-up listing and a cascading delete of a deep follow-up chain,
+ * and checks both stores agree.
+ * <p>
+ * Set {@code -Dbench.questions=...} and {@code -Dbench.chainDepth=...} to
+ * change the corpus size and the depth of the deleted chain.
+ * </p>
+ */
+public class QuestionStoreBenchmark {
+
+    private static final int QUESTIONS = Integer.getInteger("bench.questions", 100_000);
+    private static final int CHAIN_DEPTH = Integer.getInteger("bench.chainDepth", 500);
+    private static final int OPERATIONS = 1000;
+
+    @Test
+    void benchmarkIndexedStoreAgainstListScans() {
+        List<Question> corpus = buildCorpus();
+        Questions indexed = new Questions();
+        ListStore scanned = new ListStore();
+        for (Question q : corpus) {
+            indexed.addQuestion(q);
+            scanned.questions.add(q);
+        }
+
+        Random random = new Random(42);
+        String[] ids = new String[OPERATIONS];
+        for (int i = 0; i < OPERATIONS; i++) {
+            ids[i] = "Q" + random.nextInt(QUESTIONS);
+        }
+
+        System.out.printf("Questions store, %d questions, %d-deep follow-up chain%n", QUESTIONS, CHAIN_DEPTH);
+        System.out.printf("  %-16s %14s %14s%n", "operation", "list scan", "indexed");
+
+        long scanNanos = time(() -> { for (String id : ids) scanned.getQuestion(id); });
+        long indexNanos = time(() -> { for (String id : ids) assertNotNull(indexed.getQuestion(id)); });
+        report("getQuestion", scanNanos, indexNanos, OPERATIONS);
+
+        scanNanos = time(() -> { for (String id : ids) scanned.updateQuestion(indexed.getQuestion(id)); });
+        indexNanos = time(() -> { for (String id : ids) indexed.updateQuestion(indexed.getQuestion(id)); });
+        report("updateQuestion", scanNanos, indexNanos, OPERATIONS);
+
+        scanNanos = time(() -> { for (String id : ids) scanned.getFollowUps(id); });
+        indexNanos = time(() -> { for (String id : ids) indexed.getFollowUps(id); });
+        report("getFollowUps", scanNanos, indexNanos, OPERATIONS);
+        for (String id : ids) {
+            assertEquals(scanned.getFollowUps(id), indexed.getFollowUps(id));
+        }
+
+        scanNanos = time(() -> scanned.deleteQuestion("CHAIN0"));
+        indexNanos = time(() -> indexed.deleteQuestion("CHAIN0"));
+        report("deleteQuestion", scanNanos, indexNanos, 1);
+
+        assertEquals(QUESTIONS, indexed.size());
+        assertEquals(scanned.questions, indexed.getAllQuestions());
+    }
+
+    /** Questions where every fifth one is a follow-up, plus one deep chain. */
+    private static List<Question> buildCorpus() {
+        Timestamp created = new Timestamp(System.currentTimeMillis());
+        List<Question> corpus = new ArrayList<>(QUESTIONS + CHAIN_DEPTH);
+        for (int i = 0; i < QUESTIONS; i++) {
+            String parent = i % 5 == 4 ? "Q" + (i / 5) : null;
+            corpus.add(new Question("Q" + i, "Title " + i, "Body " + i, "author" + (i % 100), created, parent));
+        }
+        for (int i = 0; i < CHAIN_DEPTH; i++) {
+            String parent = i == 0 ? "Q0" : "CHAIN" + (i - 1);
+            corpus.add(new Question("CHAIN" + i, "Chain " + i, "Body", "author0", created, parent));
+        }
+        return corpus;
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String operation, long scanNanos, long indexNanos, int count) {
+        System.out.printf("  %-16s %11.3f us %11.3f us%n", operation, scanNanos / 1e3 / count, indexNanos / 1e3 / count);
+    }
+
+    /** The list-based store that {@link Questions} used before it was indexed. */
+    private static class ListStore {
+        private final List<Question> questions = new ArrayList<>();
+
+        Question getQuestion(String questionId) {
+            return questions.stream()
+                .filter(q -> q.getQuestionId().equals(questionId))
+                .findFirst()
+                .orElse(null);
+        }
+
+        void updateQuestion(Question updatedQuestion) {
+            for (int i = 0; i < questions.size(); i++) {
+                if (questions.get(i).getQuestionId().equals(updatedQuestion.getQuestionId())) {
+                    questions.set(i, updatedQuestion);
+                    return;
+                }
+            }
+        }
+
+        List<Question> getFollowUps(String parentQuestionId) {
+            List<Question> followUps = new ArrayList<>();
+            for (Question q : questions) {
+                if (parentQuestionId.equals(q.getFollowUpOf())) {
+                    followUps.add(q);
+                }
+            }
+            return followUps;
+        }
+
+        void deleteQuestion(String questionId) {
+            List<String> toDelete = new ArrayList<>();
+            toDelete.add(questionId);
+            for (int i = 0; i < toDelete.size(); i++) {
+                String currentId = toDelete.get(i);
+                questions.stream()
+                    .filter(q -> currentId.equals(q.getFollowUpOf()))
+                    .forEach(q -> toDelete.add(q.getQuestionId()));
+            }
+            questions.removeIf(q -> toDelete.contains(q.getQuestionId()));
+        }
+    }
+}
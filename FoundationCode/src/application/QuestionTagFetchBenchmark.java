@@ -0,0 +1,144 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ConnectionPool;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Compares the old per-row tag load (one {@code question_tags} query per
+ * question) with the joined fetch now used by
+ * {@link DatabaseHelper#getAllQuestions()}. Prints query count and latency for
+ * both and checks that they build the same questions.
+ * <p>
+ * Runs against a private in-memory database so the application data is not
+ * touched. Set {@code -Dbench.questions=20000} for a larger run.
+ * </p>
+ */
+public class QuestionTagFetchBenchmark {
+
+    private static final int QUESTIONS = Integer.getInteger("bench.questions", 2000);
+    private static final int TAGS_PER_QUESTION = 3;
+    private static final int ROUNDS = 5;
+
+    private static DatabaseHelper db;
+
+    @BeforeAll
+    static void seed() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:tagbench;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("benchAuthor", "Pass123!", "bench@test.com", "Bench Author", "student"));
+
+        Connection conn = db.getConnection();
+        conn.setAutoCommit(false);
+        try (PreparedStatement q = conn.prepareStatement(
+                "INSERT INTO questions (questionId, title, content, author, createdAt) VALUES (?, ?, ?, ?, ?)");
+             PreparedStatement t = conn.prepareStatement(
+                "INSERT INTO question_tags (questionId, tag) VALUES (?, ?)")) {
+            long now = System.currentTimeMillis();
+            for (int i = 0; i < QUESTIONS; i++) {
+                String id = "BENCH_Q" + i;
+                q.setString(1, id);
+                q.setString(2, "Benchmark question " + i);
+                q.setString(3, "Body of benchmark question " + i);
+                q.setString(4, "benchAuthor");
+                q.setTimestamp(5, new Timestamp(now - i * 1000L));
+                q.addBatch();
+                for (int j = 0; j < TAGS_PER_QUESTION; j++) {
+                    t.setString(1, id);
+                    t.setString(2, "tag" + ((i + j) % 25));
+                    t.addBatch();
+                }
+            }
+            q.executeBatch();
+            t.executeBatch();
+            conn.commit();
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    @AfterAll
+    static void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void benchmarkJoinedFetchAgainstPerRowTags() throws SQLException {
+        // Warm up both paths
+        loadWithPerRowTags();
+        db.getAllQuestions();
+
+        long perRowNanos = 0;
+        int perRowQueries = 0;
+        List<Question> perRow = null;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            perRow = loadWithPerRowTags();
+            perRowNanos += System.nanoTime() - start;
+            perRowQueries = 1 + perRow.size();
+        }
+
+        ConnectionPool pool = db.getConnectionPool();
+        long joinedNanos = 0;
+        long statementsBefore = pool.getStatementCount();
+        List<Question> joined = null;
+        for (int r = 0; r < ROUNDS; r++) {
+            long start = System.nanoTime();
+            joined = db.getAllQuestions();
+            joinedNanos += System.nanoTime() - start;
+        }
+        long joinedQueries = (pool.getStatementCount() - statementsBefore) / ROUNDS;
+
+        System.out.printf("Question list with tags, %d questions x %d tags (avg of %d rounds)%n",
+                QUESTIONS, TAGS_PER_QUESTION, ROUNDS);
+        System.out.printf("  per-row tags : %6d queries  %8.2f ms%n", perRowQueries, perRowNanos / 1e6 / ROUNDS);
+        System.out.printf("  joined fetch : %6d queries  %8.2f ms%n", joinedQueries, joinedNanos / 1e6 / ROUNDS);
+
+        assertEquals(1, joinedQueries, "Joined fetch should issue a single query");
+        assertEquals(perRow.size(), joined.size());
+        for (int i = 0; i < joined.size(); i++) {
+            assertEquals(perRow.get(i).getQuestionId(), joined.get(i).getQuestionId());
+            assertEquals(new HashSet<>(perRow.get(i).getTags()),
+                    new HashSet<>(joined.get(i).getTags()));
+        }
+    }
+
+    /** The pre-join access pattern: list the questions, then query tags for each one. */
+    private List<Question> loadWithPerRowTags() throws SQLException {
+        List<Question> questions = new ArrayList<>();
+        Connection conn = db.getConnection();
+        try (PreparedStatement pstmt = conn.prepareStatement("SELECT * FROM questions ORDER BY createdAt DESC, questionId");
+             ResultSet rs = pstmt.executeQuery()) {
+            while (rs.next()) {
+                Question question = new Question(rs.getString("questionId"), rs.getString("title"),
+                        rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt"),
+                        rs.getString("followUpOf"));
+                try (PreparedStatement tags = conn.prepareStatement("SELECT tag FROM question_tags WHERE questionId = ?")) {
+                    tags.setString(1, question.getQuestionId());
+                    try (ResultSet trs = tags.executeQuery()) {
+                        while (trs.next()) {
+                            question.addTag(trs.getString("tag"));
+                        }
+                    }
+                }
+                questions.add(question);
+            }
+        }
+        return questions;
+    }
+}
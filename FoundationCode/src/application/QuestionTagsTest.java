@@ -0,0 +1,115 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ContentStatistics;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for question tag persistence: tags written with the question in one
+ * transaction, and updates that touch only the tags that changed.
+ */
+public class QuestionTagsTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:questiontags;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("tagAuthor", "Pass123!", "t@test.com", "Author", "student"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    private Question question(String id, String... tags) {
+        Question question = new Question(id, "Title", "Content", "tagAuthor", new Timestamp(System.currentTimeMillis()));
+        for (String tag : tags) {
+            question.addTag(tag);
+        }
+        return question;
+    }
+
+    /** Tag to the row's internal id, which changes if the row is deleted and reinserted. */
+    private Map<String, Long> tagRows(String questionId) throws SQLException {
+        Map<String, Long> rows = new HashMap<>();
+        Connection conn = db.getConnection();
+        try (PreparedStatement pstmt = conn.prepareStatement(
+                "SELECT tag, _ROWID_ FROM question_tags WHERE questionId = ?")) {
+            pstmt.setString(1, questionId);
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    rows.put(rs.getString(1), rs.getLong(2));
+                }
+            }
+        }
+        return rows;
+    }
+
+    @Test
+    void testUpdateAppliesOnlyTheDiff() throws SQLException {
+        db.insertQuestion(question("TQ1", "java", "sql", "h2"));
+        Map<String, Long> before = tagRows("TQ1");
+
+        Question edited = question("TQ1", "java", "h2", "jdbc");
+        edited.getTags().add("jdbc");
+        assertTrue(db.updateQuestion(edited));
+
+        Map<String, Long> after = tagRows("TQ1");
+        assertEquals(Map.of("java", before.get("java"), "h2", before.get("h2")),
+                Map.of("java", after.get("java"), "h2", after.get("h2")), "Unchanged tags are not rewritten");
+        assertFalse(after.containsKey("sql"));
+        assertEquals(3, after.size());
+        assertEquals(List.of("h2", "java", "jdbc"), db.getQuestionById("TQ1").getTags().stream().sorted().toList());
+    }
+
+    @Test
+    void testRoundTripsDoNotGrowWithTags() throws SQLException {
+        db.insertQuestion(question("TQ1", "a"));
+        long before = db.getConnectionPool().getStatementCount();
+        db.updateQuestion(question("TQ1", "b"));
+        long fewTags = db.getConnectionPool().getStatementCount() - before;
+
+        String[] many = new String[200];
+        for (int i = 0; i < many.length; i++) {
+            many[i] = "tag" + i;
+        }
+        before = db.getConnectionPool().getStatementCount();
+        db.updateQuestion(question("TQ1", many));
+        assertEquals(fewTags, db.getConnectionPool().getStatementCount() - before);
+        assertEquals(200, tagRows("TQ1").size());
+    }
+
+    @Test
+    void testFailedTagWriteRollsBackQuestion() throws SQLException {
+        db.getContentStatistics();
+        // A tag longer than the column is rejected, taking the question with it
+        assertThrows(SQLException.class, () -> db.insertQuestion(question("TQ1", "ok", "x".repeat(101))));
+        assertNull(db.getQuestionById("TQ1"));
+        assertEquals(0, db.getContentStatistics().get(ContentStatistics.TOTAL_QUESTIONS));
+
+        db.insertQuestion(question("TQ2", "keep"));
+        Question edited = question("TQ2", "x".repeat(101));
+        edited.setTitle("Edited");
+        assertThrows(SQLException.class, () -> db.updateQuestion(edited));
+        assertEquals(List.of("keep"), db.getQuestionById("TQ2").getTags());
+        assertEquals("Title", db.getQuestionById("TQ2").getTitle());
+    }
+}
@@ -0,0 +1,121 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ActivityLeaderboard.Window;
+import databasePart1.CascadeDeleteReport;
+import databasePart1.DatabaseHelper;
+
+/**
+ * Tests for {@link DatabaseHelper#deleteQuestionTree(String)}: the follow-up
+ * subtree and every row attached to it go, unrelated rows stay, and the
+ * maintained counters and leaderboard match a recount afterwards.
+ */
+public class QuestionTreeDeleteTest {
+
+    private DatabaseHelper db;
+    private final Timestamp now = new Timestamp(System.currentTimeMillis());
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:questiontree;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("treeStudent", "Pass123!", "s@test.com", "Student", "student"));
+        db.register(new User("treeReviewer", "Pass123!", "r@test.com", "Reviewer", "reviewer"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    private void question(String id, String followUpOf) throws SQLException {
+        Question question = new Question(id, "Title " + id, "Content", "treeStudent", now, followUpOf);
+        question.addTag("tag");
+        db.insertQuestion(question);
+    }
+
+    private int count(String query) throws SQLException {
+        Connection conn = db.getConnection();
+        try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    @Test
+    void testDeletesSubtreeAndAttachedRows() throws SQLException {
+        // TQ1 <- TQ2 <- TQ3, TQ1 <- TQ4; TQ5 is unrelated
+        question("TQ1", null);
+        question("TQ2", "TQ1");
+        question("TQ3", "TQ2");
+        question("TQ4", "TQ1");
+        question("TQ5", null);
+        db.insertAnswer(new Answer("TA1", "TQ1", "answer", "treeStudent", now, false));
+        db.insertAnswer(new Answer("TA3", "TQ3", "answer", "treeStudent", now, false));
+        db.insertAnswer(new Answer("TA5", "TQ5", "answer", "treeStudent", now, false));
+        db.insertReview(new Review("TR3", "TA3", "treeReviewer", "review", now, null));
+        db.insertReview(new Review("TR5", "TA5", "treeReviewer", "review", now, null));
+        db.insertPrivateMessage("TQ2", "treeReviewer", "treeStudent", "question message");
+        db.insertPrivateMessage("REV:TR3", "treeStudent", "treeReviewer", "review feedback");
+        db.insertPrivateMessage("TQ5", "treeReviewer", "treeStudent", "kept");
+        int messageId = count("SELECT id FROM PrivateMessages WHERE questionId = 'TQ2'");
+        db.flagContent("question", "TQ4", "treeReviewer", "spam");
+        db.flagContent("answer", "TA1", "treeReviewer", "spam");
+        db.flagContent("review", "TR3", "treeStudent", "spam");
+        db.flagContent("message", String.valueOf(messageId), "treeStudent", "spam");
+        db.flagContent("question", "TQ5", "treeReviewer", "spam");
+        db.getContentStatistics();
+        db.getMostActiveUsers(10, Window.ALL_TIME);
+
+        CascadeDeleteReport report = db.deleteQuestionTree("TQ1");
+
+        assertEquals(4, report.getQuestions());
+        assertEquals(4, report.getTags());
+        assertEquals(2, report.getAnswers());
+        assertEquals(1, report.getReviews());
+        assertEquals(2, report.getMessages());
+        assertEquals(4, report.getFlags());
+        assertTrue(report.getElapsedNanos() > 0);
+
+        assertEquals(1, count("SELECT COUNT(*) FROM questions"));
+        assertEquals(1, count("SELECT COUNT(*) FROM question_tags"));
+        assertEquals(1, count("SELECT COUNT(*) FROM answers"));
+        assertEquals(1, count("SELECT COUNT(*) FROM answer_reviews"));
+        assertEquals(1, count("SELECT COUNT(*) FROM PrivateMessages"));
+        assertEquals(1, count("SELECT COUNT(*) FROM content_flags"));
+
+        Map<String, Integer> maintained = db.getContentStatistics();
+        List<Map<String, Object>> active = db.getMostActiveUsers(10, Window.ALL_TIME);
+        assertEquals(List.of(Map.of("userName", "treeStudent", "activityCount", 2)), active);
+        db.executeUpdate("SET @recount = 1");
+        assertEquals(db.getContentStatistics(), maintained);
+        assertEquals(db.getMostActiveUsers(10, Window.ALL_TIME), active);
+    }
+
+    @Test
+    void testFollowUpCycleAndMissingRoot() throws SQLException {
+        question("TQ6", null);
+        question("TQ7", "TQ6");
+        Question cycle = new Question("TQ6", "Title", "Content", "treeStudent", now, "TQ7");
+        db.updateQuestion(cycle);
+
+        assertEquals(2, db.deleteQuestionTree("TQ7").getQuestions());
+        assertEquals(0, count("SELECT COUNT(*) FROM questions"));
+        assertFalse(db.deleteQuestion("TQ6"));
+        assertEquals(0, db.deleteQuestionTree("missing").getQuestions());
+    }
+}
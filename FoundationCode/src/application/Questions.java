@@ -1,26 +1,54 @@
 package application;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 
 /**
  * Helper providing CRUD and search operations for Question objects.
+ * <p>
+ * Questions are indexed by id and by parent ({@code followUpOf}), so lookups,
+ * follow-up traversal and cascading deletes do not scan the whole collection.
+ * Iteration order is insertion order. Change a question's parent through
+ * {@link #updateQuestion(Question)} so the follow-up index stays in step.
+ * </p>
  */
 public class Questions {
-    private List<Question> questions;
+    /** All questions by id, in insertion order. */
+    private final Map<String, Question> questionsById;
+    /** Parent id to the ids of its direct follow-ups. */
+    private final Map<String, Set<String>> followUpIds;
+    /** Question id to the parent it is indexed under. */
+    private final Map<String, String> parentIds;
     
     public Questions() {
-        this.questions = new ArrayList<>();
+        this.questionsById = new LinkedHashMap<>();
+        this.followUpIds = new HashMap<>();
+        this.parentIds = new HashMap<>();
     }
     
     // CRUD Operations
     /**
-     * Adds a new Question to the in-memory collection.
+     * Adds a new Question to the in-memory collection. A question with the
+     * same id replaces the stored one.
      * @param question the Question to add
      */
     public void addQuestion(Question question) {
-        questions.add(question);
+        String questionId = question.getQuestionId();
+        String parentId = question.getFollowUpOf();
+        questionsById.put(questionId, question);
+        if (!Objects.equals(parentIds.get(questionId), parentId)) {
+            unlinkParent(questionId);
+            linkParent(questionId, parentId);
+        }
     }
     
     /**
@@ -29,10 +57,7 @@ public class Questions {
      * @return the Question if found, otherwise null
      */
     public Question getQuestion(String questionId) {
-        return questions.stream()
-            .filter(q -> q.getQuestionId().equals(questionId))
-            .findFirst()
-            .orElse(null);
+        return questionsById.get(questionId);
     }
     
     /**
@@ -40,11 +65,8 @@ public class Questions {
      * @param updatedQuestion the updated Question
      */
     public void updateQuestion(Question updatedQuestion) {
-        for (int i = 0; i < questions.size(); i++) {
-            if (questions.get(i).getQuestionId().equals(updatedQuestion.getQuestionId())) {
-                questions.set(i, updatedQuestion);
-                return;
-            }
+        if (questionsById.containsKey(updatedQuestion.getQuestionId())) {
+            addQuestion(updatedQuestion);
         }
     }
     
@@ -54,18 +76,27 @@ public class Questions {
      * @param questionId id of the question to delete
      */
     public void deleteQuestion(String questionId) {
-        List<String> toDelete = new ArrayList<>();
-        toDelete.add(questionId);
+        unlinkParent(questionId);
 
-        // Recursively find all follow-ups
-        for (int i = 0; i < toDelete.size(); i++) {
-            String currentId = toDelete.get(i);
-            questions.stream()
-                .filter(q -> currentId.equals(q.getFollowUpOf()))
-                .forEach(q -> toDelete.add(q.getQuestionId()));
+        // Walk the follow-up tree through the index; visited guards against cycles
+        Set<String> visited = new LinkedHashSet<>();
+        Deque<String> pending = new ArrayDeque<>();
+        pending.add(questionId);
+        while (!pending.isEmpty()) {
+            String currentId = pending.poll();
+            if (!visited.add(currentId)) {
+                continue;
+            }
+            Set<String> children = followUpIds.remove(currentId);
+            if (children != null) {
+                pending.addAll(children);
+            }
         }
 
-        questions.removeIf(q -> toDelete.contains(q.getQuestionId()));
+        for (String id : visited) {
+            questionsById.remove(id);
+            parentIds.remove(id);
+        }
     }
 
     // Search operations
@@ -75,10 +106,13 @@ public class Questions {
      * @return Questions collection matching the title
      */
     public Questions searchByTitle(String keyword) {
+        String lowerKeyword = keyword.toLowerCase();
         Questions result = new Questions();
-        result.questions = questions.stream()
-            .filter(q -> q.getTitle().toLowerCase().contains(keyword.toLowerCase()))
-            .collect(Collectors.toList());
+        for (Question q : questionsById.values()) {
+            if (q.getTitle().toLowerCase().contains(lowerKeyword)) {
+                result.addQuestion(q);
+            }
+        }
         return result;
     }
     
@@ -89,9 +123,11 @@ public class Questions {
      */
     public Questions searchByAuthor(String author) {
         Questions result = new Questions();
-        result.questions = questions.stream()
-            .filter(q -> q.getAuthor().equalsIgnoreCase(author))
-            .collect(Collectors.toList());
+        for (Question q : questionsById.values()) {
+            if (q.getAuthor().equalsIgnoreCase(author)) {
+                result.addQuestion(q);
+            }
+        }
         return result;
     }
     
@@ -100,7 +136,7 @@ public class Questions {
      * @return list copy of all questions
      */
     public List<Question> getAllQuestions() {
-        return new ArrayList<>(questions);
+        return new ArrayList<>(questionsById.values());
     }
 
     /**
@@ -109,7 +145,11 @@ public class Questions {
      */
     public Questions getUnresolvedQuestions() {
     	Questions result = new Questions();
-    	result.questions = questions.stream().filter(q -> !q.getIsResolved()).collect(java.util.stream.Collectors.toList());
+    	for (Question q : questionsById.values()) {
+    		if (!q.getIsResolved()) {
+    			result.addQuestion(q);
+    		}
+    	}
     	return result;
     }
      
@@ -120,9 +160,12 @@ public class Questions {
      * @return list of follow-up Question instances
      */
     public List<Question> getFollowUps(String parentQuestionId) {
-        return questions.stream()
-            .filter(q -> parentQuestionId.equals(q.getFollowUpOf()))
-            .collect(Collectors.toList());
+        Set<String> children = followUpIds.getOrDefault(parentQuestionId, Collections.emptySet());
+        List<Question> followUps = new ArrayList<>(children.size());
+        for (String id : children) {
+            followUps.add(questionsById.get(id));
+        }
+        return followUps;
     }
     
     /**
@@ -130,7 +173,7 @@ public class Questions {
      * @return true when empty
      */
     public boolean isEmpty() {
-        return questions.isEmpty();
+        return questionsById.isEmpty();
     }
     
     /**
@@ -138,6 +181,28 @@ public class Questions {
      * @return question count
      */
     public int size() {
-        return questions.size();
+        return questionsById.size();
+    }
+
+    private void linkParent(String questionId, String parentId) {
+        if (parentId == null) {
+            return;
+        }
+        followUpIds.computeIfAbsent(parentId, k -> new LinkedHashSet<>()).add(questionId);
+        parentIds.put(questionId, parentId);
+    }
+
+    private void unlinkParent(String questionId) {
+        String parentId = parentIds.remove(questionId);
+        if (parentId == null) {
+            return;
+        }
+        Set<String> siblings = followUpIds.get(parentId);
+        if (siblings != null) {
+            siblings.remove(questionId);
+            if (siblings.isEmpty()) {
+                followUpIds.remove(parentId);
+            }
+        }
     }
-}
\ No newline at end of file
+}
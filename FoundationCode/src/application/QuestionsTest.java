@@ -0,0 +1,72 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Timestamp;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the id and follow-up indexes in the in-memory {@link Questions} store.
+ */
+public class QuestionsTest {
+
+    private Questions questions;
+
+    @BeforeEach
+    void setUp() {
+        questions = new Questions();
+        questions.addQuestion(question("Q1", null));
+        questions.addQuestion(question("Q2", "Q1"));
+        questions.addQuestion(question("Q3", "Q2"));
+        questions.addQuestion(question("Q4", "Q1"));
+        questions.addQuestion(question("Q5", null));
+    }
+
+    @Test
+    void testLookupAndFollowUps() {
+        assertEquals("Q3", questions.getQuestion("Q3").getQuestionId());
+        assertNull(questions.getQuestion("missing"));
+        assertEquals(List.of("Q2", "Q4"), ids(questions.getFollowUps("Q1")));
+        assertTrue(questions.getFollowUps("Q5").isEmpty());
+    }
+
+    @Test
+    void testUpdateMovesFollowUpAndKeepsOrder() {
+        questions.updateQuestion(question("Q4", "Q5"));
+        assertEquals(List.of("Q2"), ids(questions.getFollowUps("Q1")));
+        assertEquals(List.of("Q4"), ids(questions.getFollowUps("Q5")));
+        assertEquals(List.of("Q1", "Q2", "Q3", "Q4", "Q5"), ids(questions.getAllQuestions()));
+
+        questions.updateQuestion(question("missing", "Q1"));
+        assertNull(questions.getQuestion("missing"), "Update must not add unknown questions");
+    }
+
+    @Test
+    void testDeleteCascadesThroughSubtree() {
+        questions.deleteQuestion("Q2");
+        assertEquals(List.of("Q1", "Q4", "Q5"), ids(questions.getAllQuestions()));
+        assertEquals(List.of("Q4"), ids(questions.getFollowUps("Q1")));
+
+        questions.deleteQuestion("Q1");
+        assertEquals(List.of("Q5"), ids(questions.getAllQuestions()));
+        assertEquals(1, questions.size());
+    }
+
+    @Test
+    void testSearchResultsAreIndexed() {
+        Questions byAuthor = questions.searchByAuthor("AUTHOR");
+        assertEquals(5, byAuthor.size());
+        assertEquals(List.of("Q2", "Q4"), ids(byAuthor.getFollowUps("Q1")));
+    }
+
+    private static Question question(String id, String followUpOf) {
+        return new Question(id, "Title " + id, "Body", "author", new Timestamp(0), followUpOf);
+    }
+
+    private static List<String> ids(List<Question> list) {
+        return list.stream().map(Question::getQuestionId).toList();
+    }
+}
@@ -17,6 +17,7 @@ import databasePart1.DatabaseHelper;
  * - Sending private feedback to a reviewer (stored as PrivateMessage)
  * - Adding a reviewer to the student's trusted reviewers list (in-memory User list)
  * - Searching reviewers (via DatabaseHelper.getAllReviewerProfiles + simple filtering)
+ * - Searching reviewers in the database (DatabaseHelper.searchReviewerProfileSummaries)
  */
 public class ReviewerFeatureTests {
 
@@ -102,4 +103,24 @@ public class ReviewerFeatureTests {
         assertTrue(found, "Search should find the reviewer profile by substring");
     }
 
+    @Test
+    void testReviewerSearchRunsInDatabase() throws SQLException {
+        String tag = "qz" + UUID.randomUUID().toString().substring(0, 6);
+        String[] names = { "Zeta " + tag.toUpperCase(), tag + "Beta", tag };
+        for (String name : names) {
+            String user = "user_" + UUID.randomUUID().toString().substring(0, 6);
+            db.register(new application.User(user, "pw", user + "@ex.com", name, "reviewer"));
+            db.createReviewerProfile(db.getUserIdByUsername(user), name);
+        }
+
+        // Prefix matches first, then names containing the text elsewhere; case-insensitive
+        List<application.ReviewerProfile> found = db.searchReviewerProfileSummaries(tag.toUpperCase(), 10);
+        assertEquals(List.of(tag, tag + "Beta", "Zeta " + tag.toUpperCase()),
+            found.stream().map(application.ReviewerProfile::getName).collect(java.util.stream.Collectors.toList()));
+
+        assertEquals(2, db.searchReviewerProfileSummaries(tag, 2).size(), "Limit applies across both groups");
+        assertTrue(db.searchReviewerProfileSummaries("q_" + tag.substring(2), 10).isEmpty(),
+            "LIKE wildcards in the text match literally");
+    }
+
 }
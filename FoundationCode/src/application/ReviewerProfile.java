@@ -1,5 +1,6 @@
 package application;
 
+import java.util.Collections;
 import java.util.List;
 
 import javafx.beans.property.SimpleStringProperty;
@@ -14,6 +15,8 @@ public class ReviewerProfile {
 	private final StringProperty experience;
 	private List<Review> reviews;
 	private List<Feedback> feedback; 
+	private final int reviewCount;
+	private final int feedbackCount;
 	
 	/**
 	 * Creates a reviewer profile instance 
@@ -30,8 +33,29 @@ public class ReviewerProfile {
 		this.experience = new SimpleStringProperty(experience);
 		this.reviews = reviews;
 		this.feedback = feedback;
+		this.reviewCount = reviews.size();
+		this.feedbackCount = feedback.size();
 		
 	}
+	
+	/**
+	 * Creates a summary of a reviewer profile that carries counts only. Its
+	 * review and feedback lists are empty; load the full profile to see them.
+	 * @param reviewerId unique id belonging to the reviewer
+	 * @param name   reviewer's username
+	 * @param experience   reviewer's experience text
+	 * @param reviewCount    number of reviews made by the reviewer
+	 * @param feedbackCount    number of feedback messages the reviewer has received
+	 */
+	public ReviewerProfile(int reviewerId, String name, String experience, int reviewCount, int feedbackCount) {
+		this.reviewerId = reviewerId;
+		this.name = new SimpleStringProperty(name);
+		this.experience = new SimpleStringProperty(experience);
+		this.reviews = Collections.emptyList();
+		this.feedback = Collections.emptyList();
+		this.reviewCount = reviewCount;
+		this.feedbackCount = feedbackCount;
+	}
 	/**
 	 * @return reviewerId
 	 */
@@ -52,6 +76,14 @@ public class ReviewerProfile {
 	 * @return feedback
 	 */
 	public List<Feedback> getFeedback() { return feedback;}
+	/**
+	 * @return number of reviews, also set on summaries
+	 */
+	public int getReviewCount() { return reviewCount; }
+	/**
+	 * @return number of feedback messages received, also set on summaries
+	 */
+	public int getFeedbackCount() { return feedbackCount; }
 	
 	public StringProperty nameProperty() { return name; }
 	public StringProperty experienceProperty() { return experience; }
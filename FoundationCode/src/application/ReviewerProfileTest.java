@@ -171,4 +171,40 @@ class ReviewerProfileTest {
 	        assertTrue(profiles.stream().anyMatch(p -> p.getName().equals(testUserName)));
 	    }
 
+	 /**
+	  * Tests that a full profile loads in a fixed number of queries however
+	  * many reviews it has, and that summaries carry the same counts.
+	  *
+	  * @throws SQLException if a database operation fails
+	  */
+	 @Test
+	    void testProfileLoadsInFixedQueries() throws SQLException {
+		 	db.executeUpdate("INSERT INTO questions (questionId, title, content, author) VALUES ('q1', 'Sample Question', 'This is the question content','" + testUserName + "')");
+		    db.executeUpdate("INSERT INTO answers (answerId, questionId, author, content) VALUES ('ans1', 'q1', '"+ testUserName + "', 'Answer content')");
+		    for (int i = 1; i <= 3; i++) {
+		    	db.insertReview(new Review("rev" + i, "ans1", testUserName, "Review " + i, new Timestamp(System.currentTimeMillis()), null));
+		    }
+		    db.executeUpdate("INSERT INTO PrivateMessages (questionId, fromUser, toUser, content) VALUES "
+		    		+ "('REV:rev1', 'student1', '" + testUserName + "', 'One'), "
+		    		+ "('REV:rev1', 'student2', '" + testUserName + "', 'Two'), "
+		    		+ "('REVFB:" + testUserId + "', 'student1', '" + testUserName + "', 'Helpful feedback!')");
+
+		    long before = db.getConnectionPool().getStatementCount();
+		    ReviewerProfile profile = db.getReviewerProfileById(testUserId);
+		    assertEquals(3, db.getConnectionPool().getStatementCount() - before, "Profile, reviews and feedback");
+		    assertEquals(3, profile.getReviews().size());
+		    assertEquals(1, profile.getFeedback().size());
+		    for (Review review : profile.getReviews()) {
+		    	assertEquals(review.getReviewId().equals("rev1") ? 2 : 0, review.getFeedbackCount());
+		    }
+
+		    before = db.getConnectionPool().getStatementCount();
+		    List<ReviewerProfile> summaries = db.getReviewerProfileSummaries(List.of(testUserId));
+		    assertEquals(1, db.getConnectionPool().getStatementCount() - before);
+		    assertEquals(1, summaries.size());
+		    assertEquals(3, summaries.get(0).getReviewCount());
+		    assertEquals(1, summaries.get(0).getFeedbackCount());
+		    assertTrue(summaries.get(0).getReviews().isEmpty());
+	    }
+
 }
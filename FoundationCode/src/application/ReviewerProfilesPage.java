@@ -1,7 +1,5 @@
 package application;
 
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -11,8 +9,6 @@ import javafx.scene.layout.*;
 import javafx.stage.Stage;
 import databasePart1.DatabaseHelper;
 
-import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -26,6 +22,9 @@ public class ReviewerProfilesPage {
 	private final DatabaseHelper databaseHelper;
 	private final User currentUser;
 	private TableView<ReviewerProfile> reviewerTable;
+	private final AsyncLoader loader = new AsyncLoader();
+	/** Most reviewers shown for a name search */
+	private static final int SEARCH_LIMIT = 200;
 	
 	/**
 	 * Creates a new instance of the reviewers profiles page 
@@ -64,33 +63,20 @@ public class ReviewerProfilesPage {
 		reviewerTable = createReviewerTable();
 		populateReviewerTable();
 
-		// search actions
-		searchButton.setOnAction(e -> {
-			String q = searchField.getText();
-			if (q == null || q.trim().isEmpty()) {
-				populateReviewerTable();
-			} else {
-				filterReviewerTable(q.trim());
-			}
-		});
+		// search actions; typing searches as well, each search superseding the last
+		searchButton.setOnAction(e -> searchReviewers(searchField.getText()));
+		searchField.textProperty().addListener((obs, oldText, newText) -> searchReviewers(newText));
 		showTrustedButton.setOnAction(e -> {
 			// show the trusted reviewers for currentUser
-			try {
-				java.util.List<Integer> ids = currentUser.getTrustedReviewerIds();
-				if (ids.isEmpty()) {
-					showAlert("You have no trusted reviewers yet.");
-					return;
-				}
-				java.util.List<ReviewerProfile> list = new java.util.ArrayList<>();
-				for (int id : ids) {
-					ReviewerProfile p = databaseHelper.getReviewerProfileById(id);
-					if (p != null) list.add(p);
-				}
-				reviewerTable.setItems(FXCollections.observableArrayList(list));
-			} catch (Exception ex) {
+			java.util.List<Integer> ids = currentUser.getTrustedReviewerIds();
+			if (ids.isEmpty()) {
+				showAlert("You have no trusted reviewers yet.");
+				return;
+			}
+			loader.loadTable("reviewers", reviewerTable, () -> databaseHelper.getReviewerProfileSummaries(ids), ex -> {
 				ex.printStackTrace();
 				showAlert("Failed to load trusted reviewers.");
-			}
+			});
 		});
 		
 		
@@ -114,6 +100,7 @@ public class ReviewerProfilesPage {
 		viewProfileBttn.setOnAction(e -> {
 			ReviewerProfile selected = reviewerTable.getSelectionModel().getSelectedItem();
 			if(selected != null) {
+				loader.cancelAll();
 				ReviewerProfilePage profilePage = new ReviewerProfilePage(databaseHelper, currentUser, selected,AccessContext.STUDENT_HOME);
 				profilePage.show(primaryStage);
 				
@@ -124,6 +111,7 @@ public class ReviewerProfilesPage {
 		});
 		
 		backButton.setOnAction(e -> {
+			loader.cancelAll();
 			StudentHomePage studentHome = new StudentHomePage(databaseHelper, currentUser);
 			studentHome.show(primaryStage);
 			
@@ -143,19 +131,32 @@ public class ReviewerProfilesPage {
 		TableColumn<ReviewerProfile, String> experienceCol = new TableColumn<>("Experience");
 		experienceCol.setCellValueFactory(new PropertyValueFactory<>("experience"));
 		
-		table.getColumns().addAll(nameCol, experienceCol);
+		TableColumn<ReviewerProfile, Integer> reviewCountCol = new TableColumn<>("Reviews");
+		reviewCountCol.setCellValueFactory(new PropertyValueFactory<>("reviewCount"));
+
+		TableColumn<ReviewerProfile, Integer> feedbackCountCol = new TableColumn<>("Feedback");
+		feedbackCountCol.setCellValueFactory(new PropertyValueFactory<>("feedbackCount"));
+
+		table.getColumns().addAll(nameCol, experienceCol, reviewCountCol, feedbackCountCol);
 		table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
 		return table;
 	}
+	/**
+	 * Show every reviewer for blank text, otherwise the reviewers matching it.
+	 * @param q search field text
+	 */
+	private void searchReviewers(String q) {
+		if (q == null || q.trim().isEmpty()) {
+			populateReviewerTable();
+		} else {
+			filterReviewerTable(q.trim());
+		}
+	}
 	private void populateReviewerTable() {
-		try {
-			List<ReviewerProfile> reviewers = databaseHelper.getAllReviewerProfiles();
-			ObservableList<ReviewerProfile> reviewerList = FXCollections.observableArrayList(reviewers);
-			reviewerTable.setItems(reviewerList);
-		} catch (SQLException e) {
+		loader.loadTable("reviewers", reviewerTable, databaseHelper::getReviewerProfileSummaries, e -> {
 			e.printStackTrace();
 			showAlert("Error loading reviewer profiles from the database");
-		}
+		});
 	}
 	/**
 	 * Show a simple information alert with the provided message.
@@ -169,21 +170,16 @@ public class ReviewerProfilesPage {
 	}
 
 	/**
-	 * Filter reviewer table by name (case-insensitive substring match).
+	 * Filter reviewer table by name (case-insensitive prefix, then substring
+	 * match), searched in the database.
 	 * @param q query text
 	 */
 	private void filterReviewerTable(String q) {
-		try {
-			List<ReviewerProfile> reviewers = databaseHelper.getAllReviewerProfiles();
-			java.util.List<ReviewerProfile> out = new java.util.ArrayList<>();
-			for (ReviewerProfile p : reviewers) {
-				if (p.getName() != null && p.getName().toLowerCase().contains(q.toLowerCase())) out.add(p);
-			}
-			reviewerTable.setItems(FXCollections.observableArrayList(out));
-		} catch (SQLException e) {
+		loader.loadTable("reviewers", reviewerTable,
+				() -> databaseHelper.searchReviewerProfileSummaries(q, SEARCH_LIMIT), e -> {
 			e.printStackTrace();
 			showAlert("Search failed: " + e.getMessage());
-		}
+		});
 	}
 	
 
@@ -0,0 +1,113 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ConnectionPool;
+import databasePart1.Migration;
+import databasePart1.SchemaMigrator;
+
+/**
+ * Tests for {@link SchemaMigrator} against a private in-memory H2 database.
+ */
+public class SchemaMigratorTest {
+
+    private static final String URL = "jdbc:h2:mem:migratortest;DB_CLOSE_DELAY=-1";
+
+    private ConnectionPool pool;
+
+    @BeforeEach
+    void setUp() {
+        pool = new ConnectionPool(URL, "sa", "", 2, 1000);
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            stmt.execute("DROP ALL OBJECTS");
+        }
+        pool.close();
+    }
+
+    @Test
+    void testFreshDatabaseReachesLatestVersion() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        try (Connection conn = pool.borrow()) {
+            assertEquals(0, migrator.currentVersion(conn));
+            assertEquals(migrator.getLatestVersion(), migrator.migrate(conn));
+            assertEquals(migrator.getLatestVersion(), migrator.currentVersion(conn));
+        }
+    }
+
+    @Test
+    void testCurrentDatabaseRunsNoDdl() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator();
+        try (Connection conn = pool.borrow()) {
+            migrator.migrate(conn);
+        }
+        long before = pool.getStatementCount();
+        try (Connection conn = pool.borrow()) {
+            assertEquals(0, migrator.migrate(conn));
+        }
+        assertEquals(1, pool.getStatementCount() - before, "Only the schema_version read should run");
+    }
+
+    @Test
+    void testEditedMigrationIsRejected() throws SQLException {
+        try (Connection conn = pool.borrow()) {
+            new SchemaMigrator(Arrays.asList(
+                new Migration(1, "Items", "CREATE TABLE items (id INT PRIMARY KEY)"))).migrate(conn);
+
+            SchemaMigrator edited = new SchemaMigrator(Arrays.asList(
+                new Migration(1, "Items", "CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(20))")));
+            SQLException e = assertThrows(SQLException.class, () -> edited.migrate(conn));
+            assertTrue(e.getMessage().contains("Checksum mismatch"));
+        }
+    }
+
+    @Test
+    void testFailedMigrationIsNotRecorded() throws SQLException {
+        SchemaMigrator migrator = new SchemaMigrator(Arrays.asList(
+            new Migration(1, "Items", "CREATE TABLE items (id INT PRIMARY KEY)"),
+            new Migration(2, "Broken", "ALTER TABLE no_such_table ADD COLUMN x INT")));
+        try (Connection conn = pool.borrow()) {
+            assertThrows(SQLException.class, () -> migrator.migrate(conn));
+            assertEquals(1, migrator.currentVersion(conn));
+        }
+    }
+
+    @Test
+    void testLegacyDatabaseKeepsDataAndWidensAnswers() throws SQLException {
+        String longAnswer = "x".repeat(500);
+        try (Connection conn = pool.borrow(); Statement stmt = conn.createStatement()) {
+            // Recreate a database from before migrations: tables present, answers.content still 50 chars
+            new SchemaMigrator().migrate(conn);
+            stmt.execute("DROP TABLE schema_version");
+            stmt.execute("ALTER TABLE answers ALTER COLUMN content SET DATA TYPE VARCHAR(50)");
+            stmt.execute("INSERT INTO cse360users (userName, role) VALUES ('legacy', 'student')");
+            stmt.execute("INSERT INTO questions (questionId, title, author) VALUES ('Q1', 'Old question', 'legacy')");
+            stmt.execute("INSERT INTO answers (answerId, questionId, content, author) VALUES ('A1', 'Q1', 'short', 'legacy')");
+
+            SchemaMigrator migrator = new SchemaMigrator();
+            assertEquals(migrator.getLatestVersion(), migrator.migrate(conn));
+
+            stmt.execute("INSERT INTO answers (answerId, questionId, content, author) "
+                + "VALUES ('A2', 'Q1', '" + longAnswer + "', 'legacy')");
+            try (ResultSet rs = stmt.executeQuery("SELECT answerId, content FROM answers ORDER BY answerId")) {
+                assertTrue(rs.next());
+                assertEquals("short", rs.getString("content"));
+                assertTrue(rs.next());
+                assertEquals(longAnswer, rs.getString("content"));
+            }
+        }
+    }
+}
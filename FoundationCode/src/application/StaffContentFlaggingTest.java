@@ -58,6 +58,9 @@ public class StaffContentFlaggingTest {
     private void cleanupTestData() throws SQLException {
         try {
             db.executeUpdate("DELETE FROM content_flags WHERE flaggedBy LIKE 'edge%'");
+            db.executeUpdate("DELETE FROM PrivateMessages WHERE fromUser LIKE 'edge%'");
+            db.executeUpdate("DELETE FROM answer_reviews WHERE reviewerUserName LIKE 'edge%'");
+            db.executeUpdate("DELETE FROM answers WHERE author LIKE 'edge%'");
             db.executeUpdate("DELETE FROM questions WHERE author LIKE 'edge%'");
             db.executeUpdate("DELETE FROM UserRoles WHERE userName LIKE 'edge%'");
             db.executeUpdate("DELETE FROM cse360users WHERE userName LIKE 'edge%'");
@@ -251,4 +254,86 @@ public class StaffContentFlaggingTest {
         assertTrue(flag.getCreatedAt().length() > 0, 
                   "Timestamp should be non-empty");
     }
+
+    /**
+     * Tests the by-id lookups return the row, or null for an unknown id.
+     */
+    @Test
+    void testLookupById() throws SQLException {
+        db.insertAnswer(new Answer("EDGE_A1", testQuestionId, "Edge answer", "edgeStudent",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertReview(new Review("EDGE_R1", "EDGE_A1", "edgeStaff", "Edge review",
+                new Timestamp(System.currentTimeMillis()), null));
+        db.insertPrivateMessage(testQuestionId, "edgeStaff", "edgeStudent", "Edge message");
+        int messageId = messageIdFrom("edgeStaff");
+
+        assertEquals("Edge Question", db.getQuestionById(testQuestionId).getTitle());
+        assertEquals("Edge answer", db.getAnswerById("EDGE_A1").getContent());
+        assertEquals("Edge review", db.getReviewById("EDGE_R1").getContent());
+        assertEquals("Edge message", db.getMessageById(messageId).getContent());
+
+        assertNull(db.getQuestionById("EDGE_MISSING"));
+        assertNull(db.getAnswerById("EDGE_MISSING"));
+        assertNull(db.getReviewById("EDGE_MISSING"));
+        assertNull(db.getMessageById(-1));
+    }
+
+    /**
+     * Tests that flagged content of every type is resolved with one query per
+     * type, and that flags on deleted content stay unresolved.
+     */
+    @Test
+    void testResolveFlaggedContentBatch() throws SQLException {
+        db.insertAnswer(new Answer("EDGE_A1", testQuestionId, "Edge answer", "edgeStudent",
+                new Timestamp(System.currentTimeMillis()), false));
+        db.insertReview(new Review("EDGE_R1", "EDGE_A1", "edgeStaff", "Edge review",
+                new Timestamp(System.currentTimeMillis()), null));
+        db.insertPrivateMessage(testQuestionId, "edgeStaff", "edgeStudent", "Edge message");
+        String messageId = String.valueOf(messageIdFrom("edgeStaff"));
+
+        db.flagContent("question", testQuestionId, staffUser.getUserName(), "q");
+        db.flagContent("answer", "EDGE_A1", staffUser.getUserName(), "a");
+        db.flagContent("review", "EDGE_R1", staffUser.getUserName(), "r");
+        db.flagContent("message", messageId, staffUser.getUserName(), "m");
+        db.flagContent("answer", "EDGE_GONE", staffUser.getUserName(), "deleted");
+
+        List<ContentFlag> flags = db.getAllFlags();
+        flags.removeIf(f -> !f.getFlaggedBy().equals(staffUser.getUserName()));
+        assertEquals(5, flags.size());
+
+        long before = db.getConnectionPool().getStatementCount();
+        db.resolveFlaggedContent(flags);
+        assertEquals(4, db.getConnectionPool().getStatementCount() - before, "One query per content type");
+
+        for (ContentFlag flag : flags) {
+            switch (flag.getContentId()) {
+                case "EDGE_GONE":
+                    assertNull(flag.getContentDetails());
+                    assertEquals("", flag.getContentPreview());
+                    break;
+                case "EDGE_Q1":
+                    assertEquals("Edge Question", flag.getContentPreview());
+                    assertTrue(flag.getContentDetails().contains("Author: edgeStudent"));
+                    break;
+                case "EDGE_A1":
+                    assertEquals("Edge answer", flag.getContentPreview());
+                    break;
+                case "EDGE_R1":
+                    assertEquals("Edge review", flag.getContentPreview());
+                    break;
+                default:
+                    assertEquals(messageId, flag.getContentId());
+                    assertEquals("Edge message", flag.getContentPreview());
+                    assertTrue(flag.getContentDetails().startsWith("From: edgeStaff"));
+            }
+        }
+    }
+
+    private int messageIdFrom(String fromUser) throws SQLException {
+        return db.getAllPrivateMessages().stream()
+            .filter(m -> m.getFromUser().equals(fromUser))
+            .findFirst()
+            .orElseThrow()
+            .getId();
+    }
 }
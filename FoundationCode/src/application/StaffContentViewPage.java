@@ -1,8 +1,7 @@
 package application;
 
 import databasePart1.DatabaseHelper;
-import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
+import databasePart1.ReviewFilter;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -13,7 +12,8 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.sql.SQLException;
-import java.util.List;
+import java.sql.Timestamp;
+import java.time.LocalDate;
 import java.util.Optional;
 
 /**
@@ -54,6 +54,12 @@ public class StaffContentViewPage {
     /** Main tab pane containing all content tabs */
     private TabPane tabPane;
     
+    /** Runs the tab loads off the JavaFX thread */
+    private final AsyncLoader loader = new AsyncLoader();
+    
+    /** Restrictions applied to the reviews tab; read by its page loads in the background */
+    private volatile ReviewFilter reviewFilter = ReviewFilter.NONE;
+    
     /**
      * Constructs a new StaffContentViewPage.
      * 
@@ -92,6 +98,7 @@ public class StaffContentViewPage {
         
         Button backButton = new Button("Back");
         backButton.setOnAction(e -> {
+            loader.cancelAll();
             new StaffHomePage(databaseHelper, currentUser).show(primaryStage);
         });
         
@@ -140,6 +147,11 @@ public class StaffContentViewPage {
         
         table.getColumns().addAll(idCol, titleCol, authorCol, dateCol, resolvedCol);
         
+        // Rows are fetched a page at a time as the table is scrolled
+        PagedTableLoader<Question> pages = new PagedTableLoader<>(loader, "questions", table,
+                databaseHelper::getQuestionsPage,
+                e -> showAlert("Error", "Failed to load questions: " + e.getMessage(), Alert.AlertType.ERROR));
+        
         // Buttons
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
@@ -147,7 +159,7 @@ public class StaffContentViewPage {
         Button viewButton = new Button("View Details");
         Button flagButton = new Button("Flag Content");
         
-        refreshButton.setOnAction(e -> loadQuestions(table));
+        refreshButton.setOnAction(e -> pages.reload());
         viewButton.setOnAction(e -> showQuestionDetails(table.getSelectionModel().getSelectedItem()));
         flagButton.setOnAction(e -> flagQuestion(table.getSelectionModel().getSelectedItem()));
         
@@ -157,7 +169,7 @@ public class StaffContentViewPage {
         tab.setContent(content);
         
         // Initial load
-        loadQuestions(table);
+        pages.reload();
         
         return tab;
     }
@@ -199,12 +211,17 @@ public class StaffContentViewPage {
         
         table.getColumns().addAll(idCol, questionIdCol, contentCol, authorCol, dateCol);
         
+        // Rows are fetched a page at a time as the table is scrolled
+        PagedTableLoader<Answer> pages = new PagedTableLoader<>(loader, "answers", table,
+                databaseHelper::getAnswersPage,
+                e -> showAlert("Error", "Failed to load answers: " + e.getMessage(), Alert.AlertType.ERROR));
+        
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
         Button refreshButton = new Button("Refresh");
         Button flagButton = new Button("Flag Content");
         
-        refreshButton.setOnAction(e -> loadAnswers(table));
+        refreshButton.setOnAction(e -> pages.reload());
         flagButton.setOnAction(e -> flagAnswer(table.getSelectionModel().getSelectedItem()));
         
         buttonBox.getChildren().addAll(refreshButton, flagButton);
@@ -212,7 +229,7 @@ public class StaffContentViewPage {
         content.getChildren().addAll(table, buttonBox);
         tab.setContent(content);
         
-        loadAnswers(table);
+        pages.reload();
         
         return tab;
     }
@@ -254,24 +271,75 @@ public class StaffContentViewPage {
         
         table.getColumns().addAll(idCol, answerIdCol, reviewerCol, contentCol, dateCol);
         
+        // Rows are fetched a page at a time as the table is scrolled, one query per page
+        PagedTableLoader<Review> pages = new PagedTableLoader<>(loader, "reviews", table,
+                (after, limit) -> databaseHelper.getAllReviews(reviewFilter, after, limit),
+                e -> showAlert("Error", "Failed to load reviews: " + e.getMessage(), Alert.AlertType.ERROR));
+        
+        HBox filterBox = new HBox(10);
+        filterBox.setAlignment(Pos.CENTER);
+        TextField reviewerField = new TextField();
+        reviewerField.setPromptText("Reviewer");
+        TextField answerIdField = new TextField();
+        answerIdField.setPromptText("Answer ID");
+        DatePicker fromPicker = new DatePicker();
+        fromPicker.setPromptText("From");
+        DatePicker toPicker = new DatePicker();
+        toPicker.setPromptText("To");
+        Button applyButton = new Button("Apply Filter");
+        Button clearButton = new Button("Clear");
+        
+        applyButton.setOnAction(e -> {
+            reviewFilter = new ReviewFilter(blankToNull(reviewerField.getText()), blankToNull(answerIdField.getText()),
+                    startOfDay(fromPicker.getValue()),
+                    toPicker.getValue() == null ? null : startOfDay(toPicker.getValue().plusDays(1)));
+            pages.reload();
+        });
+        clearButton.setOnAction(e -> {
+            reviewerField.clear();
+            answerIdField.clear();
+            fromPicker.setValue(null);
+            toPicker.setValue(null);
+            reviewFilter = ReviewFilter.NONE;
+            pages.reload();
+        });
+        
+        filterBox.getChildren().addAll(reviewerField, answerIdField, fromPicker, toPicker, applyButton, clearButton);
+        
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
         Button refreshButton = new Button("Refresh");
         Button flagButton = new Button("Flag Content");
         
-        refreshButton.setOnAction(e -> loadReviews(table));
+        refreshButton.setOnAction(e -> pages.reload());
         flagButton.setOnAction(e -> flagReview(table.getSelectionModel().getSelectedItem()));
         
         buttonBox.getChildren().addAll(refreshButton, flagButton);
         
-        content.getChildren().addAll(table, buttonBox);
+        content.getChildren().addAll(filterBox, table, buttonBox);
         tab.setContent(content);
         
-        loadReviews(table);
+        pages.reload();
         
         return tab;
     }
     
+    /**
+     * @param text a filter field's text
+     * @return the trimmed text, or null if it is blank
+     */
+    private static String blankToNull(String text) {
+        return text == null || text.trim().isEmpty() ? null : text.trim();
+    }
+    
+    /**
+     * @param date a picked date, or null
+     * @return midnight at the start of the date, or null
+     */
+    private static Timestamp startOfDay(LocalDate date) {
+        return date == null ? null : Timestamp.valueOf(date.atStartOfDay());
+    }
+    
     /**
      * Creates the tab for viewing all private messages in the system.
      * The tab includes a table view and buttons for refreshing and flagging content.
@@ -314,12 +382,17 @@ public class StaffContentViewPage {
         
         table.getColumns().addAll(idCol, questionIdCol, fromCol, toCol, contentCol);
         
+        // Rows are fetched a page at a time as the table is scrolled
+        PagedTableLoader<PrivateMessage> pages = new PagedTableLoader<>(loader, "messages", table,
+                databaseHelper::getPrivateMessagesPage,
+                e -> showAlert("Error", "Failed to load messages: " + e.getMessage(), Alert.AlertType.ERROR));
+        
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
         Button refreshButton = new Button("Refresh");
         Button flagButton = new Button("Flag Content");
         
-        refreshButton.setOnAction(e -> loadMessages(table));
+        refreshButton.setOnAction(e -> pages.reload());
         flagButton.setOnAction(e -> flagMessage(table.getSelectionModel().getSelectedItem()));
         
         buttonBox.getChildren().addAll(refreshButton, flagButton);
@@ -327,72 +400,11 @@ public class StaffContentViewPage {
         content.getChildren().addAll(table, buttonBox);
         tab.setContent(content);
         
-        loadMessages(table);
+        pages.reload();
         
         return tab;
     }
     
-    /**
-     * Loads all questions from the database and populates the table view.
-     * 
-     * @param table the table view to populate with questions
-     */
-    private void loadQuestions(TableView<Question> table) {
-        try {
-            List<Question> questions = databaseHelper.getAllQuestions();
-            table.setItems(FXCollections.observableArrayList(questions));
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to load questions: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
-    }
-    
-    /**
-     * Loads all answers from the database and populates the table view.
-     * 
-     * @param table the table view to populate with answers
-     */
-    private void loadAnswers(TableView<Answer> table) {
-        try {
-            List<Answer> answers = databaseHelper.getAllAnswers();
-            table.setItems(FXCollections.observableArrayList(answers));
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to load answers: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
-    }
-    
-    /**
-     * Loads all reviews from the database and populates the table view.
-     * Reviews are collected from all answers in the system.
-     * 
-     * @param table the table view to populate with reviews
-     */
-    private void loadReviews(TableView<Review> table) {
-        try {
-            List<Answer> answers = databaseHelper.getAllAnswers();
-            List<Review> allReviews = new java.util.ArrayList<>();
-            for (Answer answer : answers) {
-                allReviews.addAll(databaseHelper.getReviewsForAnswer(answer.getAnswerId()));
-            }
-            table.setItems(FXCollections.observableArrayList(allReviews));
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to load reviews: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
-    }
-    
-    /**
-     * Loads all private messages from the database and populates the table view.
-     * 
-     * @param table the table view to populate with private messages
-     */
-    private void loadMessages(TableView<PrivateMessage> table) {
-        try {
-            List<PrivateMessage> messages = databaseHelper.getAllPrivateMessages();
-            table.setItems(FXCollections.observableArrayList(messages));
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to load messages: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
-    }
-    
     /**
      * Displays detailed information about a selected question in a dialog.
      * 
@@ -1,7 +1,7 @@
 package application;
 
 import databasePart1.DatabaseHelper;
-import javafx.collections.FXCollections;
+import databasePart1.Page;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,7 +12,6 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.sql.SQLException;
-import java.util.List;
 import java.util.Optional;
 
 /**
@@ -51,6 +50,12 @@ public class StaffFlaggedContentPage {
     /** Table view displaying all flagged content */
     private TableView<ContentFlag> flagTable;
     
+    /** Runs flag queries off the JavaFX thread */
+    private final AsyncLoader loader = new AsyncLoader();
+    
+    /** Fetches flags a page at a time as the table is scrolled */
+    private PagedTableLoader<ContentFlag> flagPages;
+    
     /**
      * Constructs a new StaffFlaggedContentPage.
      * 
@@ -78,6 +83,12 @@ public class StaffFlaggedContentPage {
         titleLabel.setStyle("-fx-font-size: 20px; -fx-font-weight: bold;");
         
         flagTable = createFlagTable();
+        flagPages = new PagedTableLoader<>(loader, "flags", flagTable, (after, limit) -> {
+            // Each page's content is resolved with one query per content type
+            Page<ContentFlag> page = databaseHelper.getFlagsPage(after, limit);
+            databaseHelper.resolveFlaggedContent(page.getItems());
+            return page;
+        }, e -> showAlert("Error", "Failed to load flags: " + e.getMessage(), Alert.AlertType.ERROR));
         loadFlags();
         
         HBox buttonBox = new HBox(10);
@@ -94,6 +105,7 @@ public class StaffFlaggedContentPage {
         markReviewedButton.setOnAction(e -> updateFlagStatus("Reviewed"));
         markResolvedButton.setOnAction(e -> updateFlagStatus("Resolved"));
         backButton.setOnAction(e -> {
+            loader.cancelAll();
             new StaffHomePage(databaseHelper, currentUser).show(primaryStage);
         });
         
@@ -137,6 +149,10 @@ public class StaffFlaggedContentPage {
         reasonCol.setCellValueFactory(new PropertyValueFactory<>("reason"));
         reasonCol.setMinWidth(250);
         
+        TableColumn<ContentFlag, String> previewCol = new TableColumn<>("Content Preview");
+        previewCol.setCellValueFactory(new PropertyValueFactory<>("contentPreview"));
+        previewCol.setMinWidth(250);
+        
         TableColumn<ContentFlag, String> statusCol = new TableColumn<>("Status");
         statusCol.setCellValueFactory(new PropertyValueFactory<>("status"));
         statusCol.setMinWidth(100);
@@ -145,23 +161,18 @@ public class StaffFlaggedContentPage {
         dateCol.setCellValueFactory(new PropertyValueFactory<>("createdAt"));
         dateCol.setMinWidth(150);
         
-        table.getColumns().addAll(idCol, typeCol, contentIdCol, flaggedByCol, reasonCol, statusCol, dateCol);
+        table.getColumns().addAll(idCol, typeCol, contentIdCol, flaggedByCol, reasonCol, previewCol, statusCol, dateCol);
         table.setColumnResizePolicy(TableView.CONSTRAINED_RESIZE_POLICY);
         
         return table;
     }
     
     /**
-     * Loads all flags from the database and populates the table view.
+     * Reloads the flag table from its first page, newest flags first.
      * Displays an error alert if the load operation fails.
      */
     private void loadFlags() {
-        try {
-            List<ContentFlag> flags = databaseHelper.getAllFlags();
-            flagTable.setItems(FXCollections.observableArrayList(flags));
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to load flags: " + e.getMessage(), Alert.AlertType.ERROR);
-        }
+        flagPages.reload();
     }
     
     /**
@@ -176,76 +187,24 @@ public class StaffFlaggedContentPage {
             return;
         }
         
-        try {
-            String content = "";
-            String contentType = selected.getContentType();
-            String contentId = selected.getContentId();
-            
-            switch (contentType) {
-                case "question":
-                    List<Question> questions = databaseHelper.getAllQuestions();
-                    for (Question q : questions) {
-                        if (q.getQuestionId().equals(contentId)) {
-                            content = "Title: " + q.getTitle() + "\n\n" +
-                                     "Content: " + q.getContent() + "\n\n" +
-                                     "Author: " + q.getAuthor();
-                            break;
-                        }
-                    }
-                    break;
-                case "answer":
-                    List<Answer> answers = databaseHelper.getAllAnswers();
-                    for (Answer a : answers) {
-                        if (a.getAnswerId().equals(contentId)) {
-                            content = "Content: " + a.getContent() + "\n\n" +
-                                     "Author: " + a.getAuthor() + "\n" +
-                                     "Question ID: " + a.getQuestionId();
-                            break;
-                        }
-                    }
-                    break;
-                case "review":
-                    List<Answer> allAnswers = databaseHelper.getAllAnswers();
-                    for (Answer ans : allAnswers) {
-                        List<Review> reviews = databaseHelper.getReviewsForAnswer(ans.getAnswerId());
-                        for (Review r : reviews) {
-                            if (r.getReviewId().equals(contentId)) {
-                                content = "Content: " + r.getContent() + "\n\n" +
-                                         "Reviewer: " + r.getReviewer() + "\n" +
-                                         "Answer ID: " + r.getAnswerId();
-                                break;
-                            }
-                        }
-                    }
-                    break;
-                case "message":
-                    List<PrivateMessage> messages = databaseHelper.getAllPrivateMessages();
-                    for (PrivateMessage m : messages) {
-                        if (String.valueOf(m.getId()).equals(contentId)) {
-                            content = "From: " + m.getFromUser() + "\n" +
-                                     "To: " + m.getToUser() + "\n\n" +
-                                     "Content: " + m.getContent();
-                            break;
-                        }
-                    }
-                    break;
-            }
-            
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Flagged Content Details");
-            alert.setHeaderText("Flag ID: " + selected.getFlagId() + " - " + contentType.toUpperCase());
-            alert.setContentText(
-                "Flagged by: " + selected.getFlaggedBy() + "\n" +
-                "Reason: " + selected.getReason() + "\n" +
-                "Status: " + selected.getStatus() + "\n\n" +
-                "=== Content ===\n\n" + content
-            );
-            alert.getDialogPane().setPrefWidth(700);
-            alert.showAndWait();
-            
-        } catch (SQLException e) {
-            showAlert("Error", "Failed to retrieve content: " + e.getMessage(), Alert.AlertType.ERROR);
+        // Content was resolved when the flag's page was loaded
+        String content = selected.getContentDetails();
+        if (content == null) {
+            content = "(The flagged content no longer exists.)";
         }
+        String contentType = selected.getContentType();
+        
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Flagged Content Details");
+        alert.setHeaderText("Flag ID: " + selected.getFlagId() + " - " + contentType.toUpperCase());
+        alert.setContentText(
+            "Flagged by: " + selected.getFlaggedBy() + "\n" +
+            "Reason: " + selected.getReason() + "\n" +
+            "Status: " + selected.getStatus() + "\n\n" +
+            "=== Content ===\n\n" + content
+        );
+        alert.getDialogPane().setPrefWidth(700);
+        alert.showAndWait();
     }
     
     /**
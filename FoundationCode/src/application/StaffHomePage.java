@@ -94,9 +94,9 @@ public class StaffHomePage {
         Button logoutButton = new Button("Logout");
         logoutButton.setOnAction(e -> {
             try {
-                DatabaseHelper dbHelper = new DatabaseHelper();
-                dbHelper.connectToDatabase();
-                SetupLoginSelectionPage setupPage = new SetupLoginSelectionPage(dbHelper);
+                // Reconnecting the shared helper clears the session's pool and caches
+                databaseHelper.connectToDatabase();
+                SetupLoginSelectionPage setupPage = new SetupLoginSelectionPage(databaseHelper);
                 setupPage.show(primaryStage);
             } catch(Exception ex) {
                 ex.printStackTrace();
@@ -1,5 +1,6 @@
 package application;
 
+import databasePart1.ActivityLeaderboard;
 import databasePart1.DatabaseHelper;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
@@ -58,6 +59,23 @@ public class StaffReportPage {
     /** Currently logged-in staff user */
     private final User currentUser;
     
+    /** Runs the report queries off the JavaFX thread */
+    private final AsyncLoader loader = new AsyncLoader();
+    
+    /** Period the most active users are ranked over; read on the loader thread */
+    private volatile ActivityLeaderboard.Window activityWindow = ActivityLeaderboard.Window.ALL_TIME;
+    
+    /** Statistics and activity figures shared by the report sections and the export */
+    private static final class ReportData {
+        final Map<String, Integer> stats;
+        final List<Map<String, Object>> activeUsers;
+        
+        ReportData(Map<String, Integer> stats, List<Map<String, Object>> activeUsers) {
+            this.stats = stats;
+            this.activeUsers = activeUsers;
+        }
+    }
+    
     /**
      * Constructs a new StaffReportPage.
      * 
@@ -83,12 +101,6 @@ public class StaffReportPage {
         Label titleLabel = new Label("System Reports & Trends");
         titleLabel.setStyle("-fx-font-size: 24px; -fx-font-weight: bold;");
         
-        // Statistics section
-        VBox statsBox = createStatisticsSection();
-        
-        // Trends section
-        VBox trendsBox = createTrendsSection();
-        
         // Action buttons
         HBox buttonBox = new HBox(10);
         buttonBox.setAlignment(Pos.CENTER);
@@ -100,6 +112,7 @@ public class StaffReportPage {
         refreshButton.setOnAction(e -> show(primaryStage)); // Reload page
         exportButton.setOnAction(e -> exportReport());
         backButton.setOnAction(e -> {
+            loader.cancelAll();
             new StaffHomePage(databaseHelper, currentUser).show(primaryStage);
         });
         
@@ -108,10 +121,21 @@ public class StaffReportPage {
         ScrollPane scrollPane = new ScrollPane();
         VBox contentBox = new VBox(20);
         contentBox.setPadding(new Insets(10));
-        contentBox.getChildren().addAll(statsBox, trendsBox);
+        contentBox.getChildren().add(new ProgressIndicator());
         scrollPane.setContent(contentBox);
         scrollPane.setFitToWidth(true);
         
+        // Statistics and trends sections, filled in once the queries return
+        loader.load("report", this::loadReportData, data -> {
+            contentBox.getChildren().setAll(
+                createStatisticsSection(data.stats),
+                createTrendsSection(data.stats, data.activeUsers));
+        }, e -> {
+            Label errorLabel = new Label("Error loading report: " + e.getMessage());
+            errorLabel.setStyle("-fx-text-fill: red;");
+            contentBox.getChildren().setAll(errorLabel);
+        });
+        
         layout.getChildren().addAll(titleLabel, scrollPane, buttonBox);
         
         Scene scene = new Scene(layout, 1000, 700);
@@ -124,9 +148,10 @@ public class StaffReportPage {
      * Includes total counts for questions, answers, reviews, messages, and user statistics.
      * Highlights issues such as unresolved questions and pending flags.
      * 
+     * @param stats content statistics from {@link DatabaseHelper#getContentStatistics()}
      * @return a VBox containing the statistics section
      */
-    private VBox createStatisticsSection() {
+    private VBox createStatisticsSection(Map<String, Integer> stats) {
         VBox section = new VBox(10);
         section.setPadding(new Insets(15));
         section.setStyle("-fx-border-color: #cccccc; -fx-border-radius: 5; -fx-background-radius: 5;");
@@ -139,44 +164,35 @@ public class StaffReportPage {
         statsGrid.setVgap(10);
         statsGrid.setPadding(new Insets(10));
         
-        try {
-            Map<String, Integer> stats = databaseHelper.getContentStatistics();
-            
-            int row = 0;
-            
-            // Total content counts
-            addStatRow(statsGrid, row++, "Total Questions:", String.valueOf(stats.getOrDefault("totalQuestions", 0)));
-            addStatRow(statsGrid, row++, "Total Answers:", String.valueOf(stats.getOrDefault("totalAnswers", 0)));
-            addStatRow(statsGrid, row++, "Total Reviews:", String.valueOf(stats.getOrDefault("totalReviews", 0)));
-            addStatRow(statsGrid, row++, "Total Messages:", String.valueOf(stats.getOrDefault("totalMessages", 0)));
-            
-            row++; // Add spacing
-            
-            // Issue indicators
-            addStatRow(statsGrid, row++, "Unresolved Questions:", 
-                      String.valueOf(stats.getOrDefault("unresolvedQuestions", 0)), true);
-            addStatRow(statsGrid, row++, "Pending Flags:", 
-                      String.valueOf(stats.getOrDefault("pendingFlags", 0)), true);
-            
-            row++; // Add spacing
-            
-            // User statistics
-            addStatRow(statsGrid, row++, "Total Users (admin):", 
-                      String.valueOf(stats.getOrDefault("users_admin", 0)));
-            addStatRow(statsGrid, row++, "Total Users (student):", 
-                      String.valueOf(stats.getOrDefault("users_student", 0)));
-            addStatRow(statsGrid, row++, "Total Users (instructor):", 
-                      String.valueOf(stats.getOrDefault("users_instructor", 0)));
-            addStatRow(statsGrid, row++, "Total Users (reviewer):", 
-                      String.valueOf(stats.getOrDefault("users_reviewer", 0)));
-            addStatRow(statsGrid, row++, "Total Users (staff):", 
-                      String.valueOf(stats.getOrDefault("users_staff", 0)));
-            
-        } catch (SQLException e) {
-            Label errorLabel = new Label("Error loading statistics: " + e.getMessage());
-            errorLabel.setStyle("-fx-text-fill: red;");
-            statsGrid.add(errorLabel, 0, 0, 2, 1);
-        }
+        int row = 0;
+        
+        // Total content counts
+        addStatRow(statsGrid, row++, "Total Questions:", String.valueOf(stats.getOrDefault("totalQuestions", 0)));
+        addStatRow(statsGrid, row++, "Total Answers:", String.valueOf(stats.getOrDefault("totalAnswers", 0)));
+        addStatRow(statsGrid, row++, "Total Reviews:", String.valueOf(stats.getOrDefault("totalReviews", 0)));
+        addStatRow(statsGrid, row++, "Total Messages:", String.valueOf(stats.getOrDefault("totalMessages", 0)));
+        
+        row++; // Add spacing
+        
+        // Issue indicators
+        addStatRow(statsGrid, row++, "Unresolved Questions:", 
+                  String.valueOf(stats.getOrDefault("unresolvedQuestions", 0)), true);
+        addStatRow(statsGrid, row++, "Pending Flags:", 
+                  String.valueOf(stats.getOrDefault("pendingFlags", 0)), true);
+        
+        row++; // Add spacing
+        
+        // User statistics
+        addStatRow(statsGrid, row++, "Total Users (admin):", 
+                  String.valueOf(stats.getOrDefault("users_admin", 0)));
+        addStatRow(statsGrid, row++, "Total Users (student):", 
+                  String.valueOf(stats.getOrDefault("users_student", 0)));
+        addStatRow(statsGrid, row++, "Total Users (instructor):", 
+                  String.valueOf(stats.getOrDefault("users_instructor", 0)));
+        addStatRow(statsGrid, row++, "Total Users (reviewer):", 
+                  String.valueOf(stats.getOrDefault("users_reviewer", 0)));
+        addStatRow(statsGrid, row++, "Total Users (staff):", 
+                  String.valueOf(stats.getOrDefault("users_staff", 0)));
         
         section.getChildren().addAll(sectionTitle, statsGrid);
         return section;
@@ -187,9 +203,11 @@ public class StaffReportPage {
      * Displays the most active users and provides intelligent recommendations
      * based on current system health metrics.
      * 
+     * @param stats content statistics from {@link DatabaseHelper#getContentStatistics()}
+     * @param activeUsers most active users from {@link DatabaseHelper#getMostActiveUsers(int, ActivityLeaderboard.Window)}
      * @return a VBox containing the trends and analysis section
      */
-    private VBox createTrendsSection() {
+    private VBox createTrendsSection(Map<String, Integer> stats, List<Map<String, Object>> activeUsers) {
         VBox section = new VBox(10);
         section.setPadding(new Insets(15));
         section.setStyle("-fx-border-color: #cccccc; -fx-border-radius: 5; -fx-background-radius: 5;");
@@ -199,135 +217,155 @@ public class StaffReportPage {
         
         VBox trendsBox = new VBox(10);
         
-        try {
-            // Most active users
-            Label activeUsersLabel = new Label("Top 10 Most Active Users:");
-            activeUsersLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-            
-            List<Map<String, Object>> activeUsers = databaseHelper.getMostActiveUsers(10);
-            
-            GridPane activeUsersGrid = new GridPane();
-            activeUsersGrid.setHgap(15);
-            activeUsersGrid.setVgap(5);
-            activeUsersGrid.setPadding(new Insets(5, 0, 0, 20));
-            
-            int row = 0;
-            for (Map<String, Object> userActivity : activeUsers) {
-                String userName = (String) userActivity.get("userName");
-                Integer count = (Integer) userActivity.get("activityCount");
-                
-                Label rankLabel = new Label((row + 1) + ".");
-                Label nameLabel = new Label(userName);
-                Label countLabel = new Label(count + " contributions");
-                
-                activeUsersGrid.add(rankLabel, 0, row);
-                activeUsersGrid.add(nameLabel, 1, row);
-                activeUsersGrid.add(countLabel, 2, row);
-                
-                row++;
-            }
-            
-            trendsBox.getChildren().addAll(activeUsersLabel, activeUsersGrid);
-            
-            // Summary analysis
-            Label summaryLabel = new Label("\nKey Observations:");
-            summaryLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
-            
-            TextArea summaryArea = new TextArea();
-            summaryArea.setEditable(false);
-            summaryArea.setPrefRowCount(8);
-            summaryArea.setWrapText(true);
-            
-            StringBuilder summary = new StringBuilder();
-            summary.append("=== System Health Summary ===\n\n");
-            
-            Map<String, Integer> stats = databaseHelper.getContentStatistics();
-            
-            // Analyze unresolved questions
-            int unresolved = stats.getOrDefault("unresolvedQuestions", 0);
-            int totalQuestions = stats.getOrDefault("totalQuestions", 0);
-            double unresolvedPercent = 0.0;
-            if (totalQuestions > 0) {
-                unresolvedPercent = (unresolved * 100.0) / totalQuestions;
-                summary.append(String.format("• %.1f%% of questions remain unresolved (%d out of %d)\n", 
-                                            unresolvedPercent, unresolved, totalQuestions));
-                if (unresolvedPercent > 30) {
-                    summary.append("  ⚠ HIGH: Consider encouraging more answers or instructor intervention\n");
-                }
-            }
-            
-            summary.append("\n");
-            
-            // Analyze flagged content
-            int pendingFlags = stats.getOrDefault("pendingFlags", 0);
-            if (pendingFlags > 0) {
-                summary.append(String.format("• %d content flags pending review\n", pendingFlags));
-                if (pendingFlags > 10) {
-                    summary.append("  ⚠ HIGH: Immediate attention recommended\n");
-                }
-            } else {
-                summary.append("• No pending content flags - system looks clean\n");
-            }
-            
-            summary.append("\n");
-            
-            // Analyze answer/question ratio
-            int totalAnswers = stats.getOrDefault("totalAnswers", 0);
-            if (totalQuestions > 0) {
-                double answerRatio = (double) totalAnswers / totalQuestions;
-                summary.append(String.format("• Average answers per question: %.2f\n", answerRatio));
-                if (answerRatio < 1.0) {
-                    summary.append("  ⚠ LOW: Many questions lack answers\n");
-                } else if (answerRatio > 2.0) {
-                    summary.append("  ✓ GOOD: Questions receiving multiple perspectives\n");
-                }
-            }
-            
-            summary.append("\n");
-            
-            // User engagement
-            int totalUsers = stats.getOrDefault("users_student", 0) + 
-                           stats.getOrDefault("users_instructor", 0) +
-                           stats.getOrDefault("users_reviewer", 0);
-            if (!activeUsers.isEmpty() && totalUsers > 0) {
-                int activeCount = activeUsers.size();
-                double engagementRate = (activeCount * 100.0) / totalUsers;
-                summary.append(String.format("• User engagement rate: %.1f%%\n", engagementRate));
-                if (engagementRate < 20) {
-                    summary.append("  ⚠ LOW: Consider strategies to increase participation\n");
-                }
-            }
-            
-            summary.append("\n=== Recommendations ===\n\n");
-            
-            // Generate recommendations
+        // Most active users
+        Label activeUsersLabel = new Label("Top 10 Most Active Users:");
+        activeUsersLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        
+        // The leaderboard is held in memory, so switching period only re-ranks
+        ComboBox<ActivityLeaderboard.Window> windowBox = new ComboBox<>();
+        windowBox.getItems().addAll(ActivityLeaderboard.Window.values());
+        windowBox.setValue(activityWindow);
+        HBox activeUsersHeader = new HBox(10, activeUsersLabel, windowBox);
+        activeUsersHeader.setAlignment(Pos.CENTER_LEFT);
+        
+        GridPane activeUsersGrid = new GridPane();
+        activeUsersGrid.setHgap(15);
+        activeUsersGrid.setVgap(5);
+        activeUsersGrid.setPadding(new Insets(5, 0, 0, 20));
+        fillActiveUsersGrid(activeUsersGrid, activeUsers);
+        
+        windowBox.setOnAction(e -> {
+            activityWindow = windowBox.getValue();
+            loader.load("activeUsers", () -> databaseHelper.getMostActiveUsers(10, activityWindow),
+                users -> fillActiveUsersGrid(activeUsersGrid, users),
+                ex -> {
+                    // Leave no ranking under the new label rather than the previous period's
+                    activeUsersGrid.getChildren().clear();
+                    Alert alert = new Alert(Alert.AlertType.ERROR);
+                    alert.setTitle("Report Error");
+                    alert.setContentText("Failed to load the most active users for " + windowBox.getValue()
+                            + ": " + ex.getMessage());
+                    alert.showAndWait();
+                });
+        });
+        
+        trendsBox.getChildren().addAll(activeUsersHeader, activeUsersGrid);
+        
+        // Summary analysis
+        Label summaryLabel = new Label("\nKey Observations:");
+        summaryLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px;");
+        
+        TextArea summaryArea = new TextArea();
+        summaryArea.setEditable(false);
+        summaryArea.setPrefRowCount(8);
+        summaryArea.setWrapText(true);
+        
+        StringBuilder summary = new StringBuilder();
+        summary.append("=== System Health Summary ===\n\n");
+        
+        // Analyze unresolved questions
+        int unresolved = stats.getOrDefault("unresolvedQuestions", 0);
+        int totalQuestions = stats.getOrDefault("totalQuestions", 0);
+        double unresolvedPercent = 0.0;
+        if (totalQuestions > 0) {
+            unresolvedPercent = (unresolved * 100.0) / totalQuestions;
+            summary.append(String.format("• %.1f%% of questions remain unresolved (%d out of %d)\n", 
+                                        unresolvedPercent, unresolved, totalQuestions));
             if (unresolvedPercent > 30) {
-                summary.append("• Encourage instructors to review and answer unresolved questions\n");
+                summary.append("  ⚠ HIGH: Consider encouraging more answers or instructor intervention\n");
             }
-            if (pendingFlags > 0) {
-                summary.append("• Review and address flagged content promptly\n");
+        }
+        
+        summary.append("\n");
+        
+        // Analyze flagged content
+        int pendingFlags = stats.getOrDefault("pendingFlags", 0);
+        if (pendingFlags > 0) {
+            summary.append(String.format("• %d content flags pending review\n", pendingFlags));
+            if (pendingFlags > 10) {
+                summary.append("  ⚠ HIGH: Immediate attention recommended\n");
             }
-            if (totalAnswers < totalQuestions) {
-                summary.append("• Promote answer contributions - consider incentives or recognition\n");
+        } else {
+            summary.append("• No pending content flags - system looks clean\n");
+        }
+        
+        summary.append("\n");
+        
+        // Analyze answer/question ratio
+        int totalAnswers = stats.getOrDefault("totalAnswers", 0);
+        if (totalQuestions > 0) {
+            double answerRatio = (double) totalAnswers / totalQuestions;
+            summary.append(String.format("• Average answers per question: %.2f\n", answerRatio));
+            if (answerRatio < 1.0) {
+                summary.append("  ⚠ LOW: Many questions lack answers\n");
+            } else if (answerRatio > 2.0) {
+                summary.append("  ✓ GOOD: Questions receiving multiple perspectives\n");
             }
-            if (!activeUsers.isEmpty() && activeUsers.size() < 5) {
-                summary.append("• Consider outreach to increase user engagement\n");
+        }
+        
+        summary.append("\n");
+        
+        // User engagement
+        int totalUsers = stats.getOrDefault("users_student", 0) + 
+                       stats.getOrDefault("users_instructor", 0) +
+                       stats.getOrDefault("users_reviewer", 0);
+        if (!activeUsers.isEmpty() && totalUsers > 0) {
+            int activeCount = activeUsers.size();
+            double engagementRate = (activeCount * 100.0) / totalUsers;
+            summary.append(String.format("• User engagement rate: %.1f%%\n", engagementRate));
+            if (engagementRate < 20) {
+                summary.append("  ⚠ LOW: Consider strategies to increase participation\n");
             }
-            
-            summaryArea.setText(summary.toString());
-            
-            trendsBox.getChildren().addAll(summaryLabel, summaryArea);
-            
-        } catch (SQLException e) {
-            Label errorLabel = new Label("Error loading trends: " + e.getMessage());
-            errorLabel.setStyle("-fx-text-fill: red;");
-            trendsBox.getChildren().add(errorLabel);
         }
         
+        summary.append("\n=== Recommendations ===\n\n");
+        
+        // Generate recommendations
+        if (unresolvedPercent > 30) {
+            summary.append("• Encourage instructors to review and answer unresolved questions\n");
+        }
+        if (pendingFlags > 0) {
+            summary.append("• Review and address flagged content promptly\n");
+        }
+        if (totalAnswers < totalQuestions) {
+            summary.append("• Promote answer contributions - consider incentives or recognition\n");
+        }
+        if (!activeUsers.isEmpty() && activeUsers.size() < 5) {
+            summary.append("• Consider outreach to increase user engagement\n");
+        }
+        
+        summaryArea.setText(summary.toString());
+        
+        trendsBox.getChildren().addAll(summaryLabel, summaryArea);
+        
         section.getChildren().addAll(sectionTitle, trendsBox);
         return section;
     }
     
+    /**
+     * Lists the most active users in the grid, replacing any previous list.
+     * 
+     * @param grid the GridPane to fill
+     * @param activeUsers most active users, most active first
+     */
+    private void fillActiveUsersGrid(GridPane grid, List<Map<String, Object>> activeUsers) {
+        grid.getChildren().clear();
+        int row = 0;
+        for (Map<String, Object> userActivity : activeUsers) {
+            String userName = (String) userActivity.get("userName");
+            Integer count = (Integer) userActivity.get("activityCount");
+            
+            Label rankLabel = new Label((row + 1) + ".");
+            Label nameLabel = new Label(userName);
+            Label countLabel = new Label(count + " contributions");
+            
+            grid.add(rankLabel, 0, row);
+            grid.add(nameLabel, 1, row);
+            grid.add(countLabel, 2, row);
+            
+            row++;
+        }
+    }
     
     /**
      * Adds a single statistic row to the statistics grid.
@@ -372,55 +410,72 @@ public class StaffReportPage {
      * Includes timestamp, content statistics, and top active users.
      */
     private void exportReport() {
-        try {
-            Map<String, Integer> stats = databaseHelper.getContentStatistics();
-            List<Map<String, Object>> activeUsers = databaseHelper.getMostActiveUsers(10);
-            
-            StringBuilder report = new StringBuilder();
-            report.append("========================================\n");
-            report.append("     STAFF SYSTEM REPORT\n");
-            report.append("     Generated: ").append(java.time.LocalDateTime.now()).append("\n");
-            report.append("========================================\n\n");
-            
-            report.append("CONTENT STATISTICS\n");
-            report.append("------------------\n");
-            report.append("Total Questions: ").append(stats.getOrDefault("totalQuestions", 0)).append("\n");
-            report.append("Total Answers: ").append(stats.getOrDefault("totalAnswers", 0)).append("\n");
-            report.append("Total Reviews: ").append(stats.getOrDefault("totalReviews", 0)).append("\n");
-            report.append("Total Messages: ").append(stats.getOrDefault("totalMessages", 0)).append("\n");
-            report.append("Unresolved Questions: ").append(stats.getOrDefault("unresolvedQuestions", 0)).append("\n");
-            report.append("Pending Flags: ").append(stats.getOrDefault("pendingFlags", 0)).append("\n\n");
-            
-            report.append("TOP ACTIVE USERS\n");
-            report.append("----------------\n");
-            int rank = 1;
-            for (Map<String, Object> user : activeUsers) {
-                report.append(rank++).append(". ")
-                      .append(user.get("userName")).append(" - ")
-                      .append(user.get("activityCount")).append(" contributions\n");
-            }
-            
-            // Display in dialog
-            Alert alert = new Alert(Alert.AlertType.INFORMATION);
-            alert.setTitle("Export Report");
-            alert.setHeaderText("Report Generated");
-            
-            TextArea reportArea = new TextArea(report.toString());
-            reportArea.setEditable(false);
-            reportArea.setWrapText(false);
-            reportArea.setPrefRowCount(20);
-            reportArea.setPrefColumnCount(60);
-            
-            alert.getDialogPane().setContent(reportArea);
-            alert.getDialogPane().setPrefWidth(700);
-            alert.setContentText("Copy the report below:");
-            alert.showAndWait();
-            
-        } catch (SQLException e) {
+        loader.load("export", this::loadReportData, this::showExport, e -> {
             Alert alert = new Alert(Alert.AlertType.ERROR);
             alert.setTitle("Export Error");
             alert.setContentText("Failed to generate report: " + e.getMessage());
             alert.showAndWait();
+        });
+    }
+    
+    /**
+     * Displays the exportable report in a dialog.
+     * 
+     * @param data the statistics and activity figures to report
+     */
+    private void showExport(ReportData data) {
+        Map<String, Integer> stats = data.stats;
+        List<Map<String, Object>> activeUsers = data.activeUsers;
+        
+        StringBuilder report = new StringBuilder();
+        report.append("========================================\n");
+        report.append("     STAFF SYSTEM REPORT\n");
+        report.append("     Generated: ").append(java.time.LocalDateTime.now()).append("\n");
+        report.append("========================================\n\n");
+        
+        report.append("CONTENT STATISTICS\n");
+        report.append("------------------\n");
+        report.append("Total Questions: ").append(stats.getOrDefault("totalQuestions", 0)).append("\n");
+        report.append("Total Answers: ").append(stats.getOrDefault("totalAnswers", 0)).append("\n");
+        report.append("Total Reviews: ").append(stats.getOrDefault("totalReviews", 0)).append("\n");
+        report.append("Total Messages: ").append(stats.getOrDefault("totalMessages", 0)).append("\n");
+        report.append("Unresolved Questions: ").append(stats.getOrDefault("unresolvedQuestions", 0)).append("\n");
+        report.append("Pending Flags: ").append(stats.getOrDefault("pendingFlags", 0)).append("\n\n");
+        
+        report.append("TOP ACTIVE USERS (").append(activityWindow).append(")\n");
+        report.append("----------------\n");
+        int rank = 1;
+        for (Map<String, Object> user : activeUsers) {
+            report.append(rank++).append(". ")
+                  .append(user.get("userName")).append(" - ")
+                  .append(user.get("activityCount")).append(" contributions\n");
         }
+        
+        // Display in dialog
+        Alert alert = new Alert(Alert.AlertType.INFORMATION);
+        alert.setTitle("Export Report");
+        alert.setHeaderText("Report Generated");
+        
+        TextArea reportArea = new TextArea(report.toString());
+        reportArea.setEditable(false);
+        reportArea.setWrapText(false);
+        reportArea.setPrefRowCount(20);
+        reportArea.setPrefColumnCount(60);
+        
+        alert.getDialogPane().setContent(reportArea);
+        alert.getDialogPane().setPrefWidth(700);
+        alert.setContentText("Copy the report below:");
+        alert.showAndWait();
+    }
+    
+    /**
+     * Runs the report queries. Called on a background thread.
+     * 
+     * @return content statistics and the ten most active users in the selected period
+     * @throws SQLException if a query fails
+     */
+    private ReportData loadReportData() throws SQLException {
+        return new ReportData(databaseHelper.getContentStatistics(),
+                databaseHelper.getMostActiveUsers(10, activityWindow));
     }
 }
\ No newline at end of file
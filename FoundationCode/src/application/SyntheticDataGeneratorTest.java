@@ -0,0 +1,97 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.SyntheticDataGenerator;
+
+/**
+ * Tests for {@link SyntheticDataGenerator} on a small data set: reported row
+ * counts match the tables, the helper's counters see the loaded rows, and the
+ * same seed reproduces the same data.
+ */
+public class SyntheticDataGeneratorTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:syntheticdata;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("admin1", "Pass123!", "admin1@test.com", "Admin", "admin"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    private static SyntheticDataGenerator.Config smallConfig(String prefix) {
+        return new SyntheticDataGenerator.Config()
+                .set("prefix", prefix)
+                .set("users", "200")
+                .set("questions", "1_000")
+                .set("batchSize", "128")
+                .set("commitEvery", "1000");
+    }
+
+    private long count(String table) throws SQLException {
+        Connection conn = db.getConnection();
+        try (Statement stmt = conn.createStatement();
+                ResultSet rs = stmt.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    @Test
+    void testLoadedRowsMatchReport() throws SQLException {
+        db.getContentStatistics();
+        String secondaryIndexes = "INFORMATION_SCHEMA.INDEXES WHERE IS_GENERATED = FALSE";
+        long indexes = count(secondaryIndexes);
+        Map<String, Long> rows = new SyntheticDataGenerator(smallConfig("t1")).load(db);
+        assertEquals(indexes, count(secondaryIndexes), "Indexes dropped for the load are rebuilt");
+
+        assertEquals(200 + 1, count("cse360users"));
+        for (Map.Entry<String, Long> table : rows.entrySet()) {
+            long existing = table.getKey().equalsIgnoreCase("cse360users")
+                    || table.getKey().equalsIgnoreCase("UserRoles") ? 1 : 0;
+            assertEquals(table.getValue() + existing, count(table.getKey()), table.getKey());
+        }
+        assertTrue(rows.get("answers") > 1000, "About two answers per question");
+        assertTrue(rows.get("answer_reviews") > 0);
+        assertTrue(rows.get("trusted_reviewers") > 0);
+
+        // Loaded behind the helper's write methods, so its counters were reset
+        Map<String, Integer> stats = db.getContentStatistics();
+        assertEquals(1000, stats.get("totalQuestions"));
+        assertEquals(rows.get("answers").intValue(), stats.get("totalAnswers"));
+        assertFalse(db.getMostActiveUsers(5).isEmpty());
+
+        // The id sequence was moved past the generated ids
+        User late = new User("lateUser", "Pass123!", "late@test.com", "Late", "student");
+        db.register(late);
+        assertTrue(late.getUserId() > 201);
+    }
+
+    @Test
+    void testSameSeedSameData() throws SQLException {
+        Map<String, Long> first = new SyntheticDataGenerator(smallConfig("s1")).load(db);
+        Map<String, Long> second = new SyntheticDataGenerator(smallConfig("s2")).load(db);
+        assertEquals(first, second, "A second prefix loads alongside the first");
+
+        Map<String, Long> reseeded = new SyntheticDataGenerator(smallConfig("s3").set("seed", "7")).load(db);
+        assertNotEquals(first.get("answers"), reseeded.get("answers"));
+    }
+}
@@ -205,4 +205,27 @@ class TrustedReviewersTest {
         assertTrue(curated.get(0).getIsAccepted(), "First curated answer should be accepted");
         assertEquals(a1, curated.get(0).getAnswerId(), "Accepted answer should be first");
     }
+
+    /**
+     * Verifies the curation query sums every trusted review of an answer and
+     * scores the whole question in a single statement.
+     *
+     * <p>Given rev1 also reviews a2, a2 scores 1.0 + 2.0 and a1 scores 1.0.</p>
+     *
+     * @throws Exception if database access fail
+     */
+    @Test
+    void testCuratedAnswersScoredInOneQuery() throws Exception {
+        db.insertReview(new Review("R3", a2, "rev1", "agree", new Timestamp(System.currentTimeMillis()), ""));
+
+        long before = db.getConnectionPool().getStatementCount();
+        List<Answer> curated = db.getCuratedAnswers(qid, "studentX");
+        assertEquals(1, db.getConnectionPool().getStatementCount() - before, "Curation should be one round trip");
+
+        assertEquals(2, curated.size());
+        assertEquals(a2, curated.get(0).getAnswerId());
+        assertEquals(3.0, curated.get(0).getTrustScore(), 1e-9);
+        assertEquals(a1, curated.get(1).getAnswerId());
+        assertEquals(1.0, curated.get(1).getTrustScore(), 1e-9);
+    }
 }
@@ -0,0 +1,114 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.UserCache;
+
+/**
+ * Tests for {@link UserCache} and the user lookups in {@link DatabaseHelper}
+ * that it serves. Database tests count statements on the connection pool to
+ * tell a cache hit from a query.
+ */
+public class UserCacheTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:usercache;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("admin1", "Pass123!", "admin1@test.com", "Admin", "admin"));
+        db.register(new User("cacheUser", "Pass123!", "cache@test.com", "Cache User", "student"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testLeastRecentlyUsedEvictedAndCounted() {
+        UserCache cache = new UserCache(2, 60_000);
+        cache.put("a", new UserCache.Entry(1, "student", List.of("student")));
+        cache.put("b", new UserCache.Entry(2, "student", List.of("student")));
+        assertNotNull(cache.get("a"));
+        cache.put("c", new UserCache.Entry(3, "student", List.of("student")));
+
+        assertNull(cache.get("b"), "b was least recently used");
+        assertNotNull(cache.get("a"));
+        assertEquals(1, cache.getEvictionCount());
+        assertEquals(2, cache.getHitCount());
+        assertEquals(1, cache.getMissCount());
+        assertEquals(2.0 / 3, cache.getHitRate(), 1e-9);
+    }
+
+    @Test
+    void testExpiredEntryIsAMiss() throws InterruptedException {
+        UserCache cache = new UserCache(10, 1);
+        cache.put("a", new UserCache.Entry(1, "student", List.of()));
+        Thread.sleep(5);
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.getSize());
+    }
+
+    @Test
+    void testLoadRacingAnInvalidationIsDropped() {
+        UserCache cache = new UserCache(10, 60_000);
+        long generation = cache.generation();
+        cache.invalidate("a");
+        cache.putIfUnchanged("a", new UserCache.Entry(1, "student", List.of()), generation);
+        assertNull(cache.get("a"), "A load that started before the invalidation may be stale");
+
+        cache.putIfUnchanged("a", new UserCache.Entry(1, "student", List.of()), cache.generation());
+        assertNotNull(cache.get("a"));
+    }
+
+    @Test
+    void testRoleChecksServedFromMemory() throws SQLException {
+        int id = db.getUserIdByUsername("cacheUser");
+        assertTrue(id > 0, "register writes the generated id through");
+
+        long before = db.getConnectionPool().getStatementCount();
+        assertTrue(db.doesUserExist("cacheUser"));
+        assertEquals("student", db.getUserRole("cacheUser"));
+        assertEquals(List.of("student"), db.getUserRoles("cacheUser"));
+        assertEquals(List.of("student"), db.getRolesForUser("cacheUser"));
+        assertEquals(id, db.getUserIdByUsername("cacheUser"));
+        assertEquals(0, db.getConnectionPool().getStatementCount() - before);
+
+        User login = new User("cacheUser", "Pass123!", "", "", "student");
+        before = db.getConnectionPool().getStatementCount();
+        assertTrue(db.login(login));
+        assertEquals(1, db.getConnectionPool().getStatementCount() - before, "Only the password check queries");
+        assertEquals(id, login.getUserId());
+        assertFalse(db.login(new User("cacheUser", "wrong", "", "", "student")));
+    }
+
+    @Test
+    void testWritesInvalidate() throws SQLException {
+        assertEquals("student", db.getUserRole("cacheUser"));
+
+        assertTrue(db.updateUserRoles("cacheUser", Arrays.asList("instructor", "student"), "admin1"));
+        assertEquals("instructor", db.getUserRole("cacheUser"));
+        assertEquals(List.of("instructor", "student"), db.getUserRoles("cacheUser"));
+
+        assertTrue(db.updateUserRole("cacheUser", "staff", "admin1"));
+        assertEquals("staff", db.getUserRole("cacheUser"));
+
+        db.executeUpdate("DELETE FROM UserRoles WHERE userName = 'cacheUser'");
+        assertTrue(db.deleteUser("cacheUser", "admin1"));
+        assertFalse(db.doesUserExist("cacheUser"));
+        assertEquals(-1, db.getUserIdByUsername("cacheUser"));
+        assertTrue(db.getUserCache().getHitRate() > 0);
+    }
+}
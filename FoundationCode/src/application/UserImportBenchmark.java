@@ -0,0 +1,104 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import org.junit.jupiter.api.Test;
+
+import databasePart1.DatabaseHelper;
+import databasePart1.UserImporter;
+
+/**
+ * Compares {@link UserImporter} with onboarding one {@code register} call per
+ * user, at 100k users read from a CSV file where one row in a hundred is
+ * invalid. Each path imports into its own in-memory database; prints users
+ * per second for both and checks they register the same users.
+ * <p>
+ * Set {@code -Dbench.users=...}, {@code -Dbench.chunkSize=...} and
+ * {@code -Dbench.threads=...} to change the file size, the rows per
+ * transaction and the validation threads.
+ * </p>
+ */
+public class UserImportBenchmark {
+
+    private static final int USERS = Integer.getInteger("bench.users", 100_000);
+    private static final int CHUNK_SIZE = Integer.getInteger("bench.chunkSize", UserImporter.DEFAULT_CHUNK_SIZE);
+    private static final int THREADS = Integer.getInteger("bench.threads", Runtime.getRuntime().availableProcessors());
+    private static final String[] ROLES = { "student", "student", "student", "reviewer", "instructor" };
+
+    @Test
+    void benchmarkBulkImportAgainstRegister() throws IOException, SQLException {
+        Path file = Files.createTempFile("users", ".csv");
+        try {
+            writeCsv(file);
+
+            DatabaseHelper perUser = new DatabaseHelper("jdbc:h2:mem:importbaseline;DB_CLOSE_DELAY=-1");
+            perUser.connectToDatabase();
+            long start = System.nanoTime();
+            int registered = registerOneByOne(perUser, file);
+            long perUserNanos = System.nanoTime() - start;
+
+            DatabaseHelper bulk = new DatabaseHelper("jdbc:h2:mem:importbulk;DB_CLOSE_DELAY=-1");
+            bulk.connectToDatabase();
+            start = System.nanoTime();
+            UserImporter.Report report = new UserImporter(bulk, CHUNK_SIZE, THREADS).importFile(file);
+            long bulkNanos = System.nanoTime() - start;
+
+            System.out.printf("User import, %d rows, %d per chunk, %d validation threads%n", USERS, CHUNK_SIZE, THREADS);
+            report("register per user", perUserNanos);
+            report("UserImporter", bulkNanos);
+
+            assertEquals(registered, report.getImported());
+            assertEquals(USERS - registered, report.getRejected());
+            assertEquals(perUser.getContentStatistics(), bulk.getContentStatistics());
+
+            for (DatabaseHelper db : new DatabaseHelper[] { perUser, bulk }) {
+                db.executeUpdate("DROP ALL OBJECTS");
+                db.closeConnection();
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    /** Every hundredth row has a password without a digit. */
+    private static void writeCsv(Path file) throws IOException {
+        try (PrintWriter out = new PrintWriter(Files.newBufferedWriter(file, StandardCharsets.UTF_8))) {
+            out.println("userName,password,email,name,role");
+            for (int i = 0; i < USERS; i++) {
+                String password = i % 100 == 99 ? "Password!" : "Pass" + i + "!";
+                out.println("user" + i + "," + password + ",user" + i + "@test.com,User " + i + "," + ROLES[i % ROLES.length]);
+            }
+        }
+    }
+
+    /** The path a cohort takes today: validate, then register, one user at a time. */
+    private static int registerOneByOne(DatabaseHelper db, Path file) throws IOException, SQLException {
+        int registered = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(",");
+                if (UserNameRecognizer.checkForValidUserName(fields[0]).isEmpty()
+                        && PasswordEvaluator.evaluatePassword(fields[1]).isEmpty()
+                        && DatabaseHelper.isValidEmail(fields[2]) && !db.doesUserExist(fields[0])) {
+                    db.register(new User(fields[0], fields[1], fields[2], fields[3], fields[4]));
+                    registered++;
+                }
+            }
+        }
+        return registered;
+    }
+
+    private static void report(String path, long nanos) {
+        System.out.printf("  %-18s %,10.0f users/s  (%.1f s)%n", path, USERS / (nanos / 1e9), nanos / 1e9);
+    }
+}
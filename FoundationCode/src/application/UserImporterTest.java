@@ -0,0 +1,106 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import databasePart1.ContentStatistics;
+import databasePart1.DatabaseHelper;
+import databasePart1.UserImporter;
+
+/**
+ * Tests for {@link UserImporter}: per-row errors with their row numbers,
+ * users and roles written across several chunks, and the helper's user cache
+ * and counters kept in step.
+ */
+public class UserImporterTest {
+
+    private DatabaseHelper db;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        db = new DatabaseHelper("jdbc:h2:mem:userimport;DB_CLOSE_DELAY=-1");
+        db.connectToDatabase();
+        db.register(new User("admin1", "Pass123!", "admin1@test.com", "Admin", "admin"));
+    }
+
+    @AfterEach
+    void tearDown() throws SQLException {
+        db.executeUpdate("DROP ALL OBJECTS");
+        db.closeConnection();
+    }
+
+    @Test
+    void testCsvImportReportsRowErrors() throws IOException, SQLException {
+        db.getContentStatistics();
+        String csv = "userName,password,email,name,roles\n"
+                + "alice,Pass123!,alice@test.com,Alice,student\n"
+                + "bobby,Pass123!,bob@test.com,\"Bob, Jr.\",student;reviewer\n"
+                + "1carl,Pass123!,carl@test.com,Carl,student\n"
+                + "dave,weak,dave@test.com,Dave,student\n"
+                + "erin,Pass123!,not-an-email,Erin,student\n"
+                + "alice,Pass123!,alice2@test.com,Alice,student\n"
+                + "admin1,Pass123!,a@test.com,Admin,admin\n"
+                + "frank,Pass123!,frank@test.com,Frank,wizard\n"
+                + "\n"
+                + "grace,\"Pa,ss12!\",grace@test.com,\"Grace \"\"G\"\"\",\n"
+                + "heidi,Pass123!,heidi@test.com\n";
+
+        UserImporter.Report report = new UserImporter(db, 3, 2).importFrom(new StringReader(csv), UserImporter.Format.CSV);
+
+        assertEquals(3, report.getImported());
+        List<UserImporter.RowError> errors = report.getErrors();
+        assertEquals(List.of(4, 5, 6, 7, 8, 9, 12), errors.stream().map(UserImporter.RowError::getRow).toList());
+        assertEquals("User name: A UserName must start with A-Z or a-z.", errors.get(0).getMessage());
+        assertTrue(errors.get(1).getMessage().startsWith("Password: Upper case;"), errors.get(1).getMessage());
+        assertEquals("User name appears earlier in the file", errors.get(3).getMessage());
+        assertEquals("User name already exists", errors.get(4).getMessage());
+        assertEquals("Unknown role: wizard", errors.get(5).getMessage());
+        assertEquals("Expected 5 fields, found 3", errors.get(6).getMessage());
+
+        assertEquals(List.of("student", "reviewer"), db.getRolesForUser("bobby"));
+        assertEquals(List.of("user"), db.getRolesForUser("grace"));
+        assertTrue(db.login(new User("alice", "Pass123!", "", "", "student")));
+        assertTrue(db.login(new User("grace", "Pa,ss12!", "", "", "user")));
+
+        Map<String, Integer> maintained = db.getContentStatistics();
+        assertEquals(2, maintained.get(ContentStatistics.USERS_PREFIX + "student"));
+        assertEquals(1, maintained.get(ContentStatistics.USERS_PREFIX + "user"));
+        db.executeUpdate("SET @recount = 1");
+        assertEquals(db.getContentStatistics(), maintained);
+    }
+
+    @Test
+    void testJsonImport() throws IOException, SQLException {
+        String json = "[ {\"userName\": \"ivan\", \"password\": \"Pass123!\", \"email\": \"ivan@test.com\","
+                + " \"name\": \"Ivan \\\"the\\\" Great\", \"roles\": [\"instructor\", \"staff\"]},\n"
+                + "  {\"userName\": \"judy\", \"password\": \"Pass123!\", \"email\": null, \"role\": \"student\"},\n"
+                + "  {\"userName\": \"kimberly\", \"password\": \"Pass123!\", \"email\": \"kim@test.com\", \"age\": 30} ]";
+
+        UserImporter.Report report = new UserImporter(db).importFrom(new StringReader(json), UserImporter.Format.JSON);
+
+        assertEquals(2, report.getImported());
+        assertEquals(1, report.getRejected());
+        assertEquals(2, report.getErrors().get(0).getRow());
+        assertEquals("judy", report.getErrors().get(0).getUserName());
+        assertEquals(List.of("instructor", "staff"), db.getRolesForUser("ivan"));
+        assertTrue(db.getUserIdByUsername("kimberly") > 0);
+        assertTrue(db.findExistingUserNames(List.of("ivan", "kimberly", "judy")).containsAll(List.of("ivan", "kimberly")));
+    }
+
+    @Test
+    void testMalformedInputRejected() {
+        assertThrows(IOException.class, () -> new UserImporter(db)
+                .importFrom(new StringReader("name,email\nx,y\n"), UserImporter.Format.CSV));
+        assertThrows(IOException.class, () -> new UserImporter(db)
+                .importFrom(new StringReader("[{\"userName\": \"x\" \"password\": \"y\"}]"), UserImporter.Format.JSON));
+    }
+}
@@ -2,7 +2,6 @@ package application;
 
 import databasePart1.DatabaseHelper;
 import javafx.collections.FXCollections;
-import javafx.collections.ObservableList;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.scene.Scene;
@@ -12,7 +11,9 @@ import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
 
 import java.sql.SQLException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * UserMessagePage
@@ -23,6 +24,9 @@ import java.util.List;
 public class UserMessagePage {
     private final DatabaseHelper databaseHelper;
     private final User currentUser;
+    private final AsyncLoader loader = new AsyncLoader();
+    /** Unread message count per question for the current user, loaded with the question list. */
+    private Map<String, Integer> unreadCounts = Collections.emptyMap();
 
     /**
      * Construct a UserMessagePage for the given user.
@@ -58,7 +62,10 @@ public class UserMessagePage {
         layout.getChildren().addAll(title, questionList, controls);
 
         refreshBtn.setOnAction(e -> loadQuestions(questionList));
-        backBtn.setOnAction(e -> NavigationHelper.goToHomePage(currentUser.getRole(), primaryStage, databaseHelper, currentUser));
+        backBtn.setOnAction(e -> {
+            loader.cancelAll();
+            NavigationHelper.goToHomePage(currentUser.getRole(), primaryStage, databaseHelper, currentUser);
+        });
 
         // Double click to open message thread or send feedback
         questionList.setCellFactory(lv -> new ListCell<Question>() {
@@ -71,12 +78,8 @@ public class UserMessagePage {
                     String display = String.format("%s - %s (by %s)", item.getQuestionId(), item.getTitle(), item.getAuthor());
                     // If current user is the author show unread count
                     if (currentUser.getUserName().equals(item.getAuthor())) {
-                        try {
-                            int unread = databaseHelper.getUnreadCountForQuestion(item.getQuestionId(), currentUser.getUserName());
-                            if (unread > 0) display += String.format("   [unread: %d]", unread);
-                        } catch (SQLException ex) {
-                            // ignore display unread on error
-                        }
+                        int unread = unreadCounts.getOrDefault(item.getQuestionId(), 0);
+                        if (unread > 0) display += String.format("   [unread: %d]", unread);
                     }
                     setText(display);
                 }
@@ -106,19 +109,25 @@ public class UserMessagePage {
         primaryStage.show();
     }
 
+    /**
+     * Load questions and the current user's unread counts in the background
+     * and populate the provided ListView.
+     * @param questionList the ListView to populate
+     */
     private void loadQuestions(ListView<Question> questionList) {
-        /**
-         * Load questions for the message page and populate the provided ListView.
-         * @param questionList the ListView to populate
-         */
-        try {
-            List<Question> questions = databaseHelper.getAllQuestions();
-            ObservableList<Question> obs = FXCollections.observableArrayList(questions);
-            questionList.setItems(obs);
-        } catch (SQLException e) {
+        questionList.setPlaceholder(new Label("Loading..."));
+        loader.load("questions", () -> {
+            Map<String, Integer> counts = databaseHelper.getUnreadCountsByQuestion(currentUser.getUserName());
+            return Map.entry(counts, databaseHelper.getAllQuestions());
+        }, loaded -> {
+            unreadCounts = loaded.getKey();
+            questionList.setPlaceholder(null);
+            questionList.setItems(FXCollections.observableArrayList(loaded.getValue()));
+        }, e -> {
+            questionList.setPlaceholder(null);
             Alert a = new Alert(Alert.AlertType.ERROR, "Failed to load questions: " + e.getMessage(), ButtonType.OK);
             a.showAndWait();
-        }
+        });
     }
 
     /**
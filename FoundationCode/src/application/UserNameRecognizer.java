@@ -1,5 +1,7 @@
 package application;
 
+import java.io.PrintStream;
+import java.util.Arrays;
 
 public class UserNameRecognizer {
 	/**
@@ -7,7 +9,7 @@ public class UserNameRecognizer {
 	 * 
 	 * <p> Description: A demonstration of the mechanical translation of Finite State Machine 
 	 * diagram into an executable Java program using the UserName Recognizer. The code 
-	 * detailed design is based on a while loop with a select list</p>
+	 * detailed design is based on a transition table indexed by state and character class</p>
 	 * 
 	 * <p> Copyright: Lynn Robert Carter © 2024 </p>
 	 * 
@@ -16,6 +18,8 @@ public class UserNameRecognizer {
 	 * @version 1.00		2024-09-13	Initial baseline derived from the Even Recognizer
 	 * @version 1.01		2024-09-17	Correction to address UNChar coding error, improper error
 	 * 									message, and improve internal documentation
+	 * @version 1.02		2026-10-17	Stateless table-driven recognizer returning a Result; the
+	 * 									trace is only printed when asked for
 	 * 
 	 */
 
@@ -29,240 +33,181 @@ public class UserNameRecognizer {
 	public static String userNameRecognizerErrorMessage = "";	// The error message text
 	public static String userNameRecognizerInput = "";			// The input being processed
 	public static int userNameRecognizerIndexofError = -1;		// The index of error location
-	private static int state = 0;						// The current state value
-	private static int nextState = 0;					// The next state value
-	private static boolean finalState = false;			// Is this state a final state?
-	private static String inputLine = "";				// The input line
-	private static char currentChar;					// The current character in the line
-	private static int currentCharNdx;					// The index of the current character
-	private static boolean running;						// The flag that specifies if the FSM is 
-														// running
-	private static int userNameSize = 0;			// A numeric value may not exceed 16 characters
 
-	// Private method to display debugging data
-	private static void displayDebuggingInfo() {
-		// Display the current state of the FSM as part of an execution trace
-		if (currentCharNdx >= inputLine.length())
-			// display the line with the current state numbers aligned
-			System.out.println(((state > 99) ? " " : (state > 9) ? "  " : "   ") + state + 
-					((finalState) ? "       F   " : "           ") + "None");
-		else
-			System.out.println(((state > 99) ? " " : (state > 9) ? "  " : "   ") + state + 
-				((finalState) ? "       F   " : "           ") + "  " + currentChar + " " + 
-				((nextState > 99) ? "" : (nextState > 9) || (nextState == -1) ? "   " : "    ") + 
-				nextState + "     " + userNameSize);
-	}
-	
-	// Private method to move to the next character within the limits of the input line
-	private static void moveToNextCharacter() {
-		currentCharNdx++;
-		if (currentCharNdx < inputLine.length())
-			currentChar = inputLine.charAt(currentCharNdx);
-		else {
-			currentChar = ' ';
-			running = false;
-		}
+	/** Set {@code -Dcse360.userNameRecognizer.trace=true} to trace checkForValidUserName. */
+	private static final boolean TRACE = Boolean.getBoolean("cse360.userNameRecognizer.trace");
+
+	private static final int MIN_SIZE = 4;				// A UserName must have at least 4 characters
+	private static final int MAX_SIZE = 16;				// and no more than 16
+
+	// Character classes; anything outside ASCII is OTHER
+	private static final int LETTER = 0;				// A-Z, a-z
+	private static final int DIGIT = 1;					// 0-9
+	private static final int SEPARATOR = 2;				// period, minus sign or underscore
+	private static final int OTHER = 3;
+	private static final byte[] CHAR_CLASS = new byte[128];
+
+	static {
+		Arrays.fill(CHAR_CLASS, (byte) OTHER);
+		for (char c = 'A'; c <= 'Z'; c++) CHAR_CLASS[c] = LETTER;
+		for (char c = 'a'; c <= 'z'; c++) CHAR_CLASS[c] = LETTER;
+		for (char c = '0'; c <= '9'; c++) CHAR_CLASS[c] = DIGIT;
+		CHAR_CLASS['.'] = SEPARATOR;
+		CHAR_CLASS['-'] = SEPARATOR;
+		CHAR_CLASS['_'] = SEPARATOR;
 	}
 
 	/**********
-	 * This method is a mechanical transformation of a Finite State Machine diagram into a Java
-	 * method.
+	 * The FSM diagram as a table: the next state for each state and character class, -1 where
+	 * there is no transition and the FSM halts.
 	 * 
-	 * @param input		The input string for the Finite State Machine
-	 * @return			An output string that is empty if every things is okay or it is a String
-	 * 						with a helpful description of the error
+	 * 	State 0: A-Z, a-z -> State 1
+	 * 	State 1: A-Z, a-z, 0-9 -> State 1; period, minus sign, underscore -> State 2
+	 * 	State 2: A-Z, a-z, 0-9 -> State 1
 	 */
-	public static String checkForValidUserName(String input) {
-		// Check to ensure that there is input to process
-		if(input.length() <= 0) {
-			userNameRecognizerIndexofError = 0;	// Error at first character;
-			return "\n*** ERROR *** The input is empty";
-		}
-		
-		// The local variables used to perform the Finite State Machine simulation
-		state = 0;							// This is the FSM state number
-		inputLine = input;					// Save the reference to the input line as a global
-		currentCharNdx = 0;					// The index of the current character
-		currentChar = input.charAt(0);		// The current character from above indexed position
-
-		// The Finite State Machines continues until the end of the input is reached or at some 
-		// state the current character does not match any valid transition to a next state
+	private static final int[][] NEXT_STATE = {
+		//	LETTER	DIGIT	SEPARATOR	OTHER
+		{	1,		-1,		-1,			-1 },		// State 0
+		{	1,		1,		2,			-1 },		// State 1
+		{	1,		1,		-1,			-1 },		// State 2
+	};
+	private static final boolean[] FINAL_STATE = { false, true, false };
+
+	private static final String EMPTY_MESSAGE = "\n*** ERROR *** The input is empty";
+	private static final String ERROR_PREFIX = "\n*** ERROR *** ";
+	private static final String START_MESSAGE = ERROR_PREFIX + "A UserName must start with A-Z or a-z.\n";
+	private static final String TOO_SHORT_MESSAGE = ERROR_PREFIX + "A UserName must have at least 4 characters.\n";
+	private static final String TOO_LONG_MESSAGE = ERROR_PREFIX + "A UserName must have no more than 16 character.\n";
+	private static final String INVALID_CHARACTER_MESSAGE = ERROR_PREFIX
+			+ "A UserName character may only contain the characters A-Z, a-z, 0-9, \n"
+			+ "period, minus sign, or underscore.\n";
+	private static final String AFTER_SEPARATOR_MESSAGE = ERROR_PREFIX
+			+ "A UserName character after a period, minus signs, or underscore must be followed by A-Z, a-z, 0-9.\n";
 
-		userNameRecognizerInput = input;	// Save a copy of the input
-		running = true;						// Start the loop
-		nextState = -1;						// There is no next state
-		System.out.println("\nCurrent Final Input  Next  Date\nState   State Char  State  Size");
-		
-		// This is the place where semantic actions for a transition to the initial state occur
-		
-		userNameSize = 0;					// Initialize the UserName size
+	/**********
+	 * The outcome of recognizing one UserName.  Results are immutable and every valid UserName
+	 * gets the same instance.
+	 */
+	public static final class Result {
+		private static final Result VALID = new Result("", -1);
 
-		// The Finite State Machines continues until the end of the input is reached or at some 
-		// state the current character does not match any valid transition to a next state
-		while (running) {
-			// The switch statement takes the execution to the code for the current state, where
-			// that code sees whether or not the current character is valid to transition to a
-			// next state
-			switch (state) {
-			case 0: 
-				// State 0 has 1 valid transition that is addressed by an if statement.
-				
-				// The current character is checked against A-Z, a-z. If any are matched
-				// the FSM goes to state 1
-				
-				// A-Z, a-z, -> State 1
-				if ((currentChar >= 'A' && currentChar <= 'Z' ) ||		// Check for A-Z
-						(currentChar >= 'a' && currentChar <= 'z' )) {	// Check for a-z
-					nextState = 1;
-					
-					// Count the character 
-					userNameSize++;
-					
-					// This only occurs once, so there is no need to check for the size getting
-					// too large.
-				}
-				// If it is none of those characters, the FSM halts
-				else 
-					running = false;
-				
-				// The execution of this state is finished
-				break;
-			
-			case 1: 
-				// State 1 has two valid transitions, 
-				//	1: a A-Z, a-z, 0-9 that transitions back to state 1
-				//  2: a period that transitions to state 2 
+		private final String errorMessage;
+		private final int errorIndex;
 
-				
-				// A-Z, a-z, 0-9 -> State 1
-				if ((currentChar >= 'A' && currentChar <= 'Z' ) ||		// Check for A-Z
-						(currentChar >= 'a' && currentChar <= 'z' ) ||	// Check for a-z
-						(currentChar >= '0' && currentChar <= '9' )) {	// Check for 0-9
-					nextState = 1;
-					
-					// Count the character
-					userNameSize++;
-				}
-				// . -> State 2
-				else if ((currentChar == '.') || (currentChar == '-')   // Check for . or -
-							|| (currentChar == '_')) {					// or _
-					nextState = 2;
-					
-					// Count the .
-					userNameSize++;
-				}				
-				// If it is none of those characters, the FSM halts
-				else
-					running = false;
-				
-				// The execution of this state is finished
-				// If the size is larger than 16, the loop must stop
-				if (userNameSize > 16)
-					running = false;
-				break;			
-				
-			case 2: 
-				// State 2 deals with a character after a period in the name.
-				
-				// A-Z, a-z, 0-9 -> State 1
-				if ((currentChar >= 'A' && currentChar <= 'Z' ) ||		// Check for A-Z
-						(currentChar >= 'a' && currentChar <= 'z' ) ||	// Check for a-z
-						(currentChar >= '0' && currentChar <= '9' )) {	// Check for 0-9
-					nextState = 1;
-					
-					// Count the odd digit
-					userNameSize++;
-					
-				}
-				// If it is none of those characters, the FSM halts
-				else 
-					running = false;
+		private Result(String errorMessage, int errorIndex) {
+			this.errorMessage = errorMessage;
+			this.errorIndex = errorIndex;
+		}
 
-				// The execution of this state is finished
-				// If the size is larger than 16, the loop must stop
-				if (userNameSize > 16)
-					running = false;
-				break;			
-			}
-			
-			if (running) {
-				displayDebuggingInfo();
-				// When the processing of a state has finished, the FSM proceeds to the next
-				// character in the input and if there is one, it fetches that character and
-				// updates the currentChar.  If there is no next character the currentChar is
-				// set to a blank.
-				moveToNextCharacter();
+		/** @return the error text, empty when the UserName is valid */
+		public String getErrorMessage() { return errorMessage; }
+		/** @return index of the character where the FSM halted, -1 if valid */
+		public int getErrorIndex() { return errorIndex; }
+		/** @return true if the UserName is valid */
+		public boolean isValid() { return errorMessage.isEmpty(); }
+	}
 
-				// Move to the next state
-				state = nextState;
-				
-				// Is the new state a final state?  If so, signal this fact.
-				if (state == 1) finalState = true;
+	/**********
+	 * Recognizes a UserName without touching any shared state, so any number of threads may call
+	 * it at once.
+	 * 
+	 * @param input		The input string for the Finite State Machine
+	 * @return			The result; its error message is empty if the UserName is valid
+	 */
+	public static Result recognize(String input) {
+		return recognize(input, null);
+	}
 
-				// Ensure that one of the cases sets this to a valid value
-				nextState = -1;
+	/**********
+	 * Recognizes a UserName, printing the execution trace of the FSM.
+	 * 
+	 * @param input		The input string for the Finite State Machine
+	 * @param trace		Where to print the trace, or null for none
+	 * @return			The result; its error message is empty if the UserName is valid
+	 */
+	public static Result recognize(String input, PrintStream trace) {
+		// Check to ensure that there is input to process
+		if (input.length() <= 0)
+			return new Result(EMPTY_MESSAGE, 0);
+
+		if (trace != null)
+			trace.println("\nCurrent Final Input  Next  Name\nState   State Char  State  Size");
+
+		int state = 0;						// This is the FSM state number
+		int ndx = 0;						// The index of the current character
+		boolean tooLong = false;			// Did the FSM halt on the 17th character?
+		int length = input.length();
+		while (ndx < length) {
+			char currentChar = input.charAt(ndx);
+			int nextState = NEXT_STATE[state][currentChar < CHAR_CLASS.length ? CHAR_CLASS[currentChar] : OTHER];
+			if (nextState < 0)
+				break;
+			// Every transition counts a character, so the size is the index of the next one
+			if (ndx + 1 > MAX_SIZE) {
+				tooLong = true;
+				break;
 			}
-			// Should the FSM get here, the loop starts again
-	
+			if (trace != null)
+				traceTransition(trace, state, currentChar, nextState, ndx + 1);
+			state = nextState;
+			ndx++;
+		}
+		if (trace != null) {
+			traceHalt(trace, state, ndx < length ? input.charAt(ndx) : null, tooLong ? ndx + 1 : ndx);
+			trace.println("The loop has ended.");
 		}
-		displayDebuggingInfo();
-		
-		System.out.println("The loop has ended.");
-		
-		// When the FSM halts, we must determine if the situation is an error or not.  That depends
-		// of the current state of the FSM and whether or not the whole string has been consumed.
-		// This switch directs the execution to separate code for each of the FSM states and that
-		// makes it possible for this code to display a very specific error message to improve the
-		// user experience.
-		userNameRecognizerIndexofError = currentCharNdx;	// Set index of a possible error;
-		userNameRecognizerErrorMessage = "\n*** ERROR *** ";
-		
-		// The following code is a slight variation to support just console output.
+
+		// When the FSM halts, whether the input is valid depends on the state it halted in and
+		// whether the whole string has been consumed
 		switch (state) {
 		case 0:
-			// State 0 is not a final state, so we can return a very specific error message
-			userNameRecognizerErrorMessage += "A UserName must start with A-Z or a-z.\n";
-			return userNameRecognizerErrorMessage;
-
+			return new Result(START_MESSAGE, ndx);
 		case 1:
-			// State 1 is a final state.  Check to see if the UserName length is valid.  If so we
-			// we must ensure the whole string has been consumed.
-
-			if (userNameSize < 4) {
-				// UserName is too small
-				userNameRecognizerErrorMessage += "A UserName must have at least 4 characters.\n";
-				return userNameRecognizerErrorMessage;
-			}
-			else if (userNameSize > 16) {
-				// UserName is too long
-				userNameRecognizerErrorMessage += 
-					"A UserName must have no more than 16 character.\n";
-				return userNameRecognizerErrorMessage;
-			}
-			else if (currentCharNdx < input.length()) {
-				// There are characters remaining in the input, so the input is not valid
-				userNameRecognizerErrorMessage += 
-					"A UserName character may only contain the characters A-Z, a-z, 0-9, \n"
-					+ "period, minus sign, or underscore.\n";
-				return userNameRecognizerErrorMessage;
-			}
-			else {
-					// UserName is valid
-					userNameRecognizerIndexofError = -1;
-					userNameRecognizerErrorMessage = "";
-					return userNameRecognizerErrorMessage;
-			}
-
-		case 2:
-			// State 2 is not a final state, so we can return a very specific error message
-			userNameRecognizerErrorMessage +=
-				"A UserName character after a period, minus signs, or underscore must be followed by A-Z, a-z, 0-9.\n";
-			return userNameRecognizerErrorMessage;
-			
+			if (tooLong)
+				return new Result(TOO_LONG_MESSAGE, ndx);
+			if (ndx < MIN_SIZE)
+				return new Result(TOO_SHORT_MESSAGE, ndx);
+			if (ndx < length)
+				return new Result(INVALID_CHARACTER_MESSAGE, ndx);
+			return Result.VALID;
 		default:
-			// This is for the case where we have a state that is outside of the valid range.
-			// This should not happen
-			return "";
+			return new Result(AFTER_SEPARATOR_MESSAGE, ndx);
 		}
 	}
+
+	// Trace line for a transition, with the state numbers aligned
+	private static void traceTransition(PrintStream trace, int state, char currentChar, int nextState, int size) {
+		trace.println(pad(state) + state + (FINAL_STATE[state] ? "       F   " : "           ") + "  " +
+				currentChar + " " + (nextState > 9 ? "   " : "    ") + nextState + "     " + size);
+	}
+
+	// Trace line for the state the FSM halted in
+	private static void traceHalt(PrintStream trace, int state, Character currentChar, int size) {
+		trace.println(pad(state) + state + (FINAL_STATE[state] ? "       F   " : "           ") +
+				(currentChar == null ? "None" : "  " + currentChar + "    -1     " + size));
+	}
+
+	private static String pad(int state) {
+		return (state > 99) ? " " : (state > 9) ? "  " : "   ";
+	}
+
+	/**********
+	 * The original static entry point, kept for the existing pages.  It recognizes with
+	 * {@link #recognize(String)} and copies the result into the public static fields, so those
+	 * fields are only meaningful to a single-threaded caller.
+	 * 
+	 * @param input		The input string for the Finite State Machine
+	 * @return			An output string that is empty if every things is okay or it is a String
+	 * 						with a helpful description of the error
+	 */
+	public static String checkForValidUserName(String input) {
+		Result result = recognize(input, TRACE ? System.out : null);
+		userNameRecognizerIndexofError = result.getErrorIndex();
+		if (input.length() <= 0)
+			return result.getErrorMessage();
+
+		userNameRecognizerInput = input;
+		userNameRecognizerErrorMessage = result.getErrorMessage();
+		return userNameRecognizerErrorMessage;
+	}
 }
@@ -0,0 +1,248 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Compares the table-driven {@link UserNameRecognizer#recognize} with the
+ * static, console-tracing FSM it replaced, on a mix of valid and invalid
+ * UserNames of every error kind. Prints names per second for the old FSM (its
+ * trace sent to a discarding stream, so console speed is left out), the new
+ * one on one thread and on several threads, and checks every result agrees.
+ * <p>
+ * Set {@code -Dbench.userNames=...} and {@code -Dbench.threads=...} to change
+ * the corpus size and the thread count.
+ * </p>
+ */
+public class UserNameRecognizerBenchmark {
+
+    private static final int USER_NAMES = Integer.getInteger("bench.userNames", 100_000);
+    private static final int THREADS = Integer.getInteger("bench.threads", 4);
+
+    @Test
+    void benchmarkTableDrivenAgainstStaticFsm() throws Exception {
+        List<String> corpus = buildCorpus();
+
+        PrintStream console = System.out;
+        String[] legacy = new String[USER_NAMES];
+        int[] legacyIndex = new int[USER_NAMES];
+        long legacyNanos;
+        System.setOut(new PrintStream(OutputStream.nullOutputStream()));
+        try {
+            legacyNanos = time(() -> {
+                for (int i = 0; i < USER_NAMES; i++) {
+                    legacy[i] = LegacyRecognizer.checkForValidUserName(corpus.get(i));
+                    legacyIndex[i] = LegacyRecognizer.userNameRecognizerIndexofError;
+                }
+            });
+        } finally {
+            System.setOut(console);
+        }
+
+        // Once untimed so the new recognizer is compiled before it is measured, as the old one was
+        recognizeAll(corpus);
+        List<List<UserNameRecognizer.Result>> single = new ArrayList<>();
+        long singleNanos = time(() -> single.add(recognizeAll(corpus)));
+
+        List<Callable<List<UserNameRecognizer.Result>>> slices = new ArrayList<>();
+        int sliceSize = (USER_NAMES + THREADS - 1) / THREADS;
+        for (int from = 0; from < USER_NAMES; from += sliceSize) {
+            List<String> slice = corpus.subList(from, Math.min(USER_NAMES, from + sliceSize));
+            slices.add(() -> recognizeAll(slice));
+        }
+        List<UserNameRecognizer.Result> parallel = new ArrayList<>();
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        long parallelNanos;
+        try {
+            // Start the threads and compile on them before timing
+            for (Future<?> warmup : pool.invokeAll(slices)) {
+                warmup.get();
+            }
+            long start = System.nanoTime();
+            for (Future<List<UserNameRecognizer.Result>> future : pool.invokeAll(slices)) {
+                parallel.addAll(future.get());
+            }
+            parallelNanos = System.nanoTime() - start;
+        } finally {
+            pool.shutdown();
+        }
+
+        System.out.printf("UserName recognition, %d names%n", USER_NAMES);
+        report("static, traced", legacyNanos);
+        report("recognize", singleNanos);
+        report("recognize x" + THREADS, parallelNanos);
+
+        for (int i = 0; i < USER_NAMES; i++) {
+            String name = corpus.get(i);
+            assertEquals(legacy[i], single.get(0).get(i).getErrorMessage(), name);
+            assertEquals(legacyIndex[i], single.get(0).get(i).getErrorIndex(), name);
+            assertEquals(legacy[i], parallel.get(i).getErrorMessage(), name);
+        }
+    }
+
+    private static List<UserNameRecognizer.Result> recognizeAll(List<String> names) {
+        List<UserNameRecognizer.Result> results = new ArrayList<>(names.size());
+        for (String name : names) {
+            results.add(UserNameRecognizer.recognize(name));
+        }
+        return results;
+    }
+
+    /** Names of 1 to 20 characters drawn mostly from the valid alphabet, so every error occurs. */
+    private static List<String> buildCorpus() {
+        Random random = new Random(42);
+        String alphabet = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz0123456789";
+        String separators = ".-_";
+        List<String> corpus = new ArrayList<>(USER_NAMES);
+        for (int i = 0; i < USER_NAMES; i++) {
+            StringBuilder name = new StringBuilder();
+            int length = 1 + random.nextInt(20);
+            for (int j = 0; j < length; j++) {
+                int pick = random.nextInt(100);
+                if (pick < 8) {
+                    name.append(separators.charAt(random.nextInt(separators.length())));
+                } else if (pick < 10) {
+                    name.append(' ');
+                } else {
+                    name.append(alphabet.charAt(random.nextInt(j == 0 ? 52 : alphabet.length())));
+                }
+            }
+            corpus.add(name.toString());
+        }
+        return corpus;
+    }
+
+    private static long time(Runnable work) {
+        long start = System.nanoTime();
+        work.run();
+        return System.nanoTime() - start;
+    }
+
+    private static void report(String recognizer, long nanos) {
+        System.out.printf("  %-18s %,14.0f names/s%n", recognizer, USER_NAMES / (nanos / 1e9));
+    }
+
+    /** The static FSM {@link UserNameRecognizer} used before it was made table-driven. */
+    private static class LegacyRecognizer {
+        static String userNameRecognizerErrorMessage = "";
+        static int userNameRecognizerIndexofError = -1;
+        private static int state, nextState, currentCharNdx, userNameSize;
+        private static boolean finalState, running;
+        private static String inputLine = "";
+        private static char currentChar;
+
+        private static void displayDebuggingInfo() {
+            if (currentCharNdx >= inputLine.length())
+                System.out.println(((state > 99) ? " " : (state > 9) ? "  " : "   ") + state
+                        + ((finalState) ? "       F   " : "           ") + "None");
+            else
+                System.out.println(((state > 99) ? " " : (state > 9) ? "  " : "   ") + state
+                        + ((finalState) ? "       F   " : "           ") + "  " + currentChar + " "
+                        + ((nextState > 99) ? "" : (nextState > 9) || (nextState == -1) ? "   " : "    ")
+                        + nextState + "     " + userNameSize);
+        }
+
+        private static void moveToNextCharacter() {
+            currentCharNdx++;
+            if (currentCharNdx < inputLine.length())
+                currentChar = inputLine.charAt(currentCharNdx);
+            else {
+                currentChar = ' ';
+                running = false;
+            }
+        }
+
+        private static boolean isAlphanumeric(char c) {
+            return (c >= 'A' && c <= 'Z') || (c >= 'a' && c <= 'z') || (c >= '0' && c <= '9');
+        }
+
+        static String checkForValidUserName(String input) {
+            if (input.length() <= 0) {
+                userNameRecognizerIndexofError = 0;
+                return "\n*** ERROR *** The input is empty";
+            }
+            state = 0;
+            inputLine = input;
+            currentCharNdx = 0;
+            currentChar = input.charAt(0);
+            running = true;
+            nextState = -1;
+            System.out.println("\nCurrent Final Input  Next  Date\nState   State Char  State  Size");
+            userNameSize = 0;
+            while (running) {
+                switch (state) {
+                case 0:
+                    if ((currentChar >= 'A' && currentChar <= 'Z') || (currentChar >= 'a' && currentChar <= 'z')) {
+                        nextState = 1;
+                        userNameSize++;
+                    } else
+                        running = false;
+                    break;
+                case 1:
+                    if (isAlphanumeric(currentChar)) {
+                        nextState = 1;
+                        userNameSize++;
+                    } else if (currentChar == '.' || currentChar == '-' || currentChar == '_') {
+                        nextState = 2;
+                        userNameSize++;
+                    } else
+                        running = false;
+                    if (userNameSize > 16)
+                        running = false;
+                    break;
+                case 2:
+                    if (isAlphanumeric(currentChar)) {
+                        nextState = 1;
+                        userNameSize++;
+                    } else
+                        running = false;
+                    if (userNameSize > 16)
+                        running = false;
+                    break;
+                }
+                if (running) {
+                    displayDebuggingInfo();
+                    moveToNextCharacter();
+                    state = nextState;
+                    if (state == 1) finalState = true;
+                    nextState = -1;
+                }
+            }
+            displayDebuggingInfo();
+            System.out.println("The loop has ended.");
+            userNameRecognizerIndexofError = currentCharNdx;
+            userNameRecognizerErrorMessage = "\n*** ERROR *** ";
+            switch (state) {
+            case 0:
+                return userNameRecognizerErrorMessage += "A UserName must start with A-Z or a-z.\n";
+            case 1:
+                if (userNameSize < 4)
+                    return userNameRecognizerErrorMessage += "A UserName must have at least 4 characters.\n";
+                else if (userNameSize > 16)
+                    return userNameRecognizerErrorMessage += "A UserName must have no more than 16 character.\n";
+                else if (currentCharNdx < input.length())
+                    return userNameRecognizerErrorMessage +=
+                        "A UserName character may only contain the characters A-Z, a-z, 0-9, \n"
+                        + "period, minus sign, or underscore.\n";
+                userNameRecognizerIndexofError = -1;
+                return userNameRecognizerErrorMessage = "";
+            case 2:
+                return userNameRecognizerErrorMessage +=
+                    "A UserName character after a period, minus signs, or underscore must be followed by A-Z, a-z, 0-9.\n";
+            default:
+                return "";
+            }
+        }
+    }
+}
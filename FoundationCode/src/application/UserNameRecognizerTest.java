@@ -0,0 +1,119 @@
+package application;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests for the table-driven {@link UserNameRecognizer}: each error the FSM
+ * can halt with, the trace, the static fields of the legacy entry point, and
+ * concurrent use.
+ */
+public class UserNameRecognizerTest {
+
+    private static final String PREFIX = "\n*** ERROR *** ";
+
+    @Test
+    void testValidUserNames() {
+        for (String name : new String[] { "abcd", "Joe_Smith", "a1.b2-c3", "abcdefghijklmnop" }) {
+            UserNameRecognizer.Result result = UserNameRecognizer.recognize(name);
+            assertTrue(result.isValid(), name);
+            assertEquals(-1, result.getErrorIndex());
+        }
+    }
+
+    @Test
+    void testErrorsAndPositions() {
+        assertError("\n*** ERROR *** The input is empty", 0, "");
+        assertError(PREFIX + "A UserName must start with A-Z or a-z.\n", 0, "1abc");
+        assertError(PREFIX + "A UserName must have at least 4 characters.\n", 3, "abc");
+        assertError(PREFIX + "A UserName must have at least 4 characters.\n", 2, "ab!cdef");
+        assertError(PREFIX + "A UserName must have no more than 16 character.\n", 16, "abcdefghijklmnopq");
+        assertError(PREFIX + "A UserName character may only contain the characters A-Z, a-z, 0-9, \n"
+                + "period, minus sign, or underscore.\n", 4, "abcd!e");
+        assertError(PREFIX + "A UserName character may only contain the characters A-Z, a-z, 0-9, \n"
+                + "period, minus sign, or underscore.\n", 4, "abcdé");
+        String afterSeparator = PREFIX
+                + "A UserName character after a period, minus signs, or underscore must be followed by A-Z, a-z, 0-9.\n";
+        assertError(afterSeparator, 5, "abcd.");
+        assertError(afterSeparator, 5, "abcd._x");
+        // The 17th character ends the FSM in whichever state it was about to leave
+        assertError(afterSeparator, 16, "abcdefghijklmno.p");
+    }
+
+    private static void assertError(String message, int index, String input) {
+        UserNameRecognizer.Result result = UserNameRecognizer.recognize(input);
+        assertEquals(message, result.getErrorMessage(), input);
+        assertEquals(index, result.getErrorIndex(), input);
+    }
+
+    @Test
+    void testTraceOnlyWhenAsked() {
+        PrintStream console = System.out;
+        ByteArrayOutputStream captured = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(captured));
+        try {
+            UserNameRecognizer.recognize("abcd");
+            UserNameRecognizer.checkForValidUserName("abcd");
+        } finally {
+            System.setOut(console);
+        }
+        assertEquals(0, captured.size());
+
+        ByteArrayOutputStream trace = new ByteArrayOutputStream();
+        UserNameRecognizer.recognize("ab.c", new PrintStream(trace, true));
+        String lines = trace.toString();
+        assertTrue(lines.contains("   2             c     1     4"), lines);
+        assertTrue(lines.endsWith("The loop has ended." + System.lineSeparator()), lines);
+    }
+
+    @Test
+    void testStaticEntryPointFillsFields() {
+        assertEquals("", UserNameRecognizer.checkForValidUserName("abcd"));
+        assertEquals(-1, UserNameRecognizer.userNameRecognizerIndexofError);
+        assertEquals("abcd", UserNameRecognizer.userNameRecognizerInput);
+
+        String message = UserNameRecognizer.checkForValidUserName("abcd!e");
+        assertEquals(message, UserNameRecognizer.userNameRecognizerErrorMessage);
+        assertEquals(4, UserNameRecognizer.userNameRecognizerIndexofError);
+    }
+
+    @Test
+    void testConcurrentRecognitionMatchesSequential() throws Exception {
+        List<String> names = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            names.add(i % 4 == 0 ? "user" + i : i % 4 == 1 ? "u" + i + "." : i % 4 == 2 ? "x" : "name_" + i + "_long_enough");
+        }
+        List<UserNameRecognizer.Result> expected = new ArrayList<>();
+        for (String name : names) {
+            expected.add(UserNameRecognizer.recognize(name));
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                futures.add(pool.submit(() -> {
+                    for (int i = 0; i < names.size(); i++) {
+                        UserNameRecognizer.Result actual = UserNameRecognizer.recognize(names.get(i));
+                        assertEquals(expected.get(i).getErrorMessage(), actual.getErrorMessage());
+                        assertEquals(expected.get(i).getErrorIndex(), actual.getErrorIndex());
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
@@ -0,0 +1,289 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Per-user activity counts (questions plus answers written) behind the staff
+ * report's most active users, kept in memory by {@link DatabaseHelper}.
+ * <p>
+ * Each user has an all-time total and hourly counts for the last 30 days. The
+ * totals are held in a set ordered by count, so the all-time top K is the
+ * first K entries; a time window sums each recently active user's hours and
+ * keeps the top K in a bounded heap.
+ * </p>
+ * <p>
+ * Loading, adjusting and reconciling follow {@link ContentStatistics}: one
+ * load from the tables, then {@link #record} for every question or answer the
+ * helper inserts or deletes, bracketed by {@link #beginWrite} and
+ * {@link #endWrite}, with a recount that overlapped a write left uninstalled.
+ * </p>
+ */
+public class ActivityLeaderboard {
+
+	/** Period a ranking covers. */
+	public enum Window {
+		LAST_24_HOURS("Last 24 hours", 24),
+		LAST_7_DAYS("Last 7 days", 7 * 24),
+		LAST_30_DAYS("Last 30 days", 30 * 24),
+		ALL_TIME("All time", 0);
+
+		private final String label;
+		private final int hours;
+
+		Window(String label, int hours) {
+			this.label = label;
+			this.hours = hours;
+		}
+
+		/** @return length of the window in hours, 0 for all time */
+		public int getHours() { return hours; }
+
+		@Override
+		public String toString() { return label; }
+	}
+
+	private static final long BUCKET_MILLIS = 60 * 60_000;
+	/** Hourly buckets kept per user; the longest window. */
+	private static final int BUCKETS_KEPT = Window.LAST_30_DAYS.hours;
+	private static final int LOAD_ATTEMPTS = 3;
+
+	/** Activity of one user. */
+	private static final class UserActivity {
+		final String userName;
+		int total;
+		/** Hour since the epoch to count in that hour */
+		final TreeMap<Long, Integer> hourly = new TreeMap<>();
+
+		UserActivity(String userName) {
+			this.userName = userName;
+		}
+	}
+
+	/** Most active first, then by name so equal counts have a stable order. */
+	private static final Comparator<UserActivity> BY_TOTAL = Comparator
+			.comparingInt((UserActivity u) -> u.total).reversed()
+			.thenComparing(u -> u.userName);
+
+	private final Map<String, UserActivity> users = new HashMap<>();
+	private final TreeSet<UserActivity> ranking = new TreeSet<>(BY_TOTAL);
+	private boolean loaded = false;
+	/** Writes begun or recorded; a recount checks it did not change. */
+	private long writeCount = 0;
+	private int writesInFlight = 0;
+
+	/**
+	 * Ranks users over a window.
+	 * @param limit most users to return
+	 * @param window period to count
+	 * @return user name to activity count, most active first; only users active in the window
+	 */
+	public Map<String, Integer> top(int limit, Window window) {
+		return top(limit, window, System.currentTimeMillis());
+	}
+
+	/**
+	 * Ranks users over a window, loading the counts first if needed. If every
+	 * load attempt raced a write, the last count is ranked without being
+	 * installed, so the next call counts again.
+	 * @param conn connection to count with
+	 * @param limit most users to return
+	 * @param window period to count
+	 * @return user name to activity count, most active first; only users active in the window
+	 * @throws SQLException on DB error
+	 */
+	public Map<String, Integer> top(Connection conn, int limit, Window window) throws SQLException {
+		Map<String, UserActivity> counted = null;
+		for (int attempt = 1; !isLoaded() && attempt <= LOAD_ATTEMPTS; attempt++) {
+			counted = recount(conn);
+		}
+		long now = System.currentTimeMillis();
+		synchronized (this) {
+			if (loaded || counted == null) {
+				return top(limit, window, now);
+			}
+		}
+		TreeSet<UserActivity> countedRanking = new TreeSet<>(BY_TOTAL);
+		countedRanking.addAll(counted.values());
+		return rank(counted, countedRanking, limit, window, now);
+	}
+
+	synchronized Map<String, Integer> top(int limit, Window window, long nowMillis) {
+		return rank(users, ranking, limit, window, nowMillis);
+	}
+
+	private static Map<String, Integer> rank(Map<String, UserActivity> users, TreeSet<UserActivity> ranking,
+			int limit, Window window, long nowMillis) {
+		Map<String, Integer> top = new LinkedHashMap<>();
+		if (window == Window.ALL_TIME) {
+			for (Iterator<UserActivity> it = ranking.iterator(); it.hasNext() && top.size() < limit;) {
+				UserActivity user = it.next();
+				top.put(user.userName, user.total);
+			}
+			return top;
+		}
+		long firstHour = nowMillis / BUCKET_MILLIS - window.hours + 1;
+		Comparator<Map.Entry<String, Integer>> byCount = Map.Entry.<String, Integer>comparingByValue()
+				.thenComparing(Map.Entry.<String, Integer>comparingByKey().reversed());
+		// Min-heap of the best so far; its head is the one to drop
+		PriorityQueue<Map.Entry<String, Integer>> best = new PriorityQueue<>(byCount);
+		for (UserActivity user : users.values()) {
+			int count = 0;
+			for (int hourCount : user.hourly.tailMap(firstHour).values()) {
+				count += hourCount;
+			}
+			if (count == 0) {
+				continue;
+			}
+			best.add(Map.entry(user.userName, count));
+			if (best.size() > limit) {
+				best.poll();
+			}
+		}
+		List<Map.Entry<String, Integer>> ordered = new ArrayList<>(best);
+		ordered.sort(byCount.reversed());
+		for (Map.Entry<String, Integer> entry : ordered) {
+			top.put(entry.getKey(), entry.getValue());
+		}
+		return top;
+	}
+
+	/**
+	 * Counts every user's activity from the tables, unless already loaded.
+	 * Retries a count that raced a write a few times, then leaves it unloaded.
+	 * @param conn connection to count with
+	 * @throws SQLException on DB error
+	 */
+	public void load(Connection conn) throws SQLException {
+		for (int attempt = 1; !isLoaded() && attempt <= LOAD_ATTEMPTS; attempt++) {
+			recount(conn);
+		}
+	}
+
+	/**
+	 * Recounts every user's activity from the tables, installing the count
+	 * unless it raced a write.
+	 * @param conn connection to count with
+	 * @throws SQLException on DB error
+	 */
+	public void reconcile(Connection conn) throws SQLException {
+		recount(conn);
+	}
+
+	private Map<String, UserActivity> recount(Connection conn) throws SQLException {
+		long writesBefore;
+		boolean quiet;
+		synchronized (this) {
+			writesBefore = writeCount;
+			quiet = writesInFlight == 0;
+		}
+		Map<String, UserActivity> counted = count(conn, System.currentTimeMillis());
+		synchronized (this) {
+			if (quiet && writeCount == writesBefore) {
+				users.clear();
+				users.putAll(counted);
+				ranking.clear();
+				ranking.addAll(counted.values());
+				loaded = true;
+			}
+		}
+		return counted;
+	}
+
+	/** Totals in one grouped query, then the last 30 days of rows to bucket by hour. */
+	private static Map<String, UserActivity> count(Connection conn, long nowMillis) throws SQLException {
+		Map<String, UserActivity> counted = new HashMap<>();
+		String totals = "SELECT author, COUNT(*) AS activityCount FROM "
+				+ "(SELECT author FROM questions UNION ALL SELECT author FROM answers) "
+				+ "WHERE author IS NOT NULL GROUP BY author";
+		try (PreparedStatement pstmt = conn.prepareStatement(totals); ResultSet rs = pstmt.executeQuery()) {
+			while (rs.next()) {
+				UserActivity user = new UserActivity(rs.getString("author"));
+				user.total = rs.getInt("activityCount");
+				counted.put(user.userName, user);
+			}
+		}
+		String recent = "SELECT author, createdAt FROM questions WHERE createdAt >= ? "
+				+ "UNION ALL SELECT author, createdAt FROM answers WHERE createdAt >= ?";
+		Timestamp since = new Timestamp((nowMillis / BUCKET_MILLIS - BUCKETS_KEPT + 1) * BUCKET_MILLIS);
+		try (PreparedStatement pstmt = conn.prepareStatement(recent)) {
+			pstmt.setTimestamp(1, since);
+			pstmt.setTimestamp(2, since);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					UserActivity user = counted.get(rs.getString("author"));
+					if (user != null) {
+						user.hourly.merge(rs.getTimestamp("createdAt").getTime() / BUCKET_MILLIS, 1, Integer::sum);
+					}
+				}
+			}
+		}
+		return counted;
+	}
+
+	/**
+	 * Marks a write that may record activity as started. Call before its SQL
+	 * runs and pair with {@link #endWrite} once it has recorded.
+	 */
+	public synchronized void beginWrite() {
+		writesInFlight++;
+		writeCount++;
+	}
+
+	/** Marks a write begun with {@link #beginWrite} as finished. */
+	public synchronized void endWrite() {
+		writesInFlight--;
+	}
+
+	/**
+	 * Applies a committed insert (+1) or delete (-1) of a question or answer.
+	 * Ignored until first loaded, since that load will count the write.
+	 * @param author author of the row, may be null
+	 * @param createdAt creation time of the row, may be null
+	 * @param delta change to apply
+	 */
+	public synchronized void record(String author, Timestamp createdAt, int delta) {
+		writeCount++;
+		if (!loaded || author == null || delta == 0) {
+			return;
+		}
+		UserActivity user = users.computeIfAbsent(author, UserActivity::new);
+		// The ranking orders by total, so re-insert around the change
+		ranking.remove(user);
+		user.total += delta;
+		if (createdAt != null) {
+			long hour = createdAt.getTime() / BUCKET_MILLIS;
+			user.hourly.merge(hour, delta, Integer::sum);
+			user.hourly.remove(hour, 0);
+		}
+		// Hours that have left the longest window are never read again
+		user.hourly.headMap(System.currentTimeMillis() / BUCKET_MILLIS - BUCKETS_KEPT + 1).clear();
+		if (user.total > 0) {
+			ranking.add(user);
+		} else {
+			users.remove(author);
+		}
+	}
+
+	/** Marks the counts stale after a write that could not be attributed. */
+	public synchronized void invalidate() {
+		writeCount++;
+		loaded = false;
+	}
+
+	/** @return true once counted and not marked stale since */
+	public synchronized boolean isLoaded() { return loaded; }
+}
@@ -0,0 +1,52 @@
+package databasePart1;
+
+/**
+ * Rows removed by {@link DatabaseHelper#deleteQuestionTree(String)}, per
+ * table, and how long the delete took.
+ */
+public class CascadeDeleteReport {
+	private final int questions;
+	private final int tags;
+	private final int answers;
+	private final int reviews;
+	private final int messages;
+	private final int flags;
+	private final long elapsedNanos;
+
+	CascadeDeleteReport(int questions, int tags, int answers, int reviews, int messages, int flags, long elapsedNanos) {
+		this.questions = questions;
+		this.tags = tags;
+		this.answers = answers;
+		this.reviews = reviews;
+		this.messages = messages;
+		this.flags = flags;
+		this.elapsedNanos = elapsedNanos;
+	}
+
+	/** @return questions deleted: the root and every follow-up under it; 0 if the root did not exist */
+	public int getQuestions() { return questions; }
+
+	/** @return question_tags rows deleted */
+	public int getTags() { return tags; }
+
+	/** @return answers deleted */
+	public int getAnswers() { return answers; }
+
+	/** @return answer_reviews rows deleted */
+	public int getReviews() { return reviews; }
+
+	/** @return PrivateMessages rows deleted, question messages and review feedback */
+	public int getMessages() { return messages; }
+
+	/** @return content_flags rows deleted */
+	public int getFlags() { return flags; }
+
+	/** @return wall time of the delete, from finding the tree to commit */
+	public long getElapsedNanos() { return elapsedNanos; }
+
+	@Override
+	public String toString() {
+		return String.format("%d questions, %d tags, %d answers, %d reviews, %d messages, %d flags in %.1f ms",
+				questions, tags, answers, reviews, messages, flags, elapsedNanos / 1e6);
+	}
+}
@@ -0,0 +1,524 @@
+package databasePart1;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A small bounded pool of JDBC connections used by {@link DatabaseHelper}.
+ * <p>
+ * Callers borrow a connection per operation with {@link #borrow()} and give it
+ * back by calling {@code close()} on it, so the usual try-with-resources block
+ * is all that is needed. At most {@code maxSize} physical connections are open
+ * at once; a borrower that finds the pool exhausted waits up to
+ * {@code borrowTimeoutMillis} before an {@link SQLException} is thrown.
+ * </p>
+ * <p>
+ * Idle connections are health checked with {@link Connection#isValid(int)}
+ * before being handed out and are replaced when the check fails. A thread can
+ * also bind one connection for the length of a transaction (see
+ * {@link #beginTransaction()}); every borrow made on that thread until
+ * {@link #endTransaction()} then shares the bound connection.
+ * </p>
+ * <p>
+ * Wait time, timeouts, utilization and the number of statements issued are
+ * tracked for reporting through the getters at the bottom of this class.
+ * </p>
+ */
+public class ConnectionPool {
+
+	/** Default number of physical connections when none is configured. */
+	public static final int DEFAULT_MAX_SIZE = 8;
+	/** Default time a borrower waits for a free connection. */
+	public static final long DEFAULT_BORROW_TIMEOUT_MILLIS = 10_000;
+	/** Idle connections older than this are validated before reuse. */
+	private static final long VALIDATE_AFTER_IDLE_MILLIS = 5_000;
+	/** Seconds the driver is given to answer a validation check. */
+	private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+	private final String url;
+	private final String user;
+	private final String password;
+	private final int maxSize;
+	private final long borrowTimeoutMillis;
+
+	private final Semaphore permits;
+	private final Deque<IdleConnection> idle = new ArrayDeque<>();
+	private final ThreadLocal<Connection> transactionConnection = new ThreadLocal<>();
+	private volatile boolean closed = false;
+
+	// Metrics
+	private final AtomicInteger openCount = new AtomicInteger();
+	private final AtomicInteger activeCount = new AtomicInteger();
+	private final AtomicInteger peakActiveCount = new AtomicInteger();
+	private final AtomicLong borrowCount = new AtomicLong();
+	private final AtomicLong timeoutCount = new AtomicLong();
+	private final AtomicLong totalWaitNanos = new AtomicLong();
+	private final AtomicLong maxWaitNanos = new AtomicLong();
+	private final AtomicLong validationFailures = new AtomicLong();
+	private final AtomicLong statementCount = new AtomicLong();
+
+	/**
+	 * Creates a pool using the default size and borrow timeout.
+	 * @param url JDBC url of the database
+	 * @param user database user
+	 * @param password database password
+	 */
+	public ConnectionPool(String url, String user, String password) {
+		this(url, user, password, DEFAULT_MAX_SIZE, DEFAULT_BORROW_TIMEOUT_MILLIS);
+	}
+
+	/**
+	 * Creates a pool. No connection is opened until the first borrow.
+	 * @param url JDBC url of the database
+	 * @param user database user
+	 * @param password database password
+	 * @param maxSize maximum number of physical connections (at least 1)
+	 * @param borrowTimeoutMillis how long a borrower waits for a free connection
+	 */
+	public ConnectionPool(String url, String user, String password, int maxSize, long borrowTimeoutMillis) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Pool size must be at least 1");
+		}
+		this.url = url;
+		this.user = user;
+		this.password = password;
+		this.maxSize = maxSize;
+		this.borrowTimeoutMillis = borrowTimeoutMillis;
+		this.permits = new Semaphore(maxSize, true);
+	}
+
+	/**
+	 * Borrows a connection. Closing the returned connection gives it back to the
+	 * pool instead of closing the physical connection.
+	 * @return a connection ready for use
+	 * @throws SQLException if the pool is closed, the wait times out, or a new
+	 *                      connection cannot be opened
+	 */
+	public Connection borrow() throws SQLException {
+		if (closed) {
+			throw new SQLException("Connection pool is closed");
+		}
+		Connection bound = transactionConnection.get();
+		if (bound != null) {
+			// Share the thread's transaction connection; closing it is a no-op.
+			Handle owner = (Handle) Proxy.getInvocationHandler(bound);
+			return wrap(owner.physical, false);
+		}
+
+		long start = System.nanoTime();
+		boolean acquired;
+		try {
+			acquired = permits.tryAcquire(borrowTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new SQLException("Interrupted while waiting for a database connection", e);
+		}
+		long waited = System.nanoTime() - start;
+		if (!acquired) {
+			timeoutCount.incrementAndGet();
+			throw new SQLException("Timed out after " + borrowTimeoutMillis + " ms waiting for a database connection");
+		}
+		recordWait(waited);
+
+		try {
+			Connection physical = takeIdleOrOpen();
+			int active = activeCount.incrementAndGet();
+			peakActiveCount.accumulateAndGet(active, Math::max);
+			borrowCount.incrementAndGet();
+			return wrap(physical, true);
+		} catch (SQLException | RuntimeException e) {
+			permits.release();
+			throw e;
+		}
+	}
+
+	/**
+	 * Binds a connection to the calling thread and turns autocommit off. Every
+	 * {@link #borrow()} on this thread shares that connection until
+	 * {@link #endTransaction()} is called.
+	 * @return the bound connection, for commit and rollback
+	 * @throws SQLException if a transaction is already bound or no connection is available
+	 */
+	public Connection beginTransaction() throws SQLException {
+		if (transactionConnection.get() != null) {
+			throw new SQLException("A transaction is already active on this thread");
+		}
+		Connection conn = borrow();
+		try {
+			conn.setAutoCommit(false);
+		} catch (SQLException e) {
+			conn.close();
+			throw e;
+		}
+		transactionConnection.set(conn);
+		return conn;
+	}
+
+	/**
+	 * Restores autocommit on the thread's transaction connection, unbinds it and
+	 * returns it to the pool. Safe to call when no transaction is bound.
+	 */
+	public void endTransaction() {
+		Connection conn = transactionConnection.get();
+		if (conn == null) {
+			return;
+		}
+		transactionConnection.remove();
+		try {
+			conn.setAutoCommit(true);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+		try {
+			conn.close();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * @return true when the calling thread has a transaction bound
+	 */
+	public boolean inTransaction() {
+		return transactionConnection.get() != null;
+	}
+
+	/**
+	 * Closes every idle connection and rejects further borrows. Connections that
+	 * are still checked out are closed as they are returned.
+	 */
+	public void close() {
+		closed = true;
+		synchronized (idle) {
+			for (IdleConnection ic : idle) {
+				closeQuietly(ic.connection);
+			}
+			idle.clear();
+		}
+	}
+
+	/** @return true once {@link #close()} has been called */
+	public boolean isClosed() {
+		return closed;
+	}
+
+	private Connection takeIdleOrOpen() throws SQLException {
+		while (true) {
+			IdleConnection candidate;
+			synchronized (idle) {
+				candidate = idle.pollFirst();
+			}
+			if (candidate == null) {
+				Connection conn = DriverManager.getConnection(url, user, password);
+				openCount.incrementAndGet();
+				return conn;
+			}
+			if (isHealthy(candidate)) {
+				return candidate.connection;
+			}
+			validationFailures.incrementAndGet();
+			discard(candidate.connection);
+		}
+	}
+
+	private boolean isHealthy(IdleConnection candidate) {
+		try {
+			if (candidate.connection.isClosed()) {
+				return false;
+			}
+			if (System.currentTimeMillis() - candidate.idleSince < VALIDATE_AFTER_IDLE_MILLIS) {
+				return true;
+			}
+			return candidate.connection.isValid(VALIDATION_TIMEOUT_SECONDS);
+		} catch (SQLException e) {
+			return false;
+		}
+	}
+
+	private void giveBack(Connection physical) {
+		activeCount.decrementAndGet();
+		try {
+			boolean reusable = !closed && !physical.isClosed();
+			if (reusable && !physical.getAutoCommit()) {
+				// A caller left a transaction open; never leak it to the next borrower.
+				physical.rollback();
+				physical.setAutoCommit(true);
+			}
+			if (reusable) {
+				synchronized (idle) {
+					idle.addFirst(new IdleConnection(physical));
+				}
+			} else {
+				discard(physical);
+			}
+		} catch (SQLException e) {
+			validationFailures.incrementAndGet();
+			discard(physical);
+		} finally {
+			permits.release();
+		}
+	}
+
+	private void discard(Connection physical) {
+		closeQuietly(physical);
+		openCount.decrementAndGet();
+	}
+
+	private static void closeQuietly(Connection conn) {
+		try {
+			conn.close();
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	private void recordWait(long waitedNanos) {
+		totalWaitNanos.addAndGet(waitedNanos);
+		maxWaitNanos.accumulateAndGet(waitedNanos, Math::max);
+	}
+
+	private Connection wrap(Connection physical, boolean returnOnClose) {
+		return (Connection) Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(),
+				new Class<?>[] { Connection.class }, new Handle(physical, returnOnClose));
+	}
+
+	/**
+	 * Proxy handler for a borrowed connection. {@code close()} returns the
+	 * physical connection to the pool exactly once; every other call is passed
+	 * through until the handle is closed. Statements come back wrapped so they
+	 * never expose the physical connection, and any still open when the
+	 * handle is released are closed then.
+	 */
+	private class Handle implements InvocationHandler {
+		private final Connection physical;
+		private final boolean returnOnClose;
+		private boolean released = false;
+		private final Set<Statement> openStatements = Collections.newSetFromMap(new IdentityHashMap<>());
+
+		Handle(Connection physical, boolean returnOnClose) {
+			this.physical = physical;
+			this.returnOnClose = returnOnClose;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "close":
+				if (!released) {
+					released = true;
+					closeOpenStatements();
+					if (returnOnClose) {
+						giveBack(physical);
+					}
+				}
+				return null;
+			case "isClosed":
+				return released || physical.isClosed();
+			case "unwrap":
+				if (args != null && args[0] == Connection.class) {
+					return proxy;
+				}
+				break;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "PooledConnection[" + physical + "]";
+			case "prepareStatement":
+			case "createStatement":
+			case "prepareCall":
+				statementCount.incrementAndGet();
+				break;
+			default:
+				break;
+			}
+			if (released) {
+				throw new SQLException("Connection has already been returned to the pool");
+			}
+			Object result;
+			try {
+				result = method.invoke(physical, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			if (result instanceof Statement) {
+				Statement statement = (Statement) result;
+				synchronized (openStatements) {
+					openStatements.add(statement);
+				}
+				return wrapChild(method.getReturnType(), statement, this, proxy, null);
+			}
+			return result;
+		}
+
+		void forget(Statement statement) {
+			synchronized (openStatements) {
+				openStatements.remove(statement);
+			}
+		}
+
+		private void closeOpenStatements() {
+			List<Statement> leftOpen;
+			synchronized (openStatements) {
+				leftOpen = new ArrayList<>(openStatements);
+				openStatements.clear();
+			}
+			for (Statement statement : leftOpen) {
+				try {
+					statement.close();
+				} catch (SQLException e) {
+					e.printStackTrace();
+				}
+			}
+		}
+	}
+
+	private static Object wrapChild(Class<?> type, Object target, Handle handle, Object connection, Object statement) {
+		return Proxy.newProxyInstance(ConnectionPool.class.getClassLoader(), new Class<?>[] { type },
+				new ChildHandle(target, handle, connection, statement));
+	}
+
+	/**
+	 * Proxy handler for a statement or result set from a borrowed connection.
+	 * {@code getConnection()} and {@code getStatement()} answer with the
+	 * proxies, and closing a statement drops it from its handle's open list.
+	 */
+	private static class ChildHandle implements InvocationHandler {
+		private final Object target;
+		private final Handle handle;
+		private final Object connection;
+		/** Statement proxy a result set came from, null for a statement */
+		private final Object statement;
+
+		ChildHandle(Object target, Handle handle, Object connection, Object statement) {
+			this.target = target;
+			this.handle = handle;
+			this.connection = connection;
+			this.statement = statement;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+			switch (method.getName()) {
+			case "getConnection":
+				return connection;
+			case "getStatement":
+				if (statement != null) {
+					return statement;
+				}
+				break;
+			case "equals":
+				return proxy == args[0];
+			case "hashCode":
+				return System.identityHashCode(proxy);
+			case "toString":
+				return "Pooled" + target;
+			default:
+				break;
+			}
+			Object result;
+			try {
+				result = method.invoke(target, args);
+			} catch (InvocationTargetException e) {
+				throw e.getCause();
+			}
+			if (target instanceof Statement && method.getName().equals("close")) {
+				handle.forget((Statement) target);
+			}
+			if (result instanceof ResultSet) {
+				return wrapChild(ResultSet.class, result, handle, connection, statement != null ? statement : proxy);
+			}
+			return result;
+		}
+	}
+
+	/** An idle physical connection and the time it was returned. */
+	private static class IdleConnection {
+		final Connection connection;
+		final long idleSince;
+
+		IdleConnection(Connection connection) {
+			this.connection = connection;
+			this.idleSince = System.currentTimeMillis();
+		}
+	}
+
+	// Pool configuration and metrics
+
+	/** @return maximum number of physical connections */
+	public int getMaxSize() { return maxSize; }
+
+	/** @return time in milliseconds a borrower waits before timing out */
+	public long getBorrowTimeoutMillis() { return borrowTimeoutMillis; }
+
+	/** @return physical connections currently open (idle or in use) */
+	public int getOpenCount() { return openCount.get(); }
+
+	/** @return connections currently checked out */
+	public int getActiveCount() { return activeCount.get(); }
+
+	/** @return connections sitting idle in the pool */
+	public int getIdleCount() {
+		synchronized (idle) {
+			return idle.size();
+		}
+	}
+
+	/** @return highest number of connections checked out at the same time */
+	public int getPeakActiveCount() { return peakActiveCount.get(); }
+
+	/** @return total successful borrows of a physical connection */
+	public long getBorrowCount() { return borrowCount.get(); }
+
+	/** @return borrows that gave up waiting for a free connection */
+	public long getTimeoutCount() { return timeoutCount.get(); }
+
+	/** @return idle connections that failed a health check and were replaced */
+	public long getValidationFailureCount() { return validationFailures.get(); }
+
+	/** @return statements prepared or created through borrowed connections */
+	public long getStatementCount() { return statementCount.get(); }
+
+	/** @return average time a borrow waited for a free connection, in milliseconds */
+	public double getAverageWaitMillis() {
+		long borrows = borrowCount.get();
+		return borrows == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / borrows;
+	}
+
+	/** @return longest time a borrow waited for a free connection, in milliseconds */
+	public double getMaxWaitMillis() {
+		return maxWaitNanos.get() / 1_000_000.0;
+	}
+
+	/** @return fraction of the pool currently checked out, between 0 and 1 */
+	public double getUtilization() {
+		return (double) activeCount.get() / maxSize;
+	}
+
+	@Override
+	public String toString() {
+		return String.format("ConnectionPool[max=%d, open=%d, active=%d, idle=%d, peak=%d, borrows=%d, "
+				+ "timeouts=%d, avgWait=%.3fms, maxWait=%.3fms]", maxSize, getOpenCount(), getActiveCount(),
+				getIdleCount(), getPeakActiveCount(), getBorrowCount(), getTimeoutCount(), getAverageWaitMillis(),
+				getMaxWaitMillis());
+	}
+}
@@ -0,0 +1,194 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Content counters for the staff reports, kept in memory by
+ * {@link DatabaseHelper} so a report costs a map copy rather than a set of
+ * {@code COUNT(*)} scans.
+ * <p>
+ * The counters are loaded with one full count ({@link #reconcile}) and then
+ * adjusted by the helper's write methods as each write succeeds. SQL the
+ * helper cannot attribute, such as {@link DatabaseHelper#executeUpdate}, marks
+ * them stale so the next read recounts; a periodic reconciliation also
+ * recounts, which repairs any drift from writes made outside the helper.
+ * </p>
+ * <p>
+ * The helper brackets each attributed write with {@link #beginWrite} and
+ * {@link #endWrite}, the adjustment landing after the commit but before the
+ * end. A recount is installed only if no write was in flight when it started
+ * and none started while it ran, since otherwise it may already include a row
+ * whose adjustment is still to come; the incremental values stay and the next
+ * reconciliation tries again.
+ * </p>
+ */
+public class ContentStatistics {
+
+	/** Statistic keys, as returned by {@link DatabaseHelper#getContentStatistics()}. */
+	public static final String TOTAL_QUESTIONS = "totalQuestions";
+	public static final String TOTAL_ANSWERS = "totalAnswers";
+	public static final String TOTAL_MESSAGES = "totalMessages";
+	public static final String TOTAL_REVIEWS = "totalReviews";
+	public static final String UNRESOLVED_QUESTIONS = "unresolvedQuestions";
+	public static final String PENDING_FLAGS = "pendingFlags";
+	/** Prefix of the per-role user counts, e.g. {@code users_student}. */
+	public static final String USERS_PREFIX = "users_";
+
+	/** Flag status counted by {@link #PENDING_FLAGS}. */
+	public static final String PENDING_STATUS = "Pending";
+
+	/** Default time between full reconciliations. */
+	public static final long DEFAULT_RECONCILE_MILLIS = 10 * 60_000;
+
+	/** Attempts a first load makes to get a recount no write raced. */
+	private static final int LOAD_ATTEMPTS = 3;
+
+	private final Map<String, Integer> counters = new HashMap<>();
+	private boolean loaded = false;
+	/** Writes begun or adjustments applied; a recount checks it did not change. */
+	private long writeCount = 0;
+	private int writesInFlight = 0;
+	private long reconcileCount = 0;
+
+	/**
+	 * @return a copy of the counters, or null if they must be loaded first
+	 */
+	public synchronized Map<String, Integer> snapshot() {
+		return loaded ? new HashMap<>(counters) : null;
+	}
+
+	/**
+	 * Counts every statistic, unless already loaded, and returns a copy of the
+	 * counters. If every attempt raced a write, the last count is returned
+	 * without being installed, so the next read counts again.
+	 * @param conn connection to count with
+	 * @return statistic key to count
+	 * @throws SQLException on DB error
+	 */
+	public Map<String, Integer> load(Connection conn) throws SQLException {
+		Map<String, Integer> counted = null;
+		for (int attempt = 1; !isLoaded() && attempt <= LOAD_ATTEMPTS; attempt++) {
+			counted = recount(conn);
+		}
+		synchronized (this) {
+			return loaded || counted == null ? new HashMap<>(counters) : counted;
+		}
+	}
+
+	/**
+	 * Recounts every statistic from the tables, installing the count unless
+	 * it raced a write.
+	 * @param conn connection to count with
+	 * @throws SQLException on DB error
+	 */
+	public void reconcile(Connection conn) throws SQLException {
+		recount(conn);
+	}
+
+	private Map<String, Integer> recount(Connection conn) throws SQLException {
+		long writesBefore;
+		boolean quiet;
+		synchronized (this) {
+			writesBefore = writeCount;
+			quiet = writesInFlight == 0;
+		}
+		Map<String, Integer> counted = count(conn);
+		synchronized (this) {
+			if (quiet && writeCount == writesBefore) {
+				counters.clear();
+				counters.putAll(counted);
+				loaded = true;
+				reconcileCount++;
+			}
+		}
+		return counted;
+	}
+
+	/** Count everything: one statement for the totals, one for users per role. */
+	private static Map<String, Integer> count(Connection conn) throws SQLException {
+		Map<String, Integer> counted = new HashMap<>();
+		try (Statement stmt = conn.createStatement()) {
+			try (ResultSet rs = stmt.executeQuery("SELECT "
+					+ "(SELECT COUNT(*) FROM questions) AS " + TOTAL_QUESTIONS + ", "
+					+ "(SELECT COUNT(*) FROM answers) AS " + TOTAL_ANSWERS + ", "
+					+ "(SELECT COUNT(*) FROM PrivateMessages) AS " + TOTAL_MESSAGES + ", "
+					+ "(SELECT COUNT(*) FROM answer_reviews) AS " + TOTAL_REVIEWS + ", "
+					+ "(SELECT COUNT(*) FROM questions WHERE isResolved = FALSE) AS " + UNRESOLVED_QUESTIONS + ", "
+					+ "(SELECT COUNT(*) FROM content_flags WHERE status = '" + PENDING_STATUS + "') AS "
+					+ PENDING_FLAGS)) {
+				rs.next();
+				for (String key : new String[] { TOTAL_QUESTIONS, TOTAL_ANSWERS, TOTAL_MESSAGES, TOTAL_REVIEWS,
+						UNRESOLVED_QUESTIONS, PENDING_FLAGS }) {
+					counted.put(key, rs.getInt(key));
+				}
+			}
+			try (ResultSet rs = stmt.executeQuery("SELECT role, COUNT(*) AS count FROM cse360users GROUP BY role")) {
+				while (rs.next()) {
+					counted.put(USERS_PREFIX + rs.getString("role"), rs.getInt("count"));
+				}
+			}
+		}
+		return counted;
+	}
+
+	/**
+	 * Marks an attributed write as started. Call before its SQL runs and pair
+	 * with {@link #endWrite} once its adjustments are applied.
+	 */
+	public synchronized void beginWrite() {
+		writesInFlight++;
+		writeCount++;
+	}
+
+	/** Marks a write begun with {@link #beginWrite} as finished. */
+	public synchronized void endWrite() {
+		writesInFlight--;
+	}
+
+	/**
+	 * Applies a committed write to one counter. Ignored until the counters
+	 * are first loaded, since that load will count the write.
+	 * @param key statistic key
+	 * @param delta change to apply
+	 */
+	public synchronized void adjust(String key, int delta) {
+		writeCount++;
+		if (!loaded || delta == 0) {
+			return;
+		}
+		int value = counters.getOrDefault(key, 0) + delta;
+		// Per-role counts only list roles that have users, as the GROUP BY does
+		if (value == 0 && key.startsWith(USERS_PREFIX)) {
+			counters.remove(key);
+		} else {
+			counters.put(key, value);
+		}
+	}
+
+	/**
+	 * Applies a user whose primary role changed.
+	 * @param oldRole role before the write
+	 * @param newRole role after the write
+	 */
+	public synchronized void moveUser(String oldRole, String newRole) {
+		adjust(USERS_PREFIX + oldRole, -1);
+		adjust(USERS_PREFIX + newRole, 1);
+	}
+
+	/** Marks the counters stale after a write that could not be attributed. */
+	public synchronized void invalidate() {
+		writeCount++;
+		loaded = false;
+	}
+
+	/** @return true once counted and not marked stale since */
+	public synchronized boolean isLoaded() { return loaded; }
+
+	/** @return full recounts installed so far */
+	public synchronized long getReconcileCount() { return reconcileCount; }
+}
@@ -9,12 +9,23 @@ import application.Review;
 import application.ReviewerProfile;
 import application.ContentFlag;
 
+import java.lang.ref.WeakReference;
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
 
 /**
  * The DatabaseHelper class is responsible for managing the connection to the
@@ -36,30 +47,240 @@ public class DatabaseHelper {
 	static final String USER = "sa";
 	static final String PASS = "";
 
-	private Connection connection = null;
-	private Statement statement = null;
-	// PreparedStatement pstmt
+	// Pool sizing can be tuned without a rebuild, e.g. -Dcse360.db.poolSize=16
+	static final int POOL_SIZE = Integer.getInteger("cse360.db.poolSize", ConnectionPool.DEFAULT_MAX_SIZE);
+	static final long POOL_TIMEOUT_MILLIS = Long.getLong("cse360.db.poolTimeoutMillis",
+			ConnectionPool.DEFAULT_BORROW_TIMEOUT_MILLIS);
+
+	// User cache bounds, tunable the same way, e.g. -Dcse360.userCache.size=4096
+	static final int USER_CACHE_SIZE = Integer.getInteger("cse360.userCache.size", UserCache.DEFAULT_MAX_SIZE);
+	static final long USER_CACHE_EXPIRE_MILLIS = Long.getLong("cse360.userCache.expireMillis",
+			UserCache.DEFAULT_EXPIRE_AFTER_MILLIS);
+
+	// Time between full recounts of the report statistics, e.g. -Dcse360.stats.reconcileMillis=60000
+	static final long STATS_RECONCILE_MILLIS = Long.getLong("cse360.stats.reconcileMillis",
+			ContentStatistics.DEFAULT_RECONCILE_MILLIS);
+
+	// One daemon thread runs the periodic recounts of every helper
+	private static final ScheduledExecutorService RECONCILER = Executors.newSingleThreadScheduledExecutor(r -> {
+		Thread thread = new Thread(r, "statistics-reconciler");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final String dbUrl;
+	private ConnectionPool pool = null;
+	// Ids and roles by userName, behind login and the role checks below
+	private final UserCache userCache = new UserCache(USER_CACHE_SIZE, USER_CACHE_EXPIRE_MILLIS);
+	// Report counters, adjusted by the write methods below
+	private final ContentStatistics contentStatistics = new ContentStatistics();
+	// Most active users, adjusted as questions and answers are written
+	private final ActivityLeaderboard activityLeaderboard = new ActivityLeaderboard();
+	private ReconcileTask reconcileTask = null;
+	// Long-lived connection handed out by getConnection() for tests and ad-hoc SQL
+	private Connection sharedConnection = null;
+
+	// Full-text search fields and result cap
+	public static final int SEARCH_ALL_FIELDS = SearchIndex.ALL_FIELDS;
+	public static final int SEARCH_TITLE = 0;
+	public static final int SEARCH_CONTENT = 1;
+	static final int SEARCH_RESULT_LIMIT = 500;
+
+	// Inverted indexes behind searchQuestions/searchAnswers/searchReviews. They
+	// are loaded from the tables on first use and then kept in step by the
+	// insert/update/delete methods below. A rebuild fills a new set and swaps
+	// it in, so a search never sees a half-loaded index.
+	private volatile SearchIndexes searchIndexes = new SearchIndexes();
+	private volatile boolean searchIndexLoaded = false;
+	// Held by rebuilds and by index writes, so a write is never lost to a swap
+	private final Object searchIndexLock = new Object();
+
+	/** One question, answer and review index, published together. */
+	private static final class SearchIndexes {
+		final SearchIndex questions = new SearchIndex(2.0, 1.0);
+		final SearchIndex answers = new SearchIndex(1.0);
+		final SearchIndex reviews = new SearchIndex(1.0);
+	}
+
+	/** Creates a helper for the application's default database. */
+	public DatabaseHelper() {
+		this(DB_URL);
+	}
+
+	/**
+	 * Creates a helper for another H2 database, e.g. an in-memory one used by
+	 * benchmarks and load tests.
+	 * @param dbUrl JDBC url of the database
+	 */
+	public DatabaseHelper(String dbUrl) {
+		this.dbUrl = dbUrl;
+	}
 
 	public void connectToDatabase() throws SQLException {
 		try {
 			Class.forName(JDBC_DRIVER); // Load the JDBC driver
 			System.out.println("Connecting to database...");
-			connection = DriverManager.getConnection(DB_URL, USER, PASS);
-			statement = connection.createStatement();
+			if (pool != null) {
+				pool.close();
+			}
+			pool = new ConnectionPool(dbUrl, USER, PASS, POOL_SIZE, POOL_TIMEOUT_MILLIS);
+			invalidateSearchIndex();
+			userCache.clear();
+			contentStatistics.invalidate();
+			activityLeaderboard.invalidate();
+			scheduleReconciliation();
 			// You can use this command to clear the database and restart from fresh.
-			// statement.execute("DROP ALL OBJECTS");
+			// executeUpdate("DROP ALL OBJECTS");
 
-			createTables(); // Create the necessary tables if they don't exist
+			try (Connection conn = pool.borrow()) {
+				new SchemaMigrator().migrate(conn); // Apply pending schema migrations; no DDL when current
+			}
 		} catch (ClassNotFoundException e) {
 			System.err.println("JDBC Driver not found: " + e.getMessage());
 			throw new SQLException("JDBC Driver not found", e);
 		}
 	}
 
+	/** (Re)start the periodic recount of the report statistics and leaderboard for this helper. */
+	private void scheduleReconciliation() {
+		if (reconcileTask != null) {
+			reconcileTask.cancel();
+		}
+		reconcileTask = new ReconcileTask(this);
+		reconcileTask.future = RECONCILER.scheduleWithFixedDelay(reconcileTask,
+				STATS_RECONCILE_MILLIS, STATS_RECONCILE_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	private void reconcileStatistics() {
+		ConnectionPool current = pool;
+		if (current == null || current.isClosed()) {
+			return;
+		}
+		try (Connection conn = current.borrow()) {
+			contentStatistics.reconcile(conn);
+			activityLeaderboard.reconcile(conn);
+		} catch (SQLException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Periodic recount for one helper. The shared executor keeps its tasks
+	 * alive, so the task holds the helper weakly and cancels itself once a
+	 * helper that was never closed has been collected.
+	 */
+	private static final class ReconcileTask implements Runnable {
+		private final WeakReference<DatabaseHelper> helper;
+		private volatile ScheduledFuture<?> future;
+
+		ReconcileTask(DatabaseHelper helper) {
+			this.helper = new WeakReference<>(helper);
+		}
+
+		@Override
+		public void run() {
+			DatabaseHelper db = helper.get();
+			if (db == null) {
+				cancel();
+				return;
+			}
+			db.reconcileStatistics();
+		}
+
+		void cancel() {
+			ScheduledFuture<?> scheduled = future;
+			if (scheduled != null) {
+				scheduled.cancel(false);
+			}
+		}
+	}
+
+	/**
+	 * Borrows a pooled connection for a single operation. Closing the returned
+	 * connection hands it back to the pool. Connects first if the pool has not
+	 * been created yet or was closed.
+	 * @return a connection from the pool
+	 * @throws SQLException if no connection becomes available
+	 */
+	private Connection borrowConnection() throws SQLException {
+		if (pool == null || pool.isClosed()) {
+			connectToDatabase();
+		}
+		return pool.borrow();
+	}
+
+	// Brackets a write whose counter and leaderboard updates follow its commit,
+	// so a recount that overlaps it is not installed and the write counted twice.
+	private void beginCountedWrite() {
+		contentStatistics.beginWrite();
+		activityLeaderboard.beginWrite();
+	}
+
+	private void endCountedWrite() {
+		contentStatistics.endWrite();
+		activityLeaderboard.endWrite();
+	}
+
+	/**
+	 * Exposes the connection pool so callers can read its size and wait-time /
+	 * utilization metrics.
+	 * @return the pool backing this helper, or null before connecting
+	 */
+	public ConnectionPool getConnectionPool() {
+		return pool;
+	}
+
+	/**
+	 * Exposes the user cache so callers can read its hit-rate metrics.
+	 * @return the cache of user ids and roles
+	 */
+	public UserCache getUserCache() {
+		return userCache;
+	}
+
+	/**
+	 * Looks up a user's id and roles, from the cache when possible. A miss
+	 * loads the user row and its UserRoles rows in one query.
+	 * @param userName user to look up
+	 * @return the entry, or null if there is no such user
+	 * @throws SQLException on DB error
+	 */
+	private UserCache.Entry cachedUser(String userName) throws SQLException {
+		UserCache.Entry entry = userCache.get(userName);
+		if (entry != null) {
+			return entry;
+		}
+		long generation = userCache.generation();
+		String query = "SELECT u.id, u.role, r.role AS extraRole FROM cse360users u "
+				+ "LEFT JOIN UserRoles r ON r.userName = u.userName WHERE u.userName = ? ORDER BY r.id";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			pstmt.setString(1, userName);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				int userId = -1;
+				String primaryRole = null;
+				List<String> roles = new ArrayList<>();
+				while (rs.next()) {
+					userId = rs.getInt("id");
+					primaryRole = rs.getString("role");
+					String role = rs.getString("extraRole");
+					if (role != null) {
+						roles.add(role);
+					}
+				}
+				if (userId == -1) {
+					return null;
+				}
+				entry = new UserCache.Entry(userId, primaryRole, roles);
+			}
+		}
+		userCache.putIfUnchanged(userName, entry, generation);
+		return entry;
+	}
+
 	// Admin sets a one-time password for a user who forgot theirs
 	public boolean setOneTimePassword(String userName, String otp, Timestamp expiration) {
 		String query = "INSERT INTO OneTimePasswords (userName, otp, expiration) VALUES (?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, userName);
 			pstmt.setString(2, otp);
 			pstmt.setTimestamp(3, expiration);
@@ -74,7 +295,7 @@ public class DatabaseHelper {
 	// Validate a one-time password for a user (not expired, not used)
 	public boolean validateOneTimePassword(String userName, String otp) {
 		String query = "SELECT expiration FROM OneTimePasswords WHERE userName = ? AND otp = ? AND isUsed = FALSE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, userName);
 			pstmt.setString(2, otp);
 			ResultSet rs = pstmt.executeQuery();
@@ -94,7 +315,7 @@ public class DatabaseHelper {
 	// Mark a one-time password as used
 	private void markOneTimePasswordAsUsed(String userName, String otp) {
 		String query = "UPDATE OneTimePasswords SET isUsed = TRUE WHERE userName = ? AND otp = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, userName);
 			pstmt.setString(2, otp);
 			pstmt.executeUpdate();
@@ -103,167 +324,166 @@ public class DatabaseHelper {
 		}
 	}
 
-	private void createTables() throws SQLException {
-		String userTable = "CREATE TABLE IF NOT EXISTS cse360users (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "userName VARCHAR(255) UNIQUE, " + "password VARCHAR(255), " + "name VARCHAR(255), "
-				+ "email VARCHAR(255), " + "role VARCHAR(20))";
-		statement.execute(userTable);
-		// new table for multiple roles
-		String userRolesTable = "CREATE TABLE IF NOT EXISTS UserRoles (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "userName VARCHAR(255), " + "role VARCHAR(20),"
-				+ "FOREIGN KEY (userName) REFERENCES cse360users(userName))";
-		statement.execute(userRolesTable);
-
-		// Create the invitation codes table
-		String invitationCodesTable = "CREATE TABLE IF NOT EXISTS InvitationCodes (" + "code VARCHAR(10) PRIMARY KEY, "
-				+ "email VARCHAR(255), " + "expiration TIMESTAMP, " + "isUsed BOOLEAN DEFAULT FALSE)";
-		statement.execute(invitationCodesTable);
-
-		// Create private messages table
-		String messagesTable = "CREATE TABLE IF NOT EXISTS PrivateMessages (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
-				+ "questionId VARCHAR(64), " + "fromUser VARCHAR(255), " + "toUser VARCHAR(255), "
-				+ "content VARCHAR(2000), " + "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
-				+ "isRead BOOLEAN DEFAULT FALSE)";
-		statement.execute(messagesTable);
-
-		// Create the one-time passwords table
-		String otpTable = "CREATE TABLE IF NOT EXISTS OneTimePasswords (" + "userName VARCHAR(255), "
-				+ "otp VARCHAR(255), " + "expiration TIMESTAMP, " + "isUsed BOOLEAN DEFAULT FALSE, "
-				+ "PRIMARY KEY(userName, otp))";
-		statement.execute(otpTable);
-
-		String questionsTable = "CREATE TABLE IF NOT EXISTS questions (" + "questionId VARCHAR(50) PRIMARY KEY, "
-				+ "title VARCHAR(500) NOT NULL, " + "content TEXT, " + "author VARCHAR(255), "
-				+ "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "followUpOf VARCHAR(50),"
-				+ "isResolved BOOLEAN DEFAULT FALSE, " + "FOREIGN KEY (author) REFERENCES cse360users(userName),"
-				+ "FOREIGN KEY (followUpOf) REFERENCES questions(questionId))";
-		statement.execute(questionsTable);
-
-		String questionTagsTable = "CREATE TABLE IF NOT EXISTS question_tags (" + "questionId VARCHAR(50), "
-				+ "tag VARCHAR(100), " + "PRIMARY KEY (questionId, tag), "
-				+ "FOREIGN KEY (questionId) REFERENCES questions(questionId))";
-		statement.execute(questionTagsTable);
-
-		String answersTable = "CREATE TABLE IF NOT EXISTS answers (" + "answerId VARCHAR(50) PRIMARY KEY, "
-				+ "questionId VARCHAR(50), " + "content VARCHAR(50), " + "author VARCHAR(255), "
-				+ "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "isAccepted BOOLEAN DEFAULT FALSE, "
-				+ "isRead BOOLEAN DEFAULT FALSE, " + "FOREIGN KEY (questionId) REFERENCES questions(questionId), "
-				+ "FOREIGN KEY (author) REFERENCES cse360users(userName))";
-		statement.execute(answersTable);
-
-		// Shows a table for the pending requests
-		String reviewerTables = "CREATE TABLE IF NOT EXISTS reviewer_requests (" + "requestId TEXT PRIMARY KEY,"
-				+ "studentUserName VARCHAR(255)," + "status TEXT DEFAULT 'Pending',"
-				+ "requestDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
-				+ "FOREIGN KEY(studentUserName) REFERENCES cse360users(userName))";
-		statement.execute(reviewerTables);
-
-		// Shows a table of answer for the reviewer
-		String answerReviews = "CREATE TABLE IF NOT EXISTS answer_reviews (" + "reviewId VARCHAR(50) PRIMARY KEY,"
-				+ "answerId VARCHAR(50)," + "reviewerUserName VARCHAR(255)," + "reviewContent TEXT NOT NULL,"
-				+ "parentReviewID VARCHAR(50)," + "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
-				+ "FOREIGN KEY (answerId) REFERENCES answers(answerId),"
-				+ "FOREIGN KEY (reviewerUserName) REFERENCES cse360users(userName))";
-		statement.execute(answerReviews);
-
-		// table for reviewer profiles
-		String reviewerProfileTables = "CREATE TABLE IF NOT EXISTS reviewer_profiles (" + "reviewer_id INT PRIMARY KEY,"
-				+ "name VARCHAR(255)," + "experience VARCHAR(255)," + "FOREIGN KEY (reviewer_id )REFERENCES cse360users(id)) ";
-		statement.execute(reviewerProfileTables);
-		
-		//Shows a table of trusted reviewers for the student
-		String trustedReviewersTable = "CREATE TABLE IF NOT EXISTS trusted_reviewers ("
-				+ "studentUserName VARCHAR(255), "
-				+ "reviewerUserName VARCHAR(255), "
-				+ "weight DOUBLE NOT NULL DEFAULT 1.0, "
-				+ "PRIMARY KEY (studentUserName, reviewerUserName), "
-				+ "FOREIGN KEY (studentUserName) REFERENCES cse360users(userName), "
-				+ "FOREIGN KEY (reviewerUserName) REFERENCES cse360users(userName))";
-		statement.execute(trustedReviewersTable);
-
-		//Used by Staff 
-		String flagsTable = "CREATE TABLE IF NOT EXISTS content_flags (" +
-		        "flagId INT AUTO_INCREMENT PRIMARY KEY, " +
-		        "contentType VARCHAR(20), " +  // 'question', 'answer', 'message', 'review'
-		        "contentId VARCHAR(255), " +
-		        "flaggedBy VARCHAR(255), " +
-		        "reason TEXT, " +
-		        "status VARCHAR(20) DEFAULT 'Pending', " +  // 'Pending', 'Reviewed', 'Resolved'
-		        "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " +
-		        "FOREIGN KEY (flaggedBy) REFERENCES cse360users(userName))";
-		    statement.execute(flagsTable);
-		
-	}
-
 	// Check if the database is empty
 	public boolean isDatabaseEmpty() throws SQLException {
 		String query = "SELECT COUNT(*) AS count FROM cse360users";
-		ResultSet resultSet = statement.executeQuery(query);
-		if (resultSet.next()) {
-			return resultSet.getInt("count") == 0;
+		try (Connection conn = borrowConnection();
+				Statement statement = conn.createStatement();
+				ResultSet resultSet = statement.executeQuery(query)) {
+			if (resultSet.next()) {
+				return resultSet.getInt("count") == 0;
+			}
 		}
 		return true;
 	}
 
 	// Registers a new user in the database.
 	public void register(User user) throws SQLException {
-		String insertUser = "INSERT INTO cse360users (userName, password, name, email, role) VALUES (?,?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertUser)) {
-			pstmt.setString(1, user.getUserName());
-			pstmt.setString(2, user.getPassword());
-			pstmt.setString(3, user.getUserInfoName());
-			pstmt.setString(4, user.getEmail());
-			pstmt.setString(5, user.getRole());
-			pstmt.executeUpdate();
+		beginCountedWrite();
+		try {
+			String insertUser = "INSERT INTO cse360users (userName, password, name, email, role) VALUES (?,?, ?, ?, ?)";
+			try (Connection conn = borrowConnection();
+					PreparedStatement pstmt = conn.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS)) {
+				pstmt.setString(1, user.getUserName());
+				pstmt.setString(2, user.getPassword());
+				pstmt.setString(3, user.getUserInfoName());
+				pstmt.setString(4, user.getEmail());
+				pstmt.setString(5, user.getRole());
+				pstmt.executeUpdate();
 
-			ResultSet rs = pstmt.getGeneratedKeys();
-			if (rs.next()) {
-				user.setUserId(rs.getInt(1));
+				ResultSet rs = pstmt.getGeneratedKeys();
+				if (rs.next()) {
+					user.setUserId(rs.getInt(1));
+				}
+			}
+
+			// insert into userRoles for full role list
+			String insertRole = "INSERT INTO UserRoles (userName, role) VALUES (?,?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(insertRole)) {
+				for (String role : user.getRoles()) {
+					pstmt.setString(1, user.getUserName());
+					pstmt.setString(2, role);
+					pstmt.executeUpdate();
+				}
 			}
+			userCache.put(user.getUserName(), new UserCache.Entry(user.getUserId(), user.getRole(), user.getRoles()));
+			contentStatistics.adjust(ContentStatistics.USERS_PREFIX + user.getRole(), 1);
+		} finally {
+			endCountedWrite();
 		}
+	}
 
-		// insert into userRoles for full role list
-		String insertRole = "INSERT INTO UserRoles (userName, role) VALUES (?,?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertRole)) {
-			for (String role : user.getRoles()) {
-				pstmt.setString(1, user.getUserName());
-				pstmt.setString(2, role);
-				pstmt.executeUpdate();
+	/**
+	 * Registers many users in one transaction, sending the user rows and then
+	 * the role rows as JDBC batches. Each user's id is set from the generated
+	 * keys, as {@link #register} does.
+	 * @param users users to register; none may exist yet
+	 * @throws SQLException on DB error; nothing is registered
+	 */
+	public void registerAll(List<User> users) throws SQLException {
+		beginCountedWrite();
+		try {
+			if (users.isEmpty()) {
+				return;
+			}
+			if (pool == null || pool.isClosed()) {
+				connectToDatabase();
+			}
+			String insertUser = "INSERT INTO cse360users (userName, password, name, email, role) VALUES (?, ?, ?, ?, ?)";
+			String insertRole = "INSERT INTO UserRoles (userName, role) VALUES (?, ?)";
+			Connection connection = pool.beginTransaction();
+			try {
+				try (PreparedStatement pstmt = connection.prepareStatement(insertUser, Statement.RETURN_GENERATED_KEYS)) {
+					for (User user : users) {
+						pstmt.setString(1, user.getUserName());
+						pstmt.setString(2, user.getPassword());
+						pstmt.setString(3, user.getUserInfoName());
+						pstmt.setString(4, user.getEmail());
+						pstmt.setString(5, user.getRole());
+						pstmt.addBatch();
+					}
+					pstmt.executeBatch();
+					try (ResultSet rs = pstmt.getGeneratedKeys()) {
+						for (int i = 0; i < users.size() && rs.next(); i++) {
+							users.get(i).setUserId(rs.getInt(1));
+						}
+					}
+				}
+				try (PreparedStatement pstmt = connection.prepareStatement(insertRole)) {
+					for (User user : users) {
+						for (String role : user.getRoles()) {
+							pstmt.setString(1, user.getUserName());
+							pstmt.setString(2, role);
+							pstmt.addBatch();
+						}
+					}
+					pstmt.executeBatch();
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				pool.endTransaction();
 			}
+			for (User user : users) {
+				userCache.put(user.getUserName(), new UserCache.Entry(user.getUserId(), user.getRole(), user.getRoles()));
+				contentStatistics.adjust(ContentStatistics.USERS_PREFIX + user.getRole(), 1);
+			}
+		} finally {
+			endCountedWrite();
 		}
 	}
 
-	// Loads all existing roles unto getRoles()
-	public List<String> getRolesForUser(String userName) throws SQLException {
-		List<String> roles = new ArrayList<>();
-		String sql = "SELECT role FROM user_roles WHERE userName = ?";
-		try (PreparedStatement stmt = connection.prepareStatement(sql)) {
-			stmt.setString(1, userName);
-			try (ResultSet rs = stmt.executeQuery()) {
+	/**
+	 * Finds which of the given user names are already taken, in one query.
+	 * @param userNames user names to look up
+	 * @return the ones that exist
+	 * @throws SQLException on DB error
+	 */
+	public Set<String> findExistingUserNames(Collection<String> userNames) throws SQLException {
+		Set<String> existing = new HashSet<>();
+		if (userNames.isEmpty()) {
+			return existing;
+		}
+		String query = "SELECT userName FROM cse360users WHERE userName = ANY(?)";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			pstmt.setArray(1, conn.createArrayOf("VARCHAR", userNames.toArray()));
+			try (ResultSet rs = pstmt.executeQuery()) {
 				while (rs.next()) {
-					roles.add(rs.getString("role"));
+					existing.add(rs.getString(1));
 				}
 			}
 		}
-		return roles;
+		return existing;
 	}
 
-	// Validates a user's login credentials.
+	// Loads all existing roles unto getRoles()
+	public List<String> getRolesForUser(String userName) throws SQLException {
+		UserCache.Entry entry = cachedUser(userName);
+		return entry == null ? new ArrayList<>() : new ArrayList<>(entry.getRoles());
+	}
+
+	// Validates a user's login credentials. The password is always checked
+	// against the table; the id and roles come from the user cache.
 	public boolean login(User user) throws SQLException {
-		String query = "SELECT * FROM cse360users WHERE userName = ? AND password = ? AND role = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		String query = "SELECT role FROM cse360users WHERE userName = ? AND password = ? AND role = ?";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, user.getUserName());
 			pstmt.setString(2, user.getPassword());
 			pstmt.setString(3, user.getRole());
 			try (ResultSet rs = pstmt.executeQuery()) {
 				if (rs.next()) {
 					// login successful
-					int id = rs.getInt("id");
-					user.setUserId(id);
+					UserCache.Entry entry = cachedUser(user.getUserName());
+					if (entry == null) {
+						return false; // deleted since the credential check
+					}
+					user.setUserId(entry.getUserId());
 
 					// step 2: clear and load roles from UserRoles
 					user.getRoles().clear();
-					List<String> roles = getUserRoles(user.getUserName());
+					List<String> roles = entry.getRoles();
 					if (!roles.isEmpty()) {
 						for (String role : roles) {
 							user.addRole(role);
@@ -285,16 +505,8 @@ public class DatabaseHelper {
 
 	// Checks if a user already exists in the database based on their userName.
 	public boolean doesUserExist(String userName) {
-		String query = "SELECT COUNT(*) FROM cse360users WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-
-			pstmt.setString(1, userName);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {
-				// If the count is greater than 0, the user exists
-				return rs.getInt(1) > 0;
-			}
+		try {
+			return cachedUser(userName) != null;
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
@@ -303,13 +515,10 @@ public class DatabaseHelper {
 
 	// Retrieves the role of a user from the database using their UserName.
 	public String getUserRole(String userName) {
-		String query = "SELECT role FROM cse360users WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, userName);
-			ResultSet rs = pstmt.executeQuery();
-
-			if (rs.next()) {
-				return rs.getString("role"); // Return the role if user exists
+		try {
+			UserCache.Entry entry = cachedUser(userName);
+			if (entry != null) {
+				return entry.getPrimaryRole(); // Return the role if user exists
 			}
 		} catch (SQLException e) {
 			e.printStackTrace();
@@ -319,23 +528,15 @@ public class DatabaseHelper {
 
 	// Retrieves multiple roles from user from database using their Username.
 	public List<String> getUserRoles(String userName) {
-		List<String> roles = new ArrayList<>();
-		String query = "SELECT role FROM UserRoles WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, userName);
-			ResultSet rs = pstmt.executeQuery();
-
-			while (rs.next()) {
-				String role = rs.getString("role");
-				roles.add(role);
-
+		try {
+			UserCache.Entry entry = cachedUser(userName);
+			if (entry != null) {
+				return new ArrayList<>(entry.getRoles());
 			}
-			return roles;
-
 		} catch (SQLException e) {
 			e.printStackTrace();
 		}
-		return roles;
+		return new ArrayList<>();
 	}
 
 	// Generates a new invitation code, associates it with an email and expiration,
@@ -346,7 +547,7 @@ public class DatabaseHelper {
 		}
 		String code = UUID.randomUUID().toString().substring(0, 6); // 6-char code
 		String query = "INSERT INTO InvitationCodes (code, email, expiration) VALUES (?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, code);
 			pstmt.setString(2, email);
 			pstmt.setTimestamp(3, expiration);
@@ -371,7 +572,7 @@ public class DatabaseHelper {
 	// Validates an invitation code to check if it is unused and not expired.
 	public boolean validateInvitationCode(String code) {
 		String query = "SELECT expiration FROM InvitationCodes WHERE code = ? AND isUsed = FALSE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, code);
 			ResultSet rs = pstmt.executeQuery();
 			if (rs.next()) {
@@ -391,7 +592,7 @@ public class DatabaseHelper {
 	// Marks the invitation code as used in the database.
 	private void markInvitationCodeAsUsed(String code) {
 		String query = "UPDATE InvitationCodes SET isUsed = TRUE WHERE code = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, code);
 			pstmt.executeUpdate();
 		} catch (SQLException e) {
@@ -399,72 +600,103 @@ public class DatabaseHelper {
 		}
 	}
 
-	// Closes the database connection and statement.
+	// Closes the shared connection and every pooled connection.
 	public void closeConnection() {
 		try {
-			if (statement != null)
-				statement.close();
+			if (sharedConnection != null)
+				sharedConnection.close();
 		} catch (SQLException se2) {
 			se2.printStackTrace();
 		}
-		try {
-			if (connection != null)
-				connection.close();
-		} catch (SQLException se) {
-			se.printStackTrace();
+		sharedConnection = null;
+		if (reconcileTask != null) {
+			reconcileTask.cancel();
+			reconcileTask = null;
 		}
+		if (pool != null)
+			pool.close();
 	}
 
 	// Method to get all users
 	public List<User> getAllUsers() throws SQLException {
 		List<User> users = new ArrayList<>();
 		String query = "SELECT * FROM cse360users";
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
 			while (rs.next()) {
-				User user = new User(rs.getString("userName"), rs.getString("password"), rs.getString("name"),
-						rs.getString("email"), rs.getString("role") // we can add other fields as needed here
-				);
-				users.add(user);
+				users.add(mapUser(rs));
 			}
 		}
 		return users;
 	}
 
+	private User mapUser(ResultSet rs) throws SQLException {
+		return new User(rs.getString("userName"), rs.getString("password"), rs.getString("name"),
+				rs.getString("email"), rs.getString("role") // we can add other fields as needed here
+		);
+	}
+
 	// Method to delete a user
 	public boolean deleteUser(String userName, String currentAdmin) throws SQLException {
-		// Prevent admin from deleting themselves
-		if (userName.equals(currentAdmin)) {
-			return false;
-		}
+		beginCountedWrite();
+		try {
+			// Prevent admin from deleting themselves
+			if (userName.equals(currentAdmin)) {
+				return false;
+			}
 
-		String query = "DELETE FROM cse360users WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, userName);
-			return pstmt.executeUpdate() > 0;
+			// The deleted row's role comes back with the delete, for the per-role counts
+			String query = "SELECT role FROM OLD TABLE (DELETE FROM cse360users WHERE userName = ?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, userName);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (rs.next()) {
+						contentStatistics.adjust(ContentStatistics.USERS_PREFIX + rs.getString("role"), -1);
+						return true;
+					}
+					return false;
+				}
+			} finally {
+				userCache.invalidate(userName);
+			}
+		} finally {
+			endCountedWrite();
 		}
 	}
 
 	// Method to update user roles
 	public boolean updateUserRole(String userName, String newRole, String currentAdmin) throws SQLException {
-		// Prevent an admin from removing their own admin role
-		if (userName.equals(currentAdmin) && !newRole.contains("admin")) {
-			// Check if there's at least one other admin
-			if (countAdmins() <= 1) {
-				return false;
+		beginCountedWrite();
+		try {
+			// Prevent an admin from removing their own admin role
+			if (userName.equals(currentAdmin) && !newRole.contains("admin")) {
+				// Check if there's at least one other admin
+				if (countAdmins() <= 1) {
+					return false;
+				}
 			}
-		}
 
-		String query = "UPDATE cse360users SET role = ? WHERE userName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, newRole);
-			pstmt.setString(2, userName);
-			return pstmt.executeUpdate() > 0;
+			String query = "SELECT role FROM OLD TABLE (UPDATE cse360users SET role = ? WHERE userName = ?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, newRole);
+				pstmt.setString(2, userName);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (rs.next()) {
+						contentStatistics.moveUser(rs.getString("role"), newRole);
+						return true;
+					}
+					return false;
+				}
+			} finally {
+				userCache.invalidate(userName);
+			}
+		} finally {
+			endCountedWrite();
 		}
 	}
 
 	private int countAdmins() throws SQLException {
 		String query = "SELECT COUNT(*) FROM cse360users WHERE role = 'admin'";
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
 			if (rs.next()) {
 				return rs.getInt(1);
 			}
@@ -473,64 +705,83 @@ public class DatabaseHelper {
 	}
 
 	public boolean updateUserRoles(String userName, List<String> newRoles, String currentAdmin) throws SQLException {
-		// Prevent an admin from removing their own admin role if they're the last admin
-		if (userName.equals(currentAdmin) && !newRoles.contains("admin")) {
-			if (countAdmins() <= 1) {
-				return false;
-			}
-		}
-
-		// Use transaction to ensure consistency
-		connection.setAutoCommit(false);
+		beginCountedWrite();
 		try {
-			// Delete all existing roles for this user
-			String deleteQuery = "DELETE FROM UserRoles WHERE userName = ?";
-			try (PreparedStatement deleteStmt = connection.prepareStatement(deleteQuery)) {
-				deleteStmt.setString(1, userName);
-				deleteStmt.executeUpdate();
-			}
-
-			// Insert the new roles
-			String insertQuery = "INSERT INTO UserRoles (userName, role) VALUES (?, ?)";
-			try (PreparedStatement insertStmt = connection.prepareStatement(insertQuery)) {
-				for (String role : newRoles) {
-					insertStmt.setString(1, userName);
-					insertStmt.setString(2, role);
-					insertStmt.executeUpdate();
-					
+			// Prevent an admin from removing their own admin role if they're the last admin
+			if (userName.equals(currentAdmin) && !newRoles.contains("admin")) {
+				if (countAdmins() <= 1) {
+					return false;
 				}
 			}
 
-			// Update the primary role in cse360users (use the first role)
-			String updateQuery = "UPDATE cse360users SET role = ? WHERE userName = ?";
-			try (PreparedStatement updateStmt = connection.prepareStatement(updateQuery)) {
-				updateStmt.setString(1, newRoles.isEmpty() ? null : newRoles.get(0));
-				updateStmt.setString(2, userName);
-				updateStmt.executeUpdate();		
-				
+			// Use transaction to ensure consistency; nested calls share the bound connection
+			if (pool == null || pool.isClosed()) {
+				connectToDatabase();
 			}
+			Connection connection = pool.beginTransaction();
+			String oldPrimaryRole = null;
+			boolean primaryRoleUpdated = false;
+			try {
+				// Delete all existing roles for this user
+				String deleteQuery = "DELETE FROM UserRoles WHERE userName = ?";
+				try (PreparedStatement deleteStmt = connection.prepareStatement(deleteQuery)) {
+					deleteStmt.setString(1, userName);
+					deleteStmt.executeUpdate();
+				}
+
+				// Insert the new roles
+				String insertQuery = "INSERT INTO UserRoles (userName, role) VALUES (?, ?)";
+				try (PreparedStatement insertStmt = connection.prepareStatement(insertQuery)) {
+					for (String role : newRoles) {
+						insertStmt.setString(1, userName);
+						insertStmt.setString(2, role);
+						insertStmt.executeUpdate();
+					
+					}
+				}
+
+				// Update the primary role in cse360users (use the first role)
+				String newPrimaryRole = newRoles.isEmpty() ? null : newRoles.get(0);
+				String updateQuery = "SELECT role FROM OLD TABLE (UPDATE cse360users SET role = ? WHERE userName = ?)";
+				try (PreparedStatement updateStmt = connection.prepareStatement(updateQuery)) {
+					updateStmt.setString(1, newPrimaryRole);
+					updateStmt.setString(2, userName);
+					try (ResultSet rs = updateStmt.executeQuery()) {
+						if (rs.next()) {
+							oldPrimaryRole = rs.getString("role");
+							primaryRoleUpdated = true;
+						}
+					}
+				}
 			
-			System.out.println("roles being assigned: " + newRoles);
-			if(newRoles.stream().anyMatch(r -> r.trim().equalsIgnoreCase("Reviewer"))) {
-				int userId = getUserIdByUsername(userName);
-				System.out.print("User ID for profile creation: " + userId);
-				if(!reviewerProfileExists(userId)) {
+				System.out.println("roles being assigned: " + newRoles);
+				if(newRoles.stream().anyMatch(r -> r.trim().equalsIgnoreCase("Reviewer"))) {
+					int userId = getUserIdByUsername(userName);
+					System.out.print("User ID for profile creation: " + userId);
+					if(!reviewerProfileExists(userId)) {
 					
-					createReviewerProfile(userId,userName);
-					System.out.println("Created reviewer profile for: " + userName);
+						createReviewerProfile(userId,userName);
+						System.out.println("Created reviewer profile for: " + userName);
 					
-				}else {
-					System.out.println("Reviewer profile exists");
+					}else {
+						System.out.println("Reviewer profile exists");
+					}
 				}
-			}
 
-			connection.commit();
-			return true;
-		} catch (SQLException e) {
-			connection.rollback();
-			throw e;
+				connection.commit();
+				if (primaryRoleUpdated) {
+					contentStatistics.moveUser(oldPrimaryRole, newRoles.isEmpty() ? null : newRoles.get(0));
+				}
+				return true;
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				pool.endTransaction();
+				userCache.invalidate(userName);
+			}
 		} finally {
-			connection.setAutoCommit(true);
+			endCountedWrite();
 		}
 	}
 
@@ -543,44 +794,102 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public boolean insertQuestion(Question question) throws SQLException {
-		String query = "INSERT INTO questions (questionId, title, content, author, createdAt, followUpOf, isResolved) VALUES (?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, question.getQuestionId());
-			pstmt.setString(2, question.getTitle());
-			pstmt.setString(3, question.getContent());
-			pstmt.setString(4, question.getAuthor());
-			pstmt.setTimestamp(5, Timestamp.valueOf(java.time.LocalDateTime.now()));
-			pstmt.setObject(6, question.getFollowUpOf());
-			pstmt.setBoolean(7, question.getIsResolved());
-
-			int rowsAffected = pstmt.executeUpdate();
-
-			// Insert tags
-			if (rowsAffected > 0) {
-				insertQuestionTags(question);
+		beginCountedWrite();
+		try {
+			String query = "INSERT INTO questions (questionId, title, content, author, createdAt, followUpOf, isResolved) VALUES (?, ?, ?, ?, ?, ?, ?)";
+			if (pool == null || pool.isClosed()) {
+				connectToDatabase();
+			}
+			// The question and its tags are written in one transaction
+			Connection connection = pool.beginTransaction();
+			Timestamp createdAt = Timestamp.valueOf(java.time.LocalDateTime.now());
+			int rowsAffected;
+			try {
+				try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+					pstmt.setString(1, question.getQuestionId());
+					pstmt.setString(2, question.getTitle());
+					pstmt.setString(3, question.getContent());
+					pstmt.setString(4, question.getAuthor());
+					pstmt.setTimestamp(5, createdAt);
+					pstmt.setObject(6, question.getFollowUpOf());
+					pstmt.setBoolean(7, question.getIsResolved());
+					rowsAffected = pstmt.executeUpdate();
+				}
+				if (rowsAffected > 0) {
+					insertQuestionTags(connection, question.getQuestionId(), new LinkedHashSet<>(question.getTags()));
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				pool.endTransaction();
 			}
 
+			if (rowsAffected > 0) {
+				contentStatistics.adjust(ContentStatistics.TOTAL_QUESTIONS, 1);
+				if (!question.getIsResolved()) {
+					contentStatistics.adjust(ContentStatistics.UNRESOLVED_QUESTIONS, 1);
+				}
+				activityLeaderboard.record(question.getAuthor(), createdAt, 1);
+				indexQuestion(question);
+			}
 			return rowsAffected > 0;
+		} finally {
+			endCountedWrite();
 		}
 	}
 
-	private void insertQuestionTags(Question question) throws SQLException {
-		String deleteQuery = "DELETE FROM question_tags WHERE questionId = ?";
-		try (PreparedStatement deleteStmt = connection.prepareStatement(deleteQuery)) {
-			deleteStmt.setString(1, question.getQuestionId());
-			deleteStmt.executeUpdate();
+	// Tag rows are written and removed as one batch each, so a question's tag
+	// count never changes the number of round trips.
+	private static void insertQuestionTags(Connection conn, String questionId, Collection<String> tags) throws SQLException {
+		if (tags.isEmpty()) {
+			return;
 		}
-
 		String insertQuery = "INSERT INTO question_tags (questionId, tag) VALUES (?, ?)";
-		try (PreparedStatement insertStmt = connection.prepareStatement(insertQuery)) {
-			for (String tag : question.getTags()) {
-				insertStmt.setString(1, question.getQuestionId());
+		try (PreparedStatement insertStmt = conn.prepareStatement(insertQuery)) {
+			for (String tag : tags) {
+				insertStmt.setString(1, questionId);
 				insertStmt.setString(2, tag);
-				insertStmt.executeUpdate();
+				insertStmt.addBatch();
+			}
+			insertStmt.executeBatch();
+		}
+	}
+
+	private static void deleteQuestionTags(Connection conn, String questionId, Collection<String> tags) throws SQLException {
+		if (tags.isEmpty()) {
+			return;
+		}
+		String deleteQuery = "DELETE FROM question_tags WHERE questionId = ? AND tag = ?";
+		try (PreparedStatement deleteStmt = conn.prepareStatement(deleteQuery)) {
+			for (String tag : tags) {
+				deleteStmt.setString(1, questionId);
+				deleteStmt.setString(2, tag);
+				deleteStmt.addBatch();
 			}
+			deleteStmt.executeBatch();
 		}
 	}
 
+	// Replaces a question's tags by applying only the difference from the stored set
+	private static void updateQuestionTags(Connection conn, String questionId, List<String> tags) throws SQLException {
+		Set<String> removed = new LinkedHashSet<>();
+		try (PreparedStatement pstmt = conn.prepareStatement("SELECT tag FROM question_tags WHERE questionId = ?")) {
+			pstmt.setString(1, questionId);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					removed.add(rs.getString("tag"));
+				}
+			}
+		}
+		Set<String> added = new LinkedHashSet<>(tags);
+		added.removeAll(removed);
+		removed.removeAll(tags);
+		deleteQuestionTags(conn, questionId, removed);
+		insertQuestionTags(conn, questionId, added);
+	}
+
 	/**
 	 * Update an existing question record.
 	 * @param question Updated question object
@@ -589,73 +898,235 @@ public class DatabaseHelper {
 	 */
 	public boolean updateQuestion(Question question) throws SQLException {
 		String query = "UPDATE questions SET title = ?, content = ?, followUpOf = ? WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, question.getTitle());
-			pstmt.setString(2, question.getContent());
-			pstmt.setObject(3, question.getFollowUpOf());
-			pstmt.setString(4, question.getQuestionId());
-
-			int rowsAffected = pstmt.executeUpdate();
-
-			// Update tags
+		if (pool == null || pool.isClosed()) {
+			connectToDatabase();
+		}
+		// The question and its tag changes are written in one transaction
+		Connection connection = pool.beginTransaction();
+		int rowsAffected;
+		try {
+			try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+				pstmt.setString(1, question.getTitle());
+				pstmt.setString(2, question.getContent());
+				pstmt.setObject(3, question.getFollowUpOf());
+				pstmt.setString(4, question.getQuestionId());
+				rowsAffected = pstmt.executeUpdate();
+			}
 			if (rowsAffected > 0) {
-				insertQuestionTags(question);
+				updateQuestionTags(connection, question.getQuestionId(), question.getTags());
 			}
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		} finally {
+			pool.endTransaction();
+		}
 
-			return rowsAffected > 0;
+		if (rowsAffected > 0) {
+			indexQuestion(question);
 		}
+		return rowsAffected > 0;
 	}
 
 	/**
-	 * Delete a question and its tags/answers by id.
+	 * Delete a question, its follow-ups and everything attached to them by id.
 	 * @param questionId id of the question to delete
 	 * @return true if deletion succeeded
 	 * @throws SQLException on DB error
+	 * @see #deleteQuestionTree(String)
 	 */
 	public boolean deleteQuestion(String questionId) throws SQLException {
-		String deleteAnswersQuery = "DELETE FROM answers WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(deleteAnswersQuery)) {
-			pstmt.setString(1, questionId);
-			pstmt.executeUpdate();
-		}
+		return deleteQuestionTree(questionId).getQuestions() > 0;
+	}
 
-		String deleteTagsQuery = "DELETE FROM question_tags WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(deleteTagsQuery)) {
-			pstmt.setString(1, questionId);
-			pstmt.executeUpdate();
-		}
+	// The question and every follow-up under it. The path stops a follow-up
+	// cycle, which updateQuestion can create, from recursing forever.
+	private static final String QUESTION_TREE_QUERY = "WITH RECURSIVE tree(questionId, path) AS ("
+			+ "SELECT questionId, CAST('/' || questionId || '/' AS VARCHAR) FROM questions WHERE questionId = ? "
+			+ "UNION ALL SELECT q.questionId, t.path || q.questionId || '/' FROM questions q "
+			+ "JOIN tree t ON q.followUpOf = t.questionId WHERE POSITION('/' || q.questionId || '/' IN t.path) = 0) "
+			+ "SELECT DISTINCT questionId FROM tree";
 
-		String deleteQuestionQuery = "DELETE FROM questions WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(deleteQuestionQuery)) {
-			pstmt.setString(1, questionId);
-			return pstmt.executeUpdate() > 0;
+	/**
+	 * Deletes a question and its whole follow-up subtree in one transaction,
+	 * with everything attached: tags, answers, reviews of those answers, the
+	 * questions' private messages and the reviews' feedback, and flags on any
+	 * of them. The subtree is found with one recursive query and each table is
+	 * then cleared with one set-based statement, so the cost in round trips is
+	 * the same for any tree size. Counters, the leaderboard and the search
+	 * index are updated from the deleted rows after the commit.
+	 * @param questionId id of the root question
+	 * @return rows deleted per table and the time taken; all zero if the question does not exist
+	 * @throws SQLException on DB error; nothing is deleted
+	 */
+	public CascadeDeleteReport deleteQuestionTree(String questionId) throws SQLException {
+		beginCountedWrite();
+		try {
+			long start = System.nanoTime();
+			if (pool == null || pool.isClosed()) {
+				connectToDatabase();
+			}
+			List<String> questionIds = new ArrayList<>();
+			List<String> answerIds = new ArrayList<>();
+			List<String> reviewIds = new ArrayList<>();
+			// Author and creation time of each deleted question and answer, for the leaderboard
+			List<String> authors = new ArrayList<>();
+			List<Timestamp> createdAts = new ArrayList<>();
+			int unresolved = 0;
+			int tags;
+			int messages = 0;
+			int flags = 0;
+			int pendingFlags = 0;
+			Connection connection = pool.beginTransaction();
+			try {
+				try (PreparedStatement pstmt = connection.prepareStatement(QUESTION_TREE_QUERY)) {
+					pstmt.setString(1, questionId);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							questionIds.add(rs.getString(1));
+						}
+					}
+				}
+				if (questionIds.isEmpty()) {
+					connection.commit();
+					return new CascadeDeleteReport(0, 0, 0, 0, 0, 0, System.nanoTime() - start);
+				}
+				Array questionArray = connection.createArrayOf("VARCHAR", questionIds.toArray());
+
+				String deleteReviews = "SELECT reviewId FROM OLD TABLE (DELETE FROM answer_reviews WHERE answerId IN "
+						+ "(SELECT answerId FROM answers WHERE questionId = ANY(?)))";
+				try (PreparedStatement pstmt = connection.prepareStatement(deleteReviews)) {
+					pstmt.setArray(1, questionArray);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							reviewIds.add(rs.getString(1));
+						}
+					}
+				}
+
+				String deleteAnswers = "SELECT answerId, author, createdAt FROM OLD TABLE (DELETE FROM answers WHERE questionId = ANY(?))";
+				try (PreparedStatement pstmt = connection.prepareStatement(deleteAnswers)) {
+					pstmt.setArray(1, questionArray);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							answerIds.add(rs.getString("answerId"));
+							authors.add(rs.getString("author"));
+							createdAts.add(rs.getTimestamp("createdAt"));
+						}
+					}
+				}
+
+				// Question messages are keyed by question id, review feedback by REV: and the review id
+				List<String> messageKeys = new ArrayList<>(questionIds);
+				for (String reviewId : reviewIds) {
+					messageKeys.add("REV:" + reviewId);
+				}
+				List<String> messageIds = new ArrayList<>();
+				String deleteMessages = "SELECT id FROM OLD TABLE (DELETE FROM PrivateMessages WHERE questionId = ANY(?))";
+				try (PreparedStatement pstmt = connection.prepareStatement(deleteMessages)) {
+					pstmt.setArray(1, connection.createArrayOf("VARCHAR", messageKeys.toArray()));
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							messageIds.add(String.valueOf(rs.getInt(1)));
+							messages++;
+						}
+					}
+				}
+
+				String deleteFlags = "SELECT status FROM OLD TABLE (DELETE FROM content_flags WHERE "
+						+ "(contentType = 'question' AND contentId = ANY(?)) OR (contentType = 'answer' AND contentId = ANY(?)) "
+						+ "OR (contentType = 'review' AND contentId = ANY(?)) OR (contentType = 'message' AND contentId = ANY(?)))";
+				try (PreparedStatement pstmt = connection.prepareStatement(deleteFlags)) {
+					pstmt.setArray(1, questionArray);
+					pstmt.setArray(2, connection.createArrayOf("VARCHAR", answerIds.toArray()));
+					pstmt.setArray(3, connection.createArrayOf("VARCHAR", reviewIds.toArray()));
+					pstmt.setArray(4, connection.createArrayOf("VARCHAR", messageIds.toArray()));
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							flags++;
+							if (ContentStatistics.PENDING_STATUS.equals(rs.getString("status"))) {
+								pendingFlags++;
+							}
+						}
+					}
+				}
+
+				try (PreparedStatement pstmt = connection.prepareStatement("DELETE FROM question_tags WHERE questionId = ANY(?)")) {
+					pstmt.setArray(1, questionArray);
+					tags = pstmt.executeUpdate();
+				}
+
+				// A single DELETE checks the follow-up foreign key row by row, so unlink the tree first
+				String unlink = "UPDATE questions SET followUpOf = NULL WHERE questionId = ANY(?) AND followUpOf IS NOT NULL";
+				try (PreparedStatement pstmt = connection.prepareStatement(unlink)) {
+					pstmt.setArray(1, questionArray);
+					pstmt.executeUpdate();
+				}
+				String deleteQuestions = "SELECT isResolved, author, createdAt FROM OLD TABLE (DELETE FROM questions WHERE questionId = ANY(?))";
+				try (PreparedStatement pstmt = connection.prepareStatement(deleteQuestions)) {
+					pstmt.setArray(1, questionArray);
+					try (ResultSet rs = pstmt.executeQuery()) {
+						while (rs.next()) {
+							if (!rs.getBoolean("isResolved")) {
+								unresolved++;
+							}
+							authors.add(rs.getString("author"));
+							createdAts.add(rs.getTimestamp("createdAt"));
+						}
+					}
+				}
+				connection.commit();
+			} catch (SQLException e) {
+				connection.rollback();
+				throw e;
+			} finally {
+				pool.endTransaction();
+			}
+
+			contentStatistics.adjust(ContentStatistics.TOTAL_QUESTIONS, -questionIds.size());
+			contentStatistics.adjust(ContentStatistics.UNRESOLVED_QUESTIONS, -unresolved);
+			contentStatistics.adjust(ContentStatistics.TOTAL_ANSWERS, -answerIds.size());
+			contentStatistics.adjust(ContentStatistics.TOTAL_REVIEWS, -reviewIds.size());
+			contentStatistics.adjust(ContentStatistics.TOTAL_MESSAGES, -messages);
+			contentStatistics.adjust(ContentStatistics.PENDING_FLAGS, -pendingFlags);
+			for (int i = 0; i < authors.size(); i++) {
+				activityLeaderboard.record(authors.get(i), createdAts.get(i), -1);
+			}
+			synchronized (searchIndexLock) {
+				SearchIndexes indexes = searchIndexes;
+				for (String id : questionIds) {
+					indexes.questions.remove(id);
+				}
+				for (String id : answerIds) {
+					indexes.answers.remove(id);
+				}
+				for (String id : reviewIds) {
+					indexes.reviews.remove(id);
+				}
+			}
+			return new CascadeDeleteReport(questionIds.size(), tags, answerIds.size(), reviewIds.size(), messages, flags,
+					System.nanoTime() - start);
+		} finally {
+			endCountedWrite();
 		}
 	}
 
+	// Questions and their tags are fetched with one LEFT JOIN instead of one
+	// question_tags query per row. Ordering by questionId after createdAt keeps
+	// the tag rows of a question adjacent so they can be folded in one pass.
+	private static final String QUESTION_WITH_TAGS_SELECT = "SELECT q.questionId, q.title, q.content, q.author, "
+			+ "q.createdAt, q.followUpOf, q.isResolved, t.tag FROM questions q "
+			+ "LEFT JOIN question_tags t ON t.questionId = q.questionId ";
+	private static final String QUESTION_WITH_TAGS_ORDER = " ORDER BY q.createdAt DESC, q.questionId";
+
 	/**
 	 * Retrieve all questions ordered by creation time (desc).
 	 * @return list of Question
 	 * @throws SQLException on DB error
 	 */
 	public List<Question> getAllQuestions() throws SQLException {
-		List<Question> questions = new ArrayList<>();
-		String query = "SELECT * FROM questions ORDER BY createdAt DESC";
-
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
-
-			while (rs.next()) {
-				Question question = new Question(rs.getString("questionId"), rs.getString("title"),
-						rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt"), // Use toString()
-						rs.getString("followUpOf"));
-
-				question.setIsResolved(rs.getBoolean("isResolved"));
-
-				// Load tags for this question
-				loadQuestionTags(question);
-				questions.add(question);
-			}
-		}
-		return questions;
+		return queryQuestionsWithTags("");
 	}
 
 	/**
@@ -665,21 +1136,57 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public List<Question> searchQuestionsByTitle(String keyword) throws SQLException {
-		List<Question> questions = new ArrayList<>();
-		String query = "SELECT * FROM questions WHERE LOWER(title) LIKE LOWER(?) ORDER BY createdAt DESC";
+		return queryQuestionsWithTags("WHERE LOWER(q.title) LIKE LOWER(?)", "%" + keyword + "%");
+	}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, "%" + keyword + "%");
+	/**
+	 * Search questions by exact author username.
+	 * @param author author userName to filter by
+	 * @return list of matching Question
+	 * @throws SQLException on DB error
+	 */
+	public List<Question> searchQuestionsByAuthor(String author) throws SQLException {
+		return queryQuestionsWithTags("WHERE q.author = ?", author);
+	}
+
+	/**
+	 * Search questions by content (case-insensitive substring).
+	 * @param keyword substring to search in content
+	 * @return list of matching Question
+	 * @throws SQLException on DB error
+	 */
+	public List<Question> searchQuestionsByContent(String keyword) throws SQLException {
+		return queryQuestionsWithTags("WHERE LOWER(q.content) LIKE LOWER(?)", "%" + keyword + "%");
+	}
+
+	/**
+	 * Run the joined question/tag query with an optional WHERE clause and build
+	 * each Question, tags included, from a single result set.
+	 * @param whereClause filter on alias {@code q}, or empty for all questions
+	 * @param params values for the clause's placeholders, in order
+	 * @return list of Question ordered by creation time (desc)
+	 * @throws SQLException on DB error
+	 */
+	private List<Question> queryQuestionsWithTags(String whereClause, String... params) throws SQLException {
+		List<Question> questions = new ArrayList<>();
+		String query = QUESTION_WITH_TAGS_SELECT + whereClause + QUESTION_WITH_TAGS_ORDER;
 
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			for (int i = 0; i < params.length; i++) {
+				pstmt.setString(i + 1, params[i]);
+			}
 			try (ResultSet rs = pstmt.executeQuery()) {
+				Question current = null;
 				while (rs.next()) {
-					Question question = new Question(rs.getString("questionId"), rs.getString("title"),
-							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt") // Use
-																											// toString()
-					);
-					question.setIsResolved(rs.getBoolean("isResolved"));
-					loadQuestionTags(question);
-					questions.add(question);
+					String questionId = rs.getString("questionId");
+					if (current == null || !current.getQuestionId().equals(questionId)) {
+						current = mapQuestion(rs);
+						questions.add(current);
+					}
+					String tag = rs.getString("tag");
+					if (tag != null) {
+						current.addTag(tag);
+					}
 				}
 			}
 		}
@@ -687,69 +1194,338 @@ public class DatabaseHelper {
 	}
 
 	/**
-	 * Search questions by exact author username.
-	 * @param author author userName to filter by
-	 * @return list of matching Question
+	 * Build a Question from the current row of a result set over {@code questions}.
+	 * Tags are not read here.
+	 * @param rs result set positioned on a question row
+	 * @return the mapped Question
 	 * @throws SQLException on DB error
 	 */
-	public List<Question> searchQuestionsByAuthor(String author) throws SQLException {
-		List<Question> questions = new ArrayList<>();
-		String query = "SELECT * FROM questions WHERE author = ? ORDER BY createdAt DESC";
-
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, author);
+	private Question mapQuestion(ResultSet rs) throws SQLException {
+		Question question = new Question(rs.getString("questionId"), rs.getString("title"), rs.getString("content"),
+				rs.getString("author"), rs.getTimestamp("createdAt"), rs.getString("followUpOf"));
+		question.setIsResolved(rs.getBoolean("isResolved"));
+		return question;
+	}
 
+	/**
+	 * Retrieve every question together with its tags, answer count, answered flag
+	 * and, for questions the viewer wrote, the number of unread answers. Answers
+	 * are aggregated in one grouped subquery, so the whole list costs a single
+	 * round trip instead of two queries per question.
+	 * @param viewerUserName user looking at the list; unread counts are only
+	 *                       reported on their own questions
+	 * @return list of Question ordered by creation time (desc)
+	 * @throws SQLException on DB error
+	 */
+	public List<Question> getQuestionListView(String viewerUserName) throws SQLException {
+		List<Question> questions = new ArrayList<>();
+		String query = "SELECT q.questionId, q.title, q.content, q.author, q.createdAt, q.followUpOf, q.isResolved, "
+				+ "t.tag, COALESCE(a.answerCount, 0) AS answerCount, "
+				+ "CASE WHEN q.author = ? THEN COALESCE(a.unreadCount, 0) ELSE 0 END AS unreadCount "
+				+ "FROM questions q "
+				+ "LEFT JOIN (SELECT questionId, COUNT(*) AS answerCount, "
+				+ "SUM(CASE WHEN isRead = FALSE THEN 1 ELSE 0 END) AS unreadCount "
+				+ "FROM answers GROUP BY questionId) a ON a.questionId = q.questionId "
+				+ "LEFT JOIN question_tags t ON t.questionId = q.questionId"
+				+ QUESTION_WITH_TAGS_ORDER;
+
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			pstmt.setString(1, viewerUserName);
 			try (ResultSet rs = pstmt.executeQuery()) {
+				Question current = null;
 				while (rs.next()) {
-					Question question = new Question(rs.getString("questionId"), rs.getString("title"),
-							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt"));
-					question.setIsResolved(rs.getBoolean("isResolved"));
-					loadQuestionTags(question);
-					questions.add(question);
+					String questionId = rs.getString("questionId");
+					if (current == null || !current.getQuestionId().equals(questionId)) {
+						current = mapQuestion(rs);
+						int answerCount = rs.getInt("answerCount");
+						current.setAnswerCount(answerCount);
+						current.setAnswered(answerCount > 0);
+						current.setUnreadAnswers(String.valueOf(rs.getInt("unreadCount")));
+						questions.add(current);
+					}
+					String tag = rs.getString("tag");
+					if (tag != null) {
+						current.addTag(tag);
+					}
 				}
 			}
 		}
 		return questions;
 	}
 
+	// Keyset pagination. Each list is ordered newest first with its id as a
+	// tie-breaker; a page is fetched by seeking past the previous page's last
+	// row, so memory and latency stay bounded however deep the user scrolls.
+
+	/** Maps the current row of a result set. */
+	private interface RowMapper<T> {
+		T map(ResultSet rs) throws SQLException;
+	}
+
 	/**
-	 * Search questions by content (case-insensitive substring).
-	 * @param keyword substring to search in content
-	 * @return list of matching Question
+	 * Fetch one page of questions with their tags, newest first.
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of questions
+	 * @return the page and the cursor for the next one
 	 * @throws SQLException on DB error
 	 */
-	public List<Question> searchQuestionsByContent(String keyword) throws SQLException {
-		List<Question> questions = new ArrayList<>();
-		String query = "SELECT * FROM questions WHERE LOWER(content) LIKE LOWER(?) ORDER BY createdAt DESC";
+	public Page<Question> getQuestionsPage(PageCursor after, int limit) throws SQLException {
+		return getQuestionsPage(Collections.emptyList(), after, limit);
+	}
+
+	private Page<Question> getQuestionsPage(List<String> conditions, PageCursor after, int limit) throws SQLException {
+		Page<Question> page = queryPage("SELECT * FROM questions", conditions, Collections.emptyList(), "createdAt",
+				"questionId", after, limit, this::mapQuestion);
+		if (page.getItems().isEmpty()) {
+			return page;
+		}
+		Map<String, Question> byId = new HashMap<>();
+		for (Question q : page.getItems()) {
+			byId.put(q.getQuestionId(), q);
+		}
+		String query = "SELECT questionId, tag FROM question_tags WHERE questionId IN ("
+				+ placeholders(byId.size()) + ") ORDER BY questionId, tag";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			int i = 1;
+			for (String id : byId.keySet()) {
+				pstmt.setString(i++, id);
+			}
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					byId.get(rs.getString("questionId")).addTag(rs.getString("tag"));
+				}
+			}
+		}
+		return page;
+	}
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, "%" + keyword + "%");
+	/**
+	 * Fetch one page of the question list view: questions with tags, answer
+	 * count, answered flag and the viewer's unread answers, as in
+	 * {@link #getQuestionListView(String)}. Answers are counted only for the
+	 * questions on the page.
+	 * @param viewerUserName user looking at the list
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of questions
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<Question> getQuestionListViewPage(String viewerUserName, PageCursor after, int limit)
+			throws SQLException {
+		return getQuestionListViewPage(viewerUserName, Collections.emptyList(), after, limit);
+	}
 
+	/**
+	 * Fetch one page of the question list view holding only answered, or only
+	 * unanswered, questions. The filter runs in the page query, so a page
+	 * costs the same as an unfiltered one however many questions it skips.
+	 * @param viewerUserName user looking at the list
+	 * @param answered true for questions with at least one answer, false for those with none
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of questions
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<Question> getQuestionListViewPage(String viewerUserName, boolean answered, PageCursor after,
+			int limit) throws SQLException {
+		String hasAnswers = "EXISTS (SELECT 1 FROM answers a WHERE a.questionId = questions.questionId)";
+		return getQuestionListViewPage(viewerUserName, List.of(answered ? hasAnswers : "NOT " + hasAnswers),
+				after, limit);
+	}
+
+	private Page<Question> getQuestionListViewPage(String viewerUserName, List<String> conditions, PageCursor after,
+			int limit) throws SQLException {
+		Page<Question> page = getQuestionsPage(conditions, after, limit);
+		if (page.getItems().isEmpty()) {
+			return page;
+		}
+		Map<String, Question> byId = new HashMap<>();
+		for (Question q : page.getItems()) {
+			byId.put(q.getQuestionId(), q);
+			q.setAnswerCount(0);
+			q.setAnswered(false);
+			q.setUnreadAnswers("0");
+		}
+		String query = "SELECT questionId, COUNT(*) AS answerCount, "
+				+ "SUM(CASE WHEN isRead = FALSE THEN 1 ELSE 0 END) AS unreadCount "
+				+ "FROM answers WHERE questionId IN (" + placeholders(byId.size()) + ") GROUP BY questionId";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			int i = 1;
+			for (String id : byId.keySet()) {
+				pstmt.setString(i++, id);
+			}
 			try (ResultSet rs = pstmt.executeQuery()) {
 				while (rs.next()) {
-					Question question = new Question(rs.getString("questionId"), rs.getString("title"),
-							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt"));
-					question.setIsResolved(rs.getBoolean("isResolved"));
-					loadQuestionTags(question);
-					questions.add(question);
+					Question q = byId.get(rs.getString("questionId"));
+					int answerCount = rs.getInt("answerCount");
+					q.setAnswerCount(answerCount);
+					q.setAnswered(answerCount > 0);
+					if (q.getAuthor() != null && q.getAuthor().equals(viewerUserName)) {
+						q.setUnreadAnswers(String.valueOf(rs.getInt("unreadCount")));
+					}
 				}
 			}
 		}
-		return questions;
+		return page;
+	}
+
+	/**
+	 * Fetch one page of answers, newest first.
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of answers
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<Answer> getAnswersPage(PageCursor after, int limit) throws SQLException {
+		return queryPage("SELECT * FROM answers", "createdAt", "answerId", after, limit, this::mapAnswer);
+	}
+
+	/**
+	 * Fetch one page of private messages for staff review, newest first.
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of messages
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<PrivateMessage> getPrivateMessagesPage(PageCursor after, int limit) throws SQLException {
+		return queryPage("SELECT * FROM PrivateMessages", "createdAt", "id", after, limit, this::mapPrivateMessage);
+	}
+
+	/**
+	 * Fetch one page of content flags, newest first.
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of flags
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<ContentFlag> getFlagsPage(PageCursor after, int limit) throws SQLException {
+		return queryPage("SELECT * FROM content_flags", "createdAt", "flagId", after, limit, this::mapFlag);
+	}
+
+	/**
+	 * Fetch one page of users ordered by userName. Users have no creation
+	 * time, so the unique userName alone is the key.
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of users
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<User> getUsersPage(PageCursor after, int limit) throws SQLException {
+		return queryPage("SELECT * FROM cse360users", null, "userName", after, limit, this::mapUser);
+	}
+
+	/**
+	 * Fetch one page of reviews, newest first, restricted by the filter. Each
+	 * page is a single query.
+	 * @param filter reviewer, answer and date range restrictions; {@link ReviewFilter#NONE} for all reviews
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of reviews
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	public Page<Review> getAllReviews(ReviewFilter filter, PageCursor after, int limit) throws SQLException {
+		List<String> conditions = new ArrayList<>();
+		List<Object> params = new ArrayList<>();
+		if (filter.getReviewer() != null) {
+			conditions.add("reviewerUserName = ?");
+			params.add(filter.getReviewer());
+		}
+		if (filter.getAnswerId() != null) {
+			conditions.add("answerId = ?");
+			params.add(filter.getAnswerId());
+		}
+		if (filter.getFrom() != null) {
+			conditions.add("createdAt >= ?");
+			params.add(filter.getFrom());
+		}
+		if (filter.getTo() != null) {
+			conditions.add("createdAt < ?");
+			params.add(filter.getTo());
+		}
+		return queryPage("SELECT * FROM answer_reviews", conditions, params, "createdAt", "reviewId", after, limit,
+				this::mapReview);
+	}
+
+	/**
+	 * Run one keyset page over a whole table. See
+	 * {@link #queryPage(String, List, List, String, String, PageCursor, int, RowMapper)}.
+	 */
+	private <T> Page<T> queryPage(String select, String createdAtColumn, String idColumn, PageCursor after,
+			int limit, RowMapper<T> mapper) throws SQLException {
+		return queryPage(select, Collections.emptyList(), Collections.emptyList(), createdAtColumn, idColumn, after,
+				limit, mapper);
 	}
 
-	/** Load tags for a question from question_tags table. @param question question to populate tags */
-	private void loadQuestionTags(Question question) throws SQLException {
-		String query = "SELECT tag FROM question_tags WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, question.getQuestionId());
+	/**
+	 * Run one keyset page over a table ordered by {@code createdAt DESC, id}, or
+	 * by id alone when there is no creation column. One extra row is fetched to
+	 * tell whether another page follows.
+	 * @param select SELECT ... FROM over a single table, without WHERE or ORDER BY
+	 * @param conditions extra WHERE conditions, ANDed together
+	 * @param params values for the placeholders in {@code conditions}, in order
+	 * @param createdAtColumn creation time column, or null to order by id only
+	 * @param idColumn unique id column used as the tie-breaker
+	 * @param after cursor from the previous page, or null for the first page
+	 * @param limit maximum number of rows
+	 * @param mapper builds a row object from the result set
+	 * @return the page and the cursor for the next one
+	 * @throws SQLException on DB error
+	 */
+	private <T> Page<T> queryPage(String select, List<String> conditions, List<Object> params,
+			String createdAtColumn, String idColumn, PageCursor after, int limit, RowMapper<T> mapper)
+			throws SQLException {
+		if (limit < 1) {
+			throw new IllegalArgumentException("Page limit must be positive: " + limit);
+		}
+		List<String> where = new ArrayList<>(conditions);
+		if (after != null) {
+			if (createdAtColumn == null) {
+				where.add(idColumn + " > ?");
+			} else {
+				// The redundant "<=" gives H2 a range to seek to in the (createdAt DESC, id) index
+				where.add(createdAtColumn + " <= ? AND (" + createdAtColumn + " < ? OR " + idColumn + " > ?)");
+			}
+		}
+		StringBuilder query = new StringBuilder(select);
+		if (!where.isEmpty()) {
+			query.append(" WHERE ").append(String.join(" AND ", where));
+		}
+		if (createdAtColumn == null) {
+			query.append(" ORDER BY ").append(idColumn);
+		} else {
+			query.append(" ORDER BY ").append(createdAtColumn).append(" DESC, ").append(idColumn);
+		}
+		query.append(" LIMIT ?");
 
+		List<T> items = new ArrayList<>();
+		PageCursor next = null;
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query.toString())) {
+			int i = 1;
+			for (Object param : params) {
+				pstmt.setObject(i++, param);
+			}
+			if (after != null) {
+				if (createdAtColumn != null) {
+					pstmt.setTimestamp(i++, after.getCreatedAt());
+					pstmt.setTimestamp(i++, after.getCreatedAt());
+				}
+				pstmt.setObject(i++, after.getId());
+			}
+			pstmt.setInt(i, limit + 1);
 			try (ResultSet rs = pstmt.executeQuery()) {
+				PageCursor last = null;
 				while (rs.next()) {
-					question.addTag(rs.getString("tag"));
+					if (items.size() == limit) {
+						next = last;
+						break;
+					}
+					items.add(mapper.map(rs));
+					last = new PageCursor(createdAtColumn == null ? null : rs.getTimestamp(createdAtColumn),
+							rs.getObject(idColumn));
 				}
 			}
 		}
+		return new Page<>(items, next);
 	}
 
 	// Answer-related methods
@@ -760,20 +1536,33 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public boolean insertAnswer(Answer answer) throws SQLException {
-		if (connection == null || connection.isClosed()) {
-	        connectToDatabase();
-	    }
-		String query = "INSERT INTO answers (answerId, questionId, content, author, createdAt, isAccepted, isRead) VALUES (?, ?, ?, ?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, answer.getAnswerId());
-			pstmt.setString(2, answer.getQuestionId());
-			pstmt.setString(3, answer.getContent());
-			pstmt.setString(4, answer.getAuthor());
-			pstmt.setTimestamp(5, Timestamp.valueOf(java.time.LocalDateTime.now()));
-			pstmt.setBoolean(6, answer.getIsAccepted());
-			pstmt.setBoolean(7, false);
-
-			return pstmt.executeUpdate() > 0;
+		beginCountedWrite();
+		try {
+			String query = "INSERT INTO answers (answerId, questionId, content, author, createdAt, isAccepted, isRead) VALUES (?, ?, ?, ?, ?, ?, ?)";
+			boolean inserted;
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, answer.getAnswerId());
+				pstmt.setString(2, answer.getQuestionId());
+				pstmt.setString(3, answer.getContent());
+				pstmt.setString(4, answer.getAuthor());
+				Timestamp createdAt = Timestamp.valueOf(java.time.LocalDateTime.now());
+				pstmt.setTimestamp(5, createdAt);
+				pstmt.setBoolean(6, answer.getIsAccepted());
+				pstmt.setBoolean(7, false);
+
+				inserted = pstmt.executeUpdate() > 0;
+				if (inserted) {
+					contentStatistics.adjust(ContentStatistics.TOTAL_ANSWERS, 1);
+					activityLeaderboard.record(answer.getAuthor(), createdAt, 1);
+				}
+			}
+			// Indexed once the connection is back, as a rebuild in progress may need it
+			if (inserted) {
+				indexDocument(indexes -> indexes.answers, answer.getAnswerId(), answer.getContent());
+			}
+			return inserted;
+		} finally {
+			endCountedWrite();
 		}
 	}
 
@@ -785,13 +1574,18 @@ public class DatabaseHelper {
 	 */
 	public boolean updateAnswer(Answer answer) throws SQLException {
 		String query = "UPDATE answers SET content = ?, isAccepted = ? WHERE answerId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		boolean updated;
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, answer.getContent());
 			pstmt.setBoolean(2, answer.getIsAccepted());
 			pstmt.setString(3, answer.getAnswerId());
 
-			return pstmt.executeUpdate() > 0;
+			updated = pstmt.executeUpdate() > 0;
+		}
+		if (updated) {
+			indexDocument(indexes -> indexes.answers, answer.getAnswerId(), answer.getContent());
 		}
+		return updated;
 	}
 
 	/**
@@ -801,10 +1595,23 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public boolean deleteAnswer(String answerId) throws SQLException {
-		String query = "DELETE FROM answers WHERE answerId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, answerId);
-			return pstmt.executeUpdate() > 0;
+		beginCountedWrite();
+		try {
+			String query = "SELECT author, createdAt FROM OLD TABLE (DELETE FROM answers WHERE answerId = ?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, answerId);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (!rs.next()) {
+						return false;
+					}
+					contentStatistics.adjust(ContentStatistics.TOTAL_ANSWERS, -1);
+					activityLeaderboard.record(rs.getString("author"), rs.getTimestamp("createdAt"), -1);
+				}
+			}
+			unindexDocument(indexes -> indexes.answers, answerId);
+			return true;
+		} finally {
+			endCountedWrite();
 		}
 	}
 
@@ -817,19 +1624,22 @@ public class DatabaseHelper {
 		List<Answer> answers = new ArrayList<>();
 		String query = "SELECT * FROM answers ORDER BY createdAt DESC";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
 
 			while (rs.next()) {
-				Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"),
-						rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt").toString(),
-						rs.getBoolean("isAccepted"));
-				answer.setIsRead(rs.getBoolean("isRead"));
-				answers.add(answer);
+				answers.add(mapAnswer(rs));
 			}
 		}
 		return answers;
 	}
 
+	private Answer mapAnswer(ResultSet rs) throws SQLException {
+		Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"), rs.getString("content"),
+				rs.getString("author"), rs.getTimestamp("createdAt").toString(), rs.getBoolean("isAccepted"));
+		answer.setIsRead(rs.getBoolean("isRead"));
+		return answer;
+	}
+
 	/**
 	 * Get all answers for a specific question.
 	 * @param questionId id of the question
@@ -840,7 +1650,7 @@ public class DatabaseHelper {
 		List<Answer> answers = new ArrayList<>();
 		String query = "SELECT * FROM answers WHERE questionId = ? ORDER BY createdAt DESC";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -866,20 +1676,195 @@ public class DatabaseHelper {
 		List<Answer> answers = new ArrayList<>();
 		String query = "SELECT * FROM answers WHERE LOWER(content) LIKE LOWER(?) ORDER BY createdAt DESC";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, "%" + keyword + "%");
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			pstmt.setString(1, "%" + keyword + "%");
+
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"),
+							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt").toString(),
+							rs.getBoolean("isAccepted"));
+					answer.setIsRead(rs.getBoolean("isRead"));
+					answers.add(answer);
+				}
+			}
+		}
+		return answers;
+	}
+
+	// Full-text search
+	/**
+	 * Full-text search over question titles and content, best match first.
+	 * Terms separated by spaces must all match, {@code OR} separates
+	 * alternatives and a trailing {@code *} matches a prefix.
+	 * @param query search text
+	 * @param field {@link #SEARCH_TITLE}, {@link #SEARCH_CONTENT} or
+	 *              {@link #SEARCH_ALL_FIELDS}
+	 * @return matching questions with tags, ranked by relevance
+	 * @throws SQLException on DB error
+	 */
+	public List<Question> searchQuestions(String query, int field) throws SQLException {
+		ensureSearchIndex();
+		List<String> ids = searchIndexes.questions.search(query, field, SEARCH_RESULT_LIMIT);
+		if (ids.isEmpty()) {
+			return new ArrayList<>();
+		}
+		List<Question> questions = queryQuestionsWithTags("WHERE q.questionId IN (" + placeholders(ids.size()) + ")",
+				ids.toArray(new String[0]));
+		return inRankOrder(ids, questions, Question::getQuestionId);
+	}
+
+	/**
+	 * Full-text search over answer content, best match first.
+	 * @param query search text, same syntax as {@link #searchQuestions}
+	 * @return matching answers ranked by relevance
+	 * @throws SQLException on DB error
+	 */
+	public List<Answer> searchAnswers(String query) throws SQLException {
+		ensureSearchIndex();
+		List<String> ids = searchIndexes.answers.search(query, SearchIndex.ALL_FIELDS, SEARCH_RESULT_LIMIT);
+		List<Answer> answers = new ArrayList<>();
+		if (ids.isEmpty()) {
+			return answers;
+		}
+		String sql = "SELECT * FROM answers WHERE answerId IN (" + placeholders(ids.size()) + ")";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+			for (int i = 0; i < ids.size(); i++) {
+				pstmt.setString(i + 1, ids.get(i));
+			}
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"),
+							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt").toString(),
+							rs.getBoolean("isAccepted"));
+					answer.setIsRead(rs.getBoolean("isRead"));
+					answers.add(answer);
+				}
+			}
+		}
+		return inRankOrder(ids, answers, Answer::getAnswerId);
+	}
+
+	/**
+	 * Full-text search over review content, best match first.
+	 * @param query search text, same syntax as {@link #searchQuestions}
+	 * @return matching reviews ranked by relevance
+	 * @throws SQLException on DB error
+	 */
+	public List<Review> searchReviews(String query) throws SQLException {
+		ensureSearchIndex();
+		List<String> ids = searchIndexes.reviews.search(query, SearchIndex.ALL_FIELDS, SEARCH_RESULT_LIMIT);
+		List<Review> reviews = new ArrayList<>();
+		if (ids.isEmpty()) {
+			return reviews;
+		}
+		String sql = "SELECT reviewId, answerId, reviewerUserName, reviewContent, createdAt, parentReviewID "
+				+ "FROM answer_reviews WHERE reviewId IN (" + placeholders(ids.size()) + ")";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
+			for (int i = 0; i < ids.size(); i++) {
+				pstmt.setString(i + 1, ids.get(i));
+			}
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					reviews.add(mapReview(rs));
+				}
+			}
+		}
+		return inRankOrder(ids, reviews, Review::getReviewId);
+	}
+
+	/**
+	 * Reload the search indexes from the tables. Needed only after rows were
+	 * changed with SQL that bypasses this helper, e.g. through
+	 * {@link #getConnection()}.
+	 * @throws SQLException on DB error
+	 */
+	public void rebuildSearchIndex() throws SQLException {
+		synchronized (searchIndexLock) {
+			SearchIndexes rebuilt = new SearchIndexes();
+			try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
+				try (ResultSet rs = stmt.executeQuery("SELECT questionId, title, content FROM questions")) {
+					while (rs.next()) {
+						rebuilt.questions.put(rs.getString("questionId"), rs.getString("title"), rs.getString("content"));
+					}
+				}
+				try (ResultSet rs = stmt.executeQuery("SELECT answerId, content FROM answers")) {
+					while (rs.next()) {
+						rebuilt.answers.put(rs.getString("answerId"), rs.getString("content"));
+					}
+				}
+				try (ResultSet rs = stmt.executeQuery("SELECT reviewId, reviewContent FROM answer_reviews")) {
+					while (rs.next()) {
+						rebuilt.reviews.put(rs.getString("reviewId"), rs.getString("reviewContent"));
+					}
+				}
+			}
+			// Searches keep using the previous indexes until this point
+			searchIndexes = rebuilt;
+			searchIndexLoaded = true;
+		}
+	}
+
+	private void ensureSearchIndex() throws SQLException {
+		if (!searchIndexLoaded) {
+			synchronized (searchIndexLock) {
+				if (!searchIndexLoaded) {
+					rebuildSearchIndex();
+				}
+			}
+		}
+	}
+
+	private void invalidateSearchIndex() {
+		synchronized (searchIndexLock) {
+			searchIndexLoaded = false;
+			searchIndexes = new SearchIndexes();
+		}
+	}
+
+	private void indexQuestion(Question question) {
+		indexDocument(indexes -> indexes.questions, question.getQuestionId(), question.getTitle(),
+				question.getContent());
+	}
+
+	/**
+	 * Applies a committed insert or update to an index once it is loaded. The
+	 * check and the put hold the rebuild's lock, so a write that commits while
+	 * a rebuild runs waits for it and is applied to the indexes it publishes.
+	 */
+	private void indexDocument(Function<SearchIndexes, SearchIndex> index, String id, String... fields) {
+		synchronized (searchIndexLock) {
+			if (searchIndexLoaded) {
+				index.apply(searchIndexes).put(id, fields);
+			}
+		}
+	}
+
+	/** Applies a committed delete, under the rebuild's lock like {@link #indexDocument}. */
+	private void unindexDocument(Function<SearchIndexes, SearchIndex> index, String id) {
+		synchronized (searchIndexLock) {
+			index.apply(searchIndexes).remove(id);
+		}
+	}
 
-			try (ResultSet rs = pstmt.executeQuery()) {
-				while (rs.next()) {
-					Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"),
-							rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt").toString(),
-							rs.getBoolean("isAccepted"));
-					answer.setIsRead(rs.getBoolean("isRead"));
-					answers.add(answer);
-				}
+	private static String placeholders(int count) {
+		return String.join(", ", Collections.nCopies(count, "?"));
+	}
+
+	/** Reorder rows fetched with an IN list to match the ranked id list. */
+	private static <T> List<T> inRankOrder(List<String> ids, List<T> rows, Function<T, String> idOf) {
+		Map<String, T> byId = new HashMap<>();
+		for (T row : rows) {
+			byId.put(idOf.apply(row), row);
+		}
+		List<T> ranked = new ArrayList<>(rows.size());
+		for (String id : ids) {
+			T row = byId.get(id);
+			if (row != null) {
+				ranked.add(row);
 			}
 		}
-		return answers;
+		return ranked;
 	}
 
 	// Count the unread answers
@@ -893,7 +1878,7 @@ public class DatabaseHelper {
 	public int countUnreadAnswers(String questionId, String author) throws SQLException {
 		String query = "SELECT COUNT(*) AS count FROM answers " + "WHERE questionId = ? AND isRead = FALSE "
 				+ "AND questionId IN (SELECT questionId FROM questions WHERE author = ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			pstmt.setString(2, author);
 			ResultSet rs = pstmt.executeQuery();
@@ -913,7 +1898,7 @@ public class DatabaseHelper {
 	public void markAnswersAsRead(String questionId, String author) throws SQLException {
 		String query = "UPDATE answers SET isRead = TRUE " + "WHERE questionId = ? AND questionId IN "
 				+ "(SELECT questionId FROM questions WHERE author = ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			pstmt.setString(2, author);
 			pstmt.executeUpdate();
@@ -929,7 +1914,7 @@ public class DatabaseHelper {
 	 */
 	public boolean doesQuestionExist(String questionId) throws SQLException {
 		String query = "SELECT COUNT(*) FROM questions WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			try (ResultSet rs = pstmt.executeQuery()) {
 				return rs.next() && rs.getInt(1) > 0;
@@ -949,13 +1934,22 @@ public class DatabaseHelper {
      */
     public boolean insertPrivateMessage(String questionId, String fromUser, String toUser, String content)
 	    throws SQLException {
-		String query = "INSERT INTO PrivateMessages (questionId, fromUser, toUser, content) VALUES (?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, questionId);
-			pstmt.setString(2, fromUser);
-			pstmt.setString(3, toUser);
-			pstmt.setString(4, content);
-			return pstmt.executeUpdate() > 0;
+		beginCountedWrite();
+		try {
+			String query = "INSERT INTO PrivateMessages (questionId, fromUser, toUser, content) VALUES (?, ?, ?, ?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, questionId);
+				pstmt.setString(2, fromUser);
+				pstmt.setString(3, toUser);
+				pstmt.setString(4, content);
+				boolean inserted = pstmt.executeUpdate() > 0;
+				if (inserted) {
+					contentStatistics.adjust(ContentStatistics.TOTAL_MESSAGES, 1);
+				}
+				return inserted;
+			}
+		} finally {
+			endCountedWrite();
 		}
 	}
 
@@ -968,7 +1962,7 @@ public class DatabaseHelper {
 	 */
 	public int getUnreadCountForQuestion(String questionId, String userName) throws SQLException {
 		String query = "SELECT COUNT(*) FROM PrivateMessages WHERE questionId = ? AND toUser = ? AND isRead = FALSE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			pstmt.setString(2, userName);
 			try (ResultSet rs = pstmt.executeQuery()) {
@@ -979,6 +1973,28 @@ public class DatabaseHelper {
 		return 0;
 	}
 
+	/**
+	 * Count unread private messages to a user for every question at once, so a
+	 * list of questions can show its unread badges without a query per row.
+	 * @param userName recipient userName
+	 * @return questionId to unread count; questions with none are absent
+	 * @throws SQLException on DB error
+	 */
+	public Map<String, Integer> getUnreadCountsByQuestion(String userName) throws SQLException {
+		Map<String, Integer> counts = new HashMap<>();
+		String query = "SELECT questionId, COUNT(*) FROM PrivateMessages WHERE toUser = ? AND isRead = FALSE "
+				+ "GROUP BY questionId";
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			pstmt.setString(1, userName);
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					counts.put(rs.getString(1), rs.getInt(2));
+				}
+			}
+		}
+		return counts;
+	}
+
 	/**
 	 * Retrieve messages for a question visible to a user (either sender or recipient).
 	 * @param questionId id/marker
@@ -989,7 +2005,7 @@ public class DatabaseHelper {
 	public List<PrivateMessage> getMessagesForQuestion(String questionId, String forUser) throws SQLException {
 		List<PrivateMessage> messages = new ArrayList<>();
 		String query = "SELECT * FROM PrivateMessages WHERE questionId = ? AND (toUser = ? OR fromUser = ?) ORDER BY createdAt ASC";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			pstmt.setString(2, forUser);
 			pstmt.setString(3, forUser);
@@ -1014,7 +2030,7 @@ public class DatabaseHelper {
 	 */
 	public boolean markMessagesRead(String questionId, String userName) throws SQLException {
 		String query = "UPDATE PrivateMessages SET isRead = TRUE WHERE questionId = ? AND toUser = ? AND isRead = FALSE";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, questionId);
 			pstmt.setString(2, userName);
 			return pstmt.executeUpdate() > 0;
@@ -1030,11 +2046,25 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public boolean updateQuestionResolved(String questionId, boolean isResolved) throws SQLException {
-		String query = "UPDATE questions SET isResolved = ? WHERE questionId = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setBoolean(1, isResolved);
-			pstmt.setString(2, questionId);
-			return pstmt.executeUpdate() > 0;
+		beginCountedWrite();
+		try {
+			String query = "SELECT isResolved FROM OLD TABLE (UPDATE questions SET isResolved = ? WHERE questionId = ?)";
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setBoolean(1, isResolved);
+				pstmt.setString(2, questionId);
+				try (ResultSet rs = pstmt.executeQuery()) {
+					if (!rs.next()) {
+						return false;
+					}
+					boolean wasResolved = rs.getBoolean("isResolved");
+					if (wasResolved != isResolved) {
+						contentStatistics.adjust(ContentStatistics.UNRESOLVED_QUESTIONS, isResolved ? -1 : 1);
+					}
+					return true;
+				}
+			}
+		} finally {
+			endCountedWrite();
 		}
 	}
 
@@ -1045,28 +2075,13 @@ public class DatabaseHelper {
 	 * @throws SQLException on DB error
 	 */
 	public List<Question> getUnresolvedQuestions() throws SQLException {
-		List<Question> questions = new ArrayList<>();
-		String query = "SELECT * FROM questions WHERE isResolved = FALSE ORDER BY createdAt DESC";
-
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
-
-			while (rs.next()) {
-				Question question = new Question(rs.getString("questionId"), rs.getString("title"),
-						rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt"));
-
-				question.setIsResolved(rs.getBoolean("isResolved"));
-
-				loadQuestionTags(question);
-				questions.add(question);
-			}
-		}
-		return questions;
+		return queryQuestionsWithTags("WHERE q.isResolved = FALSE");
 	}
 
 	// Student submits a review role request
 	public void submitReviewerRequest(String studentUserName) throws SQLException {
 		String checkQuery = "SELECT * FROM reviewer_requests WHERE studentUserName = ? AND status = 'Pending'";
-		try (PreparedStatement checkStmt = connection.prepareStatement(checkQuery)) {
+		try (Connection conn = borrowConnection(); PreparedStatement checkStmt = conn.prepareStatement(checkQuery)) {
 			checkStmt.setString(1, studentUserName);
 			try (ResultSet rs = checkStmt.executeQuery()) {
 				if (rs.next()) {
@@ -1076,7 +2091,7 @@ public class DatabaseHelper {
 		}
 
 		String insertQuery = "INSERT INTO reviewer_requests (requestId, studentUserName, status) VALUES (?, ?, 'Pending')";
-		try (PreparedStatement pstmt = connection.prepareStatement(insertQuery)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(insertQuery)) {
 			pstmt.setString(1, java.util.UUID.randomUUID().toString());
 			pstmt.setString(2, studentUserName);
 			pstmt.executeUpdate();
@@ -1088,7 +2103,7 @@ public class DatabaseHelper {
 		List<User> requests = new ArrayList<>();
 		String query = "SELECT u.userName, u.password, u.email, u.name, u.role " + "FROM cse360users AS u "
 				+ "INNER JOIN reviewer_requests AS r " + "WHERE r.status = 'Pending'";
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
 			while (rs.next()) {
 				requests.add(new User(
 
@@ -1103,10 +2118,6 @@ public class DatabaseHelper {
 	public boolean processReviewerRequest(String studentUserName, boolean approve, String instructorUserName)
 			throws SQLException {
 
-		if (connection == null || connection.isClosed()) {
-			connectToDatabase();
-		}
-
 		// Approve request: add 'Reviewer' role to student
 		if (approve) {
 			List<String> roles = getUserRoles(studentUserName);
@@ -1119,7 +2130,7 @@ public class DatabaseHelper {
 		// Update reviewer_requests table status
 		String status = approve ? "Approved" : "Rejected";
 		String query = "UPDATE reviewer_requests SET status = ? WHERE studentUserName = ?";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, status);
 			pstmt.setString(2, studentUserName);
 			return pstmt.executeUpdate() > 0;
@@ -1128,63 +2139,83 @@ public class DatabaseHelper {
 
 	// Insert a new review into the database
 	public boolean insertReview(Review review) throws SQLException {
-		if (connection == null || connection.isClosed()) {
-			connectToDatabase();
-		}
-
-		String query = "INSERT INTO answer_reviews (reviewId, answerId, reviewerUserName, reviewContent, parentReviewID) "
-				+ "VALUES (?, ?, ?, ?, ?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-			pstmt.setString(1, review.getReviewId());
-			pstmt.setString(2, review.getAnswerId());
-			pstmt.setString(3, review.getReviewer());
-			pstmt.setString(4, review.getContent());
-			pstmt.setString(5, review.getParentReviewID());
-			return pstmt.executeUpdate() > 0;
+		beginCountedWrite();
+		try {
+			String query = "INSERT INTO answer_reviews (reviewId, answerId, reviewerUserName, reviewContent, parentReviewID) "
+					+ "VALUES (?, ?, ?, ?, ?)";
+			boolean inserted;
+			try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+				pstmt.setString(1, review.getReviewId());
+				pstmt.setString(2, review.getAnswerId());
+				pstmt.setString(3, review.getReviewer());
+				pstmt.setString(4, review.getContent());
+				pstmt.setString(5, review.getParentReviewID());
+				inserted = pstmt.executeUpdate() > 0;
+				if (inserted) {
+					contentStatistics.adjust(ContentStatistics.TOTAL_REVIEWS, 1);
+				}
+			}
+			if (inserted) {
+				indexDocument(indexes -> indexes.reviews, review.getReviewId(), review.getContent());
+			}
+			return inserted;
+		} finally {
+			endCountedWrite();
 		}
 	}
 
 	public List<Review> getReviewsForAnswer(String answerId) throws SQLException {
-		if (connection == null || connection.isClosed()) {
-			connectToDatabase();
-		}
-
 		List<Review> reviews = new ArrayList<>();
 		String sql = "SELECT reviewId, answerId, reviewerUserName, reviewContent, createdAt, parentReviewID "
 				+ "FROM answer_reviews WHERE answerId = ? ORDER BY createdAt ASC";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(sql)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(sql)) {
 			pstmt.setString(1, answerId);
 			try (ResultSet rs = pstmt.executeQuery()) {
 				while (rs.next()) {
-					Review review = new Review(
-							rs.getString("reviewId"), 
-							rs.getString("answerId"),
-							rs.getString("reviewerUserName"), 
-							rs.getString("reviewContent"),
-							rs.getTimestamp("createdAt"),
-							rs.getString("parentReviewID"));
-					reviews.add(review);
+					reviews.add(mapReview(rs));
 				}
 			}
 		}
 		return reviews;
 	}
 
+	private Review mapReview(ResultSet rs) throws SQLException {
+		return new Review(
+				rs.getString("reviewId"), 
+				rs.getString("answerId"),
+				rs.getString("reviewerUserName"), 
+				rs.getString("reviewContent"),
+				rs.getTimestamp("createdAt"),
+				rs.getString("parentReviewID"));
+	}
+
 	// TestCases Helpers to run tests
-	// Allow tests / other classes to access the underlying JDBC connection
+	// Allow tests / other classes to access a JDBC connection. This is a single
+	// long-lived connection kept outside the pool so callers need not close it.
 	public Connection getConnection() {
-		return this.connection;
+		try {
+			if (sharedConnection == null || sharedConnection.isClosed()) {
+				Class.forName(JDBC_DRIVER);
+				sharedConnection = DriverManager.getConnection(dbUrl, USER, PASS);
+			}
+		} catch (SQLException | ClassNotFoundException e) {
+			e.printStackTrace();
+		}
+		return sharedConnection;
 	}
 
-	// Convenience helper for tests to run simple update/delete SQL (cleanup)
+	// Convenience helper for tests to run simple update/delete SQL (cleanup).
+	// Arbitrary SQL may touch searchable rows, so the search index is reloaded
+	// on its next use.
 	public void executeUpdate(String sql) throws SQLException {
-		if (connection == null || connection.isClosed()) {
-			connectToDatabase();
-		}
-		try (Statement stmt = connection.createStatement()) {
+		try (Connection conn = borrowConnection(); Statement stmt = conn.createStatement()) {
 			stmt.executeUpdate(sql);
 		}
+		invalidateSearchIndex();
+		userCache.clear();
+		contentStatistics.invalidate();
+		activityLeaderboard.invalidate();
 	}
 
 	// Optional helper to insert a user with primitives (uses your register
@@ -1210,7 +2241,7 @@ public class DatabaseHelper {
 
 	public void createReviewerProfile(int userId, String userName) throws SQLException {
 		String query = "INSERT INTO reviewer_profiles (reviewer_id, name, experience) VALUES (?,?,?)";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setInt(1, userId);
 			pstmt.setString(2, userName);
 			pstmt.setString(3, "");
@@ -1218,56 +2249,186 @@ public class DatabaseHelper {
 		}
 	}
 	/**
-	 * retrieves all reviewer profiles 
+	 * retrieves all reviewer profiles with their reviews and feedback, in
+	 * three queries however many profiles there are
 	 * @return a list of {@link ReviewerProfile} objects 
 	 * @throws SQLException if database error occurs 
 	 */
-
 	public List<ReviewerProfile> getAllReviewerProfiles() throws SQLException {
+		return loadReviewerProfiles(null);
+	}
+
+	/**
+	 * Retrieves every reviewer profile with review and feedback counts but
+	 * without the reviews and feedback themselves, ordered by name. Enough for
+	 * lists of reviewers; open a profile with {@link #getReviewerProfileById}.
+	 * @return profile summaries
+	 * @throws SQLException if database error occurs
+	 */
+	public List<ReviewerProfile> getReviewerProfileSummaries() throws SQLException {
+		return queryReviewerSummaries(" ORDER BY p.name", Collections.emptyList());
+	}
+
+	/**
+	 * Retrieves summaries for the given reviewer ids, ordered by name. Unknown
+	 * ids are skipped.
+	 * @param reviewerIds reviewer ids, such as a student's trusted reviewers
+	 * @return profile summaries
+	 * @throws SQLException if database error occurs
+	 */
+	public List<ReviewerProfile> getReviewerProfileSummaries(Collection<Integer> reviewerIds) throws SQLException {
+		if (reviewerIds.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return queryReviewerSummaries(" WHERE p.reviewer_id IN (" + placeholders(reviewerIds.size()) + ") ORDER BY p.name",
+				new ArrayList<Object>(reviewerIds));
+	}
+
+	/**
+	 * Searches reviewer names case-insensitively in the database. Names that
+	 * start with the text come first, through the index on the lower-cased
+	 * name; the remaining slots are filled with names that contain it
+	 * elsewhere. Each group is ordered by name.
+	 * @param text  part of a reviewer name
+	 * @param limit maximum number of summaries
+	 * @return matching profile summaries
+	 * @throws SQLException if database error occurs
+	 */
+	public List<ReviewerProfile> searchReviewerProfileSummaries(String text, int limit) throws SQLException {
+		String lower = escapeLike(text.trim().toLowerCase());
+		List<ReviewerProfile> profiles = queryReviewerSummaries(
+				" WHERE p.nameLower LIKE ? ESCAPE '\\' ORDER BY p.nameLower LIMIT ?", List.of(lower + "%", limit));
+		if (profiles.size() < limit && !lower.isEmpty()) {
+			profiles.addAll(queryReviewerSummaries(" WHERE p.nameLower LIKE ? ESCAPE '\\' "
+					+ "AND p.nameLower NOT LIKE ? ESCAPE '\\' ORDER BY p.nameLower LIMIT ?",
+					List.of("%" + lower + "%", lower + "%", limit - profiles.size())));
+		}
+		return profiles;
+	}
+
+	/** Escape LIKE wildcards so user text matches literally. */
+	private static String escapeLike(String text) {
+		return text.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+	}
+
+	/**
+	 * One query for profile summaries. The counts are correlated subqueries
+	 * served by the reviewer and feedback indexes, so they cost an index
+	 * lookup per profile rather than a scan.
+	 * @param tail WHERE, ORDER BY and LIMIT clauses over {@code reviewer_profiles p}
+	 */
+	private List<ReviewerProfile> queryReviewerSummaries(String tail, List<Object> params) throws SQLException {
+		String query = "SELECT p.reviewer_id, p.name, p.experience, "
+				+ "(SELECT COUNT(*) FROM answer_reviews r WHERE r.reviewerUserName = p.name) AS reviewCount, "
+				+ "(SELECT COUNT(*) FROM PrivateMessages m WHERE m.toUser = p.name AND m.questionId LIKE 'REVFB:%') "
+				+ "AS feedbackCount FROM reviewer_profiles p" + tail;
+		List<ReviewerProfile> profiles = new ArrayList<>();
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+			for (int i = 0; i < params.size(); i++) {
+				pstmt.setObject(i + 1, params.get(i));
+			}
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while (rs.next()) {
+					profiles.add(new ReviewerProfile(rs.getInt("reviewer_id"), rs.getString("name"),
+							rs.getString("experience"), rs.getInt("reviewCount"), rs.getInt("feedbackCount")));
+				}
+			}
+		}
+		return profiles;
+	}
+
+	/**
+	 * Load full profiles in a fixed number of queries: the profiles, then all
+	 * of their reviews with feedback counts, then all of their feedback.
+	 * @param reviewerId a single reviewer, or null for every profile
+	 */
+	private List<ReviewerProfile> loadReviewerProfiles(Integer reviewerId) throws SQLException {
+		// A semi-join rather than a join, so a name shared by two profiles does not repeat rows
+		String profileNames = "(SELECT name FROM reviewer_profiles" + (reviewerId == null ? "" : " WHERE reviewer_id = ?")
+				+ ")";
+		Map<String, List<Review>> reviewsByName = new HashMap<>();
+		Map<String, List<Feedback>> feedbackByName = new HashMap<>();
 		List<ReviewerProfile> profiles = new ArrayList<>();
-		String query = "SELECT r.reviewer_id,r.name,r.experience FROM reviewer_profiles r";
 
-		try (PreparedStatement pstmt = connection.prepareStatement(query); ResultSet rs = pstmt.executeQuery()) {
-			while (rs.next()) {
-				int reviewerId = rs.getInt("reviewer_id");
-				String name = rs.getString("name");
-				String experience = rs.getString("experience");
+		try (Connection conn = borrowConnection()) {
+			String reviewQuery = "SELECT r.*, " + FEEDBACK_COUNT_COLUMN + " FROM answer_reviews r "
+					+ "WHERE r.reviewerUserName IN " + profileNames + " ORDER BY r.createdAt DESC";
+			try (PreparedStatement pstmt = conn.prepareStatement(reviewQuery)) {
+				if (reviewerId != null) {
+					pstmt.setInt(1, reviewerId);
+				}
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						Review review = mapReviewWithFeedbackCount(rs);
+						reviewsByName.computeIfAbsent(review.getReviewer(), k -> new ArrayList<>()).add(review);
+					}
+				}
+			}
 
-				List<Review> reviews = getReviewsByReviewer(name);
-				List<Feedback> feedback = getFeedbackByReviewer(name);
-				profiles.add(new ReviewerProfile(reviewerId, name, experience, reviews,feedback));
+			String feedbackQuery = "SELECT * FROM PrivateMessages WHERE toUser IN " + profileNames
+					+ " AND questionId LIKE 'REVFB:%'";
+			try (PreparedStatement pstmt = conn.prepareStatement(feedbackQuery)) {
+				if (reviewerId != null) {
+					pstmt.setInt(1, reviewerId);
+				}
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						feedbackByName.computeIfAbsent(rs.getString("toUser"), k -> new ArrayList<>())
+								.add(mapFeedback(rs));
+					}
+				}
+			}
 
+			String profileQuery = "SELECT reviewer_id, name, experience FROM reviewer_profiles"
+					+ (reviewerId == null ? "" : " WHERE reviewer_id = ?");
+			try (PreparedStatement pstmt = conn.prepareStatement(profileQuery)) {
+				if (reviewerId != null) {
+					pstmt.setInt(1, reviewerId);
+				}
+				try (ResultSet rs = pstmt.executeQuery()) {
+					while (rs.next()) {
+						String name = rs.getString("name");
+						profiles.add(new ReviewerProfile(rs.getInt("reviewer_id"), name, rs.getString("experience"),
+								reviewsByName.getOrDefault(name, new ArrayList<>()),
+								feedbackByName.getOrDefault(name, new ArrayList<>())));
+					}
+				}
 			}
 		}
 		return profiles;
+	}
+
+	/** Feedback messages on a review, for {@link #mapReviewWithFeedbackCount}; reviews are aliased {@code r}. */
+	private static final String FEEDBACK_COUNT_COLUMN =
+			"(SELECT COUNT(*) FROM PrivateMessages fm WHERE fm.questionId = 'REV:' || r.reviewId) AS feedbackCount";
 
+	private Review mapReviewWithFeedbackCount(ResultSet rs) throws SQLException {
+		Review review = mapReview(rs);
+		review.setFeedbackCount(rs.getInt("feedbackCount"));
+		return review;
+	}
+
+	private Feedback mapFeedback(ResultSet rs) throws SQLException {
+		return new Feedback(String.valueOf(rs.getInt("id")), rs.getString("questionId"), rs.getString("fromUser"),
+				0, rs.getString("content"), rs.getTimestamp("createdAt"));
 	}
 	
 	/**
-	 * retrieves all reviews associated with a specific reviewer 
+	 * retrieves all reviews associated with a specific reviewer, each with its
+	 * feedback count, in one query
 	 * @param reviewerUserName
 	 * @return a list of {@link Review) objects 
 	 * @throws SQLException if database error occurs 
 	 */
 	public List<Review> getReviewsByReviewer(String reviewerUserName) throws SQLException {
-	    if (connection == null || connection.isClosed()) connectToDatabase();
 	    List<Review> reviews = new ArrayList<>();
-	    String query = "SELECT * FROM answer_reviews WHERE reviewerUserName = ? ORDER BY createdAt DESC";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    String query = "SELECT r.*, " + FEEDBACK_COUNT_COLUMN
+	            + " FROM answer_reviews r WHERE r.reviewerUserName = ? ORDER BY r.createdAt DESC";
+	    try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 	        pstmt.setString(1, reviewerUserName);
 	        try (ResultSet rs = pstmt.executeQuery()) {
 	            while (rs.next()) {
-	                Review r = new Review(
-	                    rs.getString("reviewId"),
-	                    rs.getString("answerId"),
-	                    reviewerUserName,
-	                    rs.getString("reviewContent"),
-	                    rs.getTimestamp("createdAt"),
-	                    rs.getString("parentReviewId")
-	                );
-	                // Fetch feedback count for this specific review
-	                r.setFeedbackCount(getFeedbackCountForReview(r.getReviewId()));
-	                reviews.add(r);
+	                reviews.add(mapReviewWithFeedbackCount(rs));
 	            }
 	        }
 	    }
@@ -1286,7 +2447,7 @@ public class DatabaseHelper {
      */
 	public int getFeedbackCountForReview(String reviewId) throws SQLException { //added by JA
 	    String query = "SELECT COUNT(*) FROM PrivateMessages WHERE questionId = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+	    try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 	        pstmt.setString(1, "REV:" + reviewId);
 	        try (ResultSet rs = pstmt.executeQuery()) {
 	            if (rs.next()) return rs.getInt(1);
@@ -1303,11 +2464,23 @@ public class DatabaseHelper {
      * @throws SQLException If a database access error occurs.
      */
 	public boolean deleteReview(String reviewId) throws SQLException { //added by JA
-	    if (connection == null || connection.isClosed()) connectToDatabase();
-	    String query = "DELETE FROM answer_reviews WHERE reviewId = ?";
-	    try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-	        pstmt.setString(1, reviewId);
-	        return pstmt.executeUpdate() > 0;
+	    beginCountedWrite();
+	    try {
+	        String query = "DELETE FROM answer_reviews WHERE reviewId = ?";
+	        boolean deleted;
+	        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+	            pstmt.setString(1, reviewId);
+	            deleted = pstmt.executeUpdate() > 0;
+	            if (deleted) {
+	                contentStatistics.adjust(ContentStatistics.TOTAL_REVIEWS, -1);
+	            }
+	        }
+	        if (deleted) {
+	            unindexDocument(indexes -> indexes.reviews, reviewId);
+	        }
+	        return deleted;
+	    } finally {
+	        endCountedWrite();
 	    }
 	}
 	
@@ -1318,22 +2491,8 @@ public class DatabaseHelper {
 	 * @throws SQLException if database error occurs 
 	 */
 	public ReviewerProfile getReviewerProfileById(int reviewerId) throws SQLException {
-		String query = "SELECT * FROM reviewer_profiles WHERE reviewer_id = ?";
-		try(PreparedStatement pstmt = connection.prepareStatement(query)){
-			pstmt.setInt(1,  reviewerId);
-			ResultSet rs = pstmt.executeQuery();
-			
-			if(rs.next()) {
-				String name = rs.getString("name");
-				String experience = rs.getString("experience");
-				
-				List<Review> reviews = getReviewsByReviewer(name);
-				List<Feedback>feedback = getFeedbackByReviewer(name);
-				return new ReviewerProfile(reviewerId , name, experience,reviews,feedback);
-			}
-			
-		}
-		return null;
+		List<ReviewerProfile> profiles = loadReviewerProfiles(reviewerId);
+		return profiles.isEmpty() ? null : profiles.get(0);
 	}
 	/**
 	 * Retrieves all feedback associated with a specific reviewer 
@@ -1345,19 +2504,12 @@ public class DatabaseHelper {
 	public List<Feedback> getFeedbackByReviewer(String reviewerUser) throws SQLException {
 		List<Feedback> feedback = new ArrayList<>();
 		String query = "SELECT * FROM PrivateMessages WHERE toUser = ? AND questionId LIKE 'REVFB:%'";
-		try(PreparedStatement pstmt = connection.prepareStatement(query)){
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)){
 			pstmt.setString(1, reviewerUser);
-			ResultSet rs = pstmt.executeQuery();
-			
-			while(rs.next()) {
-				String feedbackId = String.valueOf(rs.getInt("id"));
-				String reviewId = rs.getString("questionId");
-				String studentUser = rs.getString("fromUser");
-				String feedbackContent = rs.getString("content");
-				Timestamp createdAt = rs.getTimestamp("createdAt");
-				
-				int rating = 0;
-				feedback.add(new Feedback(feedbackId,reviewId,studentUser,rating,feedbackContent,createdAt));
+			try (ResultSet rs = pstmt.executeQuery()) {
+				while(rs.next()) {
+					feedback.add(mapFeedback(rs));
+				}
 			}
 		}
 		
@@ -1372,7 +2524,7 @@ public class DatabaseHelper {
 
 	public void updateReviewerExperience(int reviewerId, String newExperience) throws SQLException {
 		String query = "UPDATE reviewer_profiles SET experience = ?  WHERE reviewer_id = ? ";
-		try (PreparedStatement pstmt = connection.prepareStatement(query)) {
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
 			pstmt.setString(1, newExperience);
 			pstmt.setInt(2, reviewerId);
 			pstmt.executeUpdate();
@@ -1386,15 +2538,8 @@ public class DatabaseHelper {
 	 * @throws SQLException if database error occurs 
 	 */
 	public int getUserIdByUsername(String username) throws SQLException {
-		String query = "SELECT id FROM cse360users WHERE userName = ?";
-		try(PreparedStatement pstmt = connection.prepareStatement(query)){
-			pstmt.setString(1,  username);
-			ResultSet rs = pstmt.executeQuery();
-			if(rs.next()) {
-				return rs.getInt("id");
-			}
-		}
-		return -1;
+		UserCache.Entry entry = cachedUser(username);
+		return entry == null ? -1 : entry.getUserId();
 	}
 	/**
 	 * checks if a profile exists for reviewer 
@@ -1404,7 +2549,7 @@ public class DatabaseHelper {
 	 */
 	public boolean reviewerProfileExists(int reviewerId) throws SQLException {
 		String query = "SELECT COUNT(*) AS count FROM reviewer_profiles WHERE reviewer_id = ?";
-		try(PreparedStatement pstmt = connection.prepareStatement(query)){
+		try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)){
 			pstmt.setInt(1,  reviewerId);
 			ResultSet rs = pstmt.executeQuery();
 			if(rs.next()) {
@@ -1420,11 +2565,10 @@ public class DatabaseHelper {
      * @return A map of reviewerUserName to weight.
      */
     public Map<String, Double> getTrustedReviewers(String studentUserName) throws SQLException {
-        if(connection == null || connection.isClosed()) connectToDatabase();
         Map<String, Double> trusted = new HashMap<>();
 
         String sql = "SELECT reviewerUserName, weight FROM trusted_reviewers WHERE studentUserName = ?";
-        try(PreparedStatement ps = connection.prepareStatement(sql)){
+        try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)){
             ps.setString(1, studentUserName);
             try(ResultSet rs = ps.executeQuery()) {
                 while(rs.next()) {
@@ -1435,6 +2579,43 @@ public class DatabaseHelper {
         return trusted;
     }
 
+    /**
+     * Returns the answers to a question that at least one of the student's
+     * trusted reviewers has reviewed, each with its trust score: the summed
+     * weight of those reviews. Scoring, filtering and ordering (accepted first,
+     * then score, then newest) happen in one query.
+     * @param questionId The question whose answers are curated.
+     * @param studentUserName The student whose trusted reviewers are used.
+     * @return Ranked answers with {@link Answer#getTrustScore()} set.
+     */
+    public List<Answer> getCuratedAnswers(String questionId, String studentUserName) throws SQLException {
+        List<Answer> answers = new ArrayList<>();
+        String sql = "SELECT a.answerId, a.questionId, a.content, a.author, a.createdAt, a.isAccepted, a.isRead, "
+                + "SUM(t.weight) AS trustScore "
+                + "FROM answers a "
+                + "JOIN answer_reviews r ON r.answerId = a.answerId "
+                + "JOIN trusted_reviewers t ON t.studentUserName = ? AND t.reviewerUserName = r.reviewerUserName "
+                + "WHERE a.questionId = ? "
+                + "GROUP BY a.answerId, a.questionId, a.content, a.author, a.createdAt, a.isAccepted, a.isRead "
+                + "HAVING SUM(t.weight) > 0 "
+                + "ORDER BY a.isAccepted DESC, trustScore DESC, a.createdAt DESC";
+        try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
+            ps.setString(1, studentUserName);
+            ps.setString(2, questionId);
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    Answer answer = new Answer(rs.getString("answerId"), rs.getString("questionId"),
+                            rs.getString("content"), rs.getString("author"), rs.getTimestamp("createdAt").toString(),
+                            rs.getBoolean("isAccepted"));
+                    answer.setIsRead(rs.getBoolean("isRead"));
+                    answer.setTrustScore(rs.getDouble("trustScore"));
+                    answers.add(answer);
+                }
+            }
+        }
+        return answers;
+    }
+
     /**
      * Inserts or updates a trusted reviewer entry.
      * @param studentUserName The student assigning trust.
@@ -1442,11 +2623,10 @@ public class DatabaseHelper {
      * @param weight The weight assigned to the reviewer.
      */
     public boolean updateTrustedReviewer(String studentUserName, String reviewerUserName, double weight) throws SQLException {
-        if(connection == null || connection.isClosed()) connectToDatabase();
 
         String merge = "MERGE INTO trusted_reviewers (studentUserName, reviewerUserName, weight)"
                 + "KEY (studentUserName, reviewerUserName, weight) VALUES (?, ?, ?)";
-        try(PreparedStatement ps = connection.prepareStatement(merge)){
+        try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(merge)){
             ps.setString(1, studentUserName);
             ps.setString(2, reviewerUserName);
             ps.setDouble(3, weight);
@@ -1460,10 +2640,9 @@ public class DatabaseHelper {
      * @param reviewerUserName The reviewer is no longer trusted.
      */
     public boolean removeTrustedReviewer(String studentUserName, String reviewerUserName) throws SQLException {
-        if(connection == null || connection.isClosed()) connectToDatabase();
 
         String sql = "DELETE FROM trusted_reviewers WHERE studentUserName = ? AND reviewerUserName = ?";
-        try(PreparedStatement ps = connection.prepareStatement(sql)) {
+        try (Connection conn = borrowConnection(); PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setString(1, studentUserName);
             ps.setString(2, reviewerUserName);
             return ps.executeUpdate() > 0;
@@ -1480,24 +2659,27 @@ public class DatabaseHelper {
         List<PrivateMessage> messages = new ArrayList<>();
         String query = "SELECT * FROM PrivateMessages ORDER BY createdAt DESC";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(query);
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query);
              ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                PrivateMessage msg = new PrivateMessage(
-                    rs.getInt("id"),
-                    rs.getString("questionId"),
-                    rs.getString("fromUser"),
-                    rs.getString("toUser"),
-                    rs.getString("content"),
-                    rs.getTimestamp("createdAt"),
-                    rs.getBoolean("isRead")
-                );
-                messages.add(msg);
+                messages.add(mapPrivateMessage(rs));
             }
         }
         return messages;
     }
 
+    private PrivateMessage mapPrivateMessage(ResultSet rs) throws SQLException {
+        return new PrivateMessage(
+            rs.getInt("id"),
+            rs.getString("questionId"),
+            rs.getString("fromUser"),
+            rs.getString("toUser"),
+            rs.getString("content"),
+            rs.getTimestamp("createdAt"),
+            rs.getBoolean("isRead")
+        );
+    }
+
     /**
      * Insert a content flag into the database
      * @param contentType type of content (question, answer, message, review)
@@ -1508,13 +2690,22 @@ public class DatabaseHelper {
      * @throws SQLException if database error occurs
      */
     public boolean flagContent(String contentType, String contentId, String flaggedBy, String reason) throws SQLException {
-        String query = "INSERT INTO content_flags (contentType, contentId, flaggedBy, reason) VALUES (?, ?, ?, ?)";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, contentType);
-            pstmt.setString(2, contentId);
-            pstmt.setString(3, flaggedBy);
-            pstmt.setString(4, reason);
-            return pstmt.executeUpdate() > 0;
+        beginCountedWrite();
+        try {
+            String query = "INSERT INTO content_flags (contentType, contentId, flaggedBy, reason) VALUES (?, ?, ?, ?)";
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+                pstmt.setString(1, contentType);
+                pstmt.setString(2, contentId);
+                pstmt.setString(3, flaggedBy);
+                pstmt.setString(4, reason);
+                boolean inserted = pstmt.executeUpdate() > 0;
+                if (inserted) {
+                    contentStatistics.adjust(ContentStatistics.PENDING_FLAGS, 1);
+                }
+                return inserted;
+            }
+        } finally {
+            endCountedWrite();
         }
     }
 
@@ -1527,24 +2718,203 @@ public class DatabaseHelper {
         List<ContentFlag> flags = new ArrayList<>();
         String query = "SELECT * FROM content_flags ORDER BY createdAt DESC";
         
-        try (PreparedStatement pstmt = connection.prepareStatement(query);
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query);
              ResultSet rs = pstmt.executeQuery()) {
             while (rs.next()) {
-                ContentFlag flag = new ContentFlag(
-                    rs.getInt("flagId"),
-                    rs.getString("contentType"),
-                    rs.getString("contentId"),
-                    rs.getString("flaggedBy"),
-                    rs.getString("reason"),
-                    rs.getString("status"),
-                    rs.getTimestamp("createdAt")
-                );
-                flags.add(flag);
+                flags.add(mapFlag(rs));
             }
         }
         return flags;
     }
 
+    private ContentFlag mapFlag(ResultSet rs) throws SQLException {
+        return new ContentFlag(
+            rs.getInt("flagId"),
+            rs.getString("contentType"),
+            rs.getString("contentId"),
+            rs.getString("flaggedBy"),
+            rs.getString("reason"),
+            rs.getString("status"),
+            rs.getTimestamp("createdAt")
+        );
+    }
+
+    // Lookups by primary key. Each is one indexed query; the batch versions
+    // below fetch many ids of one type with a single IN query.
+
+    /**
+     * Get a question, with its tags, by id.
+     * @param questionId id of the question
+     * @return the Question, or null if it does not exist
+     * @throws SQLException if database error occurs
+     */
+    public Question getQuestionById(String questionId) throws SQLException {
+        return getQuestionsByIds(Collections.singleton(questionId)).get(questionId);
+    }
+
+    /**
+     * Get an answer by id.
+     * @param answerId id of the answer
+     * @return the Answer, or null if it does not exist
+     * @throws SQLException if database error occurs
+     */
+    public Answer getAnswerById(String answerId) throws SQLException {
+        return getAnswersByIds(Collections.singleton(answerId)).get(answerId);
+    }
+
+    /**
+     * Get a review by id.
+     * @param reviewId id of the review
+     * @return the Review, or null if it does not exist
+     * @throws SQLException if database error occurs
+     */
+    public Review getReviewById(String reviewId) throws SQLException {
+        return getReviewsByIds(Collections.singleton(reviewId)).get(reviewId);
+    }
+
+    /**
+     * Get a private message by id.
+     * @param messageId id of the message
+     * @return the PrivateMessage, or null if it does not exist
+     * @throws SQLException if database error occurs
+     */
+    public PrivateMessage getMessageById(int messageId) throws SQLException {
+        return getMessagesByIds(Collections.singleton(String.valueOf(messageId))).get(String.valueOf(messageId));
+    }
+
+    /**
+     * Look up the content behind each flag and attach it with
+     * {@link ContentFlag#setContent(String, String)}, so the flag queue can
+     * show previews inline. Flags are grouped by content type and each type
+     * is fetched with one query, however many flags there are. Flags whose
+     * content was deleted, or whose type is unknown, are left unresolved.
+     * @param flags flags to resolve, e.g. one page of the flag table
+     * @throws SQLException if database error occurs
+     */
+    public void resolveFlaggedContent(List<ContentFlag> flags) throws SQLException {
+        Map<String, Set<String>> idsByType = new HashMap<>();
+        for (ContentFlag flag : flags) {
+            idsByType.computeIfAbsent(flag.getContentType(), k -> new LinkedHashSet<>()).add(flag.getContentId());
+        }
+        Map<String, Question> questions = getQuestionsByIds(idsByType.getOrDefault("question", Collections.emptySet()));
+        Map<String, Answer> answers = getAnswersByIds(idsByType.getOrDefault("answer", Collections.emptySet()));
+        Map<String, Review> reviews = getReviewsByIds(idsByType.getOrDefault("review", Collections.emptySet()));
+        Map<String, PrivateMessage> messages = getMessagesByIds(idsByType.getOrDefault("message", Collections.emptySet()));
+
+        for (ContentFlag flag : flags) {
+            String id = flag.getContentId();
+            switch (flag.getContentType()) {
+                case "question":
+                    Question q = questions.get(id);
+                    if (q != null) {
+                        flag.setContent("Title: " + q.getTitle() + "\n\n" +
+                                        "Content: " + q.getContent() + "\n\n" +
+                                        "Author: " + q.getAuthor(), q.getTitle());
+                    }
+                    break;
+                case "answer":
+                    Answer a = answers.get(id);
+                    if (a != null) {
+                        flag.setContent("Content: " + a.getContent() + "\n\n" +
+                                        "Author: " + a.getAuthor() + "\n" +
+                                        "Question ID: " + a.getQuestionId(), a.getContent());
+                    }
+                    break;
+                case "review":
+                    Review r = reviews.get(id);
+                    if (r != null) {
+                        flag.setContent("Content: " + r.getContent() + "\n\n" +
+                                        "Reviewer: " + r.getReviewer() + "\n" +
+                                        "Answer ID: " + r.getAnswerId(), r.getContent());
+                    }
+                    break;
+                case "message":
+                    PrivateMessage m = messages.get(id);
+                    if (m != null) {
+                        flag.setContent("From: " + m.getFromUser() + "\n" +
+                                        "To: " + m.getToUser() + "\n\n" +
+                                        "Content: " + m.getContent(), m.getContent());
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    private Map<String, Question> getQuestionsByIds(Collection<String> ids) throws SQLException {
+        Map<String, Question> byId = new HashMap<>();
+        if (ids.isEmpty()) {
+            return byId;
+        }
+        List<Question> questions = queryQuestionsWithTags("WHERE q.questionId IN (" + placeholders(ids.size()) + ")",
+                ids.toArray(new String[0]));
+        for (Question q : questions) {
+            byId.put(q.getQuestionId(), q);
+        }
+        return byId;
+    }
+
+    private Map<String, Answer> getAnswersByIds(Collection<String> ids) throws SQLException {
+        return queryByIds("SELECT * FROM answers", "answerId", ids, this::mapAnswer);
+    }
+
+    private Map<String, Review> getReviewsByIds(Collection<String> ids) throws SQLException {
+        return queryByIds("SELECT reviewId, answerId, reviewerUserName, reviewContent, createdAt, parentReviewID "
+                + "FROM answer_reviews", "reviewId", ids, this::mapReview);
+    }
+
+    private Map<String, PrivateMessage> getMessagesByIds(Collection<String> ids) throws SQLException {
+        // Message ids are integers; flags store them as text, so skip any that are not numbers
+        List<Integer> numericIds = new ArrayList<>();
+        for (String id : ids) {
+            try {
+                numericIds.add(Integer.valueOf(id));
+            } catch (NumberFormatException e) {
+                // not a message id
+            }
+        }
+        Map<String, PrivateMessage> byId = new HashMap<>();
+        if (numericIds.isEmpty()) {
+            return byId;
+        }
+        String query = "SELECT * FROM PrivateMessages WHERE id IN (" + placeholders(numericIds.size()) + ")";
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+            for (int i = 0; i < numericIds.size(); i++) {
+                pstmt.setInt(i + 1, numericIds.get(i));
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    PrivateMessage m = mapPrivateMessage(rs);
+                    byId.put(String.valueOf(m.getId()), m);
+                }
+            }
+        }
+        return byId;
+    }
+
+    /** Fetch the rows of one table whose string primary key is in {@code ids}, keyed by that id. */
+    private <T> Map<String, T> queryByIds(String select, String idColumn, Collection<String> ids, RowMapper<T> mapper)
+            throws SQLException {
+        Map<String, T> byId = new HashMap<>();
+        if (ids.isEmpty()) {
+            return byId;
+        }
+        String query = select + " WHERE " + idColumn + " IN (" + placeholders(ids.size()) + ")";
+        try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+            int i = 1;
+            for (String id : ids) {
+                pstmt.setString(i++, id);
+            }
+            try (ResultSet rs = pstmt.executeQuery()) {
+                while (rs.next()) {
+                    byId.put(rs.getString(idColumn), mapper.map(rs));
+                }
+            }
+        }
+        return byId;
+    }
+
     /**
      * Update flag status
      * @param flagId ID of the flag
@@ -1553,97 +2923,92 @@ public class DatabaseHelper {
      * @throws SQLException if database error occurs
      */
     public boolean updateFlagStatus(int flagId, String newStatus) throws SQLException {
-        String query = "UPDATE content_flags SET status = ? WHERE flagId = ?";
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setString(1, newStatus);
-            pstmt.setInt(2, flagId);
-            return pstmt.executeUpdate() > 0;
+        beginCountedWrite();
+        try {
+            String query = "SELECT status FROM OLD TABLE (UPDATE content_flags SET status = ? WHERE flagId = ?)";
+            try (Connection conn = borrowConnection(); PreparedStatement pstmt = conn.prepareStatement(query)) {
+                pstmt.setString(1, newStatus);
+                pstmt.setInt(2, flagId);
+                try (ResultSet rs = pstmt.executeQuery()) {
+                    if (!rs.next()) {
+                        return false;
+                    }
+                    int wasPending = ContentStatistics.PENDING_STATUS.equals(rs.getString("status")) ? 1 : 0;
+                    int isPending = ContentStatistics.PENDING_STATUS.equals(newStatus) ? 1 : 0;
+                    contentStatistics.adjust(ContentStatistics.PENDING_FLAGS, isPending - wasPending);
+                    return true;
+                }
+            }
+        } finally {
+            endCountedWrite();
         }
     }
 
     /**
-     * Get content statistics for staff reports
+     * Get content statistics for staff reports. The counters are kept up to
+     * date by the write methods, so this is a map copy once they are loaded;
+     * see {@link ContentStatistics}.
      * @return Map with various statistics
      * @throws SQLException if database error occurs
      */
     public Map<String, Integer> getContentStatistics() throws SQLException {
-        Map<String, Integer> stats = new HashMap<>();
-        
-        // Count questions
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM questions")) {
-            if (rs.next()) stats.put("totalQuestions", rs.getInt("count"));
-        }
-        
-        // Count answers
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM answers")) {
-            if (rs.next()) stats.put("totalAnswers", rs.getInt("count"));
-        }
-        
-        // Count messages
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM PrivateMessages")) {
-            if (rs.next()) stats.put("totalMessages", rs.getInt("count"));
-        }
-        
-        // Count reviews
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM answer_reviews")) {
-            if (rs.next()) stats.put("totalReviews", rs.getInt("count"));
-        }
-        
-        // Count unresolved questions
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM questions WHERE isResolved = FALSE")) {
-            if (rs.next()) stats.put("unresolvedQuestions", rs.getInt("count"));
-        }
-        
-        // Count pending flags
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT COUNT(*) as count FROM content_flags WHERE status = 'Pending'")) {
-            if (rs.next()) stats.put("pendingFlags", rs.getInt("count"));
-        }
-        
-        // Count users by role
-        try (Statement stmt = connection.createStatement();
-             ResultSet rs = stmt.executeQuery("SELECT role, COUNT(*) as count FROM cse360users GROUP BY role")) {
-            while (rs.next()) {
-                stats.put("users_" + rs.getString("role"), rs.getInt("count"));
+        Map<String, Integer> stats = contentStatistics.snapshot();
+        if (stats == null) {
+            try (Connection conn = borrowConnection()) {
+                stats = contentStatistics.load(conn);
             }
         }
-        
         return stats;
     }
 
     /**
-     * Get most active users
+     * Recount the report statistics and activity leaderboard from the tables now rather than at the
+     * next periodic reconciliation, e.g. after writes made outside this helper.
+     * @throws SQLException if database error occurs
+     */
+    public void reconcileContentStatistics() throws SQLException {
+        try (Connection conn = borrowConnection()) {
+            contentStatistics.reconcile(conn);
+            activityLeaderboard.reconcile(conn);
+        }
+    }
+
+    /**
+     * Get most active users over all time
      * @param limit number of users to return
      * @return list of username and activity count pairs
      * @throws SQLException if database error occurs
      */
     public List<Map<String, Object>> getMostActiveUsers(int limit) throws SQLException {
-        List<Map<String, Object>> results = new ArrayList<>();
-        
-        String query = "SELECT author as userName, COUNT(*) as activityCount " +
-                       "FROM (SELECT author FROM questions " +
-                       "UNION ALL SELECT author FROM answers) " +
-                       "GROUP BY author ORDER BY activityCount DESC LIMIT ?";
-        
-        try (PreparedStatement pstmt = connection.prepareStatement(query)) {
-            pstmt.setInt(1, limit);
-            try (ResultSet rs = pstmt.executeQuery()) {
-                while (rs.next()) {
-                    Map<String, Object> userActivity = new HashMap<>();
-                    userActivity.put("userName", rs.getString("userName"));
-                    userActivity.put("activityCount", rs.getInt("activityCount"));
-                    results.add(userActivity);
-                }
+        return getMostActiveUsers(limit, ActivityLeaderboard.Window.ALL_TIME);
+    }
+
+    /**
+     * Get most active users by questions and answers written in a window.
+     * Served from the in-memory {@link ActivityLeaderboard}, which is loaded
+     * from the tables on first use.
+     * @param limit number of users to return
+     * @param window period to count activity over
+     * @return list of username and activity count pairs, most active first
+     * @throws SQLException if database error occurs
+     */
+    public List<Map<String, Object>> getMostActiveUsers(int limit, ActivityLeaderboard.Window window)
+            throws SQLException {
+        Map<String, Integer> top;
+        if (activityLeaderboard.isLoaded()) {
+            top = activityLeaderboard.top(limit, window);
+        } else {
+            try (Connection conn = borrowConnection()) {
+                top = activityLeaderboard.top(conn, limit, window);
             }
         }
+        List<Map<String, Object>> results = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : top.entrySet()) {
+            Map<String, Object> userActivity = new HashMap<>();
+            userActivity.put("userName", entry.getKey());
+            userActivity.put("activityCount", entry.getValue());
+            results.add(userActivity);
+        }
         return results;
     }
 }
-
-
-
@@ -0,0 +1,72 @@
+package databasePart1;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One numbered step of the database schema, applied once by
+ * {@link SchemaMigrator} and recorded in the {@code schema_version} table.
+ * <p>
+ * A migration is identified by its version and protected by a checksum of its
+ * SQL. Once a migration has shipped its statements must never be edited;
+ * change the schema by adding a new migration instead.
+ * </p>
+ */
+public class Migration {
+	private final int version;
+	private final String description;
+	private final List<String> statements;
+	private final String checksum;
+
+	/**
+	 * Creates a migration.
+	 * @param version position in the migration order, starting at 1
+	 * @param description short summary stored alongside the version
+	 * @param statements SQL run in order when the migration is applied
+	 */
+	public Migration(int version, String description, String... statements) {
+		this.version = version;
+		this.description = description;
+		this.statements = Collections.unmodifiableList(Arrays.asList(statements));
+		this.checksum = computeChecksum(this.statements);
+	}
+
+	/** @return version number */
+	public int getVersion() { return version; }
+
+	/** @return short description */
+	public String getDescription() { return description; }
+
+	/** @return SQL statements in execution order */
+	public List<String> getStatements() { return statements; }
+
+	/** @return hex SHA-256 of the statements */
+	public String getChecksum() { return checksum; }
+
+	private static String computeChecksum(List<String> statements) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			for (String sql : statements) {
+				// Normalise whitespace so reformatting the source does not change the checksum
+				digest.update(sql.trim().replaceAll("\\s+", " ").getBytes(StandardCharsets.UTF_8));
+				digest.update((byte) ';');
+			}
+			StringBuilder hex = new StringBuilder();
+			for (byte b : digest.digest()) {
+				hex.append(String.format("%02x", b));
+			}
+			return hex.toString();
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "V" + version + " " + description;
+	}
+}
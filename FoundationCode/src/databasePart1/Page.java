@@ -0,0 +1,32 @@
+package databasePart1;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated list.
+ * @param <T> row type
+ */
+public class Page<T> {
+	private final List<T> items;
+	private final PageCursor next;
+
+	/**
+	 * Creates a page.
+	 * @param items rows on this page
+	 * @param next cursor for the following page, or null if this is the last
+	 */
+	public Page(List<T> items, PageCursor next) {
+		this.items = Collections.unmodifiableList(items);
+		this.next = next;
+	}
+
+	/** @return rows on this page, in list order */
+	public List<T> getItems() { return items; }
+
+	/** @return cursor to pass for the following page, or null after the last page */
+	public PageCursor getNext() { return next; }
+
+	/** @return true if another page follows */
+	public boolean hasMore() { return next != null; }
+}
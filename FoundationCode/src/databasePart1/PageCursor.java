@@ -0,0 +1,41 @@
+package databasePart1;
+
+import java.sql.Timestamp;
+
+/**
+ * Position after the last row of a page, used to fetch the next page by
+ * keyset rather than by offset.
+ * <p>
+ * Lists are ordered newest first by {@code createdAt}, with the row id as a
+ * tie-breaker, so the next page is everything older than the cursor plus the
+ * rows at the same instant with a larger id. The database seeks straight to
+ * that point through the {@code (createdAt DESC, id)} index, so a deep page
+ * costs the same as the first one.
+ * </p>
+ */
+public class PageCursor {
+	private final Timestamp createdAt;
+	private final Object id;
+
+	/**
+	 * Creates a cursor.
+	 * @param createdAt creation time of the last row returned; null for lists
+	 *                  ordered by id alone
+	 * @param id id of the last row returned, as read from the id column
+	 */
+	public PageCursor(Timestamp createdAt, Object id) {
+		this.createdAt = createdAt;
+		this.id = id;
+	}
+
+	/** @return creation time of the last row, or null */
+	public Timestamp getCreatedAt() { return createdAt; }
+
+	/** @return id of the last row */
+	public Object getId() { return id; }
+
+	@Override
+	public String toString() {
+		return createdAt == null ? String.valueOf(id) : createdAt + "/" + id;
+	}
+}
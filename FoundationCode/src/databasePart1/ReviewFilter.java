@@ -0,0 +1,43 @@
+package databasePart1;
+
+import java.sql.Timestamp;
+
+/**
+ * Optional restrictions for {@link DatabaseHelper#getAllReviews}. Any field
+ * left null is not filtered on.
+ */
+public class ReviewFilter {
+	/** A filter that matches every review. */
+	public static final ReviewFilter NONE = new ReviewFilter(null, null, null, null);
+
+	private final String reviewer;
+	private final String answerId;
+	private final Timestamp from;
+	private final Timestamp to;
+
+	/**
+	 * Creates a filter.
+	 * @param reviewer reviewer user name to match exactly, or null
+	 * @param answerId answer id to match exactly, or null
+	 * @param from earliest creation time, inclusive, or null
+	 * @param to   latest creation time, exclusive, or null
+	 */
+	public ReviewFilter(String reviewer, String answerId, Timestamp from, Timestamp to) {
+		this.reviewer = reviewer;
+		this.answerId = answerId;
+		this.from = from;
+		this.to = to;
+	}
+
+	/** @return reviewer user name, or null */
+	public String getReviewer() { return reviewer; }
+
+	/** @return answer id, or null */
+	public String getAnswerId() { return answerId; }
+
+	/** @return earliest creation time (inclusive), or null */
+	public Timestamp getFrom() { return from; }
+
+	/** @return latest creation time (exclusive), or null */
+	public Timestamp getTo() { return to; }
+}
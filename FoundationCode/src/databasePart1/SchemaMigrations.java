@@ -0,0 +1,157 @@
+package databasePart1;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The ordered list of schema migrations applied by {@link SchemaMigrator}.
+ * <p>
+ * Append new migrations at the end with the next version number. Never edit
+ * or reorder a migration that has shipped: its checksum is stored in every
+ * database it ran on and a mismatch stops startup.
+ * </p>
+ */
+final class SchemaMigrations {
+
+	private SchemaMigrations() {
+	}
+
+	/** V1: the tables created by the original createTables(). */
+	private static final Migration BASELINE = new Migration(1, "Baseline tables",
+			"CREATE TABLE IF NOT EXISTS cse360users (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "userName VARCHAR(255) UNIQUE, " + "password VARCHAR(255), " + "name VARCHAR(255), "
+					+ "email VARCHAR(255), " + "role VARCHAR(20))",
+			// table for multiple roles
+			"CREATE TABLE IF NOT EXISTS UserRoles (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "userName VARCHAR(255), " + "role VARCHAR(20),"
+					+ "FOREIGN KEY (userName) REFERENCES cse360users(userName))",
+			"CREATE TABLE IF NOT EXISTS InvitationCodes (" + "code VARCHAR(10) PRIMARY KEY, "
+					+ "email VARCHAR(255), " + "expiration TIMESTAMP, " + "isUsed BOOLEAN DEFAULT FALSE)",
+			"CREATE TABLE IF NOT EXISTS PrivateMessages (" + "id INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "questionId VARCHAR(64), " + "fromUser VARCHAR(255), " + "toUser VARCHAR(255), "
+					+ "content VARCHAR(2000), " + "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "isRead BOOLEAN DEFAULT FALSE)",
+			"CREATE TABLE IF NOT EXISTS OneTimePasswords (" + "userName VARCHAR(255), "
+					+ "otp VARCHAR(255), " + "expiration TIMESTAMP, " + "isUsed BOOLEAN DEFAULT FALSE, "
+					+ "PRIMARY KEY(userName, otp))",
+			"CREATE TABLE IF NOT EXISTS questions (" + "questionId VARCHAR(50) PRIMARY KEY, "
+					+ "title VARCHAR(500) NOT NULL, " + "content TEXT, " + "author VARCHAR(255), "
+					+ "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "followUpOf VARCHAR(50),"
+					+ "isResolved BOOLEAN DEFAULT FALSE, " + "FOREIGN KEY (author) REFERENCES cse360users(userName),"
+					+ "FOREIGN KEY (followUpOf) REFERENCES questions(questionId))",
+			"CREATE TABLE IF NOT EXISTS question_tags (" + "questionId VARCHAR(50), "
+					+ "tag VARCHAR(100), " + "PRIMARY KEY (questionId, tag), "
+					+ "FOREIGN KEY (questionId) REFERENCES questions(questionId))",
+			"CREATE TABLE IF NOT EXISTS answers (" + "answerId VARCHAR(50) PRIMARY KEY, "
+					+ "questionId VARCHAR(50), " + "content VARCHAR(50), " + "author VARCHAR(255), "
+					+ "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "isAccepted BOOLEAN DEFAULT FALSE, "
+					+ "isRead BOOLEAN DEFAULT FALSE, " + "FOREIGN KEY (questionId) REFERENCES questions(questionId), "
+					+ "FOREIGN KEY (author) REFERENCES cse360users(userName))",
+			// pending reviewer requests
+			"CREATE TABLE IF NOT EXISTS reviewer_requests (" + "requestId TEXT PRIMARY KEY,"
+					+ "studentUserName VARCHAR(255)," + "status TEXT DEFAULT 'Pending',"
+					+ "requestDate TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
+					+ "FOREIGN KEY(studentUserName) REFERENCES cse360users(userName))",
+			"CREATE TABLE IF NOT EXISTS answer_reviews (" + "reviewId VARCHAR(50) PRIMARY KEY,"
+					+ "answerId VARCHAR(50)," + "reviewerUserName VARCHAR(255)," + "reviewContent TEXT NOT NULL,"
+					+ "parentReviewID VARCHAR(50)," + "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP,"
+					+ "FOREIGN KEY (answerId) REFERENCES answers(answerId),"
+					+ "FOREIGN KEY (reviewerUserName) REFERENCES cse360users(userName))",
+			"CREATE TABLE IF NOT EXISTS reviewer_profiles (" + "reviewer_id INT PRIMARY KEY,"
+					+ "name VARCHAR(255)," + "experience VARCHAR(255),"
+					+ "FOREIGN KEY (reviewer_id )REFERENCES cse360users(id)) ",
+			// trusted reviewers for each student
+			"CREATE TABLE IF NOT EXISTS trusted_reviewers (" + "studentUserName VARCHAR(255), "
+					+ "reviewerUserName VARCHAR(255), " + "weight DOUBLE NOT NULL DEFAULT 1.0, "
+					+ "PRIMARY KEY (studentUserName, reviewerUserName), "
+					+ "FOREIGN KEY (studentUserName) REFERENCES cse360users(userName), "
+					+ "FOREIGN KEY (reviewerUserName) REFERENCES cse360users(userName))",
+			// used by staff; contentType is question/answer/message/review,
+			// status is Pending/Reviewed/Resolved
+			"CREATE TABLE IF NOT EXISTS content_flags (" + "flagId INT AUTO_INCREMENT PRIMARY KEY, "
+					+ "contentType VARCHAR(20), " + "contentId VARCHAR(255), " + "flaggedBy VARCHAR(255), "
+					+ "reason TEXT, " + "status VARCHAR(20) DEFAULT 'Pending', "
+					+ "createdAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, "
+					+ "FOREIGN KEY (flaggedBy) REFERENCES cse360users(userName))");
+
+	/**
+	 * V2: secondary indexes for the WHERE / ORDER BY shapes used in
+	 * {@link DatabaseHelper}. Foreign key columns already get an index from H2,
+	 * and trusted_reviewers lookups by student use the prefix of its primary key.
+	 * Newest-first sort columns are DESC so H2 reads them in index order.
+	 * Also drops the marker table used before migrations existed.
+	 */
+	private static final Migration SECONDARY_INDEXES = new Migration(2, "Secondary indexes for hot queries",
+			// getAnswersForQuestion, countUnreadAnswers, markAnswersAsRead
+			"CREATE INDEX IF NOT EXISTS idx_answers_question_created ON answers (questionId, createdAt DESC)",
+			// getReviewsForAnswer
+			"CREATE INDEX IF NOT EXISTS idx_reviews_answer_created ON answer_reviews (answerId, createdAt)",
+			// getReviewsByReviewer
+			"CREATE INDEX IF NOT EXISTS idx_reviews_reviewer_created ON answer_reviews (reviewerUserName, createdAt DESC)",
+			// getUnreadCountForQuestion, markMessagesRead, getFeedbackCountForReview
+			"CREATE INDEX IF NOT EXISTS idx_messages_question_to_read ON PrivateMessages (questionId, toUser, isRead)",
+			// getFeedbackByReviewer: toUser = ? AND questionId LIKE 'REVFB:%'
+			"CREATE INDEX IF NOT EXISTS idx_messages_to_question ON PrivateMessages (toUser, questionId)",
+			// getAllPrivateMessages
+			"CREATE INDEX IF NOT EXISTS idx_messages_created ON PrivateMessages (createdAt DESC)",
+			// getAllQuestions and the title/content searches (ORDER BY createdAt DESC, questionId)
+			"CREATE INDEX IF NOT EXISTS idx_questions_created ON questions (createdAt DESC, questionId)",
+			// getUnresolvedQuestions, unresolved count
+			"CREATE INDEX IF NOT EXISTS idx_questions_resolved_created ON questions (isResolved, createdAt DESC)",
+			// searchQuestionsByAuthor
+			"CREATE INDEX IF NOT EXISTS idx_questions_author_created ON questions (author, createdAt DESC)",
+			// pending flag count
+			"CREATE INDEX IF NOT EXISTS idx_flags_status ON content_flags (status)",
+			// getAllFlags
+			"CREATE INDEX IF NOT EXISTS idx_flags_created ON content_flags (createdAt DESC)",
+			// countAdmins, users-by-role statistics
+			"CREATE INDEX IF NOT EXISTS idx_users_role ON cse360users (role)",
+			"DROP TABLE IF EXISTS schema_index_set");
+
+	/**
+	 * V3: answers.content was VARCHAR(50) while AnswerValidator accepts up to
+	 * 10000 characters. Widening keeps every existing row.
+	 */
+	private static final Migration WIDEN_ANSWER_CONTENT = new Migration(3, "Widen answers.content to 10000",
+			"ALTER TABLE answers ALTER COLUMN content SET DATA TYPE VARCHAR(10000)");
+
+	/**
+	 * V4: {@code (createdAt DESC, id)} indexes for keyset pagination of the
+	 * staff lists. They also serve the plain newest-first lists, so the
+	 * createdAt-only indexes from V2 are dropped. Questions are already covered
+	 * by idx_questions_created and users page by their unique userName.
+	 */
+	private static final Migration KEYSET_INDEXES = new Migration(4, "Keyset pagination indexes",
+			"CREATE INDEX IF NOT EXISTS idx_answers_created_id ON answers (createdAt DESC, answerId)",
+			"CREATE INDEX IF NOT EXISTS idx_messages_created_id ON PrivateMessages (createdAt DESC, id)",
+			"DROP INDEX IF EXISTS idx_messages_created",
+			"CREATE INDEX IF NOT EXISTS idx_flags_created_id ON content_flags (createdAt DESC, flagId)",
+			"DROP INDEX IF EXISTS idx_flags_created");
+
+	/**
+	 * V5: {@code (createdAt DESC, reviewId)} index for paging the full review
+	 * list with {@link DatabaseHelper#getAllReviews}. Filtered pages use the V2
+	 * reviewer and answer indexes.
+	 */
+	private static final Migration REVIEW_KEYSET_INDEX = new Migration(5, "Review keyset pagination index",
+			"CREATE INDEX IF NOT EXISTS idx_reviews_created_id ON answer_reviews (createdAt DESC, reviewId)");
+
+	/**
+	 * V6: a lower-cased copy of reviewer_profiles.name, kept up to date by H2,
+	 * with an index so case-insensitive name prefix searches are a range seek.
+	 */
+	private static final Migration REVIEWER_NAME_SEARCH = new Migration(6, "Reviewer name search index",
+			"ALTER TABLE reviewer_profiles ADD COLUMN IF NOT EXISTS nameLower VARCHAR(255) "
+					+ "GENERATED ALWAYS AS (LOWER(name))",
+			"CREATE INDEX IF NOT EXISTS idx_reviewer_profiles_name_lower ON reviewer_profiles (nameLower)");
+
+	/** Every migration, in version order. */
+	static final List<Migration> ALL = Collections.unmodifiableList(Arrays.asList(
+			BASELINE,
+			SECONDARY_INDEXES,
+			WIDEN_ANSWER_CONTENT,
+			KEYSET_INDEXES,
+			REVIEW_KEYSET_INDEX,
+			REVIEWER_NAME_SEARCH));
+}
@@ -0,0 +1,172 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Brings a database up to the current schema by applying the pending
+ * {@link Migration}s in version order.
+ * <p>
+ * Applied migrations are recorded in {@code schema_version} with their
+ * checksum. On startup the recorded checksums are compared with the ones in
+ * the code, and a database that is already current is left alone: only one
+ * metadata lookup and one small query run, no DDL.
+ * </p>
+ * <p>
+ * Databases created before migrations existed already hold the baseline
+ * tables; V1 uses {@code CREATE TABLE IF NOT EXISTS}, so it is recorded
+ * without touching their data and the later steps run on top of it.
+ * </p>
+ */
+public class SchemaMigrator {
+
+	private static final String VERSION_TABLE = "schema_version";
+
+	private final List<Migration> migrations;
+
+	/** Creates a migrator for the application's migrations. */
+	public SchemaMigrator() {
+		this(SchemaMigrations.ALL);
+	}
+
+	/**
+	 * Creates a migrator for the given migrations.
+	 * @param migrations migrations numbered 1, 2, 3, ... in order
+	 */
+	public SchemaMigrator(List<Migration> migrations) {
+		for (int i = 0; i < migrations.size(); i++) {
+			if (migrations.get(i).getVersion() != i + 1) {
+				throw new IllegalArgumentException("Migrations must be numbered 1.." + migrations.size()
+						+ " in order, found " + migrations.get(i) + " at position " + (i + 1));
+			}
+		}
+		this.migrations = new ArrayList<>(migrations);
+	}
+
+	/**
+	 * @return the newest schema version this migrator knows about
+	 */
+	public int getLatestVersion() {
+		return migrations.size();
+	}
+
+	/**
+	 * Validate the recorded migrations and apply any that are pending.
+	 * @param conn open connection to the database
+	 * @return number of migrations applied; 0 when the database was current
+	 * @throws SQLException if a checksum does not match, the database is newer
+	 *                      than the code, or a migration fails
+	 */
+	public int migrate(Connection conn) throws SQLException {
+		Map<Integer, String> applied = readApplied(conn);
+		validate(applied);
+
+		List<Migration> pending = new ArrayList<>();
+		for (Migration m : migrations) {
+			if (!applied.containsKey(m.getVersion())) {
+				pending.add(m);
+			}
+		}
+		if (pending.isEmpty()) {
+			return 0;
+		}
+
+		if (!versionTableExists(conn)) {
+			try (Statement stmt = conn.createStatement()) {
+				stmt.execute("CREATE TABLE IF NOT EXISTS " + VERSION_TABLE + " (" + "version INT PRIMARY KEY, "
+						+ "description VARCHAR(255), " + "checksum VARCHAR(64) NOT NULL, "
+						+ "installedAt TIMESTAMP DEFAULT CURRENT_TIMESTAMP, " + "executionMillis BIGINT)");
+			}
+		}
+		for (Migration m : pending) {
+			apply(conn, m);
+		}
+		return pending.size();
+	}
+
+	/**
+	 * @param conn open connection to the database
+	 * @return highest applied migration version, or 0 for a fresh database
+	 * @throws SQLException on DB error
+	 */
+	public int currentVersion(Connection conn) throws SQLException {
+		int max = 0;
+		for (int version : readApplied(conn).keySet()) {
+			max = Math.max(max, version);
+		}
+		return max;
+	}
+
+	private void validate(Map<Integer, String> applied) throws SQLException {
+		for (Map.Entry<Integer, String> entry : applied.entrySet()) {
+			int version = entry.getKey();
+			if (version > migrations.size()) {
+				throw new SQLException("Database schema version " + version
+						+ " is newer than this application supports (" + migrations.size() + ")");
+			}
+			Migration m = migrations.get(version - 1);
+			if (!m.getChecksum().equals(entry.getValue())) {
+				throw new SQLException("Checksum mismatch for migration " + m
+						+ ": it was changed after being applied. Add a new migration instead.");
+			}
+		}
+	}
+
+	private void apply(Connection conn, Migration m) throws SQLException {
+		long start = System.currentTimeMillis();
+		boolean autoCommit = conn.getAutoCommit();
+		conn.setAutoCommit(false);
+		try {
+			try (Statement stmt = conn.createStatement()) {
+				for (String sql : m.getStatements()) {
+					stmt.execute(sql);
+				}
+			}
+			String insert = "INSERT INTO " + VERSION_TABLE
+					+ " (version, description, checksum, executionMillis) VALUES (?, ?, ?, ?)";
+			try (PreparedStatement pstmt = conn.prepareStatement(insert)) {
+				pstmt.setInt(1, m.getVersion());
+				pstmt.setString(2, m.getDescription());
+				pstmt.setString(3, m.getChecksum());
+				pstmt.setLong(4, System.currentTimeMillis() - start);
+				pstmt.executeUpdate();
+			}
+			conn.commit();
+			System.out.println("Applied schema migration " + m);
+		} catch (SQLException e) {
+			conn.rollback();
+			throw new SQLException("Schema migration " + m + " failed: " + e.getMessage(), e);
+		} finally {
+			conn.setAutoCommit(autoCommit);
+		}
+	}
+
+	private Map<Integer, String> readApplied(Connection conn) throws SQLException {
+		Map<Integer, String> applied = new LinkedHashMap<>();
+		if (!versionTableExists(conn)) {
+			return applied;
+		}
+		try (Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT version, checksum FROM " + VERSION_TABLE + " ORDER BY version")) {
+			while (rs.next()) {
+				applied.put(rs.getInt("version"), rs.getString("checksum"));
+			}
+		}
+		return applied;
+	}
+
+	private static boolean versionTableExists(Connection conn) throws SQLException {
+		DatabaseMetaData meta = conn.getMetaData();
+		try (ResultSet rs = meta.getTables(null, null, VERSION_TABLE.toUpperCase(), new String[] { "TABLE" })) {
+			return rs.next();
+		}
+	}
+}
@@ -0,0 +1,325 @@
+package databasePart1;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index for full-text search over documents with one or
+ * more text fields, such as a question's title and body.
+ * <p>
+ * Text is split into lowercase letter/digit tokens. Each token maps to the
+ * documents containing it with a per-field term count, so a query touches only
+ * the postings of its own terms instead of scanning every row. Results are
+ * ranked with BM25, and each field's score is multiplied by the boost given
+ * to the constructor.
+ * </p>
+ * <p>
+ * Query syntax: terms separated by spaces must all match; {@code OR} between
+ * groups of terms matches any group ({@code "sql join OR h2"}); a trailing
+ * {@code *} matches a prefix ({@code "index*"}).
+ * </p>
+ * <p>
+ * The index is updated incrementally with {@link #put} and {@link #remove} and
+ * is safe to use from several threads.
+ * </p>
+ */
+public class SearchIndex {
+
+	/** Field argument that searches every field. */
+	public static final int ALL_FIELDS = -1;
+
+	private static final double K1 = 1.2;
+	private static final double B = 0.75;
+
+	private final double[] fieldBoosts;
+	/** Term to document id to posting. Sorted for prefix queries. */
+	private final TreeMap<String, Map<String, Posting>> postings = new TreeMap<>();
+	/** Document id to document, so a document can be removed without rescanning. */
+	private final Map<String, Document> documents = new HashMap<>();
+	private final long[] totalLengths;
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	/** An indexed document: its terms and token count per field. */
+	private static final class Document {
+		final String id;
+		final int[] lengths;
+		final Set<String> terms = new HashSet<>();
+
+		Document(String id, int fields) {
+			this.id = id;
+			this.lengths = new int[fields];
+		}
+	}
+
+	/** Occurrences of one term in one document, per field. */
+	private static final class Posting {
+		final Document document;
+		final int[] counts;
+
+		Posting(Document document, int fields) {
+			this.document = document;
+			this.counts = new int[fields];
+		}
+	}
+
+	/**
+	 * Creates an empty index.
+	 * @param fieldBoosts score multiplier for each field, in the order fields
+	 *                    are passed to {@link #put}
+	 */
+	public SearchIndex(double... fieldBoosts) {
+		if (fieldBoosts.length == 0) {
+			throw new IllegalArgumentException("At least one field is required");
+		}
+		this.fieldBoosts = fieldBoosts.clone();
+		this.totalLengths = new long[fieldBoosts.length];
+	}
+
+	/**
+	 * Adds a document, replacing any earlier version with the same id.
+	 * @param id document id
+	 * @param fields text of each field; null counts as empty
+	 */
+	public void put(String id, String... fields) {
+		if (fields.length != fieldBoosts.length) {
+			throw new IllegalArgumentException("Expected " + fieldBoosts.length + " fields, got " + fields.length);
+		}
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+			Document document = new Document(id, fieldBoosts.length);
+			for (int f = 0; f < fields.length; f++) {
+				for (String token : tokenize(fields[f])) {
+					postings.computeIfAbsent(token, k -> new HashMap<>())
+							.computeIfAbsent(id, k -> new Posting(document, fieldBoosts.length)).counts[f]++;
+					document.terms.add(token);
+					document.lengths[f]++;
+				}
+				totalLengths[f] += document.lengths[f];
+			}
+			documents.put(id, document);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Removes a document. Unknown ids are ignored.
+	 * @param id document id
+	 */
+	public void remove(String id) {
+		lock.writeLock().lock();
+		try {
+			removeLocked(id);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Removes every document. */
+	public void clear() {
+		lock.writeLock().lock();
+		try {
+			postings.clear();
+			documents.clear();
+			Arrays.fill(totalLengths, 0);
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * @return number of indexed documents
+	 */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Finds the documents matching a query, best match first.
+	 * @param query search text; see the class comment for the syntax
+	 * @param field field to search, or {@link #ALL_FIELDS}
+	 * @param limit maximum number of ids to return
+	 * @return matching document ids in descending score order
+	 */
+	public List<String> search(String query, int field, int limit) {
+		List<List<String>> groups = parse(query);
+		lock.readLock().lock();
+		try {
+			Map<Document, double[]> scores = new HashMap<>();
+			for (List<String> group : groups) {
+				Map<Document, double[]> groupScores = null;
+				for (String term : group) {
+					Map<Document, double[]> termScores = scoreTerm(term, field);
+					if (groupScores == null) {
+						groupScores = termScores;
+					} else {
+						// AND: keep documents that matched every term so far
+						groupScores.keySet().retainAll(termScores.keySet());
+						for (Map.Entry<Document, double[]> e : groupScores.entrySet()) {
+							e.getValue()[0] += termScores.get(e.getKey())[0];
+						}
+					}
+					if (groupScores.isEmpty()) {
+						break;
+					}
+				}
+				if (groupScores != null) {
+					// OR: a document's score is its best matching group
+					for (Map.Entry<Document, double[]> e : groupScores.entrySet()) {
+						double[] best = scores.putIfAbsent(e.getKey(), e.getValue());
+						if (best != null) {
+							best[0] = Math.max(best[0], e.getValue()[0]);
+						}
+					}
+				}
+			}
+			return topIds(scores, limit);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Split text into lowercase tokens of letters and digits.
+	 * @param text text to split; null gives no tokens
+	 * @return tokens in order, duplicates included
+	 */
+	public static List<String> tokenize(String text) {
+		List<String> tokens = new ArrayList<>();
+		if (text == null) {
+			return tokens;
+		}
+		int start = -1;
+		for (int i = 0; i <= text.length(); i++) {
+			boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+			if (wordChar && start < 0) {
+				start = i;
+			} else if (!wordChar && start >= 0) {
+				tokens.add(text.substring(start, i).toLowerCase(Locale.ROOT));
+				start = -1;
+			}
+		}
+		return tokens;
+	}
+
+	/** Parse a query into OR groups of AND terms; prefix terms keep their '*'. */
+	private static List<List<String>> parse(String query) {
+		List<List<String>> groups = new ArrayList<>();
+		List<String> group = new ArrayList<>();
+		for (String word : query == null ? new String[0] : query.trim().split("\\s+")) {
+			if (word.equals("OR")) {
+				if (!group.isEmpty()) {
+					groups.add(group);
+					group = new ArrayList<>();
+				}
+				continue;
+			}
+			boolean prefix = word.endsWith("*");
+			List<String> tokens = tokenize(word);
+			for (int i = 0; i < tokens.size(); i++) {
+				group.add(prefix && i == tokens.size() - 1 ? tokens.get(i) + "*" : tokens.get(i));
+			}
+		}
+		if (!group.isEmpty()) {
+			groups.add(group);
+		}
+		return groups;
+	}
+
+	/** BM25 score of every document containing the term (or a term with the prefix). */
+	private Map<Document, double[]> scoreTerm(String term, int field) {
+		Map<Document, double[]> scores = new HashMap<>();
+		int documentCount = documents.size();
+		Collection<Map<String, Posting>> matches;
+		if (term.endsWith("*")) {
+			String prefix = term.substring(0, term.length() - 1);
+			matches = postings.subMap(prefix, prefix + Character.MAX_VALUE).values();
+		} else {
+			Map<String, Posting> posting = postings.get(term);
+			matches = posting == null ? List.of() : List.of(posting);
+		}
+
+		double[] averageLengths = new double[fieldBoosts.length];
+		for (int f = 0; f < averageLengths.length; f++) {
+			averageLengths[f] = Math.max(1.0, (double) totalLengths[f] / documentCount);
+		}
+		for (Map<String, Posting> termPostings : matches) {
+			double idf = Math.log(1 + (documentCount - termPostings.size() + 0.5) / (termPostings.size() + 0.5));
+			for (Posting posting : termPostings.values()) {
+				int[] counts = posting.counts;
+				int[] lengths = posting.document.lengths;
+				double score = 0;
+				for (int f = 0; f < counts.length; f++) {
+					if (counts[f] == 0 || (field != ALL_FIELDS && field != f)) {
+						continue;
+					}
+					double norm = K1 * (1 - B + B * lengths[f] / averageLengths[f]);
+					score += fieldBoosts[f] * idf * counts[f] * (K1 + 1) / (counts[f] + norm);
+				}
+				if (score > 0) {
+					scores.computeIfAbsent(posting.document, k -> new double[1])[0] += score;
+				}
+			}
+		}
+		return scores;
+	}
+
+	/** Ids of the highest scoring documents, best first; ties go to the smaller id. */
+	private static List<String> topIds(Map<Document, double[]> scores, int limit) {
+		Comparator<Map.Entry<Document, double[]>> byRank = Comparator
+				.<Map.Entry<Document, double[]>>comparingDouble(e -> e.getValue()[0])
+				.thenComparing(e -> e.getKey().id, Comparator.reverseOrder());
+		// Min-heap of the best `limit` entries seen so far
+		PriorityQueue<Map.Entry<Document, double[]>> best = new PriorityQueue<>(byRank);
+		for (Map.Entry<Document, double[]> entry : scores.entrySet()) {
+			if (best.size() < limit) {
+				best.add(entry);
+			} else if (limit > 0 && byRank.compare(entry, best.peek()) > 0) {
+				best.poll();
+				best.add(entry);
+			}
+		}
+		List<String> ids = new ArrayList<>(best.size());
+		while (!best.isEmpty()) {
+			ids.add(best.poll().getKey().id);
+		}
+		Collections.reverse(ids);
+		return ids;
+	}
+
+	private void removeLocked(String id) {
+		Document document = documents.remove(id);
+		if (document == null) {
+			return;
+		}
+		for (String term : document.terms) {
+			Map<String, Posting> termPostings = postings.get(term);
+			termPostings.remove(id);
+			if (termPostings.isEmpty()) {
+				postings.remove(term);
+			}
+		}
+		for (int f = 0; f < document.lengths.length; f++) {
+			totalLengths[f] -= document.lengths[f];
+		}
+	}
+}
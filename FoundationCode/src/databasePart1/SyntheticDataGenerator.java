@@ -0,0 +1,565 @@
+package databasePart1;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Generates a synthetic data set for load testing and writes it with batched
+ * JDBC inserts in large transactions.
+ * <p>
+ * Users get roles from a configurable mix; reviewers get a reviewer profile
+ * and students trust a few reviewers. Question threads have follow-ups, tags,
+ * answers, reviews of the answers, private messages and review feedback, and a
+ * fraction of questions and answers are flagged. Per-item counts (answers per
+ * question and so on) are geometric with a configurable mean, and authors and
+ * tags are drawn from a Zipf distribution so a few users and tags dominate, as
+ * in real forums.
+ * </p>
+ * <p>
+ * Rows are streamed: nothing is kept per row except the ids needed to link
+ * children to parents, so the data set can be far larger than the heap. Each
+ * table has its own batch, and batches are sent in foreign key order, so a
+ * commit never sees a child before its parent. For the length of the load,
+ * foreign key checks are off and the loaded tables' secondary indexes are
+ * dropped, to be rebuilt at the end, so the tool is meant for load-test
+ * databases rather than one in use. Ids are derived from
+ * {@link Config#prefix}, so a second run with a different prefix can load into
+ * the same database.
+ * </p>
+ * <p>
+ * Run from the command line with {@code key=value} arguments named after the
+ * {@link Config} fields, e.g.
+ * {@code java databasePart1.SyntheticDataGenerator url=jdbc:h2:~/loadtest users=100000 questions=2000000}.
+ * </p>
+ */
+public class SyntheticDataGenerator {
+
+	/** Volumes and distributions of a generated data set; every field has a default. */
+	public static final class Config {
+		/** Prefix of every generated id and user name. */
+		public String prefix = "syn";
+		/** Seed of the random generator; the same seed gives the same data. */
+		public long seed = 42;
+		public int users = 1000;
+		public int questions = 10_000;
+		/** Fraction of users per role; students take the rest. */
+		public double adminFraction = 0.01;
+		public double instructorFraction = 0.03;
+		public double staffFraction = 0.02;
+		public double reviewerFraction = 0.14;
+		/** Zipf exponent of authorship; 0 spreads posts evenly. */
+		public double authorSkew = 1.0;
+		/** Fraction of questions that follow up an earlier one. */
+		public double followUpFraction = 0.15;
+		public int maxTagsPerQuestion = 3;
+		/** Zipf exponent of tag popularity. */
+		public double tagSkew = 1.1;
+		public double answersPerQuestion = 2.0;
+		public double reviewsPerAnswer = 0.5;
+		public double trustedPerStudent = 2.0;
+		public double messagesPerQuestion = 0.5;
+		/** Fraction of reviews that receive a feedback message. */
+		public double feedbackFraction = 0.2;
+		/** Fraction of questions and answers that are flagged. */
+		public double flagFraction = 0.01;
+		/** Creation times are spread over this many days before now. */
+		public int days = 90;
+		/** Rows per JDBC batch. */
+		public int batchSize = 5000;
+		/** Rows per transaction. */
+		public int commitEvery = 200_000;
+
+		/**
+		 * Sets a field from its name and text value, as given on the command line.
+		 * @param name field name
+		 * @param value new value
+		 * @return this config
+		 * @throws IllegalArgumentException if there is no such field or the value does not parse
+		 */
+		public Config set(String name, String value) {
+			try {
+				java.lang.reflect.Field field = Config.class.getField(name);
+				Class<?> type = field.getType();
+				if (type == int.class) {
+					field.setInt(this, Integer.parseInt(value.replace("_", "")));
+				} else if (type == long.class) {
+					field.setLong(this, Long.parseLong(value.replace("_", "")));
+				} else if (type == double.class) {
+					field.setDouble(this, Double.parseDouble(value));
+				} else {
+					field.set(this, value);
+				}
+				return this;
+			} catch (NoSuchFieldException | IllegalAccessException | NumberFormatException e) {
+				throw new IllegalArgumentException("Bad setting " + name + "=" + value, e);
+			}
+		}
+	}
+
+	private static final String[] TAGS = {
+		"java", "javafx", "sql", "h2", "junit", "git", "eclipse", "maven", "streams", "lambdas",
+		"generics", "collections", "threads", "exceptions", "interfaces", "inheritance", "recursion",
+		"arrays", "strings", "io", "networking", "testing", "debugging", "design", "uml", "homework",
+		"exam", "project", "setup", "style",
+	};
+	private static final String[] WORDS = {
+		"how", "why", "does", "the", "my", "a", "to", "with", "when", "error", "method", "class",
+		"list", "map", "query", "table", "button", "scene", "test", "loop", "value", "null", "return",
+		"compile", "run", "database", "connection", "user", "answer", "question",
+	};
+	private static final String[] FLAG_REASONS = { "Spam", "Off topic", "Inappropriate", "Duplicate" };
+	private static final long DAY_MILLIS = 24 * 60 * 60_000L;
+
+	private final Config config;
+	private final Random random;
+
+	/**
+	 * Creates a generator.
+	 * @param config volumes and distributions to generate
+	 */
+	public SyntheticDataGenerator(Config config) {
+		this.config = config;
+		this.random = new Random(config.seed);
+	}
+
+	/** One table's insert statement and its pending batch. */
+	private final class Table {
+		final String name;
+		final PreparedStatement insert;
+		long rows = 0;
+		int pending = 0;
+
+		Table(Connection conn, String name, String sql) throws SQLException {
+			this.name = name;
+			this.insert = conn.prepareStatement(sql);
+		}
+
+		/** Adds the bound row to the batch. */
+		void add() throws SQLException {
+			insert.addBatch();
+			rows++;
+			pending++;
+		}
+
+		void flush() throws SQLException {
+			if (pending > 0) {
+				insert.executeBatch();
+				pending = 0;
+			}
+		}
+	}
+
+	private Connection conn;
+	/** Tables in foreign key order; parents are flushed before children. */
+	private final List<Table> tables = new ArrayList<>();
+	private long rowsSinceCommit = 0;
+
+	/**
+	 * Generates the data set and writes it through the helper's pool, in
+	 * transactions of {@link Config#commitEvery} rows. The helper's caches and
+	 * counters are reset afterwards, since the rows bypass its write methods.
+	 * @param db helper connected to the target database
+	 * @return rows written per table, in load order
+	 * @throws SQLException on DB error; the open transaction is rolled back
+	 */
+	public Map<String, Long> load(DatabaseHelper db) throws SQLException {
+		ConnectionPool pool = db.getConnectionPool();
+		tables.clear();
+		rowsSinceCommit = 0;
+		conn = pool.beginTransaction();
+		List<String> droppedIndexes = new ArrayList<>();
+		SQLException failure = null;
+		try {
+			// The generated rows are consistent by construction, so skip the per-row foreign key lookups
+			try (Statement stmt = conn.createStatement()) {
+				stmt.execute("SET REFERENTIAL_INTEGRITY FALSE");
+			}
+			Table users = table("cse360users", "INSERT INTO cse360users (id, userName, password, name, email, role) "
+					+ "VALUES (?, ?, ?, ?, ?, ?)");
+			Table roles = table("UserRoles", "INSERT INTO UserRoles (userName, role) VALUES (?, ?)");
+			Table profiles = table("reviewer_profiles",
+					"INSERT INTO reviewer_profiles (reviewer_id, name, experience) VALUES (?, ?, ?)");
+			Table trusted = table("trusted_reviewers",
+					"INSERT INTO trusted_reviewers (studentUserName, reviewerUserName, weight) VALUES (?, ?, ?)");
+			Table questions = table("questions", "INSERT INTO questions "
+					+ "(questionId, title, content, author, createdAt, followUpOf, isResolved) VALUES (?, ?, ?, ?, ?, ?, ?)");
+			Table tags = table("question_tags", "INSERT INTO question_tags (questionId, tag) VALUES (?, ?)");
+			Table answers = table("answers", "INSERT INTO answers "
+					+ "(answerId, questionId, content, author, createdAt, isAccepted, isRead) VALUES (?, ?, ?, ?, ?, ?, ?)");
+			Table reviews = table("answer_reviews", "INSERT INTO answer_reviews "
+					+ "(reviewId, answerId, reviewerUserName, reviewContent, createdAt) VALUES (?, ?, ?, ?, ?)");
+			Table messages = table("PrivateMessages", "INSERT INTO PrivateMessages "
+					+ "(questionId, fromUser, toUser, content, createdAt, isRead) VALUES (?, ?, ?, ?, ?, ?)");
+			Table flags = table("content_flags", "INSERT INTO content_flags "
+					+ "(contentType, contentId, flaggedBy, reason, status, createdAt) VALUES (?, ?, ?, ?, ?, ?)");
+			// Built once at the end instead of row by row
+			droppedIndexes = dropSecondaryIndexes();
+
+			long now = System.currentTimeMillis();
+			long start = now - config.days * DAY_MILLIS;
+			int firstId = nextUserId();
+
+			// Users, their roles and reviewer profiles
+			String[] roleOf = new String[config.users];
+			List<Integer> reviewers = new ArrayList<>();
+			for (int u = 0; u < config.users; u++) {
+				roleOf[u] = pickRole();
+				users.insert.setInt(1, firstId + u);
+				users.insert.setString(2, user(u));
+				users.insert.setString(3, "Pass123!");
+				users.insert.setString(4, "Synthetic User " + u);
+				users.insert.setString(5, user(u) + "@example.com");
+				users.insert.setString(6, roleOf[u]);
+				add(users);
+				roles.insert.setString(1, user(u));
+				roles.insert.setString(2, roleOf[u]);
+				add(roles);
+				if ("reviewer".equals(roleOf[u])) {
+					reviewers.add(u);
+					profiles.insert.setInt(1, firstId + u);
+					profiles.insert.setString(2, user(u));
+					profiles.insert.setString(3, geometric(3) + " years reviewing");
+					add(profiles);
+				}
+			}
+			restartUserIds(firstId + config.users);
+
+			// Trust graph: students trust a few popular reviewers
+			Zipf reviewerPick = new Zipf(reviewers.size(), config.authorSkew, random);
+			for (int u = 0; u < config.users && !reviewers.isEmpty(); u++) {
+				if (!"student".equals(roleOf[u])) {
+					continue;
+				}
+				Set<Integer> chosen = new HashSet<>();
+				int wanted = Math.min(geometric(config.trustedPerStudent), reviewers.size());
+				while (chosen.size() < wanted) {
+					chosen.add(reviewers.get(reviewerPick.next()));
+				}
+				for (int r : chosen) {
+					trusted.insert.setString(1, user(u));
+					trusted.insert.setString(2, user(r));
+					trusted.insert.setDouble(3, 1 + random.nextInt(5));
+					add(trusted);
+				}
+			}
+
+			// Question threads
+			Zipf authorPick = new Zipf(config.users, config.authorSkew, random);
+			Zipf tagPick = new Zipf(TAGS.length, config.tagSkew, random);
+			long answerCount = 0;
+			long reviewCount = 0;
+			for (int q = 0; q < config.questions; q++) {
+				String questionId = config.prefix + "-q" + q;
+				int author = authorPick.next();
+				long askedAt = start + (long) ((double) q / config.questions * (now - start));
+				questions.insert.setString(1, questionId);
+				questions.insert.setString(2, sentence(6));
+				questions.insert.setString(3, sentence(30));
+				questions.insert.setString(4, user(author));
+				questions.insert.setTimestamp(5, new Timestamp(askedAt));
+				questions.insert.setString(6, q > 0 && random.nextDouble() < config.followUpFraction
+						? config.prefix + "-q" + random.nextInt(q) : null);
+				questions.insert.setBoolean(7, random.nextDouble() < 0.4);
+				add(questions);
+
+				Set<String> questionTags = new HashSet<>();
+				for (int t = random.nextInt(config.maxTagsPerQuestion + 1); t > 0; t--) {
+					questionTags.add(TAGS[tagPick.next()]);
+				}
+				for (String tag : questionTags) {
+					tags.insert.setString(1, questionId);
+					tags.insert.setString(2, tag);
+					add(tags);
+				}
+				if (random.nextDouble() < config.flagFraction) {
+					flag(flags, "question", questionId, authorPick.next(), askedAt, now);
+				}
+
+				for (int a = geometric(config.answersPerQuestion); a > 0; a--) {
+					String answerId = config.prefix + "-a" + answerCount++;
+					long answeredAt = after(askedAt, now);
+					answers.insert.setString(1, answerId);
+					answers.insert.setString(2, questionId);
+					answers.insert.setString(3, sentence(20));
+					answers.insert.setString(4, user(authorPick.next()));
+					answers.insert.setTimestamp(5, new Timestamp(answeredAt));
+					answers.insert.setBoolean(6, a == 1 && random.nextDouble() < 0.3);
+					answers.insert.setBoolean(7, random.nextBoolean());
+					add(answers);
+					if (random.nextDouble() < config.flagFraction) {
+						flag(flags, "answer", answerId, authorPick.next(), answeredAt, now);
+					}
+
+					for (int r = reviewers.isEmpty() ? 0 : geometric(config.reviewsPerAnswer); r > 0; r--) {
+						String reviewId = config.prefix + "-r" + reviewCount++;
+						int reviewer = reviewers.get(reviewerPick.next());
+						long reviewedAt = after(answeredAt, now);
+						reviews.insert.setString(1, reviewId);
+						reviews.insert.setString(2, answerId);
+						reviews.insert.setString(3, user(reviewer));
+						reviews.insert.setString(4, sentence(15));
+						reviews.insert.setTimestamp(5, new Timestamp(reviewedAt));
+						add(reviews);
+						if (random.nextDouble() < config.feedbackFraction) {
+							// Feedback on a review is a message keyed REV:<reviewId>, as getFeedbackCountForReview counts it
+							message(messages, "REV:" + reviewId, authorPick.next(), reviewer, reviewedAt, now);
+						}
+					}
+				}
+
+				for (int m = geometric(config.messagesPerQuestion); m > 0; m--) {
+					message(messages, questionId, authorPick.next(), author, askedAt, now);
+				}
+			}
+
+			flushAll();
+			conn.commit();
+		} catch (SQLException e) {
+			conn.rollback();
+			failure = e;
+			throw e;
+		} catch (RuntimeException e) {
+			conn.rollback();
+			throw e;
+		} finally {
+			for (Table table : tables) {
+				table.insert.close();
+			}
+			try (Statement stmt = conn.createStatement()) {
+				for (String create : droppedIndexes) {
+					stmt.execute(create);
+				}
+				stmt.execute("SET REFERENTIAL_INTEGRITY TRUE");
+			} catch (SQLException e) {
+				if (failure == null) {
+					throw e;
+				}
+				failure.addSuppressed(e);
+			} finally {
+				pool.endTransaction();
+				conn = null;
+			}
+		}
+		// Refresh optimizer statistics; this also resets the helper's caches and counters
+		db.executeUpdate("ANALYZE");
+
+		Map<String, Long> rows = new LinkedHashMap<>();
+		for (Table table : tables) {
+			rows.put(table.name, table.rows);
+		}
+		return rows;
+	}
+
+	private Table table(String name, String sql) throws SQLException {
+		Table table = new Table(conn, name, sql);
+		tables.add(table);
+		return table;
+	}
+
+	/** Adds a row, sending every batch at batch size and committing every {@link Config#commitEvery} rows. */
+	private void add(Table table) throws SQLException {
+		table.add();
+		if (table.pending >= config.batchSize) {
+			flushAll();
+		}
+		if (++rowsSinceCommit >= config.commitEvery) {
+			flushAll();
+			conn.commit();
+			rowsSinceCommit = 0;
+		}
+	}
+
+	/** Sends every pending batch, parents first. */
+	private void flushAll() throws SQLException {
+		for (Table table : tables) {
+			table.flush();
+		}
+	}
+
+	/**
+	 * Drops the secondary indexes of the tables being loaded. Primary keys,
+	 * unique constraints and the indexes behind foreign keys stay.
+	 * @return the statements that recreate them
+	 */
+	private List<String> dropSecondaryIndexes() throws SQLException {
+		Map<String, String> creates = new LinkedHashMap<>();
+		Set<String> loaded = new HashSet<>();
+		for (Table table : tables) {
+			loaded.add(table.name.toUpperCase());
+		}
+		String query = "SELECT i.INDEX_NAME, i.TABLE_NAME, c.COLUMN_NAME, c.ORDERING_SPECIFICATION "
+				+ "FROM INFORMATION_SCHEMA.INDEXES i JOIN INFORMATION_SCHEMA.INDEX_COLUMNS c "
+				+ "ON c.INDEX_SCHEMA = i.INDEX_SCHEMA AND c.INDEX_NAME = i.INDEX_NAME "
+				+ "WHERE i.TABLE_SCHEMA = SCHEMA() AND i.INDEX_TYPE_NAME = 'INDEX' AND i.IS_GENERATED = FALSE "
+				+ "ORDER BY i.INDEX_NAME, c.ORDINAL_POSITION";
+		try (Statement stmt = conn.createStatement(); ResultSet rs = stmt.executeQuery(query)) {
+			while (rs.next()) {
+				if (!loaded.contains(rs.getString("TABLE_NAME"))) {
+					continue;
+				}
+				String column = rs.getString("COLUMN_NAME") + " " + rs.getString("ORDERING_SPECIFICATION");
+				creates.merge(rs.getString("INDEX_NAME"),
+						"CREATE INDEX " + rs.getString("INDEX_NAME") + " ON " + rs.getString("TABLE_NAME") + " (" + column,
+						(create, ignored) -> create + ", " + column);
+			}
+		}
+		List<String> recreate = new ArrayList<>();
+		try (Statement stmt = conn.createStatement()) {
+			for (Map.Entry<String, String> index : creates.entrySet()) {
+				stmt.execute("DROP INDEX " + index.getKey());
+				recreate.add(index.getValue() + ")");
+			}
+		}
+		return recreate;
+	}
+
+	private int nextUserId() throws SQLException {
+		try (Statement stmt = conn.createStatement();
+				ResultSet rs = stmt.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM cse360users")) {
+			rs.next();
+			return rs.getInt(1);
+		}
+	}
+
+	/** Moves the id sequence past the ids written explicitly, so later registrations do not collide. */
+	private void restartUserIds(int next) throws SQLException {
+		flushAll();
+		try (Statement stmt = conn.createStatement()) {
+			stmt.executeUpdate("ALTER TABLE cse360users ALTER COLUMN id RESTART WITH " + next);
+		}
+	}
+
+	private void flag(Table flags, String type, String contentId, int flaggedBy, long createdAt, long now)
+			throws SQLException {
+		flags.insert.setString(1, type);
+		flags.insert.setString(2, contentId);
+		flags.insert.setString(3, user(flaggedBy));
+		flags.insert.setString(4, FLAG_REASONS[random.nextInt(FLAG_REASONS.length)]);
+		flags.insert.setString(5, random.nextDouble() < 0.5 ? "Pending" : "Resolved");
+		flags.insert.setTimestamp(6, new Timestamp(after(createdAt, now)));
+		add(flags);
+	}
+
+	private void message(Table messages, String questionId, int from, int to, long createdAt, long now)
+			throws SQLException {
+		messages.insert.setString(1, questionId);
+		messages.insert.setString(2, user(from));
+		messages.insert.setString(3, user(to));
+		messages.insert.setString(4, sentence(12));
+		messages.insert.setTimestamp(5, new Timestamp(after(createdAt, now)));
+		messages.insert.setBoolean(6, random.nextBoolean());
+		add(messages);
+	}
+
+	private String user(int u) {
+		return config.prefix + "_u" + u;
+	}
+	private String pickRole() {
+		double r = random.nextDouble();
+		if ((r -= config.adminFraction) < 0) {
+			return "admin";
+		}
+		if ((r -= config.instructorFraction) < 0) {
+			return "instructor";
+		}
+		if ((r -= config.staffFraction) < 0) {
+			return "staff";
+		}
+		if ((r -= config.reviewerFraction) < 0) {
+			return "reviewer";
+		}
+		return "student";
+	}
+
+	/** @return a count from 0 up with the given mean, geometrically distributed */
+	private int geometric(double mean) {
+		if (mean <= 0) {
+			return 0;
+		}
+		double p = 1 / (1 + mean);
+		return (int) (Math.log(1 - random.nextDouble()) / Math.log(1 - p));
+	}
+
+	/** @return a time between {@code time} and a few days later, not after now */
+	private long after(long time, long now) {
+		return Math.min(now, time + (long) (random.nextDouble() * 3 * DAY_MILLIS));
+	}
+
+	private String sentence(int words) {
+		StringBuilder text = new StringBuilder();
+		for (int i = 0; i < words; i++) {
+			text.append(i == 0 ? "" : " ").append(WORDS[random.nextInt(WORDS.length)]);
+		}
+		return text.toString();
+	}
+
+	/** Draws 0..n-1 with probability proportional to 1/(k+1)^s, by binary search of the CDF. */
+	private static final class Zipf {
+		private final double[] cdf;
+		private final Random random;
+
+		Zipf(int n, double exponent, Random random) {
+			this.cdf = new double[n];
+			this.random = random;
+			double sum = 0;
+			for (int k = 0; k < n; k++) {
+				sum += 1 / Math.pow(k + 1, exponent);
+				cdf[k] = sum;
+			}
+			for (int k = 0; k < n; k++) {
+				cdf[k] /= sum;
+			}
+		}
+
+		int next() {
+			int i = Arrays.binarySearch(cdf, random.nextDouble());
+			return Math.min(cdf.length - 1, i >= 0 ? i : -i - 1);
+		}
+	}
+
+	/**
+	 * Loads a data set from the command line: {@code url=<jdbc url>} plus any
+	 * {@link Config} field as {@code name=value}.
+	 * @param args settings
+	 * @throws SQLException on DB error
+	 */
+	public static void main(String[] args) throws SQLException {
+		Config config = new Config();
+		String url = null;
+		for (String arg : args) {
+			int eq = arg.indexOf('=');
+			if (eq < 0) {
+				throw new IllegalArgumentException("Expected name=value: " + arg);
+			}
+			if (arg.startsWith("url=")) {
+				url = arg.substring(eq + 1);
+			} else {
+				config.set(arg.substring(0, eq), arg.substring(eq + 1));
+			}
+		}
+		DatabaseHelper db = url == null ? new DatabaseHelper() : new DatabaseHelper(url);
+		db.connectToDatabase();
+		try {
+			long start = System.nanoTime();
+			Map<String, Long> rows = new SyntheticDataGenerator(config).load(db);
+			double seconds = (System.nanoTime() - start) / 1e9;
+			long total = rows.values().stream().mapToLong(Long::longValue).sum();
+			rows.forEach((table, count) -> System.out.printf("  %-20s %,12d%n", table, count));
+			System.out.printf("Loaded %,d rows in %.1f s (%,.0f rows/s)%n", total, seconds, total / seconds);
+		} finally {
+			db.closeConnection();
+		}
+	}
+}
@@ -0,0 +1,195 @@
+package databasePart1;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A bounded, least-recently-used cache of user ids and roles used by
+ * {@link DatabaseHelper}, keyed by userName.
+ * <p>
+ * {@link DatabaseHelper} writes through it when it registers a user and
+ * invalidates the entry whenever a user's roles change or the user is deleted,
+ * so role checks during navigation are answered from memory. Entries also
+ * expire after a fixed time, which bounds how stale a change made by another
+ * process sharing the database can be.
+ * </p>
+ * <p>
+ * A lookup that misses loads from the database outside the cache's lock. To
+ * keep such a load from re-inserting a row that was changed while it ran, the
+ * loader reads {@link #generation()} first and stores through
+ * {@link #putIfUnchanged}, which drops the entry if anything was invalidated in
+ * between.
+ * </p>
+ * <p>
+ * Hits, misses and evictions are tracked for reporting through the getters at
+ * the bottom of this class.
+ * </p>
+ */
+public class UserCache {
+
+	/** Default number of users held when none is configured. */
+	public static final int DEFAULT_MAX_SIZE = 1024;
+	/** Default time an entry is trusted before it is reloaded. */
+	public static final long DEFAULT_EXPIRE_AFTER_MILLIS = 5 * 60_000;
+
+	/** Cached id and roles of one user. */
+	public static final class Entry {
+		private final int userId;
+		private final String primaryRole;
+		private final List<String> roles;
+		private final long loadedAtNanos = System.nanoTime();
+
+		/**
+		 * Creates an entry.
+		 * @param userId id from cse360users
+		 * @param primaryRole role column of cse360users, may be null
+		 * @param roles rows of UserRoles for the user, in insertion order
+		 */
+		public Entry(int userId, String primaryRole, List<String> roles) {
+			this.userId = userId;
+			this.primaryRole = primaryRole;
+			this.roles = Collections.unmodifiableList(new ArrayList<>(roles));
+		}
+
+		/** @return user id */
+		public int getUserId() { return userId; }
+
+		/** @return primary role, or null */
+		public String getPrimaryRole() { return primaryRole; }
+
+		/** @return every role from UserRoles; may be empty */
+		public List<String> getRoles() { return roles; }
+	}
+
+	private final int maxSize;
+	private final long expireAfterNanos;
+	private final LinkedHashMap<String, Entry> entries;
+	private long generation = 0;
+
+	// Metrics
+	private long hitCount = 0;
+	private long missCount = 0;
+	private long evictionCount = 0;
+
+	/** Creates a cache using the default size and expiry. */
+	public UserCache() {
+		this(DEFAULT_MAX_SIZE, DEFAULT_EXPIRE_AFTER_MILLIS);
+	}
+
+	/**
+	 * Creates a cache.
+	 * @param maxSize most users held; the least recently used is evicted beyond it
+	 * @param expireAfterMillis time an entry is trusted after it was stored
+	 */
+	public UserCache(int maxSize, long expireAfterMillis) {
+		if (maxSize < 1) {
+			throw new IllegalArgumentException("Cache size must be positive: " + maxSize);
+		}
+		this.maxSize = maxSize;
+		this.expireAfterNanos = expireAfterMillis * 1_000_000L;
+		this.entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				if (size() > UserCache.this.maxSize) {
+					evictionCount++;
+					return true;
+				}
+				return false;
+			}
+		};
+	}
+
+	/**
+	 * Looks up a user, counting a hit or a miss. Expired entries count as misses.
+	 * @param userName user to look up
+	 * @return the cached entry, or null if it must be loaded
+	 */
+	public synchronized Entry get(String userName) {
+		Entry entry = entries.get(userName);
+		if (entry != null && System.nanoTime() - entry.loadedAtNanos > expireAfterNanos) {
+			entries.remove(userName);
+			entry = null;
+		}
+		if (entry == null) {
+			missCount++;
+		} else {
+			hitCount++;
+		}
+		return entry;
+	}
+
+	/**
+	 * Stores the current state of a user after writing it to the database.
+	 * @param userName user that was written
+	 * @param entry its id and roles
+	 */
+	public synchronized void put(String userName, Entry entry) {
+		generation++;
+		entries.put(userName, entry);
+	}
+
+	/**
+	 * Stores an entry loaded from the database unless an invalidation happened
+	 * since the load started.
+	 * @param userName user that was loaded
+	 * @param entry its id and roles
+	 * @param loadGeneration value of {@link #generation()} read before the load
+	 */
+	public synchronized void putIfUnchanged(String userName, Entry entry, long loadGeneration) {
+		if (generation == loadGeneration) {
+			entries.put(userName, entry);
+		}
+	}
+
+	/** @return a counter that advances on every write or invalidation */
+	public synchronized long generation() {
+		return generation;
+	}
+
+	/**
+	 * Drops one user, e.g. after their roles change.
+	 * @param userName user to drop
+	 */
+	public synchronized void invalidate(String userName) {
+		generation++;
+		entries.remove(userName);
+	}
+
+	/** Drops every user, e.g. after SQL that may have touched any of them. */
+	public synchronized void clear() {
+		generation++;
+		entries.clear();
+	}
+
+	/** @return most users held */
+	public int getMaxSize() { return maxSize; }
+
+	/** @return users currently held */
+	public synchronized int getSize() { return entries.size(); }
+
+	/** @return lookups answered from memory */
+	public synchronized long getHitCount() { return hitCount; }
+
+	/** @return lookups that had to go to the database */
+	public synchronized long getMissCount() { return missCount; }
+
+	/** @return entries dropped to stay within the size bound */
+	public synchronized long getEvictionCount() { return evictionCount; }
+
+	/** @return fraction of lookups answered from memory, 0 before the first lookup */
+	public synchronized double getHitRate() {
+		long total = hitCount + missCount;
+		return total == 0 ? 0 : (double) hitCount / total;
+	}
+
+	@Override
+	public synchronized String toString() {
+		return String.format("UserCache[max=%d, size=%d, hits=%d, misses=%d, evictions=%d, hitRate=%.3f]", maxSize,
+				entries.size(), hitCount, missCount, evictionCount, getHitRate());
+	}
+}
@@ -0,0 +1,641 @@
+package databasePart1;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import application.PasswordEvaluator;
+import application.User;
+import application.UserNameRecognizer;
+
+/**
+ * Imports users in bulk from a CSV or JSON file.
+ * <p>
+ * The file is streamed a chunk of rows at a time. Each chunk is validated on
+ * a small pool of threads with the checks the setup pages apply one user at a
+ * time: {@link UserNameRecognizer}, {@link PasswordEvaluator} and
+ * {@link DatabaseHelper#isValidEmail}. Its names are then looked up in one
+ * query, and its valid rows are written by
+ * {@link DatabaseHelper#registerAll}, one transaction per chunk. The next
+ * chunk is validated while the current one is written.
+ * </p>
+ * <p>
+ * A CSV file starts with a header naming its columns, in any order:
+ * {@code userName}, {@code password}, {@code email}, {@code name} and
+ * {@code role} (or {@code roles}, separated by {@code ;}). Fields may be
+ * quoted, with {@code ""} for a quote. A JSON file is one array of objects
+ * with the same keys, where {@code roles} may also be an array. A row without
+ * a role gets {@code user}, as a self-registered account does.
+ * </p>
+ * <p>
+ * A row that fails is reported with its number (the line of a CSV file, the
+ * position in a JSON array) and the reason, and the other rows are still
+ * imported. If a chunk fails to write, e.g. because one of its names was
+ * registered since the lookup, it is retried one user at a time so that only
+ * the failing rows are rejected. Malformed JSON stops the import; chunks
+ * already written stay.
+ * </p>
+ */
+public class UserImporter {
+
+	public static final int DEFAULT_CHUNK_SIZE = 1000;
+	/** Roles a row may name, as offered by the admin's role editor. */
+	public static final List<String> ROLES = List.of("admin", "user", "student", "instructor", "staff", "reviewer");
+	private static final String DEFAULT_ROLE = "user";
+
+	/** File formats understood. */
+	public enum Format {
+		CSV, JSON;
+
+		/**
+		 * @param file file to import
+		 * @return JSON for a {@code .json} file, otherwise CSV
+		 */
+		public static Format of(Path file) {
+			return file.getFileName().toString().toLowerCase(Locale.ROOT).endsWith(".json") ? JSON : CSV;
+		}
+	}
+
+	/** A rejected row. */
+	public static final class RowError {
+		private final int row;
+		private final String userName;
+		private final String message;
+
+		RowError(int row, String userName, String message) {
+			this.row = row;
+			this.userName = userName;
+			this.message = message;
+		}
+
+		/** @return line of a CSV file or 1-based position in a JSON array */
+		public int getRow() { return row; }
+		/** @return user name given in the row, may be null */
+		public String getUserName() { return userName; }
+		/** @return why the row was rejected */
+		public String getMessage() { return message; }
+
+		@Override
+		public String toString() {
+			return "Row " + row + (userName == null || userName.isEmpty() ? "" : " (" + userName + ")") + ": " + message;
+		}
+	}
+
+	/** Outcome of an import. */
+	public static final class Report {
+		private int imported;
+		private final List<RowError> errors = new ArrayList<>();
+
+		/** @return users registered */
+		public int getImported() { return imported; }
+		/** @return rows rejected */
+		public int getRejected() { return errors.size(); }
+		/** @return rejected rows in file order */
+		public List<RowError> getErrors() { return Collections.unmodifiableList(errors); }
+	}
+
+	/** One row as read, before validation. */
+	private static final class Row {
+		final int number;
+		final Map<String, String> fields = new HashMap<>();
+		final List<String> roles = new ArrayList<>();
+		String error;
+
+		Row(int number) {
+			this.number = number;
+		}
+
+		/** Stores a field under its canonical name; unknown names are ignored. */
+		void put(String column, String value) {
+			String key = column.trim().toLowerCase(Locale.ROOT);
+			if (key.equals("role") || key.equals("roles")) {
+				for (String role : value.split(";")) {
+					addRole(role);
+				}
+			} else if (key.equals("username") || key.equals("password") || key.equals("email") || key.equals("name")) {
+				fields.put(key, value);
+			}
+		}
+
+		void addRole(String role) {
+			String trimmed = role.trim();
+			if (!trimmed.isEmpty() && !roles.contains(trimmed)) {
+				roles.add(trimmed);
+			}
+		}
+
+		String userName() { return fields.get("username"); }
+	}
+
+	/** A validated row: the user to register, or why not. */
+	private static final class Validated {
+		final Row row;
+		final User user;
+		final String error;
+
+		Validated(Row row, User user, String error) {
+			this.row = row;
+			this.user = user;
+			this.error = error;
+		}
+	}
+
+	/** Reads rows a chunk at a time. */
+	private interface RowSource {
+		/** @return up to max rows, empty at the end of the file */
+		List<Row> next(int max) throws IOException;
+	}
+
+	private final DatabaseHelper db;
+	private final int chunkSize;
+	private final int threads;
+
+	/**
+	 * Imports in chunks of {@link #DEFAULT_CHUNK_SIZE}, validating on one
+	 * thread per processor.
+	 * @param db helper to register users through
+	 */
+	public UserImporter(DatabaseHelper db) {
+		this(db, DEFAULT_CHUNK_SIZE, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * @param db helper to register users through
+	 * @param chunkSize rows validated together and written in one transaction
+	 * @param threads threads validating each chunk
+	 */
+	public UserImporter(DatabaseHelper db, int chunkSize, int threads) {
+		this.db = db;
+		this.chunkSize = Math.max(1, chunkSize);
+		this.threads = Math.max(1, threads);
+	}
+
+	/**
+	 * Imports a file, choosing the format from its extension.
+	 * @param file CSV or {@code .json} file
+	 * @return imported count and rejected rows
+	 * @throws IOException if the file cannot be read or is malformed
+	 * @throws SQLException on DB error
+	 */
+	public Report importFile(Path file) throws IOException, SQLException {
+		try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+			return importFrom(reader, Format.of(file));
+		}
+	}
+
+	/**
+	 * Imports rows read from a stream.
+	 * @param reader source of the rows; not closed
+	 * @param format format of the rows
+	 * @return imported count and rejected rows
+	 * @throws IOException if the rows cannot be read or are malformed
+	 * @throws SQLException on DB error
+	 */
+	public Report importFrom(Reader reader, Format format) throws IOException, SQLException {
+		BufferedReader buffered = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+		RowSource source = format == Format.JSON ? new JsonSource(buffered) : new CsvSource(buffered);
+		ExecutorService pool = Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "user-import");
+			thread.setDaemon(true);
+			return thread;
+		});
+		Report report = new Report();
+		// Names accepted from earlier rows, to reject repeats within the file
+		Set<String> seen = new HashSet<>();
+		try {
+			CompletableFuture<List<Validated>> pending = null;
+			List<Row> chunk;
+			while (!(chunk = source.next(chunkSize)).isEmpty()) {
+				CompletableFuture<List<Validated>> next = validate(chunk, pool);
+				if (pending != null) {
+					write(pending.join(), seen, report);
+				}
+				pending = next;
+			}
+			if (pending != null) {
+				write(pending.join(), seen, report);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		return report;
+	}
+
+	/** Validates a chunk in one slice per thread, keeping row order. */
+	private CompletableFuture<List<Validated>> validate(List<Row> chunk, ExecutorService pool) {
+		int sliceSize = (chunk.size() + threads - 1) / threads;
+		List<CompletableFuture<List<Validated>>> slices = new ArrayList<>();
+		for (int from = 0; from < chunk.size(); from += sliceSize) {
+			List<Row> slice = chunk.subList(from, Math.min(chunk.size(), from + sliceSize));
+			slices.add(CompletableFuture.supplyAsync(() -> {
+				List<Validated> validated = new ArrayList<>(slice.size());
+				for (Row row : slice) {
+					validated.add(validate(row));
+				}
+				return validated;
+			}, pool));
+		}
+		return CompletableFuture.allOf(slices.toArray(new CompletableFuture<?>[0])).thenApply(done -> {
+			List<Validated> validated = new ArrayList<>(chunk.size());
+			for (CompletableFuture<List<Validated>> slice : slices) {
+				validated.addAll(slice.join());
+			}
+			return validated;
+		});
+	}
+
+	/** Checks one row on its own; uniqueness is checked when the chunk is written. */
+	private static Validated validate(Row row) {
+		if (row.error != null) {
+			return new Validated(row, null, row.error);
+		}
+		String userName = row.userName();
+		String password = row.fields.get("password");
+		String email = row.fields.get("email");
+		if (userName == null || userName.isEmpty()) {
+			return new Validated(row, null, "Missing user name");
+		}
+		String userNameError = UserNameRecognizer.recognize(userName).getErrorMessage();
+		if (!userNameError.isEmpty()) {
+			return new Validated(row, null, "User name: " + clean(userNameError));
+		}
+		if (password == null || password.isEmpty()) {
+			return new Validated(row, null, "Missing password");
+		}
+		PasswordEvaluator.Result passwordResult = PasswordEvaluator.evaluate(password);
+		if (!passwordResult.isValid()) {
+			return new Validated(row, null, "Password: " + clean(passwordResult.getErrorMessage()));
+		}
+		if (!DatabaseHelper.isValidEmail(email)) {
+			return new Validated(row, null, "Email: not a valid address");
+		}
+		for (String role : row.roles) {
+			if (!ROLES.contains(role)) {
+				return new Validated(row, null, "Unknown role: " + role);
+			}
+		}
+		List<String> roles = row.roles.isEmpty() ? List.of(DEFAULT_ROLE) : row.roles;
+		String name = row.fields.getOrDefault("name", "");
+		User user = new User(userName, password, email, name, roles.get(0));
+		for (String role : roles) {
+			user.addRole(role);
+		}
+		return new Validated(row, user, null);
+	}
+
+	/** Drops the console formatting of the recognizer and evaluator messages. */
+	private static String clean(String message) {
+		return message.replaceFirst("\\*\\*\\* (?i:error) \\*\\*\\*", "").replaceAll("\\s+", " ").trim();
+	}
+
+	/** Rejects repeated and taken names, then registers the rest of the chunk. */
+	private void write(List<Validated> chunk, Set<String> seen, Report report) throws SQLException {
+		List<RowError> errors = new ArrayList<>();
+		List<Validated> accepted = new ArrayList<>(chunk.size());
+		for (Validated validated : chunk) {
+			if (validated.error != null) {
+				errors.add(new RowError(validated.row.number, validated.row.userName(), validated.error));
+			} else if (!seen.add(validated.user.getUserName())) {
+				errors.add(new RowError(validated.row.number, validated.user.getUserName(),
+						"User name appears earlier in the file"));
+			} else {
+				accepted.add(validated);
+			}
+		}
+		List<String> names = new ArrayList<>(accepted.size());
+		for (Validated validated : accepted) {
+			names.add(validated.user.getUserName());
+		}
+		Set<String> existing = db.findExistingUserNames(names);
+		List<Validated> toRegister = new ArrayList<>(accepted.size());
+		List<User> users = new ArrayList<>(accepted.size());
+		for (Validated validated : accepted) {
+			if (existing.contains(validated.user.getUserName())) {
+				errors.add(new RowError(validated.row.number, validated.user.getUserName(), "User name already exists"));
+			} else {
+				toRegister.add(validated);
+				users.add(validated.user);
+			}
+		}
+		try {
+			db.registerAll(users);
+			report.imported += users.size();
+		} catch (SQLException e) {
+			// Find the rows at fault, such as a name registered since the lookup
+			for (Validated validated : toRegister) {
+				try {
+					db.register(validated.user);
+					report.imported++;
+				} catch (SQLException rowFailure) {
+					errors.add(new RowError(validated.row.number, validated.user.getUserName(), rowFailure.getMessage()));
+				}
+			}
+		}
+		errors.sort(Comparator.comparingInt(RowError::getRow));
+		report.errors.addAll(errors);
+	}
+
+	/** CSV with a header row; quoted fields may span lines. */
+	private static final class CsvSource implements RowSource {
+		private final BufferedReader reader;
+		private List<String> header;
+		private int lineNumber = 0;
+
+		CsvSource(BufferedReader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		public List<Row> next(int max) throws IOException {
+			List<Row> rows = new ArrayList<>(max);
+			if (header == null) {
+				List<String> names = readRecord();
+				if (names == null) {
+					return rows;
+				}
+				header = names;
+				if (!containsIgnoreCase(header, "userName") || !containsIgnoreCase(header, "password")) {
+					throw new IOException("The CSV header must name at least the userName and password columns");
+				}
+			}
+			while (rows.size() < max) {
+				int firstLine = lineNumber + 1;
+				List<String> values = readRecord();
+				if (values == null) {
+					break;
+				}
+				if (values.size() == 1 && values.get(0).isBlank()) {
+					continue;
+				}
+				Row row = new Row(firstLine);
+				for (int i = 0; i < Math.min(values.size(), header.size()); i++) {
+					row.put(header.get(i), values.get(i));
+				}
+				if (values.size() != header.size()) {
+					row.error = "Expected " + header.size() + " fields, found " + values.size();
+				}
+				rows.add(row);
+			}
+			return rows;
+		}
+
+		private static boolean containsIgnoreCase(List<String> names, String wanted) {
+			for (String name : names) {
+				if (name.trim().equalsIgnoreCase(wanted)) {
+					return true;
+				}
+			}
+			return false;
+		}
+
+		/** @return the fields of the next record, or null at the end of the file */
+		private List<String> readRecord() throws IOException {
+			String line = reader.readLine();
+			if (line == null) {
+				return null;
+			}
+			lineNumber++;
+			List<String> fields = new ArrayList<>();
+			StringBuilder field = new StringBuilder();
+			boolean quoted = false;
+			int i = 0;
+			while (true) {
+				if (i == line.length()) {
+					if (!quoted) {
+						break;
+					}
+					// A quoted field continues on the next line
+					line = reader.readLine();
+					if (line == null) {
+						throw new IOException("Unterminated quoted field starting before line " + lineNumber);
+					}
+					lineNumber++;
+					field.append('\n');
+					i = 0;
+					continue;
+				}
+				char c = line.charAt(i++);
+				if (quoted) {
+					if (c != '"') {
+						field.append(c);
+					} else if (i < line.length() && line.charAt(i) == '"') {
+						field.append('"');
+						i++;
+					} else {
+						quoted = false;
+					}
+				} else if (c == '"') {
+					quoted = true;
+				} else if (c == ',') {
+					fields.add(field.toString());
+					field.setLength(0);
+				} else {
+					field.append(c);
+				}
+			}
+			fields.add(field.toString());
+			return fields;
+		}
+	}
+
+	/** One JSON array of flat objects, parsed a character at a time. */
+	private static final class JsonSource implements RowSource {
+		private final BufferedReader reader;
+		private boolean started = false;
+		private boolean finished = false;
+		private int rowNumber = 0;
+		private int peeked = -2;
+
+		JsonSource(BufferedReader reader) {
+			this.reader = reader;
+		}
+
+		@Override
+		public List<Row> next(int max) throws IOException {
+			List<Row> rows = new ArrayList<>(max);
+			if (!started) {
+				started = true;
+				if (skipWhitespace() == -1) {
+					finished = true;
+					return rows;
+				}
+				expect('[');
+				if (skipWhitespace() == ']') {
+					read();
+					finished = true;
+				}
+			}
+			while (!finished && rows.size() < max) {
+				rows.add(readObject(++rowNumber));
+				int c = skipWhitespace();
+				read();
+				if (c == ']') {
+					finished = true;
+				} else if (c != ',') {
+					throw malformed("',' or ']' after an object");
+				}
+			}
+			return rows;
+		}
+
+		private Row readObject(int number) throws IOException {
+			Row row = new Row(number);
+			skipWhitespace();
+			expect('{');
+			if (skipWhitespace() == '}') {
+				read();
+				return row;
+			}
+			while (true) {
+				skipWhitespace();
+				String key = readString();
+				skipWhitespace();
+				expect(':');
+				int c = skipWhitespace();
+				if (c == '[') {
+					read();
+					if (skipWhitespace() == ']') {
+						read();
+					} else {
+						while (true) {
+							skipWhitespace();
+							String value = readScalar();
+							if (value != null && (key.equalsIgnoreCase("role") || key.equalsIgnoreCase("roles"))) {
+								row.addRole(value);
+							}
+							int next = skipWhitespace();
+							read();
+							if (next == ']') {
+								break;
+							} else if (next != ',') {
+								throw malformed("',' or ']' in an array");
+							}
+						}
+					}
+				} else {
+					String value = readScalar();
+					if (value != null) {
+						row.put(key, value);
+					}
+				}
+				int next = skipWhitespace();
+				read();
+				if (next == '}') {
+					return row;
+				} else if (next != ',') {
+					throw malformed("',' or '}' in an object");
+				}
+			}
+		}
+
+		/** @return a string, or the text of a number or boolean, or null for null */
+		private String readScalar() throws IOException {
+			int c = peek();
+			if (c == '"') {
+				return readString();
+			}
+			if (c == '{' || c == '[') {
+				throw malformed("a string, number, boolean or null; nested values are not supported");
+			}
+			StringBuilder literal = new StringBuilder();
+			while ((c = peek()) != -1 && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+				literal.append((char) read());
+			}
+			String text = literal.toString();
+			if (text.equals("null")) {
+				return null;
+			}
+			if (text.isEmpty()) {
+				throw malformed("a value");
+			}
+			return text;
+		}
+
+		private String readString() throws IOException {
+			expect('"');
+			StringBuilder value = new StringBuilder();
+			while (true) {
+				int c = read();
+				if (c == -1) {
+					throw malformed("the end of a string");
+				}
+				if (c == '"') {
+					return value.toString();
+				}
+				if (c != '\\') {
+					value.append((char) c);
+					continue;
+				}
+				int escaped = read();
+				switch (escaped) {
+				case '"': case '\\': case '/': value.append((char) escaped); break;
+				case 'b': value.append('\b'); break;
+				case 'f': value.append('\f'); break;
+				case 'n': value.append('\n'); break;
+				case 'r': value.append('\r'); break;
+				case 't': value.append('\t'); break;
+				case 'u':
+					char[] hex = new char[4];
+					for (int i = 0; i < 4; i++) {
+						int h = read();
+						if (Character.digit(h, 16) < 0) {
+							throw malformed("four hex digits after \\u");
+						}
+						hex[i] = (char) h;
+					}
+					value.append((char) Integer.parseInt(new String(hex), 16));
+					break;
+				default:
+					throw malformed("a valid escape");
+				}
+			}
+		}
+
+		private void expect(char wanted) throws IOException {
+			if (read() != wanted) {
+				throw malformed("'" + wanted + "'");
+			}
+		}
+
+		/** @return the next character that is not whitespace, left unread */
+		private int skipWhitespace() throws IOException {
+			while (peek() != -1 && Character.isWhitespace(peek())) {
+				read();
+			}
+			return peek();
+		}
+
+		private int peek() throws IOException {
+			if (peeked == -2) {
+				peeked = reader.read();
+			}
+			return peeked;
+		}
+
+		private int read() throws IOException {
+			int c = peek();
+			peeked = -2;
+			return c;
+		}
+
+		private IOException malformed(String expected) {
+			return new IOException("Malformed JSON at row " + Math.max(1, rowNumber) + ": expected " + expected);
+		}
+	}
+}